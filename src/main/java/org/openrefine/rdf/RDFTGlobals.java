@@ -10,6 +10,13 @@ public class RDFTGlobals {
     static public final String strSaveBaseIRI           = "save-base-iri";          // See RDFTransform
     static public final String strValidateIRI           = "validate-iri";           // See RDFTransformCommon
     static public final String strConvertToIRI          = "convert-to-iri";         // See RDFTransformCommon
+    static public final String strGetExportProgress     = "get-export-progress";    // See RDFExportJob
+    static public final String strCancelExport          = "cancel-export";          // See RDFExportJob
+    static public final String strExportToFiles         = "export-to-files";        // See RDFFileExporter
+    static public final String strExportIncremental     = "export-incremental";     // See RDFIncrementalExporter
+    static public final String strExportTransformChange = "export-transform-change"; // See RDFTransformDiff
+    static public final String strExportToEndpoint      = "export-to-endpoint";     // See RDFPushExporter
+    static public final String strExportToTDB2          = "export-to-tdb2";         // See RDFTDB2Exporter
     // Vocabs Command Strings
     static public final String strGetDefaultNamespaces  = "get-default-namespaces";
     static public final String strSaveNamespaces        = "save-namespaces";
@@ -350,7 +350,35 @@ public class RDFTransform implements OverlayModel {
      *      http://example.com/first_name
      */
     @JsonIgnore
-    private IRI theBaseIRI = null;
+    private volatile IRI theBaseIRI = null;
+
+    /*
+     * Base IRI Snapshot
+     *
+     *   The Base IRI string with a version that changes whenever the Base IRI is set.  It is
+     *   published by the setBaseIRI() methods and read without locking on every expression
+     *   binding (see RDFTransformBinder).
+     */
+    static public final class BaseIRISnapshot {
+        private final long iVersion;
+        private final String strBaseIRI;
+
+        private BaseIRISnapshot(long iVersion, String strBaseIRI) {
+            this.iVersion = iVersion;
+            this.strBaseIRI = strBaseIRI;
+        }
+
+        public long getVersion() {
+            return this.iVersion;
+        }
+
+        public String getBaseIRI() {
+            return this.strBaseIRI;
+        }
+    }
+
+    @JsonIgnore
+    private volatile BaseIRISnapshot theBaseIRISnapshot = null;
 
     /*
      * Prefix Mapping to Namespace
@@ -501,6 +529,39 @@ public class RDFTransform implements OverlayModel {
         return this.theBaseIRI;
     }
 
+    /**
+     * Get the current Base IRI snapshot without locking.
+     * @return BaseIRISnapshot - The Base IRI string and its version.
+     */
+    @JsonIgnore
+    public BaseIRISnapshot getBaseIRISnapshot() {
+        BaseIRISnapshot theSnapshot = this.theBaseIRISnapshot;
+        if (theSnapshot == null) {
+            theSnapshot = this.publishBaseIRI();
+        }
+        return theSnapshot;
+    }
+
+    /*
+     *  Method publishBaseIRI()
+     *
+     *    Publish a new Base IRI snapshot for the current Base IRI.  Writers are synchronized so
+     *    versions are not repeated.  Readers use the volatile snapshot.
+     */
+    private synchronized BaseIRISnapshot publishBaseIRI() {
+        String strBaseIRI = null;
+        if (this.theBaseIRI != null) {
+            strBaseIRI = this.theBaseIRI.toString();
+        }
+        else if (RDFTransform.theGlobalContext != null) {
+            strBaseIRI = RDFTransform.theGlobalContext.getDefaultBaseIRI();
+        }
+        BaseIRISnapshot theSnapshotLast = this.theBaseIRISnapshot;
+        long iVersion = ( theSnapshotLast == null ? 1 : theSnapshotLast.iVersion + 1 );
+        this.theBaseIRISnapshot = new BaseIRISnapshot(iVersion, strBaseIRI);
+        return this.theBaseIRISnapshot;
+    }
+
     @JsonGetter(Util.gstrBaseIRI)
     public String getBaseIRIAsString() {
         // Return "String" is ok for JSON since it's a single value.
@@ -524,6 +585,7 @@ public class RDFTransform implements OverlayModel {
         if ( Util.isVerbose(3) ) RDFTransform.logger.info("Setting Base IRI from Parsed IRI...");
         if (Util.isDebugMode()) RDFTransform.logger.info("DEBUG: BaseIRI set to:" + iriBase.toString());
         this.theBaseIRI = iriBase;
+        this.publishBaseIRI();
     }
 
     @JsonSetter(Util.gstrBaseIRI)
@@ -598,6 +660,7 @@ public class RDFTransform implements OverlayModel {
             this.theBaseIRI = Util.buildIRI( RDFTransform.theGlobalContext.getDefaultBaseIRI() );
             if ( Util.isDebugMode() ) RDFTransform.logger.info("DEBUG: setBaseIRI(): BaseIRI set to default.");
         }
+        this.publishBaseIRI();
     }
 
     @JsonIgnore
@@ -750,28 +813,33 @@ public class RDFTransform implements OverlayModel {
     private void processRootNodes() {
         if (this.theNamespaces == null || this.theSubjectMappingsJSON == null) return;
 
+        this.theRootNodes = this.buildRootNodes(this.theSubjectMappingsJSON);
+        this.theSubjectMappingsJSON = null;
+    }
+
+    @JsonIgnore
+    private List<ResourceNode> buildRootNodes(JsonNode jnodeSubjectMappings) {
         List<ResourceNode> listRootNodes = new ArrayList<ResourceNode>();
-        if ( this.theSubjectMappingsJSON.isArray() ) {
+        if ( jnodeSubjectMappings.isArray() ) {
             if ( Util.isVerbose(3) ) RDFTransform.logger.info(" Processing Subject Mappings Array...");
-            for (JsonNode jnodeSubject : this.theSubjectMappingsJSON) {
+            for (JsonNode jnodeSubject : jnodeSubjectMappings) {
                 Node nodeRoot =
                     Node.reconstructNode(
                         RDFTransform.theReconstructor, jnodeSubject,
                         this.theBaseIRI, this.theNamespaces);
-                if ( Util.isDebugMode() ) RDFTransform.logger.info("DEBUG: processRootNodes(): Root Node reconstructed.");
+                if ( Util.isDebugMode() ) RDFTransform.logger.info("DEBUG: buildRootNodes(): Root Node reconstructed.");
                 if (nodeRoot != null && nodeRoot instanceof ResourceNode) {
                     listRootNodes.add( (ResourceNode) nodeRoot );
-                    if ( Util.isDebugMode() ) RDFTransform.logger.info("DEBUG: processRootNodes(): Root Node added.");
+                    if ( Util.isDebugMode() ) RDFTransform.logger.info("DEBUG: buildRootNodes(): Root Node added.");
                 }
                 // Otherwise, non-resource nodes (literals, generic nodes) cannot be root nodes.
                 // So, skip them.  They should never have been in the root node list anyway.
                 else {
-                    if ( Util.isDebugMode() ) RDFTransform.logger.info("DEBUG: processRootNodes(): Root Node not a Resource.");
+                    if ( Util.isDebugMode() ) RDFTransform.logger.info("DEBUG: buildRootNodes(): Root Node not a Resource.");
                 }
             }
         }
-        this.theRootNodes = listRootNodes;
-        this.theSubjectMappingsJSON = null;
+        return listRootNodes;
     }
 
     @Override
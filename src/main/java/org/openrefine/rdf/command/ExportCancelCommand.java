@@ -0,0 +1,67 @@
+/*
+ *  Class ExportCancelCommand
+ *
+ *  Cancels an RDF export job on the server.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.command;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ExportCancelCommand extends RDFTransformCommand {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportCancelCmd");
+
+    public ExportCancelCommand() {
+        super();
+    }
+
+    @Override
+    public void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if ( Util.isDebugMode() ) ExportCancelCommand.logger.info("DEBUG: doPost(): Cancelling export...");
+        if ( ! this.hasValidCSRFToken(request) ) {
+            ExportCancelCommand.respondCSRFError(response);
+            return;
+        }
+
+        String strJobID = request.getParameter(RDFExportJob.strJobIDOption);
+        RDFExportJob theJob = RDFExportJob.get(strJobID);
+        if (theJob == null) {
+            if ( Util.isDebugMode() ) ExportCancelCommand.logger.warn("DEBUG: doPost(): Unknown export job: " + strJobID);
+            ExportCancelCommand.respondJSON( response, new CodeResponse("Unknown export job: " + strJobID, true) );
+            return;
+        }
+        if ( ! theJob.cancel() ) {
+            if ( Util.isDebugMode() ) ExportCancelCommand.logger.warn("DEBUG: doPost(): Export job already ended: " + strJobID);
+            ExportCancelCommand.respondJSON( response, new CodeResponse("Export job already ended: " + theJob.getStatus(), true) );
+            return;
+        }
+
+        if ( Util.isVerbose(2) ) ExportCancelCommand.logger.info("Export job " + theJob.getID() + " cancelled");
+        ExportCancelCommand.respondJSON(response, CodeResponse.ok);
+    }
+}
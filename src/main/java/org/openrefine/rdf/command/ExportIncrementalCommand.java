@@ -0,0 +1,94 @@
+/*
+ *  Class ExportIncrementalCommand
+ *
+ *  Starts a background export of the RDF changed since the last incremental export.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.command;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.exporter.RDFExportSession;
+import org.openrefine.rdf.model.exporter.RDFIncrementalExporter;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ExportIncrementalCommand extends RDFTransformCommand {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportIncrCmd");
+
+    public ExportIncrementalCommand() {
+        super();
+    }
+
+    @Override
+    public void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if ( Util.isDebugMode() ) ExportIncrementalCommand.logger.info("DEBUG: doPost(): Starting incremental export...");
+        if ( ! this.hasValidCSRFToken(request) ) {
+            ExportIncrementalCommand.respondCSRFError(response);
+            return;
+        }
+
+        try {
+            Project theProject = this.getProject(request);
+            Engine theEngine = ExportIncrementalCommand.getEngine(request, theProject);
+
+            String strFormat = request.getParameter("format");
+            RDFIncrementalExporter theExporter = RDFIncrementalExporter.getExporter(strFormat);
+            if (theExporter == null) {
+                ExportIncrementalCommand.respondJSON( response,
+                    new CodeResponse("Incremental export needs a change format (PATCH or NQUADS): " + strFormat, true) );
+                return;
+            }
+            boolean bReset = Boolean.parseBoolean( request.getParameter("reset") );
+
+            Map<String, String> theOptions = new HashMap<String, String>();
+            String strJobID = request.getParameter(RDFExportJob.strJobIDOption);
+            if (strJobID != null) {
+                theOptions.put(RDFExportJob.strJobIDOption, strJobID);
+            }
+
+            // NOTE: The engine's configuration stands for the filter: a changed filter changes the export.
+            RDFExportSession theSession =
+                theExporter.start( theProject, theOptions, theEngine, request.getParameter("engine"), bReset );
+
+            Map<String, Object> mapResponse = new LinkedHashMap<String, Object>();
+            mapResponse.put("code", "ok");
+            mapResponse.put(RDFExportJob.strJobIDOption, theSession.getJob().getID());
+            mapResponse.put("directory", theSession.getTarget().getPath());
+            if ( Util.isVerbose(2) ) ExportIncrementalCommand.logger.info("Incremental export job " + theSession.getJob().getID() + " started");
+            ExportIncrementalCommand.respondJSON(response, mapResponse);
+        }
+        catch (Exception ex) { // ...any other exception...
+            if ( Util.isDebugMode() ) ExportIncrementalCommand.logger.error("DEBUG: Incremental Export: Exception: " + ex.getMessage(), ex);
+            ExportIncrementalCommand.respondException(response, ex);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *  Class ExportProgressCommand
+ *
+ *  Gets the progress of RDF export jobs from the server.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.command;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.refine.commands.Command;
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ExportProgressCommand extends Command {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportProgressCmd");
+
+    @Override
+    public void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if ( Util.isVerbose(4) ) ExportProgressCommand.logger.info("Getting export progress...");
+        // NOTE: No CSRFToken required for this command.
+
+        try {
+            // Get a job if given...
+            String strJobID = request.getParameter(RDFExportJob.strJobIDOption);
+            if (strJobID != null) {
+                RDFExportJob theJob = RDFExportJob.get(strJobID);
+                if (theJob == null) {
+                    ExportProgressCommand.respondJSON( response, new CodeResponse("Unknown export job: " + strJobID, true) );
+                    return;
+                }
+                ExportProgressCommand.respondJSON(response, theJob);
+                return;
+            }
+
+            // Otherwise, get the project's jobs...
+            String strProjectID = request.getParameter(Util.gstrProject);
+            if (strProjectID == null) {
+                ExportProgressCommand.respondJSON( response, new CodeResponse("No export job or project given", true) );
+                return;
+            }
+            List<RDFExportJob> listJobs = RDFExportJob.list( Long.parseLong( strProjectID.strip() ) );
+            Map<String, Object> mapJobs = new HashMap<String, Object>();
+            mapJobs.put("jobs", listJobs);
+            ExportProgressCommand.respondJSON(response, mapJobs);
+        }
+        catch (Exception ex) { // ...any other exception...
+            if ( Util.isDebugMode() ) ExportProgressCommand.logger.error("DEBUG: Export Progress: Exception: " + ex.getMessage(), ex);
+            ExportProgressCommand.respondException(response, ex);
+        }
+    }
+}
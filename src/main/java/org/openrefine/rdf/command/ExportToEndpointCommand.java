@@ -0,0 +1,129 @@
+/*
+ *  Class ExportToEndpointCommand
+ *
+ *  Starts a background RDF export pushed to a SPARQL endpoint.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.command;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.exporter.RDFExportSession;
+import org.openrefine.rdf.model.exporter.RDFPushExporter;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ExportToEndpointCommand extends RDFTransformCommand {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportEndpointCmd");
+
+    public ExportToEndpointCommand() {
+        super();
+    }
+
+    @Override
+    public void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if ( Util.isDebugMode() ) ExportToEndpointCommand.logger.info("DEBUG: doPost(): Starting endpoint export...");
+        if ( ! this.hasValidCSRFToken(request) ) {
+            ExportToEndpointCommand.respondCSRFError(response);
+            return;
+        }
+
+        try {
+            Project theProject = this.getProject(request);
+            Engine theEngine = ExportToEndpointCommand.getEngine(request, theProject);
+
+            String strProtocol = request.getParameter("protocol");
+            RDFPushExporter theExporter = RDFPushExporter.getExporter(strProtocol);
+            if (theExporter == null) {
+                ExportToEndpointCommand.respondJSON( response,
+                    new CodeResponse("Endpoint export needs an endpoint protocol (GSP or UPDATE): " + strProtocol, true) );
+                return;
+            }
+
+            String strEndpoint = request.getParameter("endpoint");
+            String strScheme = null;
+            if (strEndpoint != null) {
+                strEndpoint = strEndpoint.strip();
+                strScheme = new URI(strEndpoint).getScheme();
+            }
+            if ( strScheme == null || ! ( strScheme.equalsIgnoreCase("http") || strScheme.equalsIgnoreCase("https") ) ) {
+                ExportToEndpointCommand.respondJSON( response,
+                    new CodeResponse("Endpoint export needs an HTTP(S) endpoint: " + strEndpoint, true) );
+                return;
+            }
+
+            // Get the batch limits: given or by preference...
+            int iBatch = Util.getExportPushBatch();
+            String strBatch = request.getParameter("batchSize");
+            if (strBatch != null) {
+                iBatch = Integer.parseInt( strBatch.strip() );
+            }
+            int iInFlight = Util.getExportPushInFlight();
+            String strInFlight = request.getParameter("inFlight");
+            if (strInFlight != null) {
+                iInFlight = Integer.parseInt( strInFlight.strip() );
+            }
+
+            // Get any Basic authentication...
+            Map<String, String> mapHeaders = new HashMap<String, String>();
+            String strUser = request.getParameter("username");
+            if ( strUser != null && ! strUser.isEmpty() ) {
+                String strPassword = request.getParameter("password");
+                String strCredentials = strUser + ":" + ( strPassword == null ? "" : strPassword );
+                mapHeaders.put( "Authorization",
+                    "Basic " + Base64.getEncoder().encodeToString( strCredentials.getBytes(StandardCharsets.UTF_8) ) );
+            }
+
+            Map<String, String> theOptions = new HashMap<String, String>();
+            String strJobID = request.getParameter(RDFExportJob.strJobIDOption);
+            if (strJobID != null) {
+                theOptions.put(RDFExportJob.strJobIDOption, strJobID);
+            }
+
+            RDFExportSession theSession =
+                theExporter.start(theProject, theOptions, theEngine, strEndpoint, mapHeaders, iBatch, iInFlight);
+
+            Map<String, Object> mapResponse = new LinkedHashMap<String, Object>();
+            mapResponse.put("code", "ok");
+            mapResponse.put(RDFExportJob.strJobIDOption, theSession.getJob().getID());
+            mapResponse.put("endpoint", strEndpoint);
+            if ( Util.isVerbose(2) ) ExportToEndpointCommand.logger.info("Endpoint export job " + theSession.getJob().getID() + " started");
+            ExportToEndpointCommand.respondJSON(response, mapResponse);
+        }
+        catch (Exception ex) { // ...any other exception...
+            if ( Util.isDebugMode() ) ExportToEndpointCommand.logger.error("DEBUG: Endpoint Export: Exception: " + ex.getMessage(), ex);
+            ExportToEndpointCommand.respondException(response, ex);
+        }
+    }
+}
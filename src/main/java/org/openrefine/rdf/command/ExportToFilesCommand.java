@@ -0,0 +1,103 @@
+/*
+ *  Class ExportToFilesCommand
+ *
+ *  Starts a background RDF export to part files on the server.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.command;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.exporter.RDFExportSession;
+import org.openrefine.rdf.model.exporter.RDFFileExporter;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ExportToFilesCommand extends RDFTransformCommand {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportFilesCmd");
+
+    public ExportToFilesCommand() {
+        super();
+    }
+
+    @Override
+    public void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if ( Util.isDebugMode() ) ExportToFilesCommand.logger.info("DEBUG: doPost(): Starting file export...");
+        if ( ! this.hasValidCSRFToken(request) ) {
+            ExportToFilesCommand.respondCSRFError(response);
+            return;
+        }
+
+        try {
+            Project theProject = this.getProject(request);
+            Engine theEngine = ExportToFilesCommand.getEngine(request, theProject);
+
+            String strFormat = request.getParameter("format");
+            RDFFileExporter theExporter = RDFFileExporter.getExporter(strFormat);
+            if (theExporter == null) {
+                ExportToFilesCommand.respondJSON( response,
+                    new CodeResponse("File export needs a line based format (NQUADS or NTRIPLES): " + strFormat, true) );
+                return;
+            }
+
+            // Get the part limits: given or by preference...
+            long lPartQuads = Util.getExportPartQuads();
+            String strPartQuads = request.getParameter("partQuads");
+            if (strPartQuads != null) {
+                lPartQuads = Long.parseLong( strPartQuads.strip() );
+            }
+            long lPartBytes = Util.getExportPartMB() * 1048576L;
+            String strPartMB = request.getParameter("partMB");
+            if (strPartMB != null) {
+                lPartBytes = Long.parseLong( strPartMB.strip() ) * 1048576L;
+            }
+
+            Map<String, String> theOptions = new HashMap<String, String>();
+            String strJobID = request.getParameter(RDFExportJob.strJobIDOption);
+            if (strJobID != null) {
+                theOptions.put(RDFExportJob.strJobIDOption, strJobID);
+            }
+
+            RDFExportSession theSession = theExporter.start(theProject, theOptions, theEngine, lPartQuads, lPartBytes);
+
+            Map<String, Object> mapResponse = new LinkedHashMap<String, Object>();
+            mapResponse.put("code", "ok");
+            mapResponse.put(RDFExportJob.strJobIDOption, theSession.getJob().getID());
+            mapResponse.put("directory", theSession.getTarget().getPath());
+            if ( Util.isVerbose(2) ) ExportToFilesCommand.logger.info("File export job " + theSession.getJob().getID() + " started");
+            ExportToFilesCommand.respondJSON(response, mapResponse);
+        }
+        catch (Exception ex) { // ...any other exception...
+            if ( Util.isDebugMode() ) ExportToFilesCommand.logger.error("DEBUG: File Export: Exception: " + ex.getMessage(), ex);
+            ExportToFilesCommand.respondException(response, ex);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *  Class ExportToTDB2Command
+ *
+ *  Starts a background RDF export loaded into a TDB2 database on the server.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.command;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.exporter.RDFExportSession;
+import org.openrefine.rdf.model.exporter.RDFTDB2Exporter;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ExportToTDB2Command extends RDFTransformCommand {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportTDB2Cmd");
+
+    public ExportToTDB2Command() {
+        super();
+    }
+
+    @Override
+    public void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if ( Util.isDebugMode() ) ExportToTDB2Command.logger.info("DEBUG: doPost(): Starting TDB2 export...");
+        if ( ! this.hasValidCSRFToken(request) ) {
+            ExportToTDB2Command.respondCSRFError(response);
+            return;
+        }
+
+        try {
+            Project theProject = this.getProject(request);
+            Engine theEngine = ExportToTDB2Command.getEngine(request, theProject);
+
+            // Get the transaction batch: given or by preference...
+            long lBatch = Util.getExportTDB2Batch();
+            String strBatch = request.getParameter("batchSize");
+            if (strBatch != null) {
+                lBatch = Long.parseLong( strBatch.strip() );
+            }
+
+            Map<String, String> theOptions = new HashMap<String, String>();
+            String strJobID = request.getParameter(RDFExportJob.strJobIDOption);
+            if (strJobID != null) {
+                theOptions.put(RDFExportJob.strJobIDOption, strJobID);
+            }
+
+            RDFExportSession theSession = new RDFTDB2Exporter().start(theProject, theOptions, theEngine, lBatch);
+
+            Map<String, Object> mapResponse = new LinkedHashMap<String, Object>();
+            mapResponse.put("code", "ok");
+            mapResponse.put(RDFExportJob.strJobIDOption, theSession.getJob().getID());
+            if ( theSession.getTarget() != null ) {
+                mapResponse.put("directory", theSession.getTarget().getPath());
+            }
+            else {
+                mapResponse.put("database", RDFTDB2Exporter.getDatabaseDirectory().getPath());
+            }
+            if ( Util.isVerbose(2) ) ExportToTDB2Command.logger.info("TDB2 export job " + theSession.getJob().getID() + " started");
+            ExportToTDB2Command.respondJSON(response, mapResponse);
+        }
+        catch (Exception ex) { // ...any other exception...
+            if ( Util.isDebugMode() ) ExportToTDB2Command.logger.error("DEBUG: TDB2 Export: Exception: " + ex.getMessage(), ex);
+            ExportToTDB2Command.respondException(response, ex);
+        }
+    }
+}
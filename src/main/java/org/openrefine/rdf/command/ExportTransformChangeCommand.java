@@ -0,0 +1,130 @@
+/*
+ *  Class ExportTransformChangeCommand
+ *
+ *  Starts a background export of the RDF changed by a change of RDF Transform.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.command;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.exporter.RDFExportSession;
+import org.openrefine.rdf.model.exporter.RDFIncrementalExporter;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+import org.openrefine.rdf.model.operation.RDFTransformChange;
+import org.openrefine.rdf.model.operation.SaveRDFTransformOperation;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.history.Change;
+import com.google.refine.history.HistoryEntry;
+import com.google.refine.model.Project;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ExportTransformChangeCommand extends RDFTransformCommand {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExportTransChgCmd");
+
+    public ExportTransformChangeCommand() {
+        super();
+    }
+
+    @Override
+    public void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if ( Util.isDebugMode() ) ExportTransformChangeCommand.logger.info("DEBUG: doPost(): Starting transform change export...");
+        if ( ! this.hasValidCSRFToken(request) ) {
+            ExportTransformChangeCommand.respondCSRFError(response);
+            return;
+        }
+
+        try {
+            Project theProject = this.getProject(request);
+            Engine theEngine = ExportTransformChangeCommand.getEngine(request, theProject);
+
+            String strFormat = request.getParameter("format");
+            RDFIncrementalExporter theExporter = RDFIncrementalExporter.getExporter(strFormat);
+            if (theExporter == null) {
+                ExportTransformChangeCommand.respondJSON( response,
+                    new CodeResponse("Transform change export needs a change format (PATCH or NQUADS): " + strFormat, true) );
+                return;
+            }
+
+            // Find the history entry: given or the last transform save...
+            String strHistoryID = request.getParameter("historyEntryID");
+            Long lHistoryID = ( strHistoryID == null || strHistoryID.isBlank() ? null : Long.parseLong( strHistoryID.strip() ) );
+            HistoryEntry theEntry = ExportTransformChangeCommand.findEntry(theProject, lHistoryID);
+            Change theChange = ( theEntry == null ? null : theEntry.getChange() );
+            if ( ! ( theChange instanceof RDFTransformChange ) ) {
+                ExportTransformChangeCommand.respondJSON( response,
+                    new CodeResponse("No RDF Transform change found in the project history" +
+                        ( lHistoryID == null ? "" : " for entry " + lHistoryID ), true) );
+                return;
+            }
+
+            Map<String, String> theOptions = new HashMap<String, String>();
+            String strJobID = request.getParameter(RDFExportJob.strJobIDOption);
+            if (strJobID != null) {
+                theOptions.put(RDFExportJob.strJobIDOption, strJobID);
+            }
+
+            RDFExportSession theSession =
+                theExporter.startTransformChange( theProject, theOptions, theEngine, theEntry.id, (RDFTransformChange) theChange );
+
+            Map<String, Object> mapResponse = new LinkedHashMap<String, Object>();
+            mapResponse.put("code", "ok");
+            mapResponse.put(RDFExportJob.strJobIDOption, theSession.getJob().getID());
+            mapResponse.put("historyEntryID", theEntry.id);
+            mapResponse.put("directory", theSession.getTarget().getPath());
+            if ( Util.isVerbose(2) ) ExportTransformChangeCommand.logger.info("Transform change export job " + theSession.getJob().getID() + " started");
+            ExportTransformChangeCommand.respondJSON(response, mapResponse);
+        }
+        catch (Exception ex) { // ...any other exception...
+            if ( Util.isDebugMode() ) ExportTransformChangeCommand.logger.error("DEBUG: Transform Change Export: Exception: " + ex.getMessage(), ex);
+            ExportTransformChangeCommand.respondException(response, ex);
+        }
+    }
+
+    /*
+     *  Method findEntry() finds a past history entry by its ID or, when not given, the last entry
+     *  saving an RDF Transform.
+     */
+    static private HistoryEntry findEntry(Project theProject, Long lHistoryID) {
+        List<HistoryEntry> listEntries = theProject.history.getLastPastEntries(-1); // ...all, oldest first
+        ListIterator<HistoryEntry> iterEntries = listEntries.listIterator( listEntries.size() );
+        while ( iterEntries.hasPrevious() ) {
+            HistoryEntry theEntry = iterEntries.previous();
+            if ( lHistoryID == null ?
+                    theEntry.operation instanceof SaveRDFTransformOperation :
+                    theEntry.id == lHistoryID )
+            {
+                return theEntry;
+            }
+        }
+        return null;
+    }
+}
@@ -44,7 +44,9 @@ import com.google.refine.operations.OperationRegistry;
 import org.openrefine.rdf.ApplicationContext;
 import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.RDFTGlobals;
+import org.openrefine.rdf.model.exporter.RDFCompressedExporter;
 import org.openrefine.rdf.model.exporter.RDFPrettyExporter;
+import org.openrefine.rdf.model.exporter.RDFSortedExporter;
 import org.openrefine.rdf.model.exporter.RDFStreamExporter;
 import org.openrefine.rdf.model.expr.RDFTransformBinder;
 import org.openrefine.rdf.model.expr.functions.ToIRIString;
@@ -215,6 +217,13 @@ public class InitializationCommand extends Command {
         aCommands.add(new RDFTCommandItem( RDFTGlobals.strSaveBaseIRI,          new SaveBaseIRICommand() ));
         aCommands.add(new RDFTCommandItem( RDFTGlobals.strValidateIRI,          new ValidateIRICommand() ));
         aCommands.add(new RDFTCommandItem( RDFTGlobals.strConvertToIRI,         new ToIRICommand() ));
+        aCommands.add(new RDFTCommandItem( RDFTGlobals.strGetExportProgress,    new ExportProgressCommand() ));
+        aCommands.add(new RDFTCommandItem( RDFTGlobals.strCancelExport,         new ExportCancelCommand() ));
+        aCommands.add(new RDFTCommandItem( RDFTGlobals.strExportToFiles,        new ExportToFilesCommand() ));
+        aCommands.add(new RDFTCommandItem( RDFTGlobals.strExportIncremental,    new ExportIncrementalCommand() ));
+        aCommands.add(new RDFTCommandItem( RDFTGlobals.strExportTransformChange, new ExportTransformChangeCommand() ));
+        aCommands.add(new RDFTCommandItem( RDFTGlobals.strExportToEndpoint,     new ExportToEndpointCommand() ));
+        aCommands.add(new RDFTCommandItem( RDFTGlobals.strExportToTDB2,         new ExportToTDB2Command() ));
         // Vocabs Commands
         aCommands.add(new RDFTCommandItem( RDFTGlobals.strGetDefaultNamespaces, new NamespacesGetDefaultCommand() ));
         aCommands.add(new RDFTCommandItem( RDFTGlobals.strSaveNamespaces,       new NamespacesSaveCommand() ));
@@ -357,6 +366,22 @@ public class InitializationCommand extends Command {
             }
         }
 
+        //
+        // COMPRESSED STREAM PRINTERS: line printers compressed on the fly (Stream)
+        //
+        ExporterRegistry.registerExporter( "NTRIPLES_GZ",
+            new RDFCompressedExporter(RDFFormat.NTRIPLES_UTF8, "NTRIPLES_GZ", RDFCompressedExporter.Compression.GZIP) );
+        ExporterRegistry.registerExporter( "NQUADS_GZ",
+            new RDFCompressedExporter(RDFFormat.NQUADS_UTF8,   "NQUADS_GZ",   RDFCompressedExporter.Compression.GZIP) );
+        ExporterRegistry.registerExporter( "NQUADS_ZSTD",
+            new RDFCompressedExporter(RDFFormat.NQUADS_UTF8,   "NQUADS_ZSTD", RDFCompressedExporter.Compression.ZSTD) );
+
+        //
+        // SORTED PRINTERS: line printers sorted and distinct by an external merge sort (Stream)
+        //
+        ExporterRegistry.registerExporter( "NTRIPLES_SORTED", new RDFSortedExporter(RDFFormat.NTRIPLES_UTF8, "NTRIPLES_SORTED") );
+        ExporterRegistry.registerExporter( "NQUADS_SORTED",   new RDFSortedExporter(RDFFormat.NQUADS_UTF8,   "NQUADS_SORTED") );
+
         /*================================================================================
         //
         // SPECIAL PRINTERS:
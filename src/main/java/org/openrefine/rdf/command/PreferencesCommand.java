@@ -29,6 +29,8 @@ import javax.servlet.http.HttpServletResponse;
 import com.google.refine.commands.Command;
 import org.openrefine.rdf.model.Util;
 
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,7 +61,30 @@ public class PreferencesCommand extends Command {
             strPreferences =
                 "{ \"iVerbosity\" : " +     Util.getVerbose()      + ",\n" +
                 "  \"iExportLimit\" : " +   Util.getExportLimit()  + ",\n" +
+                "  \"iExportThreads\" : " + Util.getExportThreads() + ",\n" +
+                "  \"iExportConcurrency\" : " +  Util.getExportConcurrency()  + ",\n" +
+                "  \"iExportQueueLimit\" : " +   Util.getExportQueueLimit()   + ",\n" +
+                "  \"iExportQueueTimeout\" : " + Util.getExportQueueTimeout() + ",\n" +
+                "  \"iPrettySpillLimit\" : " +   Util.getPrettySpillLimit()   + ",\n" +
+                // NOTE: Escape the directories as they may hold backslashes (Windows) or quotes.
+                "  \"strExportRoot\" : \"" +    PreferencesCommand.escape( Util.getExportRoot() ) + "\",\n" +
+                "  \"iExportPartQuads\" : " +    Util.getExportPartQuads()    + ",\n" +
+                "  \"iExportPartMB\" : " +       Util.getExportPartMB()       + ",\n" +
+                "  \"iExportSortRun\" : " +      Util.getExportSortRun()      + ",\n" +
+                "  \"iExportPushBatch\" : " +    Util.getExportPushBatch()    + ",\n" +
+                "  \"iExportPushInFlight\" : " + Util.getExportPushInFlight() + ",\n" +
+                "  \"iExportPushRetries\" : " +  Util.getExportPushRetries()  + ",\n" +
+                "  \"strExportTDB2Dir\" : \"" + PreferencesCommand.escape( Util.getExportTDB2Dir() ) + "\",\n" +
+                "  \"iExportTDB2Batch\" : " +    Util.getExportTDB2Batch()    + ",\n" +
+                "  \"bExportCompressAsync\" : " + Util.isExportCompressAsync() + ",\n" +
+                "  \"strExportDedup\" : \"" +   PreferencesCommand.escape( Util.getExportDedup() ) + "\",\n" +
+                "  \"iExportDedupSize\" : " +    Util.getExportDedupSize()    + ",\n" +
+                "  \"iExportDedupExpected\" : " + Util.getExportDedupExpected() + ",\n" +
+                "  \"dExportDedupFPR\" : " +     Util.getExportDedupFPR()     + ",\n" +
+                "  \"iNodeCacheSize\" : " +      Util.getNodeCacheSize()      + ",\n" +
+                "  \"bExportSkolemize\" : " +    Util.isExportSkolemize()     + ",\n" +
                 "  \"bPreviewStream\" : " + Util.isPreviewStream() + ",\n" +
+                "  \"iPreviewCacheSize\" : " +   Util.getPreviewCacheSize()   + ",\n" +
                 "  \"bDebugMode\" : " +     Util.isDebugMode()     + ",\n" +
                 "  \"bDebugJSON\" : " +     Util.isDebugJSON()     + ",\n" +
                 // NOTE: Use DOUBLE quotes to encapsulate SINGLE quotes used in VocabQuery... strings.
@@ -77,4 +102,11 @@ public class PreferencesCommand extends Command {
         if ( Util.isVerbose(3) ) PreferencesCommand.logger.info("...got preferences.");
         PreferencesCommand.respondJSON( response, new CodeResponse(strPreferences) );
     }
+
+    /*
+     *  Method escape() for JSON string content
+     */
+    static private String escape(String strValue) {
+        return new String( JsonStringEncoder.getInstance().quoteAsString(strValue) );
+    }
 }
@@ -30,8 +30,10 @@ import java.io.ByteArrayOutputStream;
 
 import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.PreviewCache;
 import org.openrefine.rdf.model.operation.PreviewRDFRecordVisitor;
 import org.openrefine.rdf.model.operation.PreviewRDFRowVisitor;
+import org.openrefine.rdf.model.operation.PreviewRoots;
 import org.openrefine.rdf.model.operation.RDFVisitor;
 
 import com.google.refine.browsing.Engine;
@@ -78,22 +80,6 @@ public class PreviewRDFCommand extends Command {
                 PreviewRDFCommand.respondJSON(response, CodeResponse.error);
                 return;
             }
-            RDFTransform theTransform = RDFTransform.reconstruct(theProject, jnodeTransform);
-            if (theTransform == null) {
-                PreviewRDFCommand.logger.info("ERROR: No Transform available! Cannot construct preview.");
-                PreviewRDFCommand.respondJSON(response, CodeResponse.error);
-                return;
-            }
-            if ( Util.isDebugMode() ) PreviewRDFCommand.logger.info("DEBUG:   Transform reconstructed.");
-
-            //if ( Util.isDebugMode() ) {
-            //    PreviewRDFCommand.logger.info( "Given Transform:\n" + strTransform );
-            //    StringWriter theStringWriter = new StringWriter();
-            //    JsonGenerator jsonWriter = ParsingUtilities.mapper.getFactory().createGenerator(theStringWriter);
-            //    theTransform.write(jsonWriter);
-            //    PreviewRDFCommand.logger.info( "Processed Transform:\n" + theStringWriter.getBuffer().toString() );
-            //}
-
             //
             // Process Preview Stream...
             //
@@ -122,6 +108,41 @@ public class PreviewRDFCommand extends Command {
             }
             if ( Util.isDebugMode() ) PreviewRDFCommand.logger.info("DEBUG:   Sample Limit processed: " + strSampleLimit + ", " + iSampleLimit);
 
+            //
+            // Return a cached preview...
+            //
+            JsonNode jnodeEngine = null;
+            String strEngine = request.getParameter("engine");
+            if ( ! ( strEngine == null || strEngine.isEmpty() ) ) {
+                jnodeEngine = ParsingUtilities.evaluateJsonStringToObjectNode(strEngine);
+            }
+            String strCacheKey = PreviewCache.key(theProject, jnodeTransform, jnodeEngine, iSampleLimit, bPreviewStream);
+            String strCached = PreviewCache.get(strCacheKey);
+            if (strCached != null) {
+                if ( Util.isDebugMode() ) PreviewRDFCommand.logger.info("DEBUG:   Preview cached.");
+                PreviewRDFCommand.respondJSON( response, new CodeResponse(strCached) );
+                return;
+            }
+
+            //
+            // Reconstruct the RDF Transform...
+            //
+            RDFTransform theTransform = RDFTransform.reconstruct(theProject, jnodeTransform);
+            if (theTransform == null) {
+                PreviewRDFCommand.logger.info("ERROR: No Transform available! Cannot construct preview.");
+                PreviewRDFCommand.respondJSON(response, CodeResponse.error);
+                return;
+            }
+            if ( Util.isDebugMode() ) PreviewRDFCommand.logger.info("DEBUG:   Transform reconstructed.");
+
+            //if ( Util.isDebugMode() ) {
+            //    PreviewRDFCommand.logger.info( "Given Transform:\n" + strTransform );
+            //    StringWriter theStringWriter = new StringWriter();
+            //    JsonGenerator jsonWriter = ParsingUtilities.mapper.getFactory().createGenerator(theStringWriter);
+            //    theTransform.write(jsonWriter);
+            //    PreviewRDFCommand.logger.info( "Processed Transform:\n" + theStringWriter.getBuffer().toString() );
+            //}
+
             //
             // Process Output...
             //
@@ -156,8 +177,16 @@ public class PreviewRDFCommand extends Command {
                 theVisitor = new PreviewRDFRowVisitor(theTransform);
             }
 
+            // Reuse the last preview's statements for the unchanged roots...
+            PreviewRoots theRoots = PreviewCache.getRoots( theProject, theTransform, theVisitor.getPlan(), jnodeEngine, iSampleLimit );
+            theVisitor.setPreviewRoots(theRoots);
+
             if ( Util.isDebugMode() ) PreviewRDFCommand.logger.info("DEBUG:     Building the RDF graph...");
             theVisitor.buildDSGraph(theProject, theEngine); // ...may or may not close since the theVisitor's theWriter is flexible
+            theRoots.merge( theVisitor.getDSGraph() );
+            if ( ! theVisitor.isLimitReached() ) { // ...a truncated sample is not kept
+                PreviewCache.putRoots(theProject, theRoots);
+            }
 
             //
             // Write...
@@ -184,6 +213,7 @@ public class PreviewRDFCommand extends Command {
             //
             String strStatements = theOutputStream.toString(StandardCharsets.UTF_8);
             if ( Util.isVerbose(4) ) PreviewRDFCommand.logger.info("Preview Statements:\n" + strStatements);
+            PreviewCache.put(strCacheKey, strStatements);
 
             PreviewRDFCommand.respondJSON( response, new CodeResponse(strStatements) );
         }
@@ -28,6 +28,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.openrefine.rdf.model.EvaluationContext;
 import org.openrefine.rdf.model.Util;
 
 import com.google.refine.commands.expr.PreviewExpressionCommand;
@@ -155,6 +156,10 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
         String strResult;
         String strResultAbs;
 
+        // Bind once for all rows...
+        EvaluationContext theContext = new EvaluationContext(this.theProject);
+        int iCellIndex = theContext.resolveCellIndex(this.strColumnName);
+
         //
         // Write the results...
         //
@@ -177,7 +182,7 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
                     // NOTE: Expression evaluation will fail all the time because...typing!
                     //       It's constantly updating the preview as we type, so failure on
                     //       incomplete expressions!
-                    results = Util.evaluateExpression(this.theProject, this.strExpression, this.strColumnName, iRowIndex);
+                    results = theContext.evaluate(this.strExpression, this.strColumnName, iCellIndex, iRowIndex);
                 }
                 else
                     break;
@@ -323,6 +328,10 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
         String strResult;
         boolean bGood = true;
 
+        // Bind once for all rows...
+        EvaluationContext theContext = new EvaluationContext(this.theProject);
+        int iCellIndex = theContext.resolveCellIndex(this.strColumnName);
+
         //
         // Write the results...
         //
@@ -343,7 +352,7 @@ public class PreviewRDFTExpressionCommand extends PreviewExpressionCommand {
                     // NOTE: Expression evaluation will fail all the time because...typing!
                     //       It's constantly updating the preview as we type, so failure on
                     //       incomplete expressions!
-                    results = Util.evaluateExpression(this.theProject, this.strExpression, this.strColumnName, iRowIndex);
+                    results = theContext.evaluate(this.strExpression, this.strColumnName, iCellIndex, iRowIndex);
                 }
                 else
                     break;
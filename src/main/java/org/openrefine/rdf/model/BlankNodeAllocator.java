@@ -0,0 +1,161 @@
+/*
+ *  Class BlankNodeAllocator
+ *
+ *  Creates the blank nodes of an evaluation with deterministic labels or skolem IRIs.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.jena.graph.NodeFactory;
+
+/**
+ * Class BlankNodeAllocator<br />
+ *<br />
+ *  A blank node is named by what produced it: the plan's key for the node (see
+ *  TransformPlan.BlankStep) and the row.  The same transform on the same data then produces the
+ *  same blank nodes on every export, no matter how many workers evaluate the rows, so exports can
+ *  be compared and the incremental exports see no false changes.<br />
+ *<br />
+ *  A blank node gets either:<br />
+ *  &nbsp;&nbsp;a compact label: the node key, "r", and the row in base 36, such as "c2r1z"
+ *  (the column slot 2 on row 71), or<br />
+ *  &nbsp;&nbsp;a skolem IRI (when the plan is skolemized): the plan's skolem base and a 128 bit
+ *  SHA-256 hash of the project, the row, and the node path.  The same rows of a project produce the
+ *  same IRIs on every export, so re-exports load incrementally into a store.<br />
+ *<br />
+ *  A record's index based blank node is named by the record's first row.  Constant blank nodes keep
+ *  their constant as the label.<br />
+ *<br />
+ *  The allocator is owned by an EvaluationContext and, like the context, is used by one thread at a time.
+ */
+public final class BlankNodeAllocator {
+    static private final char[] acHex = "0123456789abcdef".toCharArray();
+    static private final int iHashBytes = 16; // ...128 bits
+
+    private final TransformPlan thePlan;
+    private final long lProjectID;
+    private final StringBuilder theLabel = new StringBuilder();
+    private final Map<ResourceNode, org.apache.jena.graph.Node> mapConstants = new IdentityHashMap<>();
+    private MessageDigest theDigest = null;
+
+    /**
+     * BlankNodeAllocator ctor
+     * @param thePlan - The compiled plan keying the blank nodes.  May be null.
+     * @param lProjectID - The project's ID for the skolem IRIs.
+     */
+    public BlankNodeAllocator(TransformPlan thePlan, long lProjectID) {
+        this.thePlan = thePlan;
+        this.lProjectID = lProjectID;
+    }
+
+    /**
+     * Create the blank node (or skolem IRI) for a cell blank node on a row.
+     * @param theNode - The blank node.
+     * @param iRowIndex - The row index.  For a record, the record's first row.
+     * @param iPosition - The position of the node in the node's results on the row.
+     * @return org.apache.jena.graph.Node - The node.  A node not compiled by the plan gets a new blank node.
+     */
+    public org.apache.jena.graph.Node createNode(ResourceNode theNode, int iRowIndex, int iPosition) {
+        TransformPlan.BlankStep theStep = ( this.thePlan == null ? null : this.thePlan.getBlank(theNode) );
+        if (theStep == null) {
+            return NodeFactory.createBlankNode();
+        }
+        if ( this.thePlan.isSkolemized() ) {
+            return this.createSkolem(theStep, iRowIndex, iPosition);
+        }
+
+        this.theLabel.setLength(0);
+        this.theLabel.append( theStep.getKey() ).append('r').append( Integer.toString(iRowIndex, Character.MAX_RADIX) );
+        if (iPosition > 0) {
+            this.theLabel.append('_').append( Integer.toString(iPosition, Character.MAX_RADIX) );
+        }
+        return NodeFactory.createBlankNode( this.theLabel.toString() );
+    }
+
+    /**
+     * Create the blank node (or skolem IRI) for a constant blank node.
+     * @param theNode - The constant blank node.
+     * @param strLabel - The node's label or null for the plan's key.
+     * @return org.apache.jena.graph.Node - The node.  A node not compiled by the plan gets a new blank node.
+     */
+    public org.apache.jena.graph.Node createConstant(ResourceNode theNode, String strLabel) {
+        org.apache.jena.graph.Node nodeConstant = this.mapConstants.get(theNode);
+        if (nodeConstant == null) {
+            TransformPlan.BlankStep theStep = ( this.thePlan == null ? null : this.thePlan.getBlank(theNode) );
+            if (theStep == null) {
+                nodeConstant = ( strLabel == null ? NodeFactory.createBlankNode() : NodeFactory.createBlankNode(strLabel) );
+            }
+            else if ( this.thePlan.isSkolemized() ) {
+                nodeConstant = this.createSkolem(theStep, -1, 0); // ...on no row
+            }
+            else {
+                nodeConstant = NodeFactory.createBlankNode( strLabel == null ? theStep.getKey() : strLabel );
+            }
+            this.mapConstants.put(theNode, nodeConstant);
+        }
+        return nodeConstant;
+    }
+
+    /*
+     *  Method createSkolem() for a skolem IRI
+     *
+     *    The fixed width project, row, and position lead the variable width path, so no two inputs
+     *    hash the same bytes.
+     */
+    private org.apache.jena.graph.Node createSkolem(TransformPlan.BlankStep theStep, int iRowIndex, int iPosition) {
+        MessageDigest theDigest = this.getDigest();
+        theDigest.reset();
+        for (int iShift = 56; iShift >= 0; iShift -= 8) {
+            theDigest.update( (byte) ( this.lProjectID >>> iShift ) );
+        }
+        for (int iShift = 24; iShift >= 0; iShift -= 8) {
+            theDigest.update( (byte) ( iRowIndex >>> iShift ) );
+        }
+        for (int iShift = 24; iShift >= 0; iShift -= 8) {
+            theDigest.update( (byte) ( iPosition >>> iShift ) );
+        }
+        theDigest.update( theStep.getPath().getBytes(StandardCharsets.UTF_8) );
+        byte[] abHash = theDigest.digest();
+
+        this.theLabel.setLength(0);
+        this.theLabel.append( this.thePlan.getSkolemBase() );
+        for (int iByte = 0; iByte < BlankNodeAllocator.iHashBytes; iByte++) {
+            this.theLabel.append( BlankNodeAllocator.acHex[ ( abHash[iByte] >> 4 ) & 0x0F ] );
+            this.theLabel.append( BlankNodeAllocator.acHex[ abHash[iByte] & 0x0F ] );
+        }
+        return NodeFactory.createURI( this.theLabel.toString() );
+    }
+
+    private MessageDigest getDigest() {
+        if (this.theDigest == null) {
+            try {
+                this.theDigest = MessageDigest.getInstance("SHA-256");
+            }
+            catch (NoSuchAlgorithmException ex) {
+                // Every Java platform has SHA-256...
+                throw new IllegalStateException(ex);
+            }
+        }
+        return this.theDigest;
+    }
+}
@@ -26,16 +26,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import org.openrefine.rdf.model.expr.functions.ToIRIString;
+import org.openrefine.rdf.model.utils.RecordModel;
 
 import com.google.refine.expr.ExpressionUtils;
 import com.google.refine.expr.ParsingException;
 
-import org.apache.jena.rdf.model.AnonId;
-import org.apache.jena.rdf.model.impl.ResourceImpl;
-import org.apache.jena.rdf.model.RDFNode;
-import org.apache.jena.rdf.model.Resource;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -91,30 +86,30 @@ public class CellBlankNode extends ResourceNode implements CellNode {
     }
 
     @Override
-    protected void createRowResources() {
+    protected List<org.apache.jena.graph.Node> createRowResources(EvaluationContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) CellBlankNode.logger.info("DEBUG: createRowResources...");
 
-        this.listNodes = null;
         Object results = null;
         try {
             // NOTE: Currently, the expression just results in a "true" (some non-empty string is evaluated)
             //      or "false" (a null or empty string is evaluated).
             //      When "true", a BNode is automatically generated.
             results =
-                Util.evaluateExpression( this.theProject, this.strExpression, this.strColumnName, this.theRec.row() );
+                theContext.evaluate( this.strExpression, theContext.getPlan().getValueAccess(this), this.strColumnName,
+                                     theContext.getCellIndex( theContext.getPlan().getColumnSlot(this) ), theRec.row() );
         }
         catch (ParsingException ex) {
             // An cell might result in a ParsingException when evaluating an IRI expression.
             // Eat the exception...
-            return;
+            return null;
         }
 
         // Results cannot be classed...
         if ( results == null || ExpressionUtils.isError(results) || ! ExpressionUtils.isNonBlankData(results) ) {
-            return;
+            return null;
         }
 
-        this.listNodes = new ArrayList<RDFNode>();
+        List<org.apache.jena.graph.Node> listNodes = new ArrayList<org.apache.jena.graph.Node>();
 
         // Results are an array...
         if ( results.getClass().isArray() ) {
@@ -122,50 +117,30 @@ public class CellBlankNode extends ResourceNode implements CellNode {
 
             List<Object> listResult = Arrays.asList(results);
             for (Object objResult : listResult) {
-                this.normalizeBNodeResource(objResult);
+                this.normalizeBNodeResource(theContext, listNodes, objResult, theRec.row());
             }
         }
         // Results are singular...
         else {
-            this.normalizeBNodeResource(results);
+            this.normalizeBNodeResource(theContext, listNodes, results, theRec.row());
         }
 
-        if ( this.listNodes.isEmpty() ) {
-            this.listNodes = null;
+        if ( listNodes.isEmpty() ) {
+            return null;
         }
+        return listNodes;
     }
 
-    private void normalizeBNodeResource(Object objResult) {
+    private void normalizeBNodeResource(EvaluationContext theContext, List<org.apache.jena.graph.Node> listNodes,
+                                        Object objResult, int iRowIndex) {
         String strResult = Util.toSpaceStrippedString(objResult);
-        // NOTE: The prefix "_:" is auto-added by createBNode()
         // If we have a good result...
         if ( strResult != null && ! strResult.isEmpty() ) {
-            Resource bnode = null;
-            // If this is a row / record index-based Blank Node...
-            if (this.bIsIndex) {
-                // ...produce a regular blank node...
-                bnode = new ResourceImpl( new AnonId() );
-            }
-            // Otherwise, it's a column-based Blank Node...
-            else {
-                String strIRIColumnName = ToIRIString.toIRIString(this.strColumnName);
-                // If the ColumnName does not produce a good IRI string...
-                if (strIRIColumnName == null) {
-                    // ...produce a regular blank node...
-                    bnode = new ResourceImpl( new AnonId() );
-                }
-                // Otherwise, produce an Blank Node based on the ColumnName...
-                else {
-                    // Since we are processing by row (even in record mode for columns),
-                    // the row number is set and we can use it with the ColumnName
-                    String strIndex = Integer.toString( this.theRec.row() );
-                    bnode = new ResourceImpl( new AnonId( strIRIColumnName + "_" + strIndex ) );
-                }
-            }
-
-            if (bnode != null) {
-                this.listNodes.add(bnode);
-            }
+            // Since we are processing by row (even in record mode for columns), the row number is set
+            // and names the Blank Node with the plan's key for this node: a column-based Blank Node
+            // shares its key with the other Blank Nodes on its column and a row / record index-based
+            // Blank Node has its own key.  See BlankNodeAllocator.
+            listNodes.add( theContext.getBlankNodes().createNode( this, iRowIndex, listNodes.size() ) );
         }
     }
 
@@ -26,13 +26,14 @@ import java.util.Arrays;
 import java.util.List;
 import java.io.IOException;
 
+import org.openrefine.rdf.model.utils.RecordModel;
+
 import com.google.refine.expr.ExpressionUtils;
 import com.google.refine.expr.ParsingException;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonGenerationException;
 
-import org.apache.jena.rdf.model.RDFNode;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -111,27 +112,29 @@ public class CellLiteralNode extends LiteralNode implements CellNode {
      *  from this node on Rows
      */
     @Override
-    protected void createRowLiterals() {
+    protected List<org.apache.jena.graph.Node> createRowLiterals(EvaluationContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) CellLiteralNode.logger.info("DEBUG: createRowLiterals...");
 
-        this.listNodes = null;
         Object results = null;
         try {
             results =
-                Util.evaluateExpression( this.theProject, this.strExpression, this.strColumnName, this.theRec.row() );
+                theContext.evaluate( this.strExpression, theContext.getPlan().getValueAccess(this), this.strColumnName,
+                                     theContext.getCellIndex( theContext.getPlan().getColumnSlot(this) ), theRec.row() );
         }
         catch (ParsingException ex) {
             // An cell might result in a ParsingException when evaluating an IRI expression.
             // Eat the exception...
-            return;
+            return null;
         }
 
         // Results cannot be classed...
         if ( results == null || ExpressionUtils.isError(results) || ! ExpressionUtils.isNonBlankData(results) ) {
-            return;
+            return null;
         }
 
-        this.listNodes = new ArrayList<RDFNode>();
+        TransformPlan thePlan = theContext.getPlan();
+        NodeCache theCache = theContext.getNodeCache();
+        List<org.apache.jena.graph.Node> listNodes = new ArrayList<org.apache.jena.graph.Node>();
 
         // Results are an array...
         if ( results.getClass().isArray() ) {
@@ -139,16 +142,37 @@ public class CellLiteralNode extends LiteralNode implements CellNode {
 
             List<Object> listResult = Arrays.asList(results);
             for (Object obj : listResult) {
-                this.normalizeLiteral(obj);
+                this.normalizeCachedLiteral(thePlan, theCache, listNodes, obj);
             }
         }
         // Results are singular...
         else {
-            this.normalizeLiteral(results);
+            this.normalizeCachedLiteral(thePlan, theCache, listNodes, results);
         }
 
-        if ( this.listNodes.isEmpty() ) {
-            this.listNodes = null;
+        if ( listNodes.isEmpty() ) {
+            return null;
+        }
+        return listNodes;
+    }
+
+    /*
+     *  Method normalizeCachedLiteral() for a cell value to a Literal, reusing the Literal of a repeated value
+     */
+    private void normalizeCachedLiteral(TransformPlan thePlan, NodeCache theCache, List<org.apache.jena.graph.Node> listNodes, Object obj) {
+        String strResult = obj.toString();
+        if ( strResult == null || strResult.isEmpty() ) {
+            return;
+        }
+        org.apache.jena.graph.Node nodeCached = theCache.get(this, strResult);
+        if (nodeCached != null) {
+            listNodes.add(nodeCached);
+            return;
+        }
+        int iSize = listNodes.size();
+        this.normalizeLiteral(thePlan, listNodes, obj);
+        if ( listNodes.size() == iSize + 1 ) {
+            theCache.put( this, strResult, listNodes.get(iSize) );
         }
     }
 
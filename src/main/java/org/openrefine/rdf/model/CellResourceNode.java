@@ -22,15 +22,18 @@
 package org.openrefine.rdf.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.io.IOException;
 
+import org.openrefine.rdf.model.utils.RecordModel;
+
 import com.google.refine.expr.ExpressionUtils;
 import com.google.refine.expr.ParsingException;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonGenerationException;
 
-import org.apache.jena.rdf.model.RDFNode;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -94,51 +97,63 @@ public class CellResourceNode extends ResourceNode implements CellNode {
     }
 
     @Override
-    protected void createRowResources() {
+    protected List<org.apache.jena.graph.Node> createRowResources(EvaluationContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) CellResourceNode.logger.info("DEBUG: createRowResources...");
 
-        this.listNodes = null;
         Object results = null;
         try {
             results =
-                Util.evaluateExpression( this.theProject, this.strExpression, this.strColumnName, this.theRec.row() );
+                theContext.evaluate( this.strExpression, theContext.getPlan().getValueAccess(this), this.strColumnName,
+                                     theContext.getCellIndex( theContext.getPlan().getColumnSlot(this) ), theRec.row() );
         }
         catch (ParsingException ex) {
             // An cell might result in a ParsingException when evaluating an IRI expression.
             // Eat the exception...
-            return;
+            return null;
         }
 
         // Results cannot be classed...
         if ( results == null || ExpressionUtils.isError(results) || ! ExpressionUtils.isNonBlankData(results) ) {
-            return;
+            return null;
         }
 
-        this.listNodes = new ArrayList<RDFNode>();
+        TransformPlan thePlan = theContext.getPlan();
+        List<org.apache.jena.graph.Node> listNodes = new ArrayList<org.apache.jena.graph.Node>();
 
         // Results are an array...
         if ( results.getClass().isArray() ) {
             if (Util.isDebugMode()) CellResourceNode.logger.info("DEBUG: Result is Array...");
-            this.processResultsAsArray(this.strPrefix, results);
+            this.processResultsAsArray(thePlan, listNodes, this.strPrefix, results);
         }
         // Results are singular...
         else {
             if (Util.isDebugMode()) CellResourceNode.logger.info("DEBUG: Result is Singular...");
-            if ( results.toString().isEmpty() ) {
-                return;
+            String strResult = results.toString();
+            if ( strResult.isEmpty() ) {
+                return null;
+            }
+            // A repeated value reuses its node...
+            NodeCache theCache = theContext.getNodeCache();
+            org.apache.jena.graph.Node nodeCached = theCache.get(this, strResult);
+            if (nodeCached != null) {
+                return Collections.singletonList(nodeCached);
             }
             var bDone = false;
             if (this.strPrefix == null) {
-                bDone = this.processResultsAsSingle(results);
+                bDone = this.processResultsAsSingle(thePlan, listNodes, results);
             }
             if ( ! bDone ) {
-                this.normalizeResource(this.strPrefix, results);
+                this.normalizeResource(thePlan, listNodes, this.strPrefix, results);
+            }
+            if ( listNodes.size() == 1 ) {
+                theCache.put( this, strResult, listNodes.get(0) );
             }
         }
 
-        if ( this.listNodes.isEmpty() ) {
-            this.listNodes = null;
+        if ( listNodes.isEmpty() ) {
+            return null;
         }
+        return listNodes;
     }
 
     @Override
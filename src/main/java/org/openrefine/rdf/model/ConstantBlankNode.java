@@ -22,6 +22,7 @@
 package org.openrefine.rdf.model;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import java.io.IOException;
 
@@ -29,9 +30,9 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonGenerationException;
 
-import org.apache.jena.rdf.model.AnonId;
-import org.apache.jena.rdf.model.impl.ResourceImpl;
-import org.apache.jena.rdf.model.RDFNode;
+import org.openrefine.rdf.model.utils.RecordModel;
+
+import org.apache.jena.graph.NodeFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,7 +44,7 @@ public class ConstantBlankNode extends ResourceNode implements ConstantNode {
     static private final String strNotLast = "[\\.]+";
     static private final String strNotFirst = "[-\\.\\u00B7\\u0300\\u036F\\u203F\\u2040]+";
 
-    private RDFNode bnode;
+    private final String strLabel; // ...null when the constant makes no label
     private final String strConstant;
 
     @JsonCreator
@@ -51,7 +52,7 @@ public class ConstantBlankNode extends ResourceNode implements ConstantNode {
         // NOTE: A Constant Blank Node is a singular blank node base on the supplied constant value.
         this.strConstant = strConstant;
         this.eNodeType = Util.NodeType.CONSTANT;
-        this.bnode = null; // ...create the One and Only Constant BNode later
+        this.strLabel = ConstantBlankNode.createLabel(strConstant); // ...for the One and Only Constant BNode
     }
 
     static String getNODETYPE() {
@@ -60,7 +61,7 @@ public class ConstantBlankNode extends ResourceNode implements ConstantNode {
 
     @Override
     public String getNodeName() {
-        return "Constant BNode: <[" + this.strConstant + "]" + this.bnode.asNode().getBlankNodeLabel() + ">";
+        return "Constant BNode: <[" + this.strConstant + "]" + ( this.strLabel == null ? "" : this.strLabel ) + ">";
     }
 
     @Override
@@ -72,80 +73,103 @@ public class ConstantBlankNode extends ResourceNode implements ConstantNode {
         return this.strConstant;
     }
 
+    /**
+     * Get the blank node label validated from the constant.
+     * @return String - The label or null when the constant makes no label.
+     */
+    public String getLabel() {
+        return this.strLabel;
+    }
+
     @Override
-    protected void createResources() {
+    protected List<org.apache.jena.graph.Node> createResources(EvaluationContext theContext, RecordModel theRec) {
         // For a Constant Blank Node, we only need one constant blank node resource per record,
         // so process as a row...
-        this.createRowResources();
+        return this.createRowResources(theContext, theRec);
     }
 
     @Override
-    protected void createRecordResources() {
+    protected List<org.apache.jena.graph.Node> createRecordResources(EvaluationContext theContext, RecordModel theRec) {
         // NOT USED!  Just in case, process as a row...
-        this.createRowResources();
+        return this.createRowResources(theContext, theRec);
     }
 
     @Override
-    protected void createRowResources() {
+    protected List<org.apache.jena.graph.Node> createRowResources(EvaluationContext theContext, RecordModel theRec) {
         if ( Util.isDebugMode() ) ConstantBlankNode.logger.info("DEBUG: createRowResources...");
 
-        this.listNodes = new ArrayList<RDFNode>();
-        this.normalizeBNodeResource();
-
-        if ( this.listNodes.isEmpty() ) {
-            this.listNodes = null;
+        // Use the plan's pre-bound constant when available...
+        List<org.apache.jena.graph.Node> listBound = theContext.getPlan().getConstants(this);
+        if (listBound != null) {
+            return listBound;
         }
+        // Otherwise, skolemized (per project) or not compiled...
+        List<org.apache.jena.graph.Node> listNodes = new ArrayList<org.apache.jena.graph.Node>();
+        listNodes.add( theContext.getBlankNodes().createConstant(this, this.strLabel) );
+        return listNodes;
     }
 
-    private void normalizeBNodeResource() {
-        // If the One and Only Constant BNode has NOT been constructed...
-        if (this.bnode == null) {
-            //
-            // Construct the One and Only Constant BNode...once...
-            //
-
-            // When there is nothing to evaluate...
-            if ( strConstant == null || strConstant.isEmpty() ) {
-                // ...produce a generic blank node...
-                ConstantBlankNode.logger.warn("WARNING: The ConstantBlankNode constant is empty! Creating generic BNode.");
-                this.bnode = new ResourceImpl( new AnonId() );
+    @Override
+    protected List<org.apache.jena.graph.Node> createConstantObjects(TransformPlan thePlan) {
+        // A skolem IRI depends on the project, so it is not pre-bound...
+        if ( thePlan.isSkolemized() ) {
+            return null;
+        }
+        // Without a label, use the plan's key for the node...
+        String strBNodeLabel = this.strLabel;
+        if (strBNodeLabel == null) {
+            TransformPlan.BlankStep theStep = thePlan.getBlank(this);
+            if (theStep == null) {
+                return null;
             }
-            else {
-                //
-                // Validate the supplied constant value as a BNode ID based on Turtle limits...
-                //
-                String strBNodeValue = Util.toSpaceStrippedString(strConstant);
-                String strBNodeValueBegin;
-                do {
-                    strBNodeValueBegin = strBNodeValue;
-                    while ( strBNodeValue.startsWith(ResourceNode.strBNodePrefix) ) {
-                        strBNodeValue = strBNodeValue.substring(2);
-                    }
-                    // Not First...
-                    strBNodeValue = strBNodeValue.replaceFirst("^" + ConstantBlankNode.strNotFirst, "");
-                    // Not Last...
-                    strBNodeValue = strBNodeValue.replaceFirst(ConstantBlankNode.strNotLast + "$", "");
-                    // On no change, break...
-                    if ( strBNodeValueBegin.equals(strBNodeValue) ) break;
-                    // Otherwise, something was removed so recheck...
-                } while (true);
-
-                // When there is nothing to evaluate...
-                if ( strBNodeValue == null || strBNodeValue.isEmpty() ) {
-                    ConstantBlankNode.logger.error("ERROR: The ConstantBlankNode constant evaluates to nothing! Creating generic BNode.");
-                    this.bnode = new ResourceImpl( new AnonId() );
-                }
-                else {
-                    if ( Util.isDebugMode() ) ConstantBlankNode.logger.info("DEBUG:  Pre-Create: " + strBNodeValue);
-                    // NOTE: The prefix "_:" is auto-added by createBNode()
-                    this.bnode = new ResourceImpl( new AnonId(strBNodeValue) );
-                    if ( Util.isDebugMode() ) ConstantBlankNode.logger.info("DEBUG: Post-Create: " + this.bnode.toString());
-                }
+            strBNodeLabel = theStep.getKey();
+        }
+        // NOTE: The prefix "_:" is auto-added by createBlankNode()
+        org.apache.jena.graph.Node bnode = NodeFactory.createBlankNode(strBNodeLabel);
+        if ( Util.isDebugMode() ) ConstantBlankNode.logger.info("DEBUG: Created: " + bnode.toString());
+        List<org.apache.jena.graph.Node> listNodes = new ArrayList<org.apache.jena.graph.Node>();
+        listNodes.add(bnode);
+        return listNodes;
+    }
+
+    /*
+     *  Method createLabel() validates the constant as the One and Only Constant BNode's label...once...
+     */
+    static private String createLabel(String strConstant) {
+        // When there is nothing to evaluate...
+        if ( strConstant == null || strConstant.isEmpty() ) {
+            // ...produce a keyed blank node...
+            ConstantBlankNode.logger.warn("WARNING: The ConstantBlankNode constant is empty! Creating keyed BNode.");
+            return null;
+        }
+
+        //
+        // Validate the supplied constant value as a BNode ID based on Turtle limits...
+        //
+        String strBNodeValue = Util.toSpaceStrippedString(strConstant);
+        String strBNodeValueBegin;
+        do {
+            strBNodeValueBegin = strBNodeValue;
+            while ( strBNodeValue.startsWith(ResourceNode.strBNodePrefix) ) {
+                strBNodeValue = strBNodeValue.substring(2);
             }
+            // Not First...
+            strBNodeValue = strBNodeValue.replaceFirst("^" + ConstantBlankNode.strNotFirst, "");
+            // Not Last...
+            strBNodeValue = strBNodeValue.replaceFirst(ConstantBlankNode.strNotLast + "$", "");
+            // On no change, break...
+            if ( strBNodeValueBegin.equals(strBNodeValue) ) break;
+            // Otherwise, something was removed so recheck...
+        } while (true);
+
+        // When there is nothing to evaluate...
+        if ( strBNodeValue == null || strBNodeValue.isEmpty() ) {
+            ConstantBlankNode.logger.error("ERROR: The ConstantBlankNode constant evaluates to nothing! Creating keyed BNode.");
+            return null;
         }
-        // Otherwise, reuse existing BNode.
 
-        this.listNodes.add(bnode);
+        if ( Util.isDebugMode() ) ConstantBlankNode.logger.info("DEBUG: Label: " + strBNodeValue);
+        return strBNodeValue;
     }
 
     @Override
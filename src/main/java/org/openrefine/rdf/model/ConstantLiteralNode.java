@@ -23,8 +23,10 @@ package org.openrefine.rdf.model;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+
+import org.openrefine.rdf.model.utils.RecordModel;
 
-import org.apache.jena.rdf.model.RDFNode;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -80,10 +82,10 @@ public class ConstantLiteralNode extends LiteralNode implements ConstantNode {
     }
 
     @Override
-    protected void createRecordLiterals() {
+    protected List<org.apache.jena.graph.Node> createRecordLiterals(EvaluationContext theContext, RecordModel theRec) {
         // For a Constant Literal Node, we only need one constant literal per record,
         // so process as a row...
-        this.createRowLiterals();
+        return this.createRowLiterals(theContext, theRec);
     }
 
     /*
@@ -91,18 +93,27 @@ public class ConstantLiteralNode extends LiteralNode implements ConstantNode {
      *  from this node on a Row.
      */
     @Override
-    protected void createRowLiterals() {
+    protected List<org.apache.jena.graph.Node> createRowLiterals(EvaluationContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) ConstantLiteralNode.logger.info("DEBUG: createRowLiterals...");
 
-        this.listNodes = null;
+        // Use the plan's pre-bound constant when available...
+        List<org.apache.jena.graph.Node> listBound = theContext.getPlan().getConstants(this);
+        if (listBound != null) {
+            return listBound;
+        }
+        return this.createConstantObjects( theContext.getPlan() );
+    }
 
+    @Override
+    protected List<org.apache.jena.graph.Node> createConstantObjects(TransformPlan thePlan) {
         // If there is no value to work with...
         if ( this.strConstant == null || this.strConstant.isEmpty() ) {
-            return;
+            return null;
         }
 
-        this.listNodes = new ArrayList<RDFNode>();
-        this.normalizeLiteral(this.strConstant);
+        List<org.apache.jena.graph.Node> listNodes = new ArrayList<org.apache.jena.graph.Node>();
+        this.normalizeLiteral(thePlan, listNodes, this.strConstant);
+        return listNodes;
     }
 
     @Override
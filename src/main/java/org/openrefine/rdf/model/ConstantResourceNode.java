@@ -23,8 +23,11 @@ package org.openrefine.rdf.model;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 
-import org.apache.jena.rdf.model.RDFNode;
+import org.openrefine.rdf.model.utils.RecordModel;
+
+import org.apache.jena.iri.IRI;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -72,45 +75,61 @@ public class ConstantResourceNode extends ResourceNode implements ConstantNode {
     }
 
     @Override
-    protected void createResources() {
+    protected List<org.apache.jena.graph.Node> createResources(EvaluationContext theContext, RecordModel theRec) {
         // For a Constant Resource Node, we only need one constant resource per record,
         // so process as a row...
-        this.createRowResources();
+        return this.createRowResources(theContext, theRec);
     }
 
     @Override
-    protected void createRecordResources() {
+    protected List<org.apache.jena.graph.Node> createRecordResources(EvaluationContext theContext, RecordModel theRec) {
         // NOT USED!
-        this.listNodes = null;
+        return null;
     }
 
     @Override
-    protected void createRowResources() {
-        this.listNodes = null;
+    protected List<org.apache.jena.graph.Node> createRowResources(EvaluationContext theContext, RecordModel theRec) {
+        // Use the plan's pre-bound constant when available...
+        List<org.apache.jena.graph.Node> listBound = theContext.getPlan().getConstants(this);
+        if (listBound != null) {
+            return listBound;
+        }
+        return this.createConstantObjects( theContext.getPlan() );
+    }
 
+    @Override
+    protected List<org.apache.jena.graph.Node> createConstantObjects(TransformPlan thePlan) {
         // If there is no value to work with...
         if ( this.strConstant == null || this.strConstant.isEmpty() ) {
-            return;
+            return null;
         }
 
-        this.listNodes = new ArrayList<RDFNode>();
+        List<org.apache.jena.graph.Node> listNodes = new ArrayList<org.apache.jena.graph.Node>();
         var bDone = false;
         if (this.strPrefix == null) {
-            bDone = this.processResultsAsSingle(this.strConstant);
+            bDone = this.processResultsAsSingle(thePlan, listNodes, this.strConstant);
         }
         if ( ! bDone ) {
-            this.normalizeResource(this.strPrefix, this.strConstant);
+            this.normalizeResource(thePlan, listNodes, this.strPrefix, this.strConstant);
         }
 
-        if ( this.listNodes.isEmpty() ) {
-            this.listNodes = null;
+        if ( listNodes.isEmpty() ) {
+            return null;
         }
+        return listNodes;
     }
 
     /*
      *  Method normalizeResourceAsString() for Resource Node to IRI
      */
     public String normalizeResourceAsString() {
+        return this.normalizeResourceAsString(null);
+    }
+
+    /*
+     *  Method normalizeResourceAsString() for Resource Node to IRI validated against a Base IRI
+     */
+    public String normalizeResourceAsString(IRI baseIRI) {
         String strIRI = "";
         if ( this.strConstant == null || this.strConstant.isEmpty() ) {
             return strIRI;
@@ -131,7 +150,7 @@ public class ConstantResourceNode extends ResourceNode implements ConstantNode {
         }
 
         try {
-            Util.resolveIRI(this.baseIRI, strIRI);
+            Util.resolveIRI(baseIRI, strIRI);
         }
         catch (Exception ex) {
             // An IRIParsingException from Util.resolveIRI() means a bad IRI.
@@ -0,0 +1,314 @@
+/*
+ *  Class EvaluationContext
+ *
+ *  The per worker state for evaluating RDF Transform expressions on a project.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model;
+
+import java.util.List;
+import java.util.Properties;
+
+import org.openrefine.rdf.model.expr.ExpressionCache;
+
+import com.google.refine.expr.Evaluable;
+import com.google.refine.expr.ExpressionUtils;
+import com.google.refine.expr.MetaParser;
+import com.google.refine.expr.ParsingException;
+import com.google.refine.model.Cell;
+import com.google.refine.model.Column;
+import com.google.refine.model.Project;
+import com.google.refine.model.Row;
+
+import org.apache.jena.riot.system.StreamRDF;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class EvaluationContext<br />
+ *<br />
+ *  Holds what a node evaluation needs beyond the row: the project, the plan, the statement output,
+ *  the expression bindings, and the cell indices of the plan's columns.  The node tree itself is
+ *  read-only while evaluating, so any number of contexts may evaluate the same tree at once.<br />
+ *<br />
+ *  The bindings are created once (running every registered binder's initializeBindings()) and
+ *  only the row and cell are rebound for each evaluation.  The plan's column names are resolved to
+ *  cell indices once when the context is created so cell nodes index directly by their plan
+ *  assigned column slot.<br />
+ *<br />
+ *  A context is NOT thread safe.  Each visitor, export worker, or preview request creates its own.
+ */
+public class EvaluationContext {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:EvalContext");
+
+    /*
+     *  Enum ValueAccess
+     *
+     *    How a cell node's expression reaches its value.  Identity expressions ("value",
+     *    "grel:value") read the cell value directly.  A "value.toString()" reads a String cell
+     *    value directly.  All others are evaluated as expressions.
+     */
+    public enum ValueAccess {
+        EXPRESSION,
+        IDENTITY,
+        TO_STRING
+    }
+
+    static private final String strGRELPrefix = "grel:";
+
+    /**
+     * Classify an expression by how its value may be accessed.
+     * @param strExpression - The expression text with optional language prefix.
+     * @return ValueAccess - The access for the expression.
+     */
+    static public ValueAccess classify(String strExpression) {
+        if (strExpression == null) {
+            return ValueAccess.EXPRESSION;
+        }
+        String strCode = strExpression.strip();
+        if ( strCode.startsWith(EvaluationContext.strGRELPrefix) ) {
+            strCode = strCode.substring( EvaluationContext.strGRELPrefix.length() ).strip();
+        }
+        if ( strCode.equals(Util.gstrCodeValue) ) {
+            return ValueAccess.IDENTITY;
+        }
+        if ( strCode.equals(Util.gstrCodeValue + ".toString()") ) {
+            return ValueAccess.TO_STRING;
+        }
+        return ValueAccess.EXPRESSION;
+    }
+
+    /**
+     * Report whether an expression is GREL.  As MetaParser.parse(), an expression is in the registered
+     * language named by its prefix or, without one, in GREL.
+     * @param strExpression - The expression text with optional language prefix.
+     * @return boolean - true when the expression is GREL.
+     */
+    static public boolean isGREL(String strExpression) {
+        if (strExpression == null) {
+            return true;
+        }
+        int iColon = strExpression.indexOf(':');
+        if (iColon > 0) {
+            String strLanguage = strExpression.substring(0, iColon);
+            if ( MetaParser.getLanguagePrefixes().contains(strLanguage) ) {
+                return strLanguage.equals(Util.gstrGREL);
+            }
+        }
+        return true;
+    }
+
+    private final Project theProject;
+    private final TransformPlan thePlan;
+    private final Properties theBindings;
+    private final int[] aiCellIndices; // ...by the plan's column slot
+    private final NodeCache theNodeCache = new NodeCache();
+    private final BlankNodeAllocator theBlankNodes;
+    private StreamRDF theOutput = null;
+
+    /**
+     * EvaluationContext ctor for evaluation without a plan.
+     * @param theProject - The project holding the data.
+     */
+    public EvaluationContext(Project theProject) {
+        this(theProject, null);
+    }
+
+    /**
+     * EvaluationContext ctor
+     * @param theProject - The project holding the data.
+     * @param thePlan - The compiled plan whose column slots are resolved.  May be null.
+     */
+    public EvaluationContext(Project theProject, TransformPlan thePlan) {
+        this.theProject = theProject;
+        this.thePlan = thePlan;
+        this.theBindings = ExpressionUtils.createBindings(theProject);
+        this.theBlankNodes = new BlankNodeAllocator( thePlan, ( theProject == null ? 0 : theProject.id ) );
+
+        // Resolve the plan's columns to cell indices...
+        List<String> listColumns = ( thePlan == null ? List.of() : thePlan.getColumns() );
+        this.aiCellIndices = new int[ listColumns.size() ];
+        for (int iSlot = 0; iSlot < this.aiCellIndices.length; iSlot++) {
+            this.aiCellIndices[iSlot] = this.resolveCellIndex( listColumns.get(iSlot) );
+        }
+        if ( Util.isDebugMode() ) EvaluationContext.logger.info("DEBUG: Created: Columns: " + this.aiCellIndices.length);
+    }
+
+    public Project getProject() {
+        return this.theProject;
+    }
+
+    public TransformPlan getPlan() {
+        return this.thePlan;
+    }
+
+    /**
+     * Set the output receiving the statements created by node evaluation.
+     * @param theOutput - The statement output.
+     */
+    public void setOutput(StreamRDF theOutput) {
+        this.theOutput = theOutput;
+    }
+
+    public StreamRDF getOutput() {
+        return this.theOutput;
+    }
+
+    /**
+     * Get the cache of the RDF nodes made from this context's cell values.
+     * @return NodeCache - The cache.
+     */
+    public NodeCache getNodeCache() {
+        return this.theNodeCache;
+    }
+
+    /**
+     * Get the allocator of this context's blank nodes.
+     * @return BlankNodeAllocator - The allocator.
+     */
+    public BlankNodeAllocator getBlankNodes() {
+        return this.theBlankNodes;
+    }
+
+    /**
+     * Get the cell index resolved for a plan column slot.
+     * @param iColumnSlot - The column slot assigned by the plan.
+     * @return int - The cell index or -1 when the slot has no column.
+     */
+    public int getCellIndex(int iColumnSlot) {
+        if ( iColumnSlot < 0 || iColumnSlot >= this.aiCellIndices.length ) {
+            return -1;
+        }
+        return this.aiCellIndices[iColumnSlot];
+    }
+
+    /**
+     * Resolve a column name to its cell index.
+     * @param strColumnName - The column name.  Null or empty indicates a row / record index column.
+     * @return int - The cell index or -1 when not a regular column.
+     */
+    public int resolveCellIndex(String strColumnName) {
+        // If a regular column (not a row/record index column)...
+        if ( strColumnName == null || strColumnName.isEmpty() ) {
+            return -1;
+        }
+        Column theColumn = this.theProject.columnModel.getColumnByName(strColumnName);
+        if (theColumn == null) {
+            return -1;
+        }
+        return theColumn.getCellIndex();
+    }
+
+    /**
+     * Evaluate an expression on a row's cell for a column given by name.
+     */
+    public Object evaluate(String strExpression, String strColumnName, int iRowIndex)
+            throws ParsingException {
+        return this.evaluate( strExpression, strColumnName, this.resolveCellIndex(strColumnName), iRowIndex );
+    }
+
+    /**
+     * Evaluate an expression on a row's cell using its planned value access.
+     * @param strExpression - The expression text with optional language prefix.
+     * @param eAccess - The expression's value access from classify().
+     * @param strColumnName - The column name bound for the expression.  May be null.
+     * @param iCellIndex - The column's cell index.  When -1, a pseudo-cell is used.
+     * @param iRowIndex - The row index.
+     * @return Object - The expression results.
+     * @throws ParsingException - when the expression does not parse.
+     */
+    public Object evaluate(String strExpression, ValueAccess eAccess, String strColumnName, int iCellIndex, int iRowIndex)
+            throws ParsingException {
+        if (eAccess != ValueAccess.EXPRESSION) {
+            //
+            // Fast Path: read the value as the expression would bind it...
+            //
+            Object theValue = iRowIndex; // ...a pseudo-cell's value is its row index
+            Row theRow = null;
+            if ( iRowIndex >= 0 && iRowIndex < this.theProject.rows.size() ) {
+                theRow = this.theProject.rows.get(iRowIndex);
+            }
+            if (iCellIndex >= 0 && theRow != null) {
+                Cell theCell = theRow.getCell(iCellIndex);
+                theValue = ( theCell == null ? null : theCell.value );
+            }
+            if ( eAccess == ValueAccess.IDENTITY || theValue instanceof String ) {
+                return theValue;
+            }
+            // ...otherwise, let the expression convert the value...
+        }
+        return this.evaluate(strExpression, strColumnName, iCellIndex, iRowIndex);
+    }
+
+    /**
+     * Evaluate an expression on a row's cell for a column given by a resolved cell index.
+     * @param strExpression - The expression text with optional language prefix.
+     * @param strColumnName - The column name bound for the expression.  May be null.
+     * @param iCellIndex - The column's cell index.  When -1, a pseudo-cell is bound.
+     * @param iRowIndex - The row index.
+     * @return Object - The expression results.
+     * @throws ParsingException - when the expression does not parse.
+     */
+    public Object evaluate(String strExpression, String strColumnName, int iCellIndex, int iRowIndex)
+            throws ParsingException {
+        //
+        // Evaluate the expression on the cell and return results...
+        //   NOTE: Here is where we tie the RDF Transform model to the data.
+        //
+        if ( Util.isDebugMode() ) {
+            EvaluationContext.logger.info("DEBUG: evaluate: " +
+                                "Exp: [" + strExpression + "] " +
+                                "Col: [" + strColumnName + "] " +
+                                "Row: [" + iRowIndex     + "]");
+        }
+
+        //
+        if ( strExpression == null ) {
+            return null;
+        }
+
+        // Select the row by given row index...
+        Row theRow = null;
+        if ( iRowIndex >= 0 && iRowIndex < this.theProject.rows.size() ) {
+            theRow = this.theProject.rows.get(iRowIndex);
+        }
+
+        // Select the data cell by row and column...
+        Cell theCell = null;
+        if (iCellIndex >= 0 && theRow != null) { // ...for a valid column and row...
+            theCell = theRow.getCell(iCellIndex); // ...get the cell
+        }
+        // Otherwise, create a pseudo-cell...
+        else {
+            theCell = new Cell(iRowIndex, null);
+        }
+
+        // Bind the cell for expression evaluation...
+        //   NOTE: bind() only sets a non-null column name, so clear any prior one.
+        if (strColumnName == null) {
+            this.theBindings.remove("columnName");
+        }
+        ExpressionUtils.bind(this.theBindings, theRow, iRowIndex, strColumnName, theCell);
+
+        // Get the cached evaluator for this expression...
+        Evaluable eval = ExpressionCache.get(strExpression);
+
+        // Evaluate the expression on the cell for results...
+        return eval.evaluate(this.theBindings);
+    }
+}
@@ -25,6 +25,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.openrefine.rdf.model.utils.RecordModel;
+
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -33,9 +35,6 @@ import com.fasterxml.jackson.core.JsonGenerationException;
 import org.apache.jena.datatypes.RDFDatatype;
 import org.apache.jena.datatypes.TypeMapper;
 import org.apache.jena.datatypes.DatatypeFormatException;
-import org.apache.jena.rdf.model.impl.LiteralImpl;
-import org.apache.jena.rdf.model.Literal;
-import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.graph.NodeFactory;
 
 import org.slf4j.Logger;
@@ -64,22 +63,20 @@ abstract public class LiteralNode extends Node {
      *  from this node on Rows / Records.
      */
     @Override
-    protected List<RDFNode> createObjects(ResourceNode nodeProperty) {
+    protected List<org.apache.jena.graph.Node> createObjects(EvaluationContext theContext, RecordModel recProperty) {
             // ...no exception...
         if (Util.isDebugMode()) LiteralNode.logger.info("DEBUG: createObjects...");
 
-        this.setObjectParameters(nodeProperty);
-
         // TODO: Create process for Sub-Records
 
-        this.listNodes = null;
+        RecordModel theRec = new RecordModel();
 
         //
         // Record Mode...
         //
-        if ( nodeProperty.theRec.isRecordMode() ) { // ...property is Record based,
+        if ( recProperty.isRecordMode() ) { // ...property is Record based,
             // ...set to Row Mode and process on current row as set by rowNext()...
-            this.theRec.setMode(nodeProperty, true);
+            theRec.setMode(recProperty, true);
         }
 
         //
@@ -87,69 +84,63 @@ abstract public class LiteralNode extends Node {
         //
         else {
             // ...process on current row as set by rowNext()...
-            this.theRec.setMode(nodeProperty);
+            theRec.setMode(recProperty);
         }
 
-        this.createStatementsWorker(); // ...accumulates objects in this.listNodes
-        List<RDFNode> listObjectNodes = this.listNodes;
-        this.listNodes = null;
-        this.theRec.clear();
-
-        // Return the collected resources from the statement processing as Objects
+        // Return the collected literals from the statement processing as Objects
         // to the given Property...
-        return listObjectNodes;
+        return this.createStatementsWorker(theContext, theRec);
     }
 
     /*
      *  Method createStatementsWorker() for Literal Node types
      *
-     *  Return: void
-     *
-     *  Stores the Literal as generic Values since these are "object" elements in
+     *  Return: List<org.apache.jena.graph.Node>
+     *    Returns the Literals as generic Values since these are "object" elements in
      *    ( source, predicate, object ) triples and need to be compatible with resources.
+     *    Null when there are none.
      */
-    private void createStatementsWorker() {
+    private List<org.apache.jena.graph.Node> createStatementsWorker(EvaluationContext theContext, RecordModel theRec) {
             // ...no exception...
         if ( Util.isDebugMode() ) logger.info("DEBUG: createStatementsWorker...");
 
         //
         // Transition from Record to Row processing...
         //
-        if ( this.theRec.isRecordPerRow() ) {
-            List<RDFNode> listLiteralsAll = new ArrayList<RDFNode>();
-            while ( this.theRec.rowNext() ) {
-                this.createRowLiterals(); // ...Row only
-                if ( this.listNodes == null || this.listNodes.isEmpty() ) this.listNodes = null;
-                else {
+        if ( theRec.isRecordPerRow() ) {
+            List<org.apache.jena.graph.Node> listLiteralsAll = new ArrayList<org.apache.jena.graph.Node>();
+            while ( theRec.rowNext() ) {
+                List<org.apache.jena.graph.Node> listNodes = this.createRowLiterals(theContext, theRec); // ...Row only
+                if ( ! ( listNodes == null || listNodes.isEmpty() ) ) {
                     // ...there are no "literal" statements to create
-                    listLiteralsAll.addAll(this.listNodes); // ...accumulate for object use
+                    listLiteralsAll.addAll(listNodes); // ...accumulate for object use
                 }
             }
             if ( listLiteralsAll.isEmpty() ) {
                 listLiteralsAll = null;
             }
-            this.listNodes = listLiteralsAll; // ...store for object use if needed
+            return listLiteralsAll; // ...for object use if needed
         }
 
         //
         // Standard Record or Row processing...
         //
-        else {
-            this.createLiterals(); // ...Record or Row
-            if ( this.listNodes == null || this.listNodes.isEmpty() ) this.listNodes = null;
-            // ...there are no "literal" statements to create
+        List<org.apache.jena.graph.Node> listNodes = this.createLiterals(theContext, theRec); // ...Record or Row
+        if ( listNodes == null || listNodes.isEmpty() ) {
+            return null;
         }
+        // ...there are no "literal" statements to create
+        return listNodes;
     }
 
     /*
      *  Method createLiterals() for Literal Node types
      *
-     *  Return: void
-     *
-     *  Stores the Literals as generic Values since these are "object" elements in
+     *  Return: List<org.apache.jena.graph.Node>
+     *    Returns the Literals as generic Values since these are "object" elements in
      *    ( source, predicate, object ) triples and need to be compatible with resources.
      */
-    protected void createLiterals() {
+    protected List<org.apache.jena.graph.Node> createLiterals(EvaluationContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) logger.info("DEBUG: createLiterals...");
 
         // TODO: Create process for Sub-Records
@@ -157,52 +148,71 @@ abstract public class LiteralNode extends Node {
         //
         // Record Mode
         //
-        if ( this.theRec.isRecordMode() ) {
+        if ( theRec.isRecordMode() ) {
             // If a column node, the node should iterate all records in the Record group...
             if ( ! this.bIsIndex ) {
-                this.createRecordLiterals();
+                return this.createRecordLiterals(theContext, theRec);
             }
             // Otherwise, we only need to get a single "Record Number" literal for the Record group...
-            else {
-                this.theRec.rowNext(); // ...set index for first (or any) row in the Record
-                this.createRowLiterals(); // ...get the one resource
-                this.theRec.rowReset(); // ...reset for any other row run on the Record
-            }
+            theRec.rowNext(); // ...set index for first (or any) row in the Record
+            List<org.apache.jena.graph.Node> listNodes = this.createRowLiterals(theContext, theRec); // ...get the one resource
+            theRec.rowReset(); // ...reset for any other row run on the Record
+            return listNodes;
         }
         //
         // Row Mode
         //
-        else {
-            this.createRowLiterals();
-        }
+        return this.createRowLiterals(theContext, theRec);
     }
 
     /*
      *  Method createRecordLiterals() creates the object list for triple statements
      *  from this node on Records
      */
-    protected void createRecordLiterals() {
+    protected List<org.apache.jena.graph.Node> createRecordLiterals(EvaluationContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) LiteralNode.logger.info("DEBUG: createRecordLiterals...");
 
-        List<RDFNode> listLiteralsAll = new ArrayList<RDFNode>();
-        while ( this.theRec.rowNext() ) {
-            this.createRowLiterals();
-            if ( this.listNodes != null ) {
-                listLiteralsAll.addAll(this.listNodes); // ...accumulate for object use
+        List<org.apache.jena.graph.Node> listLiteralsAll = new ArrayList<org.apache.jena.graph.Node>();
+        while ( theRec.rowNext() ) {
+            List<org.apache.jena.graph.Node> listNodes = this.createRowLiterals(theContext, theRec);
+            if ( listNodes != null ) {
+                listLiteralsAll.addAll(listNodes); // ...accumulate for object use
             }
         }
         if ( listLiteralsAll.isEmpty() ) {
             listLiteralsAll = null;
         }
-        this.listNodes = listLiteralsAll; // ...store for object use if needed
+        return listLiteralsAll; // ...for object use if needed
     }
 
-    abstract protected void createRowLiterals();
+    /*
+     *  Method createRowLiterals() creates the literals from this node on the current row
+     *
+     *  Return: List<org.apache.jena.graph.Node> - the literals or null when there are none
+     */
+    abstract protected List<org.apache.jena.graph.Node> createRowLiterals(EvaluationContext theContext, RecordModel theRec);
+
+    /*
+     *  Method resolveDatatype() for the Literal Node's datatype IRI to an RDF Datatype
+     *
+     *  Return: RDFDatatype - the datatype or null when there is none
+     */
+    protected RDFDatatype resolveDatatype(TransformPlan thePlan) {
+        if (this.nodeDatatype == null) {
+            return null;
+        }
+        String strDatatype = this.nodeDatatype.normalizeResourceAsString( thePlan.getBaseIRI() );
+        String strExpandedDatatype = this.expandPrefixedIRI(thePlan.getPrefixes(), strDatatype);
+        if ( strExpandedDatatype != null) {
+            strDatatype = strExpandedDatatype;
+        }
+        return TypeMapper.getInstance().getSafeTypeByName(strDatatype);
+    }
 
     /*
      *  Method normalizeLiteral() for Literal Node to Literal string
      */
-    protected void normalizeLiteral(Object obj) {
+    protected void normalizeLiteral(TransformPlan thePlan, List<org.apache.jena.graph.Node> listNodes, Object obj) {
         String strResult = obj.toString();
         if ( strResult == null || strResult.isEmpty() ) {
             return;
@@ -215,36 +225,36 @@ abstract public class LiteralNode extends Node {
         //    2. a given Language code
         //    3. nothing, just a simple string Literal
         //
-        Literal literal = null;
+        org.apache.jena.graph.Node literal = null;
 
         // If there is a datatype...
         if (this.nodeDatatype != null) {
-            String strDatatype = this.nodeDatatype.normalizeResourceAsString();
-            String strExpandedDatatype = this.expandPrefixedIRI(strDatatype);
-            if ( strExpandedDatatype != null) {
-                strDatatype = strExpandedDatatype;
+            TransformPlan.DatatypeStep theStep = thePlan.getDatatype(this); // ...resolved once by the plan
+            RDFDatatype theDatatype = theStep.getDatatype();
+            // NOTE: An ill-typed literal is still written: it is counted and reported by the visitor.
+            if ( ! theStep.isValid(strResult) && Util.isVerbose(3) ) {
+                LiteralNode.logger.info("WARNING: normalizeLiteral: Lexical form not valid: " + strResult + " ^^ " + theDatatype.getURI());
             }
-            RDFDatatype theDatatype = TypeMapper.getInstance().getSafeTypeByName(strDatatype);
             try {
-                literal = new LiteralImpl( NodeFactory.createLiteral(strResult, theDatatype), null );
+                literal = NodeFactory.createLiteral(strResult, theDatatype);
             }
             catch (DatatypeFormatException ex) {
-                LiteralNode.logger.info("ERROR: normalizeLiteral: Datatype not valid: " + strResult + " ^^ " + strDatatype);
+                LiteralNode.logger.info("ERROR: normalizeLiteral: Datatype not valid: " + strResult + " ^^ " + theDatatype.getURI());
             }
         }
         // Else, if there is a language...
         else if (this.strLanguage != null) {
-            literal = new LiteralImpl( NodeFactory.createLiteral(strResult, this.strLanguage), null );
+            literal = NodeFactory.createLiteral(strResult, this.strLanguage);
         }
         // Otherwise...
         else {
             // ...don't decorate the value...
-            literal = new LiteralImpl( NodeFactory.createLiteral(strResult), null );
+            literal = NodeFactory.createLiteral(strResult);
         }
 
         // If there is a valid literal...
         if (literal != null) {
-            this.listNodes.add(literal);
+            listNodes.add(literal);
         }
     }
 
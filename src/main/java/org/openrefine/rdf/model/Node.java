@@ -24,16 +24,13 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 
-import com.google.refine.model.Project;
-
 import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.utils.RecordModel;
 import org.openrefine.rdf.model.vocab.VocabularyList;
 
 import org.apache.jena.iri.IRI;
 //import org.apache.jena.rdf.model.Model;
-import org.apache.jena.rdf.model.RDFNode;
-import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.riot.system.PrefixMap;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -357,18 +354,13 @@ abstract public class Node {
         return lnodeLiteral;
     }
 
-    @JsonIgnore
-    protected IRI baseIRI = null;
-
-    @JsonIgnore
-    //protected Model theModel = null;
-    protected DatasetGraph theDSGraph = null;
-
-    @JsonIgnore
-    protected Project theProject = null;
-
-    @JsonIgnore
-    public RecordModel theRec = null;
+    //
+    // NOTE: Nodes are read-only while compiling and evaluating.  All evaluation state (project,
+    //      plan, output, row / record position, and created objects) is held by the EvaluationContext
+    //      and RecordModel passed through createStatements() and createObjects(), and all compiled
+    //      state (such as a cell node's column slot and value access) is held by the TransformPlan,
+    //      so one node tree may be compiled and evaluated concurrently.
+    //
 
     @JsonIgnore
     protected String strExpression;
@@ -376,15 +368,11 @@ abstract public class Node {
     @JsonIgnore
     protected boolean bIsIndex = false;
 
-    @JsonIgnore
-    protected List<RDFNode> listNodes = null;
-
     @JsonIgnore
     protected Util.NodeType eNodeType = null;
 
     @JsonIgnore
     public Node() {
-        theRec = new RecordModel(this);
     }
 
     @JsonIgnore
@@ -393,11 +381,6 @@ abstract public class Node {
     @JsonProperty("nodeType")
     abstract public String getNodeType();
 
-    @JsonIgnore
-    public Project getProject() {
-        return theProject;
-    }
-
     @JsonProperty("isIndex")
     public boolean isIndexNode() {
         return this.bIsIndex;
@@ -407,12 +390,12 @@ abstract public class Node {
         return eNodeType;
     }
 
-    protected String expandPrefixedIRI(String strObjectIRI) {
-        if (this.theDSGraph == null) {
+    protected String expandPrefixedIRI(PrefixMap thePrefixes, String strObjectIRI) {
+        if (thePrefixes == null) {
             return null;
         }
         //return this.theModel.expandPrefix(strObjectIRI);
-        return this.theDSGraph.prefixes().expand(strObjectIRI);
+        return thePrefixes.expand(strObjectIRI);
 
         // String strExpanded = strObjectIRI;
         // int iIndex = strObjectIRI.indexOf(':'); // ...get index of first ':'...
@@ -430,25 +413,23 @@ abstract public class Node {
     }
 
     /*
-     *  Method setObjectParameters()
-     *
-     *  Copy the parameters from the given Property resource to this Node object.
+     *  Method createConstantObjects()
      *
+     *    Creates the object list for a node that produces the same objects on every row.
+     *    Called once by TransformPlan.compile() to pre-bind constants.  Otherwise, null.
      */
     @JsonIgnore
-    protected void setObjectParameters(ResourceNode nodeProperty) {
-        this.baseIRI = nodeProperty.baseIRI;
-        //this.theModel = nodeProperty.theModel;
-        this.theDSGraph = nodeProperty.theDSGraph;
-        this.theProject = nodeProperty.theProject;
+    protected List<org.apache.jena.graph.Node> createConstantObjects(TransformPlan thePlan) {
+        return null;
     }
 
     /*
      *  Method createObjects()
      *
-     *    Creates the object list for triple statements from this node.
+     *    Creates the object list for triple statements from this node on the current row / record
+     *    of the given property's record model.
      */
-    abstract protected List<RDFNode> createObjects(ResourceNode nodeProperty);
+    abstract protected List<org.apache.jena.graph.Node> createObjects(EvaluationContext theContext, RecordModel recProperty);
 
     abstract public void write(JsonGenerator writer, boolean isRoot)
             throws JsonGenerationException, IOException;
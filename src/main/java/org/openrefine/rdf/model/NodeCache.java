@@ -0,0 +1,155 @@
+/*
+ *  Class NodeCache
+ *
+ *  A bounded cache interning the RDF nodes made from repeated cell values.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class NodeCache<br />
+ *<br />
+ *  A cell node turns each cell value into an RDF node: an IRI resolved against the Base IRI and
+ *  prefixes or a literal with its datatype or language.  Columns such as a country or a category
+ *  repeat a few values over millions of rows, so this cache keeps the node made for a value and
+ *  returns that same node on a repeat.  A repeated value then costs a lookup rather than an IRI
+ *  resolution and a new node.<br />
+ *<br />
+ *  A value is keyed with the cell node (the scope) that made it since the scope's prefix, datatype,
+ *  or language decide the RDF node.  The scope is compared by identity.  Only values making exactly
+ *  one good node are cached, so bad values are still reported on each use.<br />
+ *<br />
+ *  The cache is a least recently used (LRU) map bounded by Util.getNodeCacheSize().  It is owned
+ *  by an EvaluationContext and, like the context, is used by one thread at a time.
+ */
+public final class NodeCache {
+    /*
+     *  Class Key
+     *
+     *    A cell value in its scope.
+     */
+    static private final class Key {
+        private final Object objScope;
+        private final String strValue;
+
+        private Key(Object objScope, String strValue) {
+            this.objScope = objScope;
+            this.strValue = strValue;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if ( ! ( obj instanceof Key ) ) {
+                return false;
+            }
+            Key theKey = (Key) obj;
+            return this.objScope == theKey.objScope && this.strValue.equals(theKey.strValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.objScope) * 31 + this.strValue.hashCode();
+        }
+    }
+
+    private final int iMaxEntries;
+    private final Map<Key, org.apache.jena.graph.Node> mapNodes;
+    private long lHits = 0;
+    private long lMisses = 0;
+
+    /**
+     * NodeCache ctor sized by Util.getNodeCacheSize().
+     */
+    public NodeCache() {
+        this( Util.getNodeCacheSize() );
+    }
+
+    /**
+     * NodeCache ctor
+     * @param iMaxEntries - The cell values kept.  When 0 (or less), nothing is kept.
+     */
+    public NodeCache(int iMaxEntries) {
+        this.iMaxEntries = iMaxEntries;
+        this.mapNodes =
+            new LinkedHashMap<Key, org.apache.jena.graph.Node>(64, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, org.apache.jena.graph.Node> entryEldest) {
+                    return this.size() > NodeCache.this.iMaxEntries;
+                }
+            };
+    }
+
+    public boolean isEnabled() {
+        return this.iMaxEntries > 0;
+    }
+
+    /**
+     * Get the node made for a cell value.
+     * @param objScope - The cell node making the value's node.
+     * @param strValue - The cell value.
+     * @return org.apache.jena.graph.Node - The node or null when not cached.
+     */
+    public org.apache.jena.graph.Node get(Object objScope, String strValue) {
+        if (this.iMaxEntries <= 0) {
+            return null;
+        }
+        org.apache.jena.graph.Node theNode = this.mapNodes.get( new Key(objScope, strValue) );
+        if (theNode == null) {
+            this.lMisses++;
+        }
+        else {
+            this.lHits++;
+        }
+        return theNode;
+    }
+
+    /**
+     * Keep the node made for a cell value.
+     * @param objScope - The cell node making the value's node.
+     * @param strValue - The cell value.
+     * @param theNode - The node.
+     */
+    public void put(Object objScope, String strValue, org.apache.jena.graph.Node theNode) {
+        if (this.iMaxEntries <= 0) {
+            return;
+        }
+        this.mapNodes.put( new Key(objScope, strValue), theNode );
+    }
+
+    public long getHits() {
+        return this.lHits;
+    }
+
+    public long getMisses() {
+        return this.lMisses;
+    }
+
+    public int size() {
+        return this.mapNodes.size();
+    }
+
+    public String statsToString() {
+        return "Node Cache: Size: " + this.size() +
+               " Hits: " + this.lHits +
+               " Misses: " + this.lMisses;
+    }
+}
@@ -26,10 +26,9 @@ import java.util.Arrays;
 import java.util.List;
 import java.io.IOException;
 
-import com.google.refine.model.Project;
-import com.google.refine.model.Record;
+import org.openrefine.rdf.model.utils.RecordModel;
 
-import org.openrefine.rdf.model.Util.IRIParsingException;
+import com.google.refine.model.Record;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
@@ -37,12 +36,10 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonGenerationException;
 
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.iri.IRI;
-import org.apache.jena.rdf.model.RDFNode;
-import org.apache.jena.rdf.model.impl.PropertyImpl;
-import org.apache.jena.rdf.model.impl.ResourceImpl;
-import org.apache.jena.sparql.core.DatasetGraph;
-import org.apache.jena.sparql.util.NodeUtils;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
 import org.apache.jena.vocabulary.RDF;
 
 
@@ -83,21 +80,21 @@ abstract public class ResourceNode extends Node {
     /*
      *  Method processResultsAsArray() for results to Resources
      */
-    protected void processResultsAsArray(String strPrefix, Object results) {
+    protected void processResultsAsArray(TransformPlan thePlan, List<org.apache.jena.graph.Node> listNodes, String strPrefix, Object results) {
         List<Object> listResult = Arrays.asList(results);
         for (Object objResult : listResult) {
             if ( objResult == null || objResult.toString().isEmpty() ) continue;
             if (strPrefix == null) {
-                if ( processResultsAsSingle(objResult) ) continue;
+                if ( processResultsAsSingle(thePlan, listNodes, objResult) ) continue;
             }
-            this.normalizeResource(strPrefix, objResult);
+            this.normalizeResource(thePlan, listNodes, strPrefix, objResult);
         }
     }
 
     /*
      *  Method processResultsAsSingle() for a single result to a Resource
      */
-    protected boolean processResultsAsSingle(Object objResult) {
+    protected boolean processResultsAsSingle(TransformPlan thePlan, List<org.apache.jena.graph.Node> listNodes, Object objResult) {
         String strLocalPart = Util.toSpaceStrippedString(objResult);
         if ( strLocalPart == null || strLocalPart.isEmpty() ) {
             return false;
@@ -117,7 +114,7 @@ abstract public class ResourceNode extends Node {
                     //    performed.  The rest may parse as a path, query, fragment.
                     // Then, the schema is a prefix and that is enough...
                     strLocalPart = strLocalPart.substring(strEmbeddedPrefix.length() + 1);
-                    this.normalizeResource(strEmbeddedPrefix, strLocalPart);
+                    this.normalizeResource(thePlan, listNodes, strEmbeddedPrefix, strLocalPart);
                     return true;
                 }
             }
@@ -131,7 +128,7 @@ abstract public class ResourceNode extends Node {
     /*
      *  Method normalizeResource() for Resource Node to IRI
      */
-    protected void normalizeResource(String strPrefix, Object objResult) {
+    protected void normalizeResource(TransformPlan thePlan, List<org.apache.jena.graph.Node> listNodes, String strPrefix, Object objResult) {
         if (objResult == null) {
             return;
         }
@@ -143,7 +140,7 @@ abstract public class ResourceNode extends Node {
         String strLocalPart = strIRI; // ...for "prefix:localPart" IRI
         if (strPrefix != null) { // ...on prefix, attempt namespace...
             strIRI = strPrefix + ":" + strLocalPart;
-            strNamespace = this.theDSGraph.prefixes().get(strPrefix);
+            strNamespace = thePlan.getPrefixes().get(strPrefix);
         }
         if ( Util.isDebugMode() ) {
             String strDebug = "DEBUG: normalizeResource: Given: ";
@@ -157,20 +154,16 @@ abstract public class ResourceNode extends Node {
         }
 
         try {
-            String strResolvedIRI = Util.resolveIRI(this.baseIRI, strIRI);
+            String strResolvedIRI = Util.resolveIRI(thePlan.getBaseIRI(), strIRI);
             if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: normalizeResource: Resolved IRI: " + strResolvedIRI);
             if (strResolvedIRI != null) { // ...at least it's a good, basic IRI...
                 String strFullIRI = strResolvedIRI; // ...Default: Full IRI
-                ResourceImpl nodeResource;
-                if (strNamespace == null) { // ...and both strPrefix == null and != null
-                    nodeResource = new ResourceImpl(strFullIRI);
-                }
-                else {
+                if (strNamespace != null) { // ...otherwise, both strPrefix == null and != null
                     strFullIRI = strNamespace + strLocalPart;
-                    nodeResource = new ResourceImpl(strNamespace, strLocalPart);
                 }
+                org.apache.jena.graph.Node nodeResource = NodeFactory.createURI(strFullIRI);
                 if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: normalizeResource: Processed IRI: " + strFullIRI);
-                this.listNodes.add( nodeResource );
+                listNodes.add( nodeResource );
             }
         }
         //catch (IRIParsingException | IllegalArgumentException ex) {
@@ -185,89 +178,74 @@ abstract public class ResourceNode extends Node {
     /*
      *  Method createStatements() for Root Resource Node types on OpenRefine Rows
      */
-    public void createStatements(IRI baseIRI, DatasetGraph theDSGraph, Project theProject, int iRowIndex)
+    public void createStatements(EvaluationContext theContext, int iRowIndex)
             throws RuntimeException
     {
-        this.baseIRI = baseIRI;
-        this.theDSGraph = theDSGraph;
-        this.theProject = theProject;
-
-        this.listNodes = null;
-
-        this.theRec.setRootRow(iRowIndex);
-        this.createStatementsWorker();
-        this.listNodes = null;
-        this.theRec.clear();
+        RecordModel theRec = new RecordModel();
+        theRec.setRootRow(iRowIndex);
+        this.createStatementsWorker(theContext, theRec);
     }
 
     /*
      *  Method createStatements() for Root Resource Node types on OpenRefine Records
      */
-    public void createStatements(IRI baseIRI, DatasetGraph theDSGraph, Project theProject, Record theRecord)
+    public void createStatements(EvaluationContext theContext, Record theRecord)
             throws RuntimeException
     {
-        this.baseIRI = baseIRI;
-        this.theDSGraph = theDSGraph;
-        this.theProject = theProject;
-
-        this.listNodes = null;
-
-        this.theRec.setRootRecord(theRecord);
-        this.createStatementsWorker();
-        this.listNodes = null;
-        this.theRec.clear();
+        RecordModel theRec = new RecordModel();
+        theRec.setRootRecord(theRecord);
+        this.createStatementsWorker(theContext, theRec);
     }
 
     /*
      *  Method createStatementsWorker() for Resource Node types
      *
-     *  Return: void
-     *
-     *  Stores the Resources as generic Values since these are "object" elements in
+     *  Return: List<org.apache.jena.graph.Node>
+     *    Returns the Resources as generic Values since these are "object" elements in
      *    ( source, predicate, object ) triples and need to be compatible with literals.
+     *    Null when there are none.
      */
-    private void createStatementsWorker()
+    private List<org.apache.jena.graph.Node> createStatementsWorker(EvaluationContext theContext, RecordModel theRec)
             throws RuntimeException {
         if ( Util.isDebugMode() ) logger.info("DEBUG: createStatementsWorker...");
 
         //
         // Transition from Record to Row processing...
         //
-        if ( this.theRec.isRecordPerRow() ) {
-            List<RDFNode> listResourcesAll = new ArrayList<RDFNode>();
-            while ( this.theRec.rowNext() ) {
-                this.createRowResources(); // ...Row only
-                if ( this.listNodes == null || this.listNodes.isEmpty() ) this.listNodes = null;
-                else {
-                    this.createResourceStatements();
-                    listResourcesAll.addAll(this.listNodes); // ...accumulate for object use
+        if ( theRec.isRecordPerRow() ) {
+            List<org.apache.jena.graph.Node> listResourcesAll = new ArrayList<org.apache.jena.graph.Node>();
+            while ( theRec.rowNext() ) {
+                List<org.apache.jena.graph.Node> listNodes = this.createRowResources(theContext, theRec); // ...Row only
+                if ( ! ( listNodes == null || listNodes.isEmpty() ) ) {
+                    this.createResourceStatements(theContext, theRec, listNodes);
+                    listResourcesAll.addAll(listNodes); // ...accumulate for object use
                 }
             }
             if ( listResourcesAll.isEmpty() ) {
                 listResourcesAll = null;
             }
-            this.listNodes = listResourcesAll; // ...store for object use if needed
+            return listResourcesAll; // ...for object use if needed
         }
 
         //
         // Standard Record or Row processing...
         //
-        else {
-            this.createResources(); // ...Record or Row
-            if ( this.listNodes == null || this.listNodes.isEmpty() ) this.listNodes = null;
-            else this.createResourceStatements();
+        List<org.apache.jena.graph.Node> listNodes = this.createResources(theContext, theRec); // ...Record or Row
+        if ( listNodes == null || listNodes.isEmpty() ) {
+            return null;
         }
+        this.createResourceStatements(theContext, theRec, listNodes);
+        return listNodes;
     }
 
     /*
      *  Method createResources() for Resource Node types
      *
-     *  Return: void
-     *
-     *  Stores the Resources as generic Values since these are "object" elements in
+     *  Return: List<org.apache.jena.graph.Node>
+     *    Returns the Resources as generic Values since these are "object" elements in
      *    ( source, predicate, object ) triples and need to be compatible with literals.
      */
-    protected void createResources() {
+    protected List<org.apache.jena.graph.Node> createResources(EvaluationContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) logger.info("DEBUG: createResources...");
 
         // TODO: Create process for Sub-Records
@@ -275,58 +253,60 @@ abstract public class ResourceNode extends Node {
         //
         // Record Mode
         //
-        if ( this.theRec.isRecordMode() ) {
+        if ( theRec.isRecordMode() ) {
             // If a column node, the node should iterate all records in the Record group...
             if ( ! this.bIsIndex ) {
-                this.createRecordResources();
+                return this.createRecordResources(theContext, theRec);
             }
             // Otherwise, we only need to get a single "Record Number" resource for the Record group...
-            else {
-                this.theRec.rowNext(); // ...set index for first (or any) row in the Record
-                this.createRowResources(); // ...get the one resource
-                this.theRec.rowReset(); // ...reset for any other row run on the Record
-            }
+            theRec.rowNext(); // ...set index for first (or any) row in the Record
+            List<org.apache.jena.graph.Node> listNodes = this.createRowResources(theContext, theRec); // ...get the one resource
+            theRec.rowReset(); // ...reset for any other row run on the Record
+            return listNodes;
         }
         //
         // Row Mode
         //
-        else {
-            this.createRowResources();
-        }
+        return this.createRowResources(theContext, theRec);
     }
 
     /*
      *  Method createRecordResources() creates the object list for triple statements
      *  from this node on Records
      */
-    protected void createRecordResources() {
+    protected List<org.apache.jena.graph.Node> createRecordResources(EvaluationContext theContext, RecordModel theRec) {
         if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: createRecordResources...");
 
-        List<RDFNode> listResourcesAll = new ArrayList<RDFNode>();
-        while ( this.theRec.rowNext() ) {
-            this.createRowResources();
-            if ( this.listNodes != null ) {
-                listResourcesAll.addAll(this.listNodes); // ...accumulate for object use
+        List<org.apache.jena.graph.Node> listResourcesAll = new ArrayList<org.apache.jena.graph.Node>();
+        while ( theRec.rowNext() ) {
+            List<org.apache.jena.graph.Node> listNodes = this.createRowResources(theContext, theRec);
+            if ( listNodes != null ) {
+                listResourcesAll.addAll(listNodes); // ...accumulate for object use
             }
         }
         if ( listResourcesAll.isEmpty() ) {
             listResourcesAll = null;
         }
-        this.listNodes = listResourcesAll; // ...store for object use if needed
+        return listResourcesAll; // ...for object use if needed
     }
 
-    abstract protected void createRowResources();
+    /*
+     *  Method createRowResources() creates the resources from this node on the current row
+     *
+     *  Return: List<org.apache.jena.graph.Node> - the resources or null when there are none
+     */
+    abstract protected List<org.apache.jena.graph.Node> createRowResources(EvaluationContext theContext, RecordModel theRec);
 
     /*
      *  Method createResourceStatements() for Resource Node types
      *
      *    Produce all the Type and Property statements for a Resource Node.
      */
-    private void createResourceStatements()
+    private void createResourceStatements(EvaluationContext theContext, RecordModel theRec, List<org.apache.jena.graph.Node> listSources)
             throws RuntimeException {
         try {
-            this.createTypeStatements();
-            this.createPropertyStatements();
+            this.createTypeStatements(theContext, listSources);
+            this.createPropertyStatements(theContext, theRec, listSources);
         }
         catch (Exception ex) {
             throw new RuntimeException(ex);
@@ -337,79 +317,26 @@ abstract public class ResourceNode extends Node {
      *  Method createTypeStatements() for Resource Node types
      *
      *    Given a set of source resources, create the (source, rdf:type, object) triple statements
-     *    for each of the sources.
+     *    for each of the sources.  The types are pre-resolved by the plan.
      */
-    private void createTypeStatements() {
+    private void createTypeStatements(EvaluationContext theContext, List<org.apache.jena.graph.Node> listSources) {
+        TransformPlan thePlan = theContext.getPlan();
+        List<org.apache.jena.graph.Node> listTypesForStmts = thePlan.getTypes(this);
         if ( Util.isDebugMode() ) {
-            String strPropertyCount = "DEBUG: createTypeStatements: Type Count: {}";
-            int iPropertyCount = 0;
-            if (this.listTypes != null) {
-                iPropertyCount = listTypes.size();
-            }
-            ResourceNode.logger.info(strPropertyCount, iPropertyCount);
+            ResourceNode.logger.info("DEBUG: createTypeStatements: Type Count: {}", listTypesForStmts.size());
         }
-        if (this.listTypes == null) {
+        if ( listTypesForStmts.isEmpty() ) {
             return;
         }
 
-        String strPrefix = null;
-        String strType = null;
-
-        String strNamespace;
-        String strLocalPart;
-        String strFullType;
-        ResourceImpl nodeType;
-
-        //
-        // Process one set of types
-        //
-        List<RDFNode> listTypesForStmts = new ArrayList<RDFNode>();
-        for ( RDFType typeItem : this.listTypes ) {
-            strPrefix = typeItem.getPrefix(); // Null indicated FULL IRI, Empty indicate BaseIRI
-            strType = typeItem.getLocalPart(); // ...assume FULL IRI
-            strLocalPart = null;
-            strNamespace = null;
-            if (strPrefix != null) { // ...prefixed...
-                strLocalPart = strType;
-                strType = strPrefix + ":" + strLocalPart; // ...CIRIE
-                strNamespace = this.theDSGraph.prefixes().get(strPrefix);
-            }
-            if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Type: [" + strType + "]");
-            if ( strType == null || strType.isEmpty() ) {
-                continue;
-            }
-
-            try {
-                // Resolve the IRI for Full IRI or CIRIE...
-                strFullType = Util.resolveIRI(this.baseIRI, strType);
-                if (strFullType != null) {
-                    if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Type Resource: [" + strFullType + "]");
-                    if (strNamespace != null) {
-                        nodeType = new ResourceImpl(strNamespace, strLocalPart);
-                    }
-                    else { // ...on no prefix or missing namespace, treat as Full...
-                        nodeType = new ResourceImpl(strFullType);
-                    }
-                    listTypesForStmts.add(nodeType);
-                }
-            }
-            catch (IRIParsingException | IllegalArgumentException ex) {
-                logger.error( "ERROR: Bad Type IRI: " + strType, ex);
-            }
-        }
-
         //
         // Process statements...
         //
-        org.apache.jena.graph.Node nodeGraph = NodeUtils.asNode( Util.getGraphIRIString( this.baseIRI.toString() ) );
-        for (RDFNode theSource : this.listNodes) {
-            for (RDFNode theType : listTypesForStmts) {
-                this.theDSGraph.add(
-                    nodeGraph,
-                    theSource.asNode(),
-                    RDF.type.asNode(),
-                    theType.asNode()
-                );
+        StreamRDF theOutput = theContext.getOutput();
+        org.apache.jena.graph.Node nodeGraph = thePlan.getGraph();
+        for (org.apache.jena.graph.Node nodeSource : listSources) {
+            for (org.apache.jena.graph.Node nodeType : listTypesForStmts) {
+                theOutput.quad( Quad.create(nodeGraph, nodeSource, RDF.Nodes.type, nodeType) );
             }
         }
     }
@@ -418,44 +345,31 @@ abstract public class ResourceNode extends Node {
      *  Method createPropertyStatements() for Resource Node types on OpenRefine Rows
      *
      *    Given a set of source resources, create the (source, property, object) triple statements
-     *    for each of the sources.
+     *    for each of the sources.  The properties are pre-resolved by the plan.
      */
-    private void createPropertyStatements() {
+    private void createPropertyStatements(EvaluationContext theContext, RecordModel theRec, List<org.apache.jena.graph.Node> listSources) {
+        TransformPlan thePlan = theContext.getPlan();
+        List<TransformPlan.PropertyStep> listSteps = thePlan.getProperties(this);
         if ( Util.isDebugMode() ) {
-            String strPropertyCount = "DEBUG: createPropertyStatements: Property Count: {}";
-            int iPropertyCount = 0;
-            if (this.listProperties != null) {
-                iPropertyCount = this.listProperties.size();
-            }
-            ResourceNode.logger.info(strPropertyCount, iPropertyCount);
+            ResourceNode.logger.info("DEBUG: createPropertyStatements: Property Count: {}", listSteps.size());
         }
-        if (this.listProperties == null) {
+        if ( listSteps.isEmpty() ) {
             return;
         }
 
-        String strPrefix = null;
-        String strProperty = null;
-
-        String strNamespace;
-        String strLocalName;
-        Node nodeObject;
-        List<RDFNode> listObjects;
-        String strFullProperty;
-        PropertyImpl theProperty;
-
         @JsonIgnoreType
         class PropertyObjectList {
-            private PropertyImpl nodeProp;
-            private List<RDFNode> listObjs;
+            private org.apache.jena.graph.Node nodeProp;
+            private List<org.apache.jena.graph.Node> listObjs;
 
-            PropertyObjectList(PropertyImpl nodeProp, List<RDFNode> listObjs) {
+            PropertyObjectList(org.apache.jena.graph.Node nodeProp, List<org.apache.jena.graph.Node> listObjs) {
                 this.nodeProp = nodeProp;
                 this.listObjs = listObjs;
             }
-            public PropertyImpl getProperty() {
+            public org.apache.jena.graph.Node getProperty() {
                 return this.nodeProp;
             }
-            public List<RDFNode> getObjects() {
+            public List<org.apache.jena.graph.Node> getObjects() {
                 return this.listObjs;
             }
         }
@@ -464,73 +378,35 @@ abstract public class ResourceNode extends Node {
         // Process one set of properties
         //
         List<PropertyObjectList> listPropsForStmts = new ArrayList<PropertyObjectList>();
-        for (Property propItem : this.listProperties) {
-            //
-            // PROPERTY
-            //
-            strPrefix = propItem.getPrefix(); // Null indicated FULL IRI, Empty indicate BaseIRI
-            strProperty = propItem.getPathProperty(); // ...assume FULL IRI
-            strLocalName = null;
-            strNamespace = null;
-            if (strPrefix != null) { // ...prefixed...
-                strLocalName = strProperty;
-                strProperty = strPrefix + ":" + strLocalName; // ...CIRIE
-                strNamespace = this.theDSGraph.prefixes().get(strPrefix);
-            }
-            if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Prop: [" + strProperty + "]");
-            if ( strProperty == null || strProperty.isEmpty() ) {
-                continue;
-            }
-
+        for (TransformPlan.PropertyStep theStep : listSteps) {
             //
             // OBJECTS
             //
-            nodeObject = propItem.getObject();
-            if (nodeObject == null) { // ...no Object?
-                if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Cannot create statements: no Object for Property found.");
-                continue; // ...then, no statement can be processed
-            }
-            listObjects = nodeObject.createObjects(this);
+            List<org.apache.jena.graph.Node> listObjects = theStep.getObject().createObjects(theContext, theRec);
             if (listObjects == null) { // ...no Object List?
                 if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Cannot create statements: no Object List created on Object for Property.");
                 continue; // ...then, no statements can be processed
             }
 
-            try {
-                // Resolve Property for Full IRI and CIRIE...
-                strFullProperty = Util.resolveIRI(this.baseIRI, strProperty);
-                if (strFullProperty != null) {
-                    if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: Prop Resource: [" + strFullProperty + "]");
-                    if (strNamespace != null) {
-                        theProperty = new PropertyImpl(strNamespace, strLocalName);
-                    }
-                    else { // ...on no prefix or missing namespace, treat as Full...
-                        theProperty = new PropertyImpl(strFullProperty);
-                    }
-                    listPropsForStmts.add( new PropertyObjectList(theProperty, listObjects) );
-                }
-            }
-            catch (IRIParsingException | IllegalArgumentException ex) {
-                logger.error( "ERROR: Bad Property IRI: " + strProperty, ex);
+            //
+            // PROPERTY
+            //
+            if ( theStep.getPredicate() != null ) { // ...bad Property IRIs are reported by the plan
+                listPropsForStmts.add( new PropertyObjectList( theStep.getPredicate(), listObjects ) );
             }
         }
 
         //
         // Process statements...
         //
-        org.apache.jena.graph.Node nodeGraph = NodeUtils.asNode( Util.getGraphIRIString( this.baseIRI.toString() ) );
-        for (RDFNode theSource : this.listNodes) {
+        StreamRDF theOutput = theContext.getOutput();
+        org.apache.jena.graph.Node nodeGraph = thePlan.getGraph();
+        for (org.apache.jena.graph.Node nodeSource : listSources) {
             for ( PropertyObjectList polPropItem : listPropsForStmts )
             {
-                theProperty = polPropItem.getProperty();
-                listObjects = polPropItem.getObjects();
-                for (RDFNode theObject : listObjects) {
-                    this.theDSGraph.add(
-                        nodeGraph,
-                        theSource.asNode(),
-                        theProperty.asNode(),
-                        theObject.asNode()
-                    );
+                org.apache.jena.graph.Node nodeProperty = polPropItem.getProperty();
+                for ( org.apache.jena.graph.Node nodeObject : polPropItem.getObjects() ) {
+                    theOutput.quad( Quad.create(nodeGraph, nodeSource, nodeProperty, nodeObject) );
                 }
             }
         }
@@ -539,27 +415,25 @@ abstract public class ResourceNode extends Node {
     /*
      *  Method createObjects() for Resource Node types on OpenRefine Rows
      *
-     *  Return: List<RDFNode>
+     *  Return: List<org.apache.jena.graph.Node>
      *    Returns the Resources as generic Values since these are "object" elements in
      *    ( source, predicate, object ) triples and need to be compatible with literals.
      */
     @Override
-    protected List<RDFNode> createObjects(ResourceNode nodeProperty)
+    protected List<org.apache.jena.graph.Node> createObjects(EvaluationContext theContext, RecordModel recProperty)
             throws RuntimeException {
         if (Util.isDebugMode()) ResourceNode.logger.info("DEBUG: createObjects...");
 
-        this.setObjectParameters(nodeProperty);
-
         // TODO: Create process for Sub-Records
 
-        this.listNodes = null;
+        RecordModel theRec = new RecordModel();
 
         //
         // Record Mode...
         //
-        if ( nodeProperty.theRec.isRecordMode() ) { // ...property is Record based,
+        if ( recProperty.isRecordMode() ) { // ...property is Record based,
             // ...set to Row Mode and process on current row as set by rowNext()...
-            this.theRec.setMode(nodeProperty, true);
+            theRec.setMode(recProperty, true);
         }
 
         //
@@ -567,17 +441,12 @@ abstract public class ResourceNode extends Node {
         //
         else {
             // ...process on current row as set by rowNext()...
-            this.theRec.setMode(nodeProperty);
+            theRec.setMode(recProperty);
         }
 
-        this.createStatementsWorker(); // ...accumulates objects in this.listNodes
-        List<RDFNode> listObjectNodes = this.listNodes;
-        this.listNodes = null;
-        this.theRec.clear();
-
         // Return the collected resources from the statement processing as Objects
         // to the given Property...
-        return listObjectNodes;
+        return this.createStatementsWorker(theContext, theRec);
     }
 
     abstract protected void writeNode(JsonGenerator writer, boolean isRoot)
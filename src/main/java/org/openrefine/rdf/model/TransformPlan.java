@@ -0,0 +1,642 @@
+/*
+ *  Class TransformPlan
+ *
+ *  A compiled, immutable execution plan for the root nodes of an RDF Transform.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openrefine.rdf.model.Util.IRIParsingException;
+
+import org.apache.jena.datatypes.RDFDatatype;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.iri.IRI;
+import org.apache.jena.riot.system.PrefixMap;
+import org.apache.jena.riot.system.PrefixMapFactory;
+import org.apache.jena.sparql.util.NodeUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class TransformPlan<br />
+ *<br />
+ *  Everything about a transform that does not depend on a row or record is resolved once by
+ *  compile(): the graph node, each resource node's type and property IRIs as RDF nodes, each
+ *  literal node's datatype, the values of constant nodes, a column slot for each cell node's
+ *  column, and whether a cell node's expression is an identity that can read the cell value
+ *  directly.  Per row work is then limited to cell evaluation and quad emission.<br />
+ *<br />
+ *  Each blank node is given a compact key and a path (see BlankStep) so a BlankNodeAllocator labels
+ *  or skolemizes its blank nodes the same way on every export.<br />
+ *<br />
+ *  The plan is keyed by node identity, so it belongs to the node tree it was compiled from.  The
+ *  plan is read-only once compiled and may be shared by concurrent evaluations.  A restricted plan
+ *  (see restrict()) evaluates part of the tree as the full plan does.
+ */
+public final class TransformPlan {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:TransformPlan");
+
+    /*
+     *  Class PropertyStep
+     *
+     *    A property's resolved predicate and the node producing its objects.
+     *    NOTE: The predicate is null for a bad property IRI.  The object node is still
+     *          processed so its own statements are produced.
+     */
+    static public final class PropertyStep {
+        private final Property theProperty;
+        private final org.apache.jena.graph.Node nodePredicate;
+        private final Node nodeObject;
+
+        private PropertyStep(Property theProperty, org.apache.jena.graph.Node nodePredicate, Node nodeObject) {
+            this.theProperty = theProperty;
+            this.nodePredicate = nodePredicate;
+            this.nodeObject = nodeObject;
+        }
+
+        public org.apache.jena.graph.Node getPredicate() {
+            return this.nodePredicate;
+        }
+
+        public Node getObject() {
+            return this.nodeObject;
+        }
+    }
+
+    /*
+     *  Class DatatypeStep
+     *
+     *    A resolved datatype, shared by the plan's literal nodes of the datatype, and whether its
+     *    lexical forms are validated.
+     *    NOTE: Only the XSD datatypes define a lexical space to validate against.  Other
+     *          datatypes (such as an unknown datatype IRI) accept any lexical form.
+     *    NOTE: An ill-typed literal is only counted: it is still a literal, and a store or reasoner
+     *          decides how to treat it.
+     */
+    static public final class DatatypeStep {
+        private final RDFDatatype theDatatype;
+        private final boolean bValidate;
+        private final LongAdder lIllTyped = new LongAdder(); // ...counted by concurrent evaluations
+
+        private DatatypeStep(RDFDatatype theDatatype) {
+            this.theDatatype = theDatatype;
+            this.bValidate = ( theDatatype instanceof XSDDatatype );
+        }
+
+        public RDFDatatype getDatatype() {
+            return this.theDatatype;
+        }
+
+        /**
+         * Validate a lexical form, counting it when ill-typed.
+         * @param strLexical - The lexical form.
+         * @return boolean - true when the form is in the datatype's lexical space or not validated.
+         */
+        public boolean isValid(String strLexical) {
+            if ( ! this.bValidate || this.theDatatype.isValid(strLexical) ) {
+                return true;
+            }
+            this.lIllTyped.increment();
+            return false;
+        }
+
+        public long countIllTyped() {
+            return this.lIllTyped.sum();
+        }
+    }
+
+    /*
+     *  Class BlankStep
+     *
+     *    A blank node's compact key for its labels and its path for its skolem IRIs.
+     *    NOTE: Column based blank nodes on the same column share a key and path, so they produce the
+     *          same blank node on a row.  A constant blank node's path is its constant, so constant
+     *          blank nodes with the same constant are the same node.
+     */
+    static public final class BlankStep {
+        private final String strKey;
+        private final String strPath;
+
+        private BlankStep(String strKey, String strPath) {
+            this.strKey = strKey;
+            this.strPath = strPath;
+        }
+
+        public String getKey() {
+            return this.strKey;
+        }
+
+        public String getPath() {
+            return this.strPath;
+        }
+    }
+
+    /*
+     *  Class CellStep
+     *
+     *    A cell node's column slot (or -1 for no regular column) and how its value is read.
+     */
+    static private final class CellStep {
+        private final int iColumnSlot;
+        private final EvaluationContext.ValueAccess eValueAccess;
+
+        private CellStep(int iColumnSlot, EvaluationContext.ValueAccess eValueAccess) {
+            this.iColumnSlot = iColumnSlot;
+            this.eValueAccess = eValueAccess;
+        }
+    }
+
+    static private final CellStep stepExpression = new CellStep(-1, EvaluationContext.ValueAccess.EXPRESSION);
+
+    /*
+     *  Class ResourceStep
+     *
+     *    A resource node's resolved types, the type mappings resolving them (by index), and its properties.
+     */
+    static private final class ResourceStep {
+        private final List<org.apache.jena.graph.Node> listTypes;
+        private final List<RDFType> listTypeItems;
+        private final List<PropertyStep> listProperties;
+
+        private ResourceStep(List<org.apache.jena.graph.Node> listTypes, List<RDFType> listTypeItems,
+                             List<PropertyStep> listProperties)
+        {
+            this.listTypes = Collections.unmodifiableList(listTypes);
+            this.listTypeItems = Collections.unmodifiableList(listTypeItems);
+            this.listProperties = Collections.unmodifiableList(listProperties);
+        }
+
+        /*
+         *  Method restrict() for the step holding only the given type and property mappings
+         */
+        private ResourceStep restrict(Set<Object> setMappings) {
+            List<org.apache.jena.graph.Node> listTypes = new ArrayList<org.apache.jena.graph.Node>();
+            List<RDFType> listTypeItems = new ArrayList<RDFType>();
+            for (int iType = 0; iType < this.listTypeItems.size(); iType++) {
+                if ( setMappings.contains( this.listTypeItems.get(iType) ) ) {
+                    listTypes.add( this.listTypes.get(iType) );
+                    listTypeItems.add( this.listTypeItems.get(iType) );
+                }
+            }
+            List<PropertyStep> listProperties = new ArrayList<PropertyStep>();
+            for (PropertyStep theStep : this.listProperties) {
+                if ( setMappings.contains(theStep.theProperty) ) {
+                    listProperties.add(theStep);
+                }
+            }
+            return new ResourceStep(listTypes, listTypeItems, listProperties);
+        }
+    }
+
+    static private final ResourceStep stepEmpty =
+        new ResourceStep( new ArrayList<org.apache.jena.graph.Node>(), new ArrayList<RDFType>(), new ArrayList<PropertyStep>() );
+
+    /**
+     * Compile the plan for the given root nodes.
+     * @param listRoots - The root nodes to plan.
+     * @param baseIRI - The transform's Base IRI.
+     * @param thePrefixes - The prefixes used to expand the node IRIs.
+     * @return TransformPlan - The compiled plan.
+     */
+    static public TransformPlan compile(List<ResourceNode> listRoots, IRI baseIRI, PrefixMap thePrefixes) {
+        return TransformPlan.compile( listRoots, baseIRI, thePrefixes, Util.isExportSkolemize() );
+    }
+
+    /*
+     *  Method compile() for a plan skolemized or not regardless of the Export Skolemize preference
+     */
+    static TransformPlan compile(List<ResourceNode> listRoots, IRI baseIRI, PrefixMap thePrefixes, boolean bSkolemize) {
+        if ( Util.isDebugMode() ) TransformPlan.logger.info("DEBUG: Compiling plan...");
+        TransformPlan thePlan = new TransformPlan(listRoots, baseIRI, thePrefixes, bSkolemize);
+        int iRoot = 0;
+        for ( ResourceNode root : listRoots ) {
+            thePlan.compileNode( root, Integer.toString(iRoot++) );
+        }
+        if ( Util.isDebugMode() ) {
+            TransformPlan.logger.info("DEBUG: ...compiled plan: Resources: " + thePlan.mapResources.size() +
+                                      " Constants: " + thePlan.mapConstants.size() +
+                                      " Datatypes: " + thePlan.mapDatatypes.size() +
+                                      " Blanks: " + thePlan.mapBlanks.size() +
+                                      " Columns: " + thePlan.listColumns.size() +
+                                      " Direct Values: " + thePlan.iDirectValues +
+                                      " Parallel Safe: " + thePlan.bParallelSafe);
+        }
+        return thePlan;
+    }
+
+    private final List<ResourceNode> listRoots;
+    private final IRI baseIRI;
+    private final PrefixMap thePrefixes;
+    private final org.apache.jena.graph.Node nodeGraph;
+    private final Map<ResourceNode, ResourceStep> mapResources;
+    private final Map<Node, List<org.apache.jena.graph.Node>> mapConstants;
+    private final Map<LiteralNode, DatatypeStep> mapDatatypes;
+    private final Map<RDFDatatype, DatatypeStep> mapDatatypeSteps; // ...one step by datatype
+    private final Map<ResourceNode, BlankStep> mapBlanks;
+    private final Map<Node, CellStep> mapCells;
+    private final List<String> listColumns; // ...by column slot
+    private final boolean bSkolemize;
+    private final String strSkolemBase;
+    private int iBlankKeys = 0; // ...blank nodes keyed by node
+    private int iDirectValues = 0; // ...cell nodes reading values without expression evaluation
+    private boolean bParallelSafe = true; // ...no cell node evaluates an expression in another language than GREL
+
+    private TransformPlan(List<ResourceNode> listRoots, IRI baseIRI, PrefixMap thePrefixes, boolean bSkolemize) {
+        this.listRoots = Collections.unmodifiableList( new ArrayList<ResourceNode>(listRoots) );
+        this.baseIRI = baseIRI;
+        this.thePrefixes = PrefixMapFactory.unmodifiablePrefixMap(thePrefixes);
+        this.nodeGraph = NodeUtils.asNode( Util.getGraphIRIString( baseIRI.toString() ) );
+        this.bSkolemize = bSkolemize;
+        this.strSkolemBase = ( bSkolemize ? TransformPlan.resolveSkolemBase(baseIRI) : null );
+        this.mapResources = new IdentityHashMap<>();
+        this.mapConstants = new IdentityHashMap<>();
+        this.mapDatatypes = new IdentityHashMap<>();
+        this.mapDatatypeSteps = new HashMap<>();
+        this.mapBlanks = new IdentityHashMap<>();
+        this.mapCells = new IdentityHashMap<>();
+        this.listColumns = new ArrayList<String>();
+    }
+
+    /*
+     *  TransformPlan ctor for a restricted plan
+     *
+     *    Shares everything compiled by the full plan but the given roots and resource steps.
+     */
+    private TransformPlan(TransformPlan thePlan, List<ResourceNode> listRoots, Map<ResourceNode, ResourceStep> mapResources) {
+        this.listRoots = Collections.unmodifiableList(listRoots);
+        this.baseIRI = thePlan.baseIRI;
+        this.thePrefixes = thePlan.thePrefixes;
+        this.nodeGraph = thePlan.nodeGraph;
+        this.bSkolemize = thePlan.bSkolemize;
+        this.strSkolemBase = thePlan.strSkolemBase;
+        this.mapResources = mapResources;
+        this.mapConstants = thePlan.mapConstants;
+        this.mapDatatypes = thePlan.mapDatatypes;
+        this.mapDatatypeSteps = thePlan.mapDatatypeSteps;
+        this.mapBlanks = thePlan.mapBlanks;
+        this.mapCells = thePlan.mapCells;
+        this.listColumns = thePlan.listColumns;
+        this.iBlankKeys = thePlan.iBlankKeys;
+        this.iDirectValues = thePlan.iDirectValues;
+        this.bParallelSafe = thePlan.bParallelSafe;
+    }
+
+    /**
+     * Restrict the plan to some type and property mappings of some roots.  The restricted plan keeps
+     * the column slots and the blank node keys and paths of this plan, so the statements it produces
+     * are those this plan produces for the mappings.
+     * @param mapMappings - The RDFType and Property mappings to keep by root.  A root not in the map
+     *                      is dropped.  A set should compare by identity.
+     * @return TransformPlan - The restricted plan.
+     */
+    public TransformPlan restrict(Map<ResourceNode, Set<Object>> mapMappings) {
+        List<ResourceNode> listRoots = new ArrayList<ResourceNode>();
+        Map<ResourceNode, ResourceStep> mapResources = new IdentityHashMap<>(this.mapResources);
+        for (ResourceNode theRoot : this.listRoots) {
+            Set<Object> setMappings = mapMappings.get(theRoot);
+            if (setMappings == null) {
+                continue;
+            }
+            listRoots.add(theRoot);
+            ResourceStep theStep = this.mapResources.get(theRoot);
+            if (theStep != null) {
+                mapResources.put( theRoot, theStep.restrict(setMappings) );
+            }
+        }
+        return new TransformPlan(this, listRoots, mapResources);
+    }
+
+    public List<ResourceNode> getRoots() {
+        return this.listRoots;
+    }
+
+    public IRI getBaseIRI() {
+        return this.baseIRI;
+    }
+
+    public PrefixMap getPrefixes() {
+        return this.thePrefixes;
+    }
+
+    /**
+     * Report whether the plan's cell nodes may be evaluated by concurrent threads.  They may when each
+     * reads its value directly or evaluates a GREL expression.  OpenRefine does not document its
+     * other languages as thread safe: Jython, for one, shares an interpreter.
+     * @return boolean - true when the plan may be evaluated in parallel.
+     */
+    public boolean isParallelSafe() {
+        return this.bParallelSafe;
+    }
+
+    /**
+     * Get the column names used by the plan's cell nodes in column slot order.
+     * An EvaluationContext resolves these to cell indices for a project.
+     * @return List&lt;String&gt; - The unmodifiable column names.
+     */
+    public List<String> getColumns() {
+        return Collections.unmodifiableList(this.listColumns);
+    }
+
+    public org.apache.jena.graph.Node getGraph() {
+        return this.nodeGraph;
+    }
+
+    public List<org.apache.jena.graph.Node> getTypes(ResourceNode theNode) {
+        return this.mapResources.getOrDefault(theNode, TransformPlan.stepEmpty).listTypes;
+    }
+
+    public List<PropertyStep> getProperties(ResourceNode theNode) {
+        return this.mapResources.getOrDefault(theNode, TransformPlan.stepEmpty).listProperties;
+    }
+
+    /**
+     * Get the pre-bound objects for a constant node.
+     * @param theNode - The node.
+     * @return List&lt;org.apache.jena.graph.Node&gt; - The unmodifiable objects or null when the node is not a bound constant.
+     */
+    public List<org.apache.jena.graph.Node> getConstants(Node theNode) {
+        return this.mapConstants.get(theNode);
+    }
+
+    /**
+     * Get the resolved datatype for a literal node with a datatype.
+     * @param theNode - The literal node.
+     * @return DatatypeStep - The datatype.  A node not compiled by the plan is resolved on each call.
+     */
+    public DatatypeStep getDatatype(LiteralNode theNode) {
+        DatatypeStep theStep = this.mapDatatypes.get(theNode);
+        if (theStep == null) {
+            theStep = new DatatypeStep( theNode.resolveDatatype(this) );
+        }
+        return theStep;
+    }
+
+    /**
+     * Count the literals evaluated with a lexical form not valid for their datatype.
+     * @return long - The ill-typed literals.
+     */
+    public long countIllTyped() {
+        long lIllTyped = 0;
+        for ( DatatypeStep theStep : this.mapDatatypeSteps.values() ) {
+            lIllTyped += theStep.countIllTyped();
+        }
+        return lIllTyped;
+    }
+
+    /**
+     * Whether the plan's blank nodes are skolemized.  See the Export Skolemize preference.
+     * @return boolean - True when blank nodes are replaced by skolem IRIs.
+     */
+    public boolean isSkolemized() {
+        return this.bSkolemize;
+    }
+
+    /**
+     * Get the IRI prefixing the skolem IRIs: the Base IRI's "/.well-known/genid/" path.
+     * @return String - The prefix or null when not skolemized.
+     */
+    public String getSkolemBase() {
+        return this.strSkolemBase;
+    }
+
+    /**
+     * Get the key and path for a blank node.
+     * @param theNode - The blank node.
+     * @return BlankStep - The key and path or null when the node is not compiled by the plan.
+     */
+    public BlankStep getBlank(ResourceNode theNode) {
+        return this.mapBlanks.get(theNode);
+    }
+
+    /**
+     * Append the key and path of each blank node in a node's tree in plan order.  What is appended
+     * changes with any change to the blank nodes naming the tree's statements, such as another blank
+     * node or column compiled before them.
+     * @param strbBlanks - Receives the keys and paths.
+     * @param theNode - The node.  May be null.
+     */
+    public void appendBlanks(StringBuilder strbBlanks, Node theNode) {
+        if ( ! ( theNode instanceof ResourceNode ) ) {
+            return;
+        }
+        BlankStep theStep = this.mapBlanks.get(theNode);
+        if (theStep != null) {
+            strbBlanks.append('|').append(theStep.strKey).append('=').append(theStep.strPath);
+        }
+        for ( PropertyStep theProperty : this.getProperties( (ResourceNode) theNode ) ) {
+            this.appendBlanks( strbBlanks, theProperty.getObject() );
+        }
+    }
+
+    /**
+     * Get the column slot assigned to a cell node's column.
+     * An EvaluationContext resolves the slot to a cell index.
+     * @param theNode - The cell node.
+     * @return int - The slot or -1 when the node has no regular column or is not compiled by the plan.
+     */
+    public int getColumnSlot(Node theNode) {
+        return this.mapCells.getOrDefault(theNode, TransformPlan.stepExpression).iColumnSlot;
+    }
+
+    /**
+     * Get how a cell node's value is read.
+     * @param theNode - The cell node.
+     * @return EvaluationContext.ValueAccess - The access.  A node not compiled by the plan evaluates its expression.
+     */
+    public EvaluationContext.ValueAccess getValueAccess(Node theNode) {
+        return this.mapCells.getOrDefault(theNode, TransformPlan.stepExpression).eValueAccess;
+    }
+
+    private void compileNode(Node theNode, String strPath) {
+        // Resolve the datatype for literal nodes (before their constants use it)...
+        if ( theNode instanceof LiteralNode ) {
+            RDFDatatype theDatatype = ( (LiteralNode) theNode ).resolveDatatype(this);
+            if (theDatatype != null) {
+                this.mapDatatypes.put( (LiteralNode) theNode, this.mapDatatypeSteps.computeIfAbsent(theDatatype, DatatypeStep::new) );
+            }
+        }
+
+        // NOTE: The plan holds what it resolves for a node.  Nothing is written to the node tree,
+        //      which other plans may be compiling or evaluating at the same time.
+        int iColumnSlot = -1;
+        if ( theNode instanceof CellNode ) {
+            // Classify the expression for cell nodes...
+            EvaluationContext.ValueAccess eValueAccess = EvaluationContext.classify(theNode.strExpression);
+            if (eValueAccess != EvaluationContext.ValueAccess.EXPRESSION) {
+                this.iDirectValues += 1;
+            }
+            else if ( ! EvaluationContext.isGREL(theNode.strExpression) ) {
+                this.bParallelSafe = false;
+            }
+
+            // Assign the column slot for cell nodes on regular columns...
+            if ( ! theNode.bIsIndex ) {
+                String strColumnName = ( (CellNode) theNode ).getColumnName();
+                if ( ! ( strColumnName == null || strColumnName.isEmpty() ) ) {
+                    iColumnSlot = this.listColumns.indexOf(strColumnName);
+                    if (iColumnSlot < 0) {
+                        iColumnSlot = this.listColumns.size();
+                        this.listColumns.add(strColumnName);
+                    }
+                }
+            }
+            this.mapCells.put( theNode, new CellStep(iColumnSlot, eValueAccess) );
+        }
+
+        // Key the blank nodes (before their constants use it)...
+        if ( theNode instanceof CellBlankNode || theNode instanceof ConstantBlankNode ) {
+            this.mapBlanks.put( (ResourceNode) theNode, this.createBlankStep(theNode, iColumnSlot, strPath) );
+        }
+
+        // Pre-bind constants...
+        List<org.apache.jena.graph.Node> listConstants = theNode.createConstantObjects(this);
+        if (listConstants != null) {
+            this.mapConstants.put( theNode, Collections.unmodifiableList(listConstants) );
+        }
+
+        if ( ! ( theNode instanceof ResourceNode ) ) {
+            return;
+        }
+        ResourceNode nodeResource = (ResourceNode) theNode;
+
+        //
+        // Types...
+        //
+        List<org.apache.jena.graph.Node> listTypes = new ArrayList<org.apache.jena.graph.Node>();
+        List<RDFType> listTypeItems = new ArrayList<RDFType>();
+        for ( RDFType typeItem : nodeResource.getTypes() ) {
+            org.apache.jena.graph.Node nodeType = this.resolve( typeItem.getPrefix(), typeItem.getLocalPart() );
+            if (nodeType != null) {
+                listTypes.add(nodeType);
+                listTypeItems.add(typeItem);
+            }
+        }
+
+        //
+        // Properties...
+        //
+        List<PropertyStep> listProperties = new ArrayList<PropertyStep>();
+        int iProperty = -1;
+        for ( Property propItem : nodeResource.getProperties() ) {
+            iProperty++;
+            String strProperty = propItem.getPathProperty();
+            if ( strProperty == null || strProperty.isEmpty() ) {
+                continue;
+            }
+            Node nodeObject = propItem.getObject();
+            if (nodeObject == null) { // ...no Object?
+                if ( Util.isDebugMode() ) TransformPlan.logger.info("DEBUG: Cannot plan statements: no Object for Property found.");
+                continue; // ...then, no statement can be processed
+            }
+            this.compileNode( nodeObject, strPath + "/" + iProperty );
+            listProperties.add( new PropertyStep( propItem, this.resolve( propItem.getPrefix(), strProperty ), nodeObject ) );
+        }
+
+        this.mapResources.put( nodeResource, new ResourceStep(listTypes, listTypeItems, listProperties) );
+    }
+
+    /*
+     *  Method createBlankStep() for a blank node
+     *
+     *    Column based: keyed by the column slot and pathed by the column name.
+     *    Constant: keyed by the node and pathed by the constant (or by the node's place in the tree
+     *              when the constant is empty).
+     *    Otherwise: keyed by the node and pathed by the node's place in the tree: the root index and
+     *               each property index down to the node.
+     */
+    private BlankStep createBlankStep(Node theNode, int iColumnSlot, String strPath) {
+        if (iColumnSlot >= 0) {
+            return new BlankStep( "c" + iColumnSlot, "column:" + this.listColumns.get(iColumnSlot) );
+        }
+        String strKey = "n" + this.iBlankKeys++;
+        if ( theNode instanceof ConstantBlankNode ) {
+            String strLabel = ( (ConstantBlankNode) theNode ).getLabel();
+            if (strLabel != null) {
+                return new BlankStep(strKey, "constant:" + strLabel);
+            }
+        }
+        return new BlankStep(strKey, "node:" + strPath);
+    }
+
+    /*
+     *  Method resolveSkolemBase() for the skolem IRIs
+     *
+     *    See RFC 7511 for the "/.well-known/genid/" path.  A Base IRI that cannot hold the path
+     *    (such as a URN: it has no authority) skolemizes under a "urn:genid:" prefix instead.
+     */
+    static private String resolveSkolemBase(IRI baseIRI) {
+        if ( baseIRI.getRawAuthority() != null ) {
+            try {
+                String strSkolemBase = Util.resolveIRI(baseIRI, "/.well-known/genid/");
+                if ( strSkolemBase != null && strSkolemBase.endsWith("/.well-known/genid/") ) {
+                    return strSkolemBase;
+                }
+            }
+            catch (IRIParsingException | IllegalArgumentException ex) {
+                // No problem: use the URN prefix...
+            }
+        }
+        TransformPlan.logger.warn("WARNING: The Base IRI " + baseIRI + " cannot hold skolem IRIs: using \"urn:genid:\"");
+        return "urn:genid:";
+    }
+
+    /*
+     *  Method resolve() for a prefixed or full IRI
+     *
+     *    Prefix: Null indicates FULL IRI, Empty indicates BaseIRI
+     */
+    private org.apache.jena.graph.Node resolve(String strPrefix, String strLocalPart) {
+        String strIRI = strLocalPart; // ...assume FULL IRI
+        String strNamespace = null;
+        if (strPrefix != null) { // ...prefixed...
+            strIRI = strPrefix + ":" + strLocalPart; // ...CIRIE
+            strNamespace = this.thePrefixes.get(strPrefix);
+        }
+        if ( strIRI == null || strIRI.isEmpty() ) {
+            return null;
+        }
+
+        try {
+            // Resolve the IRI for Full IRI or CIRIE...
+            String strFullIRI = Util.resolveIRI(this.baseIRI, strIRI);
+            if (strFullIRI == null) {
+                return null;
+            }
+            if (strNamespace != null) {
+                strFullIRI = strNamespace + strLocalPart;
+            }
+            // ...on no prefix or missing namespace, treat as Full...
+            if ( Util.isDebugMode() ) TransformPlan.logger.info("DEBUG: Resolved: [" + strIRI + "] to [" + strFullIRI + "]");
+            return NodeFactory.createURI(strFullIRI);
+        }
+        catch (IRIParsingException | IllegalArgumentException ex) {
+            TransformPlan.logger.error("ERROR: Bad IRI: " + strIRI, ex);
+        }
+        return null;
+    }
+}
@@ -20,13 +20,8 @@
 
 package org.openrefine.rdf.model;
 
-import com.google.refine.expr.Evaluable;
-import com.google.refine.expr.ExpressionUtils;
-import com.google.refine.expr.MetaParser;
 import com.google.refine.expr.ParsingException;
-import com.google.refine.model.Cell;
 import com.google.refine.model.Project;
-import com.google.refine.model.Row;
 import com.google.refine.preference.PreferenceStore;
 import com.google.refine.ProjectManager;
 
@@ -188,7 +183,29 @@ public class Util {
             // Settable by OpenRefine Preferences...
             put("iVerbosity", 0);
             put("iExportLimit", 10737418);
+            put("iExportThreads", 1);
+            put("iExportConcurrency", 2);
+            put("iExportQueueLimit", 16);
+            put("iExportQueueTimeout", 300);
+            put("iPrettySpillLimit", 1000000);
+            put("strExportRoot", "");
+            put("iExportPartQuads", 0);
+            put("iExportPartMB", 1024);
+            put("iExportSortRun", 1000000);
+            put("iExportPushBatch", 10000);
+            put("iExportPushInFlight", 4);
+            put("iExportPushRetries", 3);
+            put("strExportTDB2Dir", "");
+            put("iExportTDB2Batch", 1000000);
+            put("bExportCompressAsync", true);
+            put("strExportDedup", "lru");
+            put("iExportDedupSize", 100000);
+            put("iExportDedupExpected", 10000000);
+            put("dExportDedupFPR", 0.001);
+            put("iNodeCacheSize", 10000);
+            put("bExportSkolemize", false);
             put("bPreviewStream", false);
+            put("iPreviewCacheSize", 32);
             put("bDebugMode", false);
             put("bDebugJSON", false);
             put("strVocabQueryPrefixes", // Only use SINGLE quotes if needed
@@ -491,82 +508,268 @@ public class Util {
         return strGraphIRI;
     }
 
+    /*
+     *  Method evaluateExpression() for a single evaluation
+     *
+     *    NOTE: Repeated evaluations should use an EvaluationContext to reuse the bindings.
+     */
     static public Object evaluateExpression(Project theProject, String strExpression, String strColumnName, int iRowIndex)
             throws ParsingException {
-        //
-        // Evaluate the expression on the cell and return results...
-        //   NOTE: Here is where we tie the RDF Transform model to the data.
-        //
-        if ( Util.isDebugMode() ) {
-            Util.logger.info("DEBUG: evaluateExpression: " +
-                                "Exp: [" + strExpression + "] " +
-                                "Col: [" + strColumnName + "] " +
-                                "Row: [" + iRowIndex     + "]");
-        }
+        return new EvaluationContext(theProject).evaluate(strExpression, strColumnName, iRowIndex);
+    }
 
-        //
-        if ( strExpression == null ) {
-            return null;
-        }
+    static public boolean isVerbose() {
+        return ( Util.isDebugMode() || Util.isVerbose(1) );
+    }
 
-        // Select the column reference (er, cell index) by given name...
-        int theColumn = -1;
-        // If a regular column (not a row/record index column)...
-        if ( ! ( strColumnName == null || strColumnName.isEmpty() ) ) {
-            try {
-                theColumn = theProject.columnModel.getColumnByName(strColumnName).getCellIndex();
-            }
-            catch (ClassCastException | NullPointerException ex) {
-                // Let it be -1...continue...
-            }
-        }
+    static public boolean isVerbose(int iVerbose) {
+        return ( Util.isDebugMode() || (int) Util.Preferences.get("iVerbosity") >= iVerbose );
+    }
 
-        // Select the row by given row index...
-        Row theRow = null;
-        try {
-            theRow = theProject.rows.get(iRowIndex);
-        }
-        catch (IndexOutOfBoundsException ex) {
-            // Let it be null...continue...
-        }
+    static public int getVerbose() {
+        return (int) Util.Preferences.get("iVerbosity");
+    }
 
-        // Select the data cell by row and column...
-        Cell theCell = null;
-        if (theColumn >= 0 && theRow != null) { // ...for a valid column and row...
-            theCell = theRow.getCell(theColumn); // ...get the cell
+    //
+    // Export Limit:
+    //
+    // The number of statements an export (or preview) writes.  Visitation stops at the limit and the
+    // export reports the truncation.
+    // NOTE: When set to 0 (or less), there is no limit.
+    //
+    static public int getExportLimit() {
+        return (int) Util.Preferences.get("iExportLimit");
+    }
+
+    //
+    // Export Threads:
+    //
+    // The number of threads used to evaluate rows or records for an export.
+    // NOTE: When set to 0 (or less), use all available processors.  When set to 1 (default), evaluate
+    //      serially.  The threads share the parsed expressions and any project state they use, which
+    //      OpenRefine does not document as thread safe, so parallel evaluation is opt-in and only used
+    //      when every cell expression is an identity or GREL (see TransformPlan.isParallelSafe()).
+    //
+    static public int getExportThreads() {
+        int iExportThreads = (int) Util.Preferences.get("iExportThreads");
+        if (iExportThreads <= 0) {
+            iExportThreads = Runtime.getRuntime().availableProcessors();
         }
-        // Otherwise, create a pseudo-cell...
-        else {
-            theCell = new Cell(iRowIndex, null);
+        return iExportThreads;
+    }
+    // ...end Export Threads
+
+    //
+    // Export Concurrency:
+    //
+    // The number of exports allowed to run at once.  Further exports wait in a queue.
+    // NOTE: When set to 0 (or less), use 1.
+    //
+    static public int getExportConcurrency() {
+        int iExportConcurrency = (int) Util.Preferences.get("iExportConcurrency");
+        if (iExportConcurrency <= 0) {
+            iExportConcurrency = 1;
         }
+        return iExportConcurrency;
+    }
 
-        // Create a bindings property for this expression...
-        Properties bindings = ExpressionUtils.createBindings(theProject);
+    //
+    // Export Queue Limit:
+    //
+    // The number of exports allowed to wait for a running export to end.
+    // NOTE: When set to 0, reject an export when none can run.  When set to less than 0, there is no limit.
+    //
+    static public int getExportQueueLimit() {
+        return (int) Util.Preferences.get("iExportQueueLimit");
+    }
 
-        // Bind the cell for expression evaluation...
-        ExpressionUtils.bind(bindings, theRow, iRowIndex, strColumnName, theCell);
+    //
+    // Export Queue Timeout:
+    //
+    // The seconds an export waits in the queue before it is rejected.
+    // NOTE: When set to 0 (or less), wait until it runs.
+    //
+    static public int getExportQueueTimeout() {
+        return (int) Util.Preferences.get("iExportQueueTimeout");
+    }
+    // ...end Export Concurrency
 
-        // Create an evaluator for this expression...
-        Evaluable eval = MetaParser.parse(strExpression);
+    //
+    // Pretty Spill Limit:
+    //
+    // The number of statements a pretty export holds in memory before spilling to disk.
+    // NOTE: When set to 0 (or less), never spill.
+    //
+    static public int getPrettySpillLimit() {
+        return (int) Util.Preferences.get("iPrettySpillLimit");
+    }
 
-        // Evaluate the expression on the cell for results...
-        return eval.evaluate(bindings);
+    //
+    // Export Root:
+    //
+    // The directory receiving the background file exports.
+    // NOTE: When empty, use the "exports" directory under the RDF Transform cache directory.
+    //
+    static public String getExportRoot() {
+        return (String) Util.Preferences.get("strExportRoot");
     }
 
-    static public boolean isVerbose() {
-        return ( Util.isDebugMode() || Util.isVerbose(1) );
+    //
+    // Export Part Quads:
+    //
+    // The number of statements written to each part file of a background file export.
+    // NOTE: When set to 0 (or less), parts are not limited by statements.
+    //
+    static public int getExportPartQuads() {
+        return (int) Util.Preferences.get("iExportPartQuads");
     }
 
-    static public boolean isVerbose(int iVerbose) {
-        return ( Util.isDebugMode() || (int) Util.Preferences.get("iVerbosity") >= iVerbose );
+    //
+    // Export Part MB:
+    //
+    // The number of megabytes written to each part file of a background file export.
+    // NOTE: When set to 0 (or less), parts are not limited by size.
+    //
+    static public int getExportPartMB() {
+        return (int) Util.Preferences.get("iExportPartMB");
     }
+    // ...end Export Parts
 
-    static public int getVerbose() {
-        return (int) Util.Preferences.get("iVerbosity");
+    //
+    // Export Sort Run:
+    //
+    // The number of statements held in memory for each sorted run of a sorted export.  Each full
+    // run is written to a run file under the RDF Transform cache directory and the runs are merged.
+    // NOTE: When set to 0 (or less), 1.
+    //
+    static public int getExportSortRun() {
+        return Math.max( (int) Util.Preferences.get("iExportSortRun"), 1 );
     }
 
-    static public int getExportLimit() {
-        return (int) Util.Preferences.get("iExportLimit");
+    //
+    // Export Push Batch:
+    //
+    // The number of statements sent in each request of an export pushed to an endpoint.
+    // NOTE: When set to 0 (or less), 1.
+    //
+    static public int getExportPushBatch() {
+        return Math.max( (int) Util.Preferences.get("iExportPushBatch"), 1 );
+    }
+
+    //
+    // Export Push In Flight:
+    //
+    // The number of requests an export pushed to an endpoint sends at once.  The export waits for a
+    // request to end before sending another.
+    // NOTE: When set to 0 (or less), 1.
+    //
+    static public int getExportPushInFlight() {
+        return Math.max( (int) Util.Preferences.get("iExportPushInFlight"), 1 );
+    }
+
+    //
+    // Export Push Retries:
+    //
+    // The number of times a failed request of an export pushed to an endpoint is sent again.
+    // NOTE: When set to 0 (or less), not sent again.
+    //
+    static public int getExportPushRetries() {
+        return Math.max( (int) Util.Preferences.get("iExportPushRetries"), 0 );
+    }
+
+    //
+    // Export TDB2 Directory:
+    //
+    // The TDB2 database directory receiving the exports loaded into TDB2.  Each export adds to the
+    // database.
+    // NOTE: When empty, each export loads a new database in its own directory under the Export Root.
+    //
+    static public String getExportTDB2Dir() {
+        return (String) Util.Preferences.get("strExportTDB2Dir");
+    }
+
+    //
+    // Export TDB2 Batch:
+    //
+    // The number of statements committed in each transaction of an export loaded into TDB2.
+    // NOTE: When set to 0 (or less), 1.
+    //
+    static public int getExportTDB2Batch() {
+        return Math.max( (int) Util.Preferences.get("iExportTDB2Batch"), 1 );
+    }
+
+    //
+    // Export Compress Async:
+    //
+    // Whether a compressed export compresses beside the visitation (on its own threads).
+    // NOTE: When set to false, compress on the visitation's thread.
+    //
+    static public boolean isExportCompressAsync() {
+        return (boolean) Util.Preferences.get("bExportCompressAsync");
+    }
+
+    //
+    // Export Dedup:
+    //
+    // The mode dropping repeated statements from a streaming export: "none", "lru", or "bloom".
+    // NOTE: See DedupStreamRDF.  Unknown modes are "none".
+    //
+    static public String getExportDedup() {
+        return (String) Util.Preferences.get("strExportDedup");
+    }
+
+    //
+    // Export Dedup Size:
+    //
+    // The number of statements the "lru" dedup mode holds for its recent subjects.
+    //
+    static public int getExportDedupSize() {
+        return (int) Util.Preferences.get("iExportDedupSize");
+    }
+
+    //
+    // Export Dedup Expected and FPR:
+    //
+    // The statement count and false positive rate sizing the "bloom" dedup mode's filter.
+    //
+    static public int getExportDedupExpected() {
+        return (int) Util.Preferences.get("iExportDedupExpected");
+    }
+
+    static public double getExportDedupFPR() {
+        return (double) Util.Preferences.get("dExportDedupFPR");
+    }
+    // ...end Export Dedup
+
+    //
+    // Node Cache Size:
+    //
+    // The number of cell values per evaluation whose RDF nodes are kept for reuse.
+    // NOTE: See NodeCache.  When 0 (or less), not cached.
+    //
+    static public int getNodeCacheSize() {
+        return (int) Util.Preferences.get("iNodeCacheSize");
+    }
+
+    //
+    // Export Skolemize:
+    //
+    // Whether blank nodes are replaced by "/.well-known/genid/" IRIs hashed from the project, the row or
+    // record, and the node.  Otherwise, blank nodes get compact labels from the row and the node.
+    // NOTE: See BlankNodeAllocator.
+    //
+    static public boolean isExportSkolemize() {
+        return (boolean) Util.Preferences.get("bExportSkolemize");
+    }
+
+    //
+    // Preview Cache Size:
+    //
+    // The number of rendered previews kept for repeated preview requests.
+    // NOTE: See PreviewCache.  When 0 (or less), not cached.
+    //
+    static public int getPreviewCacheSize() {
+        return (int) Util.Preferences.get("iPreviewCacheSize");
     }
 
     //
@@ -679,17 +882,19 @@ public class Util {
         //
         // Set Export Statement Limit...
         //
-        // The Export Statement Limit (iExportStatementLimit) is used to manage the
-        // statement writing process for an RDF export to a disk file.
+        // The Export Statement Limit (iExportLimit) is the most statements written by an
+        // RDF export.  Visitation stops cleanly at the limit: the statements written are
+        // flushed and the truncation is logged and noted in the output when the syntax
+        // allows comments.  A limit of 0 (or less) is no limit.
         //
-        // Ideally, the limit on the number of statements held in memory for buffered
-        // writing would be based on the input data size and available memory.  Generally,
+        // Ideally, the limit on the number of statements would be based on the input
+        // data size and available memory.  Generally,
         // the processing buffer would be approximately 1/10 to 1/1000 of the data size
         // depending on available memory.  A reasonable limit might be 1 GiB:
         //      1 GiB = 1024 * 1024 * 1024 bytes = 1073741824 bytes
         // Since we only have the number of statements currently in the connection,
         // we estimate the size of a statement to 100 bytes.  The average is probably
-        // smaller.  Then, the estimated number of statements for a flush is set to:
+        // smaller.  Then, the estimated number of statements is set to:
         //      1073741824 bytes / 100 bytes per statements ~= 10737418 statements
         // This is the default limit and is overridden by the user preference.
         //
@@ -703,6 +908,309 @@ public class Util {
             }
         }
 
+        //
+        // Set Export Threads...
+        //
+        // The Export Threads (iExportThreads) is the number of threads used to evaluate the rows
+        // or records for an export.  Output remains in row / record order regardless of the count.
+        // A count of 0 uses all available processors.  A count of 1 (default) disables parallel
+        // evaluation.  Parallel evaluation is only used when every cell expression is an identity
+        // or GREL: see getExportThreads().
+        //
+        obj = prefStore.get("RDFTransform.exportThreads");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportThreads", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Concurrency...
+        //
+        // The Export Concurrency (iExportConcurrency) is the number of exports allowed to run at once
+        // on the server.  Each export evaluates with its own threads and a pretty export holds its
+        // entire graph in memory, so the limit protects the processors and the heap.  Exports beyond
+        // the limit wait in a queue of at most Export Queue Limit (iExportQueueLimit) exports for at
+        // most Export Queue Timeout (iExportQueueTimeout) seconds.  A queue limit less than 0 is
+        // unbounded.  A queue timeout of 0 waits without end.
+        //
+        obj = prefStore.get("RDFTransform.exportConcurrency");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportConcurrency", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        obj = prefStore.get("RDFTransform.exportQueueLimit");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportQueueLimit", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        obj = prefStore.get("RDFTransform.exportQueueTimeout");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportQueueTimeout", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Pretty Spill Limit...
+        //
+        // The Pretty Spill Limit (iPrettySpillLimit) is the number of statements a pretty export
+        // holds in memory.  Past the limit, the statements spill to sorted files in the cache and
+        // print grouped by subject with the format's streaming writer (TURTLE_PRETTY as
+        // TURTLE_BLOCKS, TRIG_PRETTY as TRIG_BLOCKS, RDFXML_PRETTY as one description per subject).
+        // Other pretty formats (such as JSON-LD) stay in memory past the limit with a warning.  A
+        // limit of 0 never spills.
+        //
+        obj = prefStore.get("RDFTransform.prettySpillLimit");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iPrettySpillLimit", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Root...
+        //
+        // The Export Root (strExportRoot) is the directory receiving the background file exports.  Each
+        // export writes to its own directory under the root.  When empty, the root is the "exports"
+        // directory under the RDF Transform cache directory.
+        //
+        obj = prefStore.get("RDFTransform.exportRoot");
+        if (obj != null) {
+            Util.Preferences.put("strExportRoot", String.valueOf(obj).strip() );
+        }
+
+        //
+        // Set Export Parts...
+        //
+        // A background file export rolls to a new part file once the part holds the Export Part Quads
+        // (iExportPartQuads) statements or the Export Part MB (iExportPartMB) megabytes.  A value of 0
+        // does not limit the parts by that measure.
+        //
+        obj = prefStore.get("RDFTransform.exportPartQuads");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportPartQuads", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        obj = prefStore.get("RDFTransform.exportPartMB");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportPartMB", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Sort Run...
+        //
+        // A sorted export (such as NQUADS_SORTED) sorts the Export Sort Run (iExportSortRun) statements
+        // at a time in memory, writes each sorted run to a file, and merges the runs.
+        //
+        obj = prefStore.get("RDFTransform.exportSortRun");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportSortRun", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Push...
+        //
+        // An export pushed to a SPARQL endpoint sends the Export Push Batch (iExportPushBatch) statements
+        // per request with up to the Export Push In Flight (iExportPushInFlight) requests at once.  A
+        // request failing on a connection, a server error, or a throttle is sent again up to the Export
+        // Push Retries (iExportPushRetries) times.
+        //
+        obj = prefStore.get("RDFTransform.exportPushBatch");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportPushBatch", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        obj = prefStore.get("RDFTransform.exportPushInFlight");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportPushInFlight", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        obj = prefStore.get("RDFTransform.exportPushRetries");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportPushRetries", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export TDB2...
+        //
+        // An export loaded into TDB2 loads the Export TDB2 Directory (strExportTDB2Dir) database by the
+        // TDB2 bulk loader, committing every Export TDB2 Batch (iExportTDB2Batch) statements.  When the
+        // directory is empty, each export loads a new database under the Export Root.
+        //
+        obj = prefStore.get("RDFTransform.exportTDB2Dir");
+        if (obj != null) {
+            Util.Preferences.put("strExportTDB2Dir", String.valueOf(obj).strip() );
+        }
+
+        obj = prefStore.get("RDFTransform.exportTDB2Batch");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportTDB2Batch", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Compress Async...
+        //
+        // The Export Compress Async (bExportCompressAsync) lets the compressed exports (such as NQUADS_GZ)
+        // compress on their own threads: gzip on a writer thread and Zstandard on its native workers.
+        //
+        obj = prefStore.get("RDFTransform.exportCompressAsync");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("bExportCompressAsync", Boolean.parseBoolean( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Dedup...
+        //
+        // The Export Dedup (strExportDedup) mode drops repeated statements from streaming exports that a
+        // graph would have merged:
+        //   "lru"   - exact for the statements of the recent subjects, up to iExportDedupSize statements
+        //   "bloom" - a Bloom filter sized for iExportDedupExpected statements at the dExportDedupFPR false
+        //             positive rate: drops every repeat, but also new statements at the rate
+        //   "none"  - no dedup
+        //
+        obj = prefStore.get("RDFTransform.exportDedup");
+        if (obj != null) {
+            Util.Preferences.put("strExportDedup", String.valueOf(obj).strip() );
+        }
+
+        obj = prefStore.get("RDFTransform.exportDedupSize");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportDedupSize", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        obj = prefStore.get("RDFTransform.exportDedupExpected");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iExportDedupExpected", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        obj = prefStore.get("RDFTransform.exportDedupFPR");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("dExportDedupFPR", Double.parseDouble( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Node Cache Size...
+        //
+        // The Node Cache Size (iNodeCacheSize) bounds the cell values each evaluation keeps with their
+        // RDF nodes so repeated values reuse one node.
+        //
+        obj = prefStore.get("RDFTransform.nodeCacheSize");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iNodeCacheSize", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Export Skolemize...
+        //
+        // The Export Skolemize (bExportSkolemize) replaces blank nodes by skolem IRIs that are the same on
+        // every export of a project so re-exports can be compared and loaded incrementally.
+        //
+        obj = prefStore.get("RDFTransform.exportSkolemize");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("bExportSkolemize", Boolean.parseBoolean( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
+        //
+        // Set Preview Cache Size...
+        //
+        // The Preview Cache Size (iPreviewCacheSize) bounds the rendered previews kept so a repeated
+        // preview (a tab switch, undo, or redo) is returned without evaluating the sample again.
+        //
+        obj = prefStore.get("RDFTransform.previewCacheSize");
+        if (obj != null) {
+            try {
+                Util.Preferences.put("iPreviewCacheSize", Integer.parseInt( obj.toString() ) );
+            }
+            catch (Exception ex) {
+                // No problem: take default and continue...
+            }
+        }
+
         //
         // Set Preview Stream Mode...
         //
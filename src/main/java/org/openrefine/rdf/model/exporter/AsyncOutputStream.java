@@ -0,0 +1,196 @@
+/*
+ *  Class AsyncOutputStream
+ *
+ *  An output stream writing through on a separate thread.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.exporter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Class AsyncOutputStream<br />
+ *<br />
+ *  Fills large buffers on the calling thread and hands them to a writer thread for the wrapped
+ *  stream, so the caller does not wait on slow work in the wrapped stream (such as compression).
+ *  At most a few buffers wait for the writer: a faster caller then waits for a free slot.  The
+ *  writer returns each written buffer for the caller to fill again, so the buffers are allocated
+ *  once rather than on every hand off.<br />
+ *<br />
+ *  A failure on the writer thread is thrown on the caller's next write, flush, or close.  Close to
+ *  write the remaining bytes, end the writer thread, and close the wrapped stream.
+ */
+class AsyncOutputStream extends OutputStream {
+    static private final byte[] abEnd = new byte[0];
+    static private final int iQueueSize = 4;
+
+    private final OutputStream theOutput;
+    private final BlockingQueue<byte[]> queueBuffers = new ArrayBlockingQueue<byte[]>(AsyncOutputStream.iQueueSize);
+    private final BlockingQueue<byte[]> queueFree = new ArrayBlockingQueue<byte[]>(AsyncOutputStream.iQueueSize + 1); // ...written buffers
+    private final Thread theWriter;
+    private final int iBufferSize;
+    private byte[] abBuffer;
+    private int iCount = 0;
+    private boolean bClosed = false;
+    private volatile IOException exFailure = null;
+
+    /**
+     * AsyncOutputStream ctor
+     * @param theOutput - The wrapped stream written by the writer thread.
+     * @param iBufferSize - The bytes per handed off buffer.
+     * @param strName - The writer thread's name.
+     */
+    AsyncOutputStream(OutputStream theOutput, int iBufferSize, String strName) {
+        this.theOutput = theOutput;
+        this.iBufferSize = iBufferSize;
+        this.abBuffer = new byte[iBufferSize];
+        this.theWriter = new Thread(this::drain, strName);
+        this.theWriter.setDaemon(true);
+        this.theWriter.start();
+    }
+
+    @Override
+    public void write(int iByte) throws IOException {
+        if (this.iCount == this.abBuffer.length) {
+            this.handOff();
+        }
+        this.abBuffer[this.iCount++] = (byte) iByte;
+    }
+
+    @Override
+    public void write(byte[] abBytes, int iOffset, int iLength) throws IOException {
+        while (iLength > 0) {
+            if (this.iCount == this.abBuffer.length) {
+                this.handOff();
+            }
+            int iCopy = Math.min(iLength, this.abBuffer.length - this.iCount);
+            System.arraycopy(abBytes, iOffset, this.abBuffer, this.iCount, iCopy);
+            this.iCount += iCopy;
+            iOffset += iCopy;
+            iLength -= iCopy;
+        }
+    }
+
+    /**
+     * Hand off the buffered bytes.  The writer thread writes them in turn: flush does not wait.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (this.iCount > 0) {
+            this.handOff();
+        }
+        this.checkFailure();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.bClosed) {
+            return;
+        }
+        this.bClosed = true;
+        try {
+            if (this.iCount > 0) {
+                this.handOff();
+            }
+            this.queueBuffers.put(AsyncOutputStream.abEnd);
+            this.theWriter.join();
+        }
+        catch (InterruptedException ex) {
+            this.theWriter.interrupt();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while ending the output.");
+        }
+        finally {
+            this.theOutput.close();
+        }
+        this.checkFailure();
+    }
+
+    private void handOff() throws IOException {
+        this.checkFailure();
+        byte[] abFull = this.abBuffer;
+        if (this.iCount < abFull.length) {
+            abFull = Arrays.copyOf(abFull, this.iCount); // ...a flush: keep the buffer
+        }
+        else {
+            byte[] abFree = this.queueFree.poll();
+            this.abBuffer = ( abFree == null ? new byte[this.iBufferSize] : abFree );
+        }
+        this.iCount = 0;
+        try {
+            this.queueBuffers.put(abFull);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing the output.");
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        if (this.exFailure != null) {
+            throw new IOException( this.exFailure.getMessage(), this.exFailure );
+        }
+    }
+
+    /*
+     *  Method drain() writes the handed off buffers until the end.  After a failure, the buffers
+     *  are discarded so the caller never waits on a stopped writer.  Any failure is kept, even an
+     *  unchecked one from the wrapped stream, so the writer never ends before the caller's end.
+     */
+    private void drain() {
+        try {
+            while (true) {
+                byte[] abBytes = this.queueBuffers.take();
+                if (abBytes == AsyncOutputStream.abEnd) {
+                    break;
+                }
+                if (this.exFailure == null) {
+                    try {
+                        this.theOutput.write(abBytes);
+                    }
+                    catch (Throwable ex) {
+                        this.exFailure = AsyncOutputStream.toIOException(ex);
+                    }
+                }
+                if (abBytes.length == this.iBufferSize) { // ...a full buffer
+                    this.queueFree.offer(abBytes);
+                }
+            }
+            if (this.exFailure == null) {
+                this.theOutput.flush();
+            }
+        }
+        catch (InterruptedException ex) {
+            // Ended by the caller...
+        }
+        catch (Throwable ex) {
+            this.exFailure = AsyncOutputStream.toIOException(ex);
+        }
+    }
+
+    static private IOException toIOException(Throwable ex) {
+        if (ex instanceof IOException) {
+            return (IOException) ex;
+        }
+        return new IOException("Output failed: " + ex, ex);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ *  Class RDFCompressedExporter
+ *
+ *  A stream exporter compressing its output on the fly.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.exporter;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.openrefine.rdf.model.Util;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.exporters.StreamExporter;
+import com.google.refine.model.Project;
+
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.jena.riot.RDFFormat;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RDFCompressedExporter<br />
+ *<br />
+ *  Exports a stream format (see RDFStreamExporter) through a gzip or Zstandard compressor, so the
+ *  compressed bytes go straight to the download rather than being compressed afterwards.  The
+ *  compressor is fed through a large buffer.<br />
+ *<br />
+ *  When asynchronous compression is preferred (see Util.isExportCompressAsync()), the compression
+ *  runs beside the visitation: gzip on its own thread and Zstandard on its native worker threads.<br />
+ *<br />
+ *  A failed export abandons its compressor: the compressor is closed to release it, but nothing more
+ *  reaches the download, so a failure never ends in a well-formed (and truncated) archive.<br />
+ *<br />
+ *  The output is binary, so this exporter is only a StreamExporter.
+ */
+public class RDFCompressedExporter extends RDFExporter implements StreamExporter {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFCompressedExporter");
+
+    static private final int iBufferSize = 1 << 20; // ...1 MB into the compressor
+    static private final int iOutputSize = 1 << 16; // ...64 KB out of the compressor
+
+    public enum Compression {
+        GZIP("application/gzip"),
+        ZSTD("application/zstd");
+
+        private final String strContentType;
+
+        Compression(String strContentType) {
+            this.strContentType = strContentType;
+        }
+
+        public String getContentType() {
+            return this.strContentType;
+        }
+    }
+
+    private final RDFStreamExporter theExporter;
+    private final Compression eCompression;
+
+    public RDFCompressedExporter(RDFFormat format, String strLang, Compression eCompression) {
+        super(format, strLang);
+        this.theExporter = new RDFStreamExporter(format, strLang);
+        this.eCompression = eCompression;
+    }
+
+    @Override
+    public String getContentType() {
+        return this.eCompression.getContentType();
+    }
+
+    @Override
+    public void export(Project theProject, Map<String, String> options, Engine theEngine, OutputStream outputStream)
+            throws IOException {
+        if ( Util.isDebugMode() ) RDFCompressedExporter.logger.info("DEBUG: Exporting " + this.theExportLang + " compressed by " + this.eCompression);
+        // NOTE: The compressor is closed to end its format, but the given stream belongs to the caller.
+        AbandonableOutputStream theOutput = new AbandonableOutputStream( CloseShieldOutputStream.wrap(outputStream) );
+        OutputStream theCompressor = this.createCompressor(theOutput);
+        try {
+            this.theExporter.export(theProject, options, theEngine, theCompressor);
+        }
+        catch (IOException | RuntimeException ex) {
+            theOutput.abandon(); // ...drop the compressor's remaining bytes and trailer
+            try {
+                theCompressor.close(); // ...release the compressor
+            }
+            catch (IOException exClose) {
+                ex.addSuppressed(exClose);
+            }
+            throw ex;
+        }
+        theCompressor.close();
+        outputStream.flush();
+    }
+
+    private OutputStream createCompressor(OutputStream theOutput)
+            throws IOException
+    {
+        boolean bAsync = Util.isExportCompressAsync();
+        if (this.eCompression == Compression.ZSTD) {
+            ZstdOutputStream theZstd = null;
+            try {
+                theZstd = new ZstdOutputStream( new BufferedOutputStream(theOutput, RDFCompressedExporter.iOutputSize) );
+            }
+            catch (LinkageError ex) {
+                throw new IOException("Export " + this.theExportLang + ": Zstandard is not available on this platform", ex);
+            }
+            if (bAsync) {
+                theZstd.setWorkers( Math.max( Runtime.getRuntime().availableProcessors() / 2, 1 ) );
+            }
+            return new BufferedOutputStream(theZstd, RDFCompressedExporter.iBufferSize);
+        }
+
+        OutputStream theGZip = new GZIPOutputStream(theOutput, RDFCompressedExporter.iOutputSize);
+        if (bAsync) {
+            return new AsyncOutputStream(theGZip, RDFCompressedExporter.iBufferSize, "RDFT-Compress-" + this.theExportLang);
+        }
+        return new BufferedOutputStream(theGZip, RDFCompressedExporter.iBufferSize);
+    }
+
+    /*
+     *  Class AbandonableOutputStream
+     *
+     *    Passes the compressed bytes to the download until abandoned.  Once abandoned, all bytes are
+     *    dropped, so closing the compressor releases it without finishing the archive.
+     */
+    static private class AbandonableOutputStream extends FilterOutputStream {
+        private volatile boolean bAbandoned = false;
+
+        AbandonableOutputStream(OutputStream theOutput) {
+            super(theOutput);
+        }
+
+        void abandon() {
+            this.bAbandoned = true;
+        }
+
+        @Override
+        public void write(int iByte) throws IOException {
+            if ( ! this.bAbandoned ) {
+                this.out.write(iByte);
+            }
+        }
+
+        @Override
+        public void write(byte[] abBytes, int iOffset, int iLength) throws IOException {
+            if ( ! this.bAbandoned ) {
+                this.out.write(abBytes, iOffset, iLength);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if ( ! this.bAbandoned ) {
+                this.out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ *  Class RDFExportScheduler
+ *
+ *  The admission control for concurrent RDF Exports.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.exporter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RDFExportScheduler<br />
+ *<br />
+ *  Limits the number of RDF exports running at once on the server.  Each export evaluates with its
+ *  own worker threads and a pretty export holds its entire graph in memory, so unbounded concurrent
+ *  exports compete for the processors and the heap.  An export beyond the concurrency limit waits
+ *  in a first come, first served queue.  An export is rejected when the queue is full or when it
+ *  waits longer than the queue timeout.<br />
+ *<br />
+ *  The limits are read from the preferences on each admission, so preference changes apply to the
+ *  next export.<br />
+ *<br />
+ *  The scheduler runs the session's export job through its lifecycle: queued, running, and ended.  A
+ *  job cancelled while queued leaves the queue at once.
+ */
+public final class RDFExportScheduler {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFExportScheduler");
+
+    /*
+     *  Interface ExportTask
+     *
+     *    The export work run for an admitted session.
+     */
+    @FunctionalInterface
+    public interface ExportTask {
+        void export(RDFExportSession theSession) throws IOException;
+    }
+
+    static private final Object theLock = new Object();
+    static private final Deque<RDFExportSession> queueWaiting = new ArrayDeque<RDFExportSession>();
+    static private int iRunning = 0;
+
+    private RDFExportScheduler() {
+        // Static only
+    }
+
+    /**
+     * Run an export task once the session is admitted.
+     * @param theSession - The export session.
+     * @param theTask - The export work for the session.
+     * @throws IOException - when the session is rejected or the task fails.
+     */
+    static public void run(RDFExportSession theSession, ExportTask theTask)
+            throws IOException
+    {
+        RDFExportJob theJob = theSession.getJob();
+        theJob.setCancelHook(RDFExportScheduler::wake);
+        try {
+            RDFExportScheduler.acquire(theSession);
+        }
+        catch (IOException ex) {
+            RDFExportScheduler.end(theJob, ex);
+            throw ex;
+        }
+        try {
+            theJob.start();
+            theTask.export(theSession);
+            theJob.end(
+                theSession.isLimitReached() ? RDFExportJob.Status.TRUNCATED : RDFExportJob.Status.DONE,
+                null );
+        }
+        catch (IOException | RuntimeException ex) {
+            RDFExportScheduler.end(theJob, ex);
+            throw ex;
+        }
+        finally {
+            RDFExportScheduler.release(theSession);
+        }
+    }
+
+    static private void end(RDFExportJob theJob, Exception ex) {
+        theJob.end(
+            theJob.isCancelled() ? RDFExportJob.Status.CANCELLED : RDFExportJob.Status.FAILED,
+            ex.getMessage() );
+    }
+
+    /*
+     *  Wake the waiting sessions to recheck their state (such as a cancellation).
+     */
+    static private void wake() {
+        synchronized (RDFExportScheduler.theLock) {
+            RDFExportScheduler.theLock.notifyAll();
+        }
+    }
+
+    static public int getRunning() {
+        synchronized (RDFExportScheduler.theLock) {
+            return RDFExportScheduler.iRunning;
+        }
+    }
+
+    static public int getWaiting() {
+        synchronized (RDFExportScheduler.theLock) {
+            return RDFExportScheduler.queueWaiting.size();
+        }
+    }
+
+    static private void acquire(RDFExportSession theSession)
+            throws IOException
+    {
+        synchronized (RDFExportScheduler.theLock) {
+            // If nothing is waiting and there is room, run now...
+            if ( RDFExportScheduler.queueWaiting.isEmpty() &&
+                 RDFExportScheduler.iRunning < Util.getExportConcurrency() )
+            {
+                RDFExportScheduler.iRunning++;
+                return;
+            }
+
+            // Otherwise, queue when there is room in the queue...
+            int iQueueLimit = Util.getExportQueueLimit();
+            if ( iQueueLimit >= 0 && RDFExportScheduler.queueWaiting.size() >= iQueueLimit ) {
+                throw new IOException(
+                    "Export " + theSession.getExportLang() + " rejected: " +
+                    RDFExportScheduler.iRunning + " running and " +
+                    RDFExportScheduler.queueWaiting.size() + " waiting exports. Try again later." );
+            }
+
+            if ( Util.isVerbose(2) ) {
+                RDFExportScheduler.logger.info("Export " + theSession.getExportLang() + " queued: " +
+                    RDFExportScheduler.iRunning + " running, " +
+                    RDFExportScheduler.queueWaiting.size() + " waiting");
+            }
+            RDFExportScheduler.queueWaiting.addLast(theSession);
+
+            long lTimeout = Util.getExportQueueTimeout() * 1000L;
+            long lDeadline = System.currentTimeMillis() + lTimeout;
+            try {
+                // Wait for this session to reach the queue head with room to run...
+                while ( RDFExportScheduler.queueWaiting.peekFirst() != theSession ||
+                        RDFExportScheduler.iRunning >= Util.getExportConcurrency() )
+                {
+                    if ( theSession.getJob().isCancelled() ) {
+                        throw new InterruptedIOException("Export " + theSession.getExportLang() + " cancelled while waiting.");
+                    }
+                    if (lTimeout > 0) {
+                        long lRemaining = lDeadline - System.currentTimeMillis();
+                        if (lRemaining <= 0) {
+                            throw new IOException(
+                                "Export " + theSession.getExportLang() + " rejected: " +
+                                "waited " + Util.getExportQueueTimeout() + " seconds for a running export to end. Try again later." );
+                        }
+                        RDFExportScheduler.theLock.wait(lRemaining);
+                    }
+                    else {
+                        RDFExportScheduler.theLock.wait();
+                    }
+                }
+                RDFExportScheduler.iRunning++;
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Export " + theSession.getExportLang() + " interrupted while waiting.");
+            }
+            finally {
+                RDFExportScheduler.queueWaiting.remove(theSession);
+                RDFExportScheduler.theLock.notifyAll(); // ...the next session may now be the head
+            }
+        }
+    }
+
+    static private void release(RDFExportSession theSession) {
+        synchronized (RDFExportScheduler.theLock) {
+            RDFExportScheduler.iRunning--;
+            RDFExportScheduler.theLock.notifyAll();
+        }
+        if ( Util.isDebugMode() ) RDFExportScheduler.logger.info("DEBUG: Export " + theSession.getExportLang() + " released");
+    }
+}
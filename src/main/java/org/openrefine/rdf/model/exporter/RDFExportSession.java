@@ -0,0 +1,216 @@
+/*
+ *  Class RDFExportSession
+ *
+ *  The per invocation state of an RDF Export.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.exporter;
+
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.ExportRDFRecordVisitor;
+import org.openrefine.rdf.model.operation.ExportRDFRowVisitor;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+import org.openrefine.rdf.model.operation.RDFVisitor;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RDFExportSession<br />
+ *<br />
+ *  Holds everything a single export call works on: the project, its transform, the engine, the
+ *  options, and the output stream.  The exporters registered with OpenRefine are shared by all
+ *  users, so they hold no per export state.  Instead, each export call creates its own session.<br />
+ *<br />
+ *  Each session registers an export job (see RDFExportJob) to report its progress and receive a
+ *  cancellation.  A client names the job with the "rdftJobID" export option to poll it.  The output
+ *  stream counts the bytes written and fails the writes once the job is cancelled.
+ */
+public class RDFExportSession {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFExportSession");
+
+    private final Project theProject;
+    private final RDFTransform theTransform;
+    private final Map<String, String> theOptions;
+    private final Engine theEngine;
+    private final OutputStream theOutputStream;
+    private final RDFFormat theFormat;
+    private final String theExportLang;
+    private final RDFExportJob theJob;
+    private File dirTarget = null;
+    private long lStatementCount = 0;
+    private boolean bLimitReached = false;
+
+    public RDFExportSession(Project theProject, Map<String, String> theOptions, Engine theEngine,
+                            OutputStream theOutputStream, RDFFormat theFormat, String theExportLang)
+    {
+        this.theProject = theProject;
+        this.theTransform = RDFTransform.getRDFTransform(theProject);
+        this.theOptions = theOptions;
+        this.theEngine = theEngine;
+        this.theFormat = theFormat;
+        this.theExportLang = theExportLang;
+        this.theJob =
+            RDFExportJob.register(
+                ( theOptions == null ? null : theOptions.get(RDFExportJob.strJobIDOption) ),
+                theProject.id, theExportLang );
+        this.theOutputStream = new JobOutputStream(theOutputStream, this.theJob);
+        if ( Util.isVerbose(2) ) RDFExportSession.logger.info("Export " + theExportLang + " job " + this.theJob.getID());
+    }
+
+    public Project getProject() {
+        return this.theProject;
+    }
+
+    public RDFTransform getTransform() {
+        return this.theTransform;
+    }
+
+    public Map<String, String> getOptions() {
+        return this.theOptions;
+    }
+
+    public Engine getEngine() {
+        return this.theEngine;
+    }
+
+    public OutputStream getOutputStream() {
+        return this.theOutputStream;
+    }
+
+    public RDFFormat getFormat() {
+        return this.theFormat;
+    }
+
+    public String getExportLang() {
+        return this.theExportLang;
+    }
+
+    public RDFExportJob getJob() {
+        return this.theJob;
+    }
+
+    /**
+     * Set the directory receiving a file export.  See RDFFileExporter.
+     * @param dirTarget - The directory.
+     */
+    public void setTarget(File dirTarget) {
+        this.dirTarget = dirTarget;
+    }
+
+    public File getTarget() {
+        return this.dirTarget;
+    }
+
+    /**
+     * Throw when the session's export job was cancelled.
+     * @throws InterruptedIOException - when cancelled.
+     */
+    public void checkCancelled() throws InterruptedIOException {
+        if ( this.theJob.isCancelled() ) {
+            throw new InterruptedIOException("Export " + this.theExportLang + " cancelled.");
+        }
+    }
+
+    /**
+     * Record the results of the session's visitation.
+     * @param theVisitor - The visitor after buildDSGraph().
+     */
+    public void setResults(RDFVisitor theVisitor) {
+        this.lStatementCount = theVisitor.getStatementCount();
+        this.bLimitReached = theVisitor.isLimitReached();
+    }
+
+    public long getStatementCount() {
+        return this.lStatementCount;
+    }
+
+    /**
+     * Report whether the export was truncated at the export limit.
+     * @return boolean - true when truncated.
+     */
+    public boolean isLimitReached() {
+        return this.bLimitReached;
+    }
+
+    /**
+     * Create the record or row visitor for the session's project.
+     * @param theWriter - The statement writer.  When null, the visitor builds a memory graph.
+     * @return RDFVisitor - The visitor.
+     */
+    public RDFVisitor createVisitor(StreamRDF theWriter) {
+        RDFVisitor theVisitor = null;
+        if ( this.theProject.recordModel.hasRecords() ) {
+            if ( Util.isDebugMode() ) RDFExportSession.logger.info("DEBUG:     Process by Record Visitor...");
+            theVisitor = new ExportRDFRecordVisitor(this.theTransform, theWriter);
+        }
+        else {
+            if ( Util.isDebugMode() ) RDFExportSession.logger.info("DEBUG:     Process by Row Visitor...");
+            theVisitor = new ExportRDFRowVisitor(this.theTransform, theWriter);
+        }
+        theVisitor.setJob(this.theJob);
+        return theVisitor;
+    }
+
+    /*
+     *  Class JobOutputStream
+     *
+     *    Counts the bytes written for the export job and stops writing once the job is cancelled.
+     */
+    static private class JobOutputStream extends FilterOutputStream {
+        private final RDFExportJob theJob;
+
+        JobOutputStream(OutputStream theOutputStream, RDFExportJob theJob) {
+            super(theOutputStream);
+            this.theJob = theJob;
+        }
+
+        @Override
+        public void write(int iByte) throws IOException {
+            this.checkCancelled();
+            this.out.write(iByte);
+            this.theJob.addBytes(1);
+        }
+
+        @Override
+        public void write(byte[] abBytes, int iOffset, int iLength) throws IOException {
+            this.checkCancelled();
+            this.out.write(abBytes, iOffset, iLength);
+            this.theJob.addBytes(iLength);
+        }
+
+        private void checkCancelled() throws InterruptedIOException {
+            if ( this.theJob.isCancelled() ) {
+                throw new InterruptedIOException("Export cancelled.");
+            }
+        }
+    }
+}
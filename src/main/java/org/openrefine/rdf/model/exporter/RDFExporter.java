@@ -20,11 +20,19 @@
 
 package org.openrefine.rdf.model.exporter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 import com.google.refine.exporters.Exporter;
 
 import org.openrefine.rdf.model.Util;
 
+import org.apache.jena.atlas.iterator.Iter;
+import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.sparql.core.DatasetGraph;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,4 +70,60 @@ public class RDFExporter implements Exporter  {
             return RDFFormat.TRIG.getLang().getContentType().getContentTypeStr();
         }
     }
+
+    /**
+     * Report an export truncated at the export limit.  The truncation is logged and, for syntaxes
+     * allowing "#" comments, noted at the end of the output.  The statements were written as produced.
+     * @param theSession - The export session after its visitation.
+     * @param theOutputStream - The export output.
+     * @throws IOException - when the note cannot be written.
+     */
+    protected void reportLimit(RDFExportSession theSession, OutputStream theOutputStream)
+            throws IOException
+    {
+        this.reportLimit( theSession, theOutputStream, theSession.getStatementCount() );
+    }
+
+    /**
+     * Report an export truncated at the export limit.  The truncation is logged and, for syntaxes
+     * allowing "#" comments, noted at the end of the output.  A graph holds each produced statement
+     * once, so a graph's export may write fewer statements than produced.
+     * @param theSession - The export session after its visitation.
+     * @param theOutputStream - The export output.
+     * @param lWritten - The statements written.
+     * @throws IOException - when the note cannot be written.
+     */
+    protected void reportLimit(RDFExportSession theSession, OutputStream theOutputStream, long lWritten)
+            throws IOException
+    {
+        if ( ! theSession.isLimitReached() ) {
+            return;
+        }
+        long lProduced = theSession.getStatementCount();
+        String strCounts =
+            ( lWritten == lProduced ?
+                lWritten + " statements written" :
+                lProduced + " statements produced, " + lWritten + " distinct written" );
+        RDFExporter.logger.warn("WARNING: Export " + this.theExportLang + " truncated at the export limit: " + strCounts);
+        Lang theLang = this.getFormat().getLang();
+        if ( RDFLanguages.sameLang(theLang, Lang.TURTLE) || RDFLanguages.sameLang(theLang, Lang.TRIG) ||
+             RDFLanguages.sameLang(theLang, Lang.NTRIPLES) || RDFLanguages.sameLang(theLang, Lang.NQUADS) )
+        {
+            String strNote = "# RDF Transform: export truncated at the export limit: " + strCounts + "\n";
+            theOutputStream.write( strNote.getBytes(StandardCharsets.UTF_8) );
+        }
+    }
+
+    /**
+     * Count the statements a graph's export writes.
+     * @param theDSGraph - The graph.
+     * @param bUnion - Whether the union graph is written (a single graph syntax).
+     * @return long - The distinct statements.
+     */
+    static protected long countWritten(DatasetGraph theDSGraph, boolean bUnion) {
+        if (bUnion) {
+            return theDSGraph.getUnionGraph().size();
+        }
+        return Iter.count( theDSGraph.find() );
+    }
 }
@@ -0,0 +1,271 @@
+/*
+ *  Class RDFFileExporter
+ *
+ *  Exports RDF in the background to part files on the server.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.exporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+import org.openrefine.rdf.model.operation.RDFVisitor;
+import org.openrefine.rdf.model.stream.RotatingFileStreamRDF;
+import org.openrefine.rdf.model.stream.TriplesStreamRDF;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+import com.google.refine.util.ParsingUtilities;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RDFFileExporter<br />
+ *<br />
+ *  Runs an export on a background thread and writes it to part files in its own directory under
+ *  the export root (see Util.getExportRoot()) rather than through a browser download.  The export
+ *  is an ordinary session: it is scheduled with the other exports and its job is polled and
+ *  cancelled like theirs.<br />
+ *<br />
+ *  The parts are N-Quads or N-Triples, the line based formats, so a part may end after any
+ *  statement.  Once all parts are written, a "manifest.json" lists the parts with their statement
+ *  counts, sizes, and SHA-256 checksums.  A directory without a manifest is not complete.  A
+ *  cancelled or failed export removes its directory.
+ */
+public class RDFFileExporter {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFFileExporter");
+
+    static public final String strManifest = "manifest.json";
+
+    static private final AtomicInteger iThreadCount = new AtomicInteger(0);
+    static private final ExecutorService theExecutor =
+        Executors.newCachedThreadPool(
+            (Runnable theTask) -> {
+                Thread theThread = new Thread(theTask, "RDFT-FileExport-" + RDFFileExporter.iThreadCount.incrementAndGet());
+                theThread.setDaemon(true);
+                return theThread;
+            }
+        );
+
+    private final RDFFormat theFormat;
+    private final String theExportLang;
+    private final String strExtension;
+
+    private RDFFileExporter(RDFFormat theFormat, String strLang, String strExtension) {
+        this.theFormat = theFormat;
+        this.theExportLang = strLang;
+        this.strExtension = strExtension;
+    }
+
+    /**
+     * Get the file exporter for a format.
+     * @param strFormat - The format name: "NQUADS" or "NTRIPLES".
+     * @return RDFFileExporter - The exporter or null when the format cannot be split into parts.
+     */
+    static public RDFFileExporter getExporter(String strFormat) {
+        if ( strFormat == null || strFormat.isBlank() || strFormat.strip().equalsIgnoreCase("NQUADS") ) {
+            return new RDFFileExporter(RDFFormat.NQUADS_UTF8, "NQUADS", "nq");
+        }
+        if ( strFormat.strip().equalsIgnoreCase("NTRIPLES") ) {
+            return new RDFFileExporter(RDFFormat.NTRIPLES_UTF8, "NTRIPLES", "nt");
+        }
+        return null;
+    }
+
+    /**
+     * Get the directory holding the export directories.
+     * @return File - The export root.
+     */
+    static public File getExportRoot() {
+        String strRoot = Util.getExportRoot();
+        if ( strRoot != null && ! strRoot.isEmpty() ) {
+            return new File(strRoot);
+        }
+        if ( RDFTransform.getGlobalContext() != null && RDFTransform.getGlobalContext().getRDFTCacheDirectory() != null ) {
+            return new File( RDFTransform.getGlobalContext().getRDFTCacheDirectory(), "exports" );
+        }
+        return new File( System.getProperty("java.io.tmpdir"), "rdft-exports" );
+    }
+
+    /**
+     * Start a background export.
+     * @param theProject - The project to export.
+     * @param theOptions - The export options.  See RDFExportSession.
+     * @param theEngine - The engine filtering the rows or records.
+     * @param lPartQuads - The statements per part.  When 0 (or less), not limited.
+     * @param lPartBytes - The bytes per part.  When 0 (or less), not limited.
+     * @return RDFExportSession - The started session: see its job for the progress.
+     * @throws IOException - when the export directory cannot be created.
+     */
+    public RDFExportSession start(Project theProject, Map<String, String> theOptions, Engine theEngine,
+                                  long lPartQuads, long lPartBytes)
+            throws IOException
+    {
+        // NOTE: The session writes nothing to its own stream: the parts count the job's bytes.
+        RDFExportSession theSession =
+            new RDFExportSession(theProject, theOptions, theEngine, OutputStream.nullOutputStream(), this.theFormat, this.theExportLang);
+
+        RDFFileExporter.createTarget(theSession);
+        RDFFileExporter.submit( theSession, (theRunSession) -> this.export(theRunSession, lPartQuads, lPartBytes) );
+        return theSession;
+    }
+
+    /**
+     * Create the session's export directory named for its project and job under the export root.  When
+     * the directory cannot be created, the session's job ends as failed since it is never submitted.
+     * @param theSession - The export session receiving the directory as its target.
+     * @return File - The directory.
+     * @throws IOException - when the directory cannot be created.
+     */
+    static File createTarget(RDFExportSession theSession) throws IOException {
+        File dirProject = new File( RDFFileExporter.getExportRoot(), Long.toString( theSession.getProject().id ) );
+        String strName = theSession.getJob().getID().replaceAll("[^A-Za-z0-9_-]", "_");
+        File dirTarget = new File(dirProject, strName);
+        if ( dirTarget.exists() ) {
+            dirTarget = new File( dirProject, strName + "-" + System.currentTimeMillis() );
+        }
+        try {
+            Files.createDirectories( dirTarget.toPath() );
+        }
+        catch (IOException | RuntimeException ex) {
+            theSession.getJob().end( RDFExportJob.Status.FAILED, ex.getMessage() );
+            throw ex;
+        }
+        theSession.setTarget(dirTarget);
+        return dirTarget;
+    }
+
+    /**
+     * Run an export to the session's directory on a background thread.  The export is scheduled with
+     * the other exports.  A rejected or failed export removes the directory.
+     * @param theSession - The export session with its target directory, if any.
+     * @param theTask - The export.
+     */
+    static void submit(RDFExportSession theSession, RDFExportScheduler.ExportTask theTask) {
+        String strExportLang = theSession.getExportLang();
+        String strTarget = ( theSession.getTarget() == null ? "job " + theSession.getJob().getID() : theSession.getTarget().getPath() );
+        if ( Util.isVerbose(2) ) RDFFileExporter.logger.info("Export " + strExportLang + " to " + strTarget + " starting...");
+
+        RDFFileExporter.theExecutor.execute(
+            () -> {
+                try {
+                    RDFExportScheduler.run(theSession, theTask);
+                }
+                catch (Exception ex) {
+                    // NOTE: The job holds the failure for the client.
+                    if ( Util.isVerbose(2) ) RDFFileExporter.logger.info("Export " + strExportLang + " to " + strTarget + " ended: " + ex.getMessage());
+                    FileUtils.deleteQuietly( theSession.getTarget() ); // ...when rejected by the scheduler
+                }
+            }
+        );
+    }
+
+    /**
+     * Write an object as JSON to a file in a directory.  The file is written, then renamed, so it is
+     * never partial.
+     * @param dirTarget - The directory.
+     * @param strName - The file name.
+     * @param objValue - The object.
+     * @throws IOException - when the file cannot be written.
+     */
+    static void writeJSON(File dirTarget, String strName, Object objValue) throws IOException {
+        File fileTemp = new File(dirTarget, strName + ".tmp");
+        ParsingUtilities.mapper.writerWithDefaultPrettyPrinter().writeValue(fileTemp, objValue);
+        Files.move( fileTemp.toPath(), new File(dirTarget, strName).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+    }
+
+    private void export(RDFExportSession theSession, long lPartQuads, long lPartBytes)
+            throws IOException
+    {
+        RDFExportJob theJob = theSession.getJob();
+        RotatingFileStreamRDF theParts =
+            new RotatingFileStreamRDF( theSession.getTarget(), this.strExtension, lPartQuads, lPartBytes, theJob::addBytes );
+        try {
+            StreamRDF theWriter = theParts;
+            if ( this.theFormat.equals(RDFFormat.NTRIPLES_UTF8) ) {
+                theWriter = new TriplesStreamRDF(theWriter); // ...single graph
+            }
+
+            // Process all records/rows of data for statements...
+            RDFVisitor theVisitor = theSession.createVisitor(theWriter);
+            theVisitor.buildDSGraph( theSession.getProject(), theSession.getEngine() ); // ...the visitor's end() finishes the last part
+            theParts.checkFailure();
+            theSession.checkCancelled();
+            theSession.setResults(theVisitor);
+            if ( theSession.isLimitReached() ) {
+                RDFFileExporter.logger.warn("WARNING: Export " + this.theExportLang + " truncated at the export limit: " +
+                                            theSession.getStatementCount() + " statements written");
+            }
+
+            this.writeManifest(theSession, theParts, lPartQuads, lPartBytes);
+            if ( Util.isVerbose(2) ) {
+                RDFFileExporter.logger.info("Export " + this.theExportLang + " to " + theSession.getTarget().getPath() + " ended: " +
+                    theParts.getCount() + " statements in " + theParts.getParts().size() + " parts");
+            }
+        }
+        catch (Exception ex) {
+            // Remove the incomplete parts before the job ends...
+            theParts.close();
+            FileUtils.deleteQuietly( theSession.getTarget() );
+            if ( theJob.isCancelled() ) {
+                theSession.checkCancelled();
+            }
+            RDFFileExporter.logger.error("ERROR: Error exporting " + this.theExportLang + " to " + theSession.getTarget().getPath(), ex);
+            if ( Util.isVerbose() ) ex.printStackTrace();
+            throw new IOException(ex.getMessage(), ex);
+        }
+        finally {
+            theParts.close();
+        }
+    }
+
+    private void writeManifest(RDFExportSession theSession, RotatingFileStreamRDF theParts, long lPartQuads, long lPartBytes)
+            throws IOException
+    {
+        Map<String, Object> mapManifest = new LinkedHashMap<String, Object>();
+        mapManifest.put("job", theSession.getJob().getID());
+        mapManifest.put("project", theSession.getProject().id);
+        mapManifest.put("format", this.theExportLang);
+        mapManifest.put("created", theSession.getJob().getCreated());
+        mapManifest.put("completed", System.currentTimeMillis());
+        mapManifest.put("truncated", theSession.isLimitReached());
+        mapManifest.put("quads", theParts.getCount());
+        mapManifest.put("bytes", theParts.getBytes());
+        mapManifest.put("partQuads", lPartQuads);
+        mapManifest.put("partBytes", lPartBytes);
+        mapManifest.put("parts", theParts.getParts());
+
+        RDFFileExporter.writeJSON( theSession.getTarget(), RDFFileExporter.strManifest, mapManifest );
+    }
+}
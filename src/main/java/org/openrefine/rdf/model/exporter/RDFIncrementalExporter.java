@@ -0,0 +1,421 @@
+/*
+ *  Class RDFIncrementalExporter
+ *
+ *  Exports the changes to a project's RDF since its last export.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.exporter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.IncrementalRDFVisitor;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+import org.openrefine.rdf.model.operation.RDFIncrementalState;
+import org.openrefine.rdf.model.operation.RDFTransformChange;
+import org.openrefine.rdf.model.operation.RDFTransformDiff;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.history.HistoryEntry;
+import com.google.refine.model.Project;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RDFIncrementalExporter<br />
+ *<br />
+ *  Runs an export on a background thread like the RDFFileExporter, but writes only the statements
+ *  added to and deleted from the project's RDF since its last incremental export.  The last export is
+ *  kept as an RDFIncrementalState in an "incremental" directory beside the project's export
+ *  directories, so only the rows (or records) changed since are evaluated.  The first export (or
+ *  one reset) adds every statement.<br />
+ *<br />
+ *  The changes are written to the export directory as either:
+ *  <ul>
+ *    <li>PATCH - an RDF Patch "patch.rdfp": one transaction of "A" (add) and "D" (delete) rows with
+ *        an "id" header and, after the first, a "prev" header naming the last export's patch</li>
+ *    <li>NQUADS - the N-Quads files "add.nq" and "delete.nq"</li>
+ *  </ul>
+ *  A "manifest.json" records the project history entries the changes span.  As with the file export,
+ *  a directory without a manifest is not complete.  A cancelled or failed export removes its
+ *  directory and keeps the last state, so the next export covers its changes.<br />
+ *<br />
+ *  One incremental export runs per project at a time.<br />
+ *<br />
+ *  A change of transform (an RDFTransformChange) changes the statements of every row, so it is also
+ *  exported on its own: startTransformChange() writes the statements the change deletes and adds in
+ *  the same formats, evaluating only the changed mappings (see RDFTransformDiff).
+ */
+public class RDFIncrementalExporter {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFIncrExporter");
+
+    static public final String strStateDir = "incremental";
+    static public final String strPatchFile = "patch.rdfp";
+    static public final String strAddFile = "add.nq";
+    static public final String strDeleteFile = "delete.nq";
+
+    static private final Set<Long> setRunning = Collections.synchronizedSet( new HashSet<Long>() );
+
+    /*
+     *  Enum Delta
+     *
+     *    The formats of the changes.
+     */
+    public enum Delta {
+        PATCH,
+        NQUADS
+    }
+
+    private final Delta eDelta;
+
+    private RDFIncrementalExporter(Delta eDelta) {
+        this.eDelta = eDelta;
+    }
+
+    /**
+     * Get the incremental exporter for a format.
+     * @param strFormat - The format name: "PATCH" or "NQUADS".
+     * @return RDFIncrementalExporter - The exporter or null when the format is not known.
+     */
+    static public RDFIncrementalExporter getExporter(String strFormat) {
+        if ( strFormat == null || strFormat.isBlank() || strFormat.strip().equalsIgnoreCase("PATCH") ) {
+            return new RDFIncrementalExporter(Delta.PATCH);
+        }
+        if ( strFormat.strip().equalsIgnoreCase("NQUADS") ) {
+            return new RDFIncrementalExporter(Delta.NQUADS);
+        }
+        return null;
+    }
+
+    /**
+     * Start a background incremental export.
+     * @param theProject - The project to export.
+     * @param theOptions - The export options.  See RDFExportSession.
+     * @param theEngine - The engine filtering the rows or records.
+     * @param strFilter - The engine's configuration: a change in the filter changes the units exported.
+     * @param bReset - Whether to ignore the last export and add every statement.
+     * @return RDFExportSession - The started session: see its job for the progress.
+     * @throws IOException - when the export directory cannot be created.
+     */
+    public RDFExportSession start(Project theProject, Map<String, String> theOptions, Engine theEngine,
+                                  String strFilter, boolean bReset)
+            throws IOException
+    {
+        // NOTE: The session writes nothing to its own stream: the changes count the job's bytes.
+        RDFExportSession theSession =
+            new RDFExportSession(theProject, theOptions, theEngine, OutputStream.nullOutputStream(),
+                                 RDFFormat.NQUADS_UTF8, "INCREMENTAL " + this.eDelta);
+
+        RDFFileExporter.createTarget(theSession);
+        String strFilterHash = RDFIncrementalState.hash(strFilter);
+        RDFFileExporter.submit( theSession, (theRunSession) -> this.export(theRunSession, strFilterHash, bReset) );
+        return theSession;
+    }
+
+    /**
+     * Start a background export of the statements changed by a change of transform.  Only the changed
+     * mappings are evaluated.  See RDFTransformDiff.
+     * @param theProject - The project to export.
+     * @param theOptions - The export options.  See RDFExportSession.
+     * @param theEngine - The engine filtering the rows or records.
+     * @param lHistoryID - The ID of the history entry holding the change.
+     * @param theChange - The change.
+     * @return RDFExportSession - The started session: see its job for the progress.
+     * @throws IOException - when the export directory cannot be created.
+     */
+    public RDFExportSession startTransformChange(Project theProject, Map<String, String> theOptions, Engine theEngine,
+                                                 long lHistoryID, RDFTransformChange theChange)
+            throws IOException
+    {
+        RDFExportSession theSession =
+            new RDFExportSession(theProject, theOptions, theEngine, OutputStream.nullOutputStream(),
+                                 RDFFormat.NQUADS_UTF8, "TRANSFORM CHANGE " + this.eDelta);
+
+        RDFFileExporter.createTarget(theSession);
+        RDFFileExporter.submit( theSession, (theRunSession) -> this.exportTransformChange(theRunSession, lHistoryID, theChange) );
+        return theSession;
+    }
+
+    /**
+     * Get the directory holding a project's incremental state.
+     * @param lProjectID - The project's ID.
+     * @return File - The state directory.
+     */
+    static public File getStateDirectory(long lProjectID) {
+        return new File( new File( RDFFileExporter.getExportRoot(), Long.toString(lProjectID) ), RDFIncrementalExporter.strStateDir );
+    }
+
+    private void export(RDFExportSession theSession, String strFilter, boolean bReset)
+            throws IOException
+    {
+        Project theProject = theSession.getProject();
+        RDFExportJob theJob = theSession.getJob();
+        if ( ! RDFIncrementalExporter.setRunning.add(theProject.id) ) {
+            FileUtils.deleteQuietly( theSession.getTarget() );
+            throw new IOException("An incremental export is already running for project " + theProject.id);
+        }
+        RDFIncrementalState theState = null;
+        DeltaFiles theDelta = null;
+        try {
+            // Get the history entry the export reflects...
+            long lHistoryID = 0;
+            List<HistoryEntry> listEntries = theProject.history.getLastPastEntries(1);
+            if ( ! listEntries.isEmpty() ) {
+                lHistoryID = listEntries.get(0).id;
+            }
+
+            String strSeed = RDFIncrementalState.seed( theProject, theSession.getTransform() );
+            theState =
+                new RDFIncrementalState( RDFIncrementalExporter.getStateDirectory(theProject.id), strSeed, bReset, theJob );
+            String strPatchID = "uuid:" + UUID.randomUUID();
+            theDelta = new DeltaFiles( theSession.getTarget(), theState.getLastPatchID(), strPatchID, theJob );
+
+            // Without a change since the last export, nothing needs a visit...
+            if ( theState.isCurrent(lHistoryID, strFilter) ) {
+                if ( Util.isVerbose(2) ) RDFIncrementalExporter.logger.info("Incremental export: project " + theProject.id + " unchanged");
+                theDelta.finish();
+                theState.commitCurrent(lHistoryID, strFilter, strPatchID);
+            }
+            else {
+                IncrementalRDFVisitor theVisitor = new IncrementalRDFVisitor( theSession.getTransform(), theState );
+                theVisitor.setJob(theJob);
+                theVisitor.buildDSGraph( theProject, theSession.getEngine() );
+                theVisitor.checkFailure();
+                theSession.checkCancelled();
+                theSession.setResults(theVisitor);
+
+                theState.merge(theDelta);
+                theDelta.finish();
+                theSession.checkCancelled();
+                theState.commit(lHistoryID, strFilter, strPatchID);
+            }
+
+            this.writeManifest(theSession, theState, theDelta, lHistoryID, strPatchID);
+            if ( Util.isVerbose(2) ) {
+                RDFIncrementalExporter.logger.info("Incremental export to " + theSession.getTarget().getPath() + " ended: " +
+                    theState.getAdded() + " added, " + theState.getDeleted() + " deleted");
+            }
+        }
+        catch (Exception ex) {
+            throw this.fail(theSession, theDelta, ex);
+        }
+        finally {
+            if (theDelta != null) {
+                theDelta.close();
+            }
+            if (theState != null) {
+                theState.close();
+            }
+            RDFIncrementalExporter.setRunning.remove(theProject.id);
+        }
+    }
+
+    private void exportTransformChange(RDFExportSession theSession, long lHistoryID, RDFTransformChange theChange)
+            throws IOException
+    {
+        File dirWork = new File( theSession.getTarget(), "work" );
+        DeltaFiles theDelta = null;
+        try {
+            RDFTransformDiff theDiff = theChange.diff();
+            String strPatchID = "uuid:" + UUID.randomUUID();
+            theDelta = new DeltaFiles( theSession.getTarget(), null, strPatchID, theSession.getJob() );
+            Files.createDirectories( dirWork.toPath() );
+            theDiff.write( theSession.getProject(), theSession.getEngine(), dirWork, theDelta, theSession.getJob() );
+            theDelta.finish();
+            FileUtils.deleteQuietly(dirWork);
+            theSession.checkCancelled();
+
+            Map<String, Object> mapManifest = new LinkedHashMap<String, Object>();
+            mapManifest.put("job", theSession.getJob().getID());
+            mapManifest.put("project", theSession.getProject().id);
+            mapManifest.put("format", this.eDelta.toString());
+            mapManifest.put("created", theSession.getJob().getCreated());
+            mapManifest.put("completed", System.currentTimeMillis());
+            mapManifest.put("history", lHistoryID);
+            mapManifest.put("patch", strPatchID);
+            mapManifest.put("rootsChanged", theDiff.getRootsChanged());
+            mapManifest.put("mappingsChanged", theDiff.getMappingsChanged());
+            mapManifest.put("added", theDiff.getAdded());
+            mapManifest.put("deleted", theDiff.getDeleted());
+            mapManifest.put("blankNodes", theDiff.getBlankNodes());
+            mapManifest.put("files", theDelta.getFiles());
+            RDFFileExporter.writeJSON( theSession.getTarget(), RDFFileExporter.strManifest, mapManifest );
+
+            if ( Util.isVerbose(2) ) {
+                RDFIncrementalExporter.logger.info("Transform change export to " + theSession.getTarget().getPath() + " ended: " +
+                    theDiff.getAdded() + " added, " + theDiff.getDeleted() + " deleted");
+            }
+        }
+        catch (Exception ex) {
+            throw this.fail(theSession, theDelta, ex);
+        }
+        finally {
+            if (theDelta != null) {
+                theDelta.close();
+            }
+        }
+    }
+
+    /*
+     *  Method fail() removes the incomplete changes of a failed export before the job ends.
+     */
+    private IOException fail(RDFExportSession theSession, DeltaFiles theDelta, Exception ex)
+            throws IOException
+    {
+        if (theDelta != null) {
+            theDelta.close();
+        }
+        FileUtils.deleteQuietly( theSession.getTarget() );
+        if ( theSession.getJob().isCancelled() ) {
+            theSession.checkCancelled();
+        }
+        RDFIncrementalExporter.logger.error("ERROR: Error exporting " + theSession.getExportLang() + " to " + theSession.getTarget().getPath(), ex);
+        if ( Util.isVerbose() ) ex.printStackTrace();
+        return new IOException(ex.getMessage(), ex);
+    }
+
+    private void writeManifest(RDFExportSession theSession, RDFIncrementalState theState, DeltaFiles theDelta,
+                               long lHistoryID, String strPatchID)
+            throws IOException
+    {
+        Map<String, Object> mapManifest = new LinkedHashMap<String, Object>();
+        mapManifest.put("job", theSession.getJob().getID());
+        mapManifest.put("project", theSession.getProject().id);
+        mapManifest.put("format", this.eDelta.toString());
+        mapManifest.put("created", theSession.getJob().getCreated());
+        mapManifest.put("completed", System.currentTimeMillis());
+        mapManifest.put("historyFrom", theState.isInitial() ? null : theState.getLastHistoryID());
+        mapManifest.put("historyTo", lHistoryID);
+        mapManifest.put("patch", strPatchID);
+        mapManifest.put("prev", theState.getLastPatchID());
+        mapManifest.put("units", theState.getUnits());
+        mapManifest.put("unitsChanged", theState.getUnitsChanged());
+        mapManifest.put("unitsNew", theState.getUnitsNew());
+        mapManifest.put("unitsRemoved", theState.getUnitsRemoved());
+        mapManifest.put("added", theState.getAdded());
+        mapManifest.put("deleted", theState.getDeleted());
+        mapManifest.put("quads", theState.getDistinct());
+        mapManifest.put("files", theDelta.getFiles());
+
+        RDFFileExporter.writeJSON( theSession.getTarget(), RDFFileExporter.strManifest, mapManifest );
+    }
+
+    /*
+     *  Class DeltaFiles
+     *
+     *    Writes the added and deleted statements in the exporter's format.
+     */
+    private class DeltaFiles implements RDFIncrementalState.DeltaWriter, Closeable {
+        private final File dirTarget;
+        private final RDFExportJob theJob;
+        private final Writer writerAdd;
+        private final Writer writerDelete;
+        private final List<String> listFiles;
+
+        DeltaFiles(File dirTarget, String strPrevID, String strPatchID, RDFExportJob theJob) throws IOException {
+            this.dirTarget = dirTarget;
+            this.theJob = theJob;
+            if (RDFIncrementalExporter.this.eDelta == Delta.PATCH) {
+                this.writerAdd = this.open(RDFIncrementalExporter.strPatchFile);
+                this.writerDelete = this.writerAdd;
+                this.listFiles = List.of(RDFIncrementalExporter.strPatchFile);
+                this.write( this.writerAdd, "H id <" + strPatchID + "> .\n" );
+                if (strPrevID != null) {
+                    this.write( this.writerAdd, "H prev <" + strPrevID + "> .\n" );
+                }
+                this.write(this.writerAdd, "TX .\n");
+            }
+            else {
+                this.writerAdd = this.open(RDFIncrementalExporter.strAddFile);
+                this.writerDelete = this.open(RDFIncrementalExporter.strDeleteFile);
+                this.listFiles = List.of(RDFIncrementalExporter.strAddFile, RDFIncrementalExporter.strDeleteFile);
+            }
+        }
+
+        List<String> getFiles() {
+            return this.listFiles;
+        }
+
+        @Override
+        public void add(Quad theQuad) throws IOException {
+            String strLine = RDFIncrementalState.toLine(theQuad);
+            this.write( this.writerAdd, ( this.writerAdd == this.writerDelete ? "A " + strLine : strLine ) );
+        }
+
+        @Override
+        public void delete(Quad theQuad) throws IOException {
+            String strLine = RDFIncrementalState.toLine(theQuad);
+            this.write( this.writerDelete, ( this.writerAdd == this.writerDelete ? "D " + strLine : strLine ) );
+        }
+
+        /*
+         *  Method finish() ends the changes and closes the files.
+         */
+        void finish() throws IOException {
+            if (RDFIncrementalExporter.this.eDelta == Delta.PATCH) {
+                this.write(this.writerAdd, "TC .\n");
+            }
+            this.writerAdd.close();
+            this.writerDelete.close();
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.writerAdd.close();
+                this.writerDelete.close();
+            }
+            catch (IOException ex) {
+                // No problem: the changes are incomplete anyway...
+            }
+        }
+
+        private Writer open(String strFile) throws IOException {
+            return new BufferedWriter(
+                new OutputStreamWriter( new FileOutputStream( new File(this.dirTarget, strFile) ), StandardCharsets.UTF_8 ),
+                1 << 16 );
+        }
+
+        private void write(Writer theWriter, String strLine) throws IOException {
+            theWriter.write(strLine);
+            if (this.theJob != null) {
+                this.theJob.addBytes( strLine.length() );
+            }
+        }
+    }
+}
@@ -25,11 +25,11 @@ import java.io.OutputStream;
 import java.io.Writer;
 import java.util.Map;
 
-import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.Util;
-import org.openrefine.rdf.model.operation.ExportRDFRecordVisitor;
-import org.openrefine.rdf.model.operation.ExportRDFRowVisitor;
 import org.openrefine.rdf.model.operation.RDFVisitor;
+import org.openrefine.rdf.model.stream.RDFXMLStreamRDF;
+import org.openrefine.rdf.model.stream.SpillingStreamRDF;
+import org.openrefine.rdf.model.stream.TriplesStreamRDF;
 
 import com.google.refine.browsing.Engine;
 import com.google.refine.exporters.WriterExporter;
@@ -39,6 +39,8 @@ import org.apache.commons.io.output.WriterOutputStream;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.riot.RDFFormat;
 import org.apache.jena.riot.RDFWriterRegistry;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,18 +50,17 @@ import org.slf4j.LoggerFactory;
  *  An exporter used to transform OpenRefine project data to RDF *in the prettiest format possible*
  *  meaning the data is condensed and formatted for readability.  This requires that the entire graph
  *  is accessible by the print process to organize repeated resources and literals and, therefore,
- *  cannot process discreet data chunks--i.e., it does not scale.  Furthermore, the entire graph must
- *  currently fit in the available memory as the graph used to dump the project data is a memory
- *  graph.<br />
+ *  cannot process discreet data chunks.  The graph is held in memory up to the Pretty Spill Limit
+ *  preference (see Util.getPrettySpillLimit()).<br />
  *<br />
- *  Use with relatively small graphs (compared to available memory) as the process could result in a
- *  critical failure.
+ *  Past the limit, the statements spill to sorted files in the cache and print grouped by subject with
+ *  the format's streaming writer: TURTLE_PRETTY as TURTLE_BLOCKS, TRIG_PRETTY as TRIG_BLOCKS, and
+ *  RDFXML_PRETTY as one rdf:Description per subject.  The other pretty formats have no streaming
+ *  writer, so past the limit they keep the whole graph in memory with a warning.
  */
 public class RDFPrettyExporter extends RDFExporter implements WriterExporter {
     private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFPrettyExporter");
 
-    private OutputStream theOutputStream = null;
-
     public RDFPrettyExporter(RDFFormat format, String strLang) {
         super(format, strLang);
     }
@@ -67,8 +68,9 @@ public class RDFPrettyExporter extends RDFExporter implements WriterExporter {
     public void export(Project theProject, Map<String, String> options, Engine theEngine, OutputStream outputStream)
             throws IOException {
         if ( Util.isDebugMode() ) RDFPrettyExporter.logger.info("DEBUG: Exporting " + this.theExportLang + " via OutputStream");
-        this.theOutputStream = outputStream;
-        this.export(theProject, options, theEngine);
+        RDFExportSession theSession =
+            new RDFExportSession(theProject, options, theEngine, outputStream, this.getFormat(), this.theExportLang);
+        RDFExportScheduler.run(theSession, this::export);
     }
 
     @Override
@@ -76,48 +78,93 @@ public class RDFPrettyExporter extends RDFExporter implements WriterExporter {
              throws IOException
     {
         if ( Util.isDebugMode() ) RDFPrettyExporter.logger.info("DEBUG: Exporting " + this.theExportLang + " via Writer");
-        this.theOutputStream = WriterOutputStream.builder().setWriter(someWriter).setCharset("UTF-8").get();
-        this.export(theProject, options, theEngine);
+        OutputStream theOutputStream = WriterOutputStream.builder().setWriter(someWriter).setCharset("UTF-8").get();
+        RDFExportSession theSession =
+            new RDFExportSession(theProject, options, theEngine, theOutputStream, this.getFormat(), this.theExportLang);
+        RDFExportScheduler.run(theSession, this::export);
+        theOutputStream.flush(); // ...push any buffered encoding to the writer
     }
 
-    private void export(Project theProject, Map<String, String> options, Engine theEngine)
+    private void export(RDFExportSession theSession)
             throws IOException
     {
-        RDFTransform theTransform = RDFTransform.getRDFTransform(theProject);
+        OutputStream theOutputStream = theSession.getOutputStream();
+        SpillingStreamRDF theCollector =
+            new SpillingStreamRDF( Util.getPrettySpillLimit(), this.isSpillable(), this.theExportLang );
         try {
             if ( Util.isDebugMode() ) RDFPrettyExporter.logger.info("DEBUG:   Starting RDF Export...");
 
             // Process all records/rows of data for statements...
-            RDFVisitor theVisitor = null;
-            if ( theProject.recordModel.hasRecords() ) {
-                if ( Util.isDebugMode() ) RDFPrettyExporter.logger.info("DEBUG:     Process by Record Visitor...");
-                theVisitor = new ExportRDFRecordVisitor(theTransform);
-            }
-            else {
-                if ( Util.isDebugMode() ) RDFPrettyExporter.logger.info("DEBUG:     Process by Row Visitor...");
-                theVisitor = new ExportRDFRowVisitor(theTransform);
-            }
+            RDFVisitor theVisitor = theSession.createVisitor(theCollector);
+            theVisitor.setDeduplicate(false); // ...the collector merges repeats
 
             if ( Util.isDebugMode() ) RDFPrettyExporter.logger.info("DEBUG:     Building the graph...");
-            theVisitor.buildDSGraph(theProject, theEngine); // ...does not close as the theVisitor has no writer: theWriter == null
-
-            if ( Util.isDebugMode() ) RDFPrettyExporter.logger.info("DEBUG:     Writing the graph as " + this.theExportLang + "...");
-            if      ( RDFWriterRegistry.getWriterDatasetFactory( this.getFormat() ) != null) {
-                RDFDataMgr.write( this.theOutputStream, theVisitor.getDSGraph(), this.getFormat() ); // ...multi-graph
+            theVisitor.buildDSGraph( theSession.getProject(), theSession.getEngine() ); // ...collects in memory until spilled
+            theCollector.checkFailure();
+            theSession.checkCancelled();
+            theSession.setResults(theVisitor);
+
+            // If spilled, stream the statements grouped by subject...
+            long lWritten = 0;
+            if ( theCollector.isSpilled() ) {
+                if ( Util.isVerbose(2) ) RDFPrettyExporter.logger.info("Writing " + theCollector.getCount() + " spilled statements as grouped " + this.theExportLang + "...");
+                theCollector.sendTo( this.createSpillWriter(theOutputStream) );
+                lWritten = theCollector.getSent();
             }
-            else if ( RDFWriterRegistry.getWriterGraphFactory( this.getFormat() ) != null) {
-                RDFDataMgr.write( this.theOutputStream, theVisitor.getDSGraph().getUnionGraph(), this.getFormat() ); // ...single graph
+            // Otherwise, write the memory graph...
+            else {
+                if ( Util.isDebugMode() ) RDFPrettyExporter.logger.info("DEBUG:     Writing the graph as " + this.theExportLang + "...");
+                if      ( RDFWriterRegistry.getWriterDatasetFactory( this.getFormat() ) != null) {
+                    RDFDataMgr.write( theOutputStream, theCollector.getDSGraph(), this.getFormat() ); // ...multi-graph
+                    lWritten = RDFExporter.countWritten( theCollector.getDSGraph(), false );
+                }
+                else if ( RDFWriterRegistry.getWriterGraphFactory( this.getFormat() ) != null) {
+                    RDFDataMgr.write( theOutputStream, theCollector.getDSGraph().getUnionGraph(), this.getFormat() ); // ...single graph
+                    lWritten = RDFExporter.countWritten( theCollector.getDSGraph(), true );
+                }
+                else throw new IOException("Dataset does not have a Dataset or Graph writer for " + this.theExportLang + "!");
             }
-            else throw new IOException("Dataset does not have a Dataset or Graph writer for " + this.theExportLang + "!");
-
-            theVisitor.closeDSGraph(); // ...close since the theVisitor has no writer: theWriter == null
+            this.reportLimit(theSession, theOutputStream, lWritten);
+            theOutputStream.flush();
 
             if ( Util.isDebugMode() ) RDFPrettyExporter.logger.info("DEBUG:   ...Ended RDF Export " + this.theExportLang);
         }
         catch (Exception ex) {
+            if ( theSession.getJob().isCancelled() ) {
+                if ( Util.isVerbose(2) ) RDFPrettyExporter.logger.info("Export " + this.theExportLang + " cancelled");
+                theSession.checkCancelled();
+            }
             RDFPrettyExporter.logger.error("ERROR: Error exporting " + this.theExportLang, ex);
             if ( Util.isVerbose() ) ex.printStackTrace();
             throw new IOException(ex.getMessage(), ex);
         }
+        finally {
+            theCollector.close(); // ...remove any spill files
+        }
+    }
+
+    /*
+     *  Method isSpillable() reports whether the format has a streaming writer for spilled statements.
+     */
+    private boolean isSpillable() {
+        RDFFormat theFormat = this.getFormat();
+        return ( theFormat.equals(RDFFormat.TURTLE_PRETTY) ||
+                 theFormat.equals(RDFFormat.TRIG_PRETTY) ||
+                 theFormat.equals(RDFFormat.RDFXML_PRETTY) );
+    }
+
+    /*
+     *  Method createSpillWriter() creates the streaming writer printing the subject grouped statements
+     *  of a spilled export in the format's syntax.
+     */
+    private StreamRDF createSpillWriter(OutputStream theOutputStream) {
+        RDFFormat theFormat = this.getFormat();
+        if ( theFormat.equals(RDFFormat.RDFXML_PRETTY) ) {
+            return new RDFXMLStreamRDF(theOutputStream); // ...single graph
+        }
+        if ( theFormat.equals(RDFFormat.TRIG_PRETTY) ) {
+            return StreamRDFWriter.getWriterStream(theOutputStream, RDFFormat.TRIG_BLOCKS); // ...multi-graph
+        }
+        return new TriplesStreamRDF( StreamRDFWriter.getWriterStream(theOutputStream, RDFFormat.TURTLE_BLOCKS) ); // ...single graph
     }
 }
@@ -0,0 +1,134 @@
+/*
+ *  Class RDFPushExporter
+ *
+ *  Exports RDF to a SPARQL endpoint in the background.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+import org.openrefine.rdf.model.operation.RDFVisitor;
+import org.openrefine.rdf.model.stream.SparqlPushStreamRDF;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+
+import org.apache.jena.riot.RDFFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RDFPushExporter<br />
+ *<br />
+ *  Runs an export on a background thread that pushes the statements to a SPARQL endpoint instead of
+ *  writing a file.  See SparqlPushStreamRDF for the protocols, batches, and retries.  The export is
+ *  scheduled with the other exports and reports its progress and failure by its job.<br />
+ *<br />
+ *  NOTE: The push is not a transaction: the batches accepted before a failure or cancellation stay
+ *  on the endpoint.
+ */
+public class RDFPushExporter {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFPushExporter");
+
+    private final SparqlPushStreamRDF.Protocol theProtocol;
+    private final String theExportLang;
+
+    private RDFPushExporter(SparqlPushStreamRDF.Protocol theProtocol) {
+        this.theProtocol = theProtocol;
+        this.theExportLang = "PUSH-" + theProtocol.name();
+    }
+
+    /**
+     * Get the push exporter for an endpoint protocol.
+     * @param strProtocol - The protocol name: "GSP" or "UPDATE".
+     * @return RDFPushExporter - The exporter or null when the protocol is not known.
+     */
+    static public RDFPushExporter getExporter(String strProtocol) {
+        SparqlPushStreamRDF.Protocol theProtocol = SparqlPushStreamRDF.getProtocol(strProtocol);
+        if (theProtocol == null) {
+            return null;
+        }
+        return new RDFPushExporter(theProtocol);
+    }
+
+    /**
+     * Start a background push.
+     * @param theProject - The project to export.
+     * @param theOptions - The export options.  See RDFExportSession.
+     * @param theEngine - The engine filtering the rows or records.
+     * @param strEndpoint - The endpoint URL.
+     * @param mapHeaders - Other request headers, such as "Authorization".  May be null.
+     * @param iBatch - The statements per request.
+     * @param iInFlight - The requests sent at once.
+     * @return RDFExportSession - The started session: see its job for the progress.
+     */
+    public RDFExportSession start(Project theProject, Map<String, String> theOptions, Engine theEngine,
+                                  String strEndpoint, Map<String, String> mapHeaders, int iBatch, int iInFlight)
+    {
+        // NOTE: The session writes nothing to its own stream: the pusher counts the job's bytes.
+        RDFExportSession theSession =
+            new RDFExportSession(theProject, theOptions, theEngine, OutputStream.nullOutputStream(), RDFFormat.NQUADS_UTF8, this.theExportLang);
+
+        RDFFileExporter.submit( theSession, (theRunSession) -> this.export(theRunSession, strEndpoint, mapHeaders, iBatch, iInFlight) );
+        return theSession;
+    }
+
+    private void export(RDFExportSession theSession, String strEndpoint, Map<String, String> mapHeaders, int iBatch, int iInFlight)
+            throws IOException
+    {
+        RDFExportJob theJob = theSession.getJob();
+        SparqlPushStreamRDF thePusher =
+            new SparqlPushStreamRDF( strEndpoint, this.theProtocol, iBatch, iInFlight, Util.getExportPushRetries(),
+                                     mapHeaders, theJob::addBytes );
+        try {
+            // Process all records/rows of data for statements...
+            RDFVisitor theVisitor = theSession.createVisitor(thePusher);
+            theVisitor.buildDSGraph( theSession.getProject(), theSession.getEngine() ); // ...the visitor's end() waits for the last batch
+            thePusher.checkFailure();
+            theSession.checkCancelled();
+            theSession.setResults(theVisitor);
+            if ( theSession.isLimitReached() ) {
+                RDFPushExporter.logger.warn("WARNING: Export " + this.theExportLang + " truncated at the export limit: " +
+                                            theSession.getStatementCount() + " statements pushed");
+            }
+            if ( Util.isVerbose(2) ) {
+                RDFPushExporter.logger.info("Export " + this.theExportLang + " to " + strEndpoint + " ended: " +
+                    thePusher.getPushed() + " statements in " + thePusher.getBatches() + " batches with " +
+                    thePusher.getRetries() + " retries");
+            }
+        }
+        catch (Exception ex) {
+            thePusher.close();
+            if ( theJob.isCancelled() ) {
+                theSession.checkCancelled();
+            }
+            RDFPushExporter.logger.error("ERROR: Error exporting " + this.theExportLang + " to " + strEndpoint +
+                                         " after " + thePusher.getPushed() + " statements", ex);
+            if ( Util.isVerbose() ) ex.printStackTrace();
+            throw new IOException(ex.getMessage(), ex);
+        }
+        finally {
+            thePusher.close();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *  Class RDFSortedExporter
+ *
+ *  Exports RDF as sorted, distinct N-Triples or N-Quads.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Map;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.RDFVisitor;
+import org.openrefine.rdf.model.stream.SortingStreamRDF;
+import org.openrefine.rdf.model.stream.TriplesStreamRDF;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.exporters.StreamExporter;
+import com.google.refine.exporters.WriterExporter;
+import com.google.refine.model.Project;
+
+import org.apache.commons.io.output.WriterOutputStream;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RDFSortedExporter<br />
+ *<br />
+ *  Exports a line format (N-Triples or N-Quads) sorted by graph, subject, predicate, and object
+ *  with each statement written once.  Bulk loaders ingest sorted input faster, and the sort removes
+ *  repeats exactly.  The statements are sorted by an external merge sort: see SortingStreamRDF.  The
+ *  memory held is bounded by the Export Sort Run preference.<br />
+ *<br />
+ *  N-Triples drops the graphs before sorting, so its output is sorted by subject with each triple of
+ *  the union graph written once.<br />
+ *<br />
+ *  NOTE: Nothing is written until all statements are sorted.
+ */
+public class RDFSortedExporter extends RDFExporter implements WriterExporter, StreamExporter {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFSortedExporter");
+
+    public RDFSortedExporter(RDFFormat format, String strLang) {
+        super(format, strLang);
+    }
+
+    @Override
+    public void export(Project theProject, Map<String, String> options, Engine theEngine, OutputStream outputStream)
+            throws IOException {
+        if ( Util.isDebugMode() ) RDFSortedExporter.logger.info("DEBUG: Exporting " + this.theExportLang + " via OutputStream");
+        RDFExportSession theSession =
+            new RDFExportSession(theProject, options, theEngine, outputStream, this.getFormat(), this.theExportLang);
+        RDFExportScheduler.run(theSession, this::export);
+    }
+
+    @Override
+    public void export(Project theProject, Map<String, String> options, Engine theEngine, final Writer someWriter)
+             throws IOException
+    {
+        if ( Util.isDebugMode() ) RDFSortedExporter.logger.info("DEBUG: Exporting " + this.theExportLang + " via Writer");
+        OutputStream theOutputStream = WriterOutputStream.builder().setWriter(someWriter).setCharset("UTF-8").get();
+        RDFExportSession theSession =
+            new RDFExportSession(theProject, options, theEngine, theOutputStream, this.getFormat(), this.theExportLang);
+        RDFExportScheduler.run(theSession, this::export);
+        theOutputStream.flush(); // ...push any buffered encoding to the writer
+    }
+
+    private void export(RDFExportSession theSession)
+            throws IOException
+    {
+        OutputStream theOutputStream = theSession.getOutputStream();
+        SortingStreamRDF theSorter = new SortingStreamRDF( Util.getExportSortRun(), this.theExportLang );
+        try {
+            if ( Util.isDebugMode() ) RDFSortedExporter.logger.info("DEBUG:   Starting RDF Export...");
+
+            StreamRDF theCollector = theSorter;
+            StreamRDF theWriter = StreamRDFWriter.getWriterStream( theOutputStream, this.getFormat() );
+            if ( ! RDFLanguages.isQuads( this.getFormat().getLang() ) ) {
+                theCollector = new TriplesStreamRDF(theCollector); // ...single graph
+                theWriter = new TriplesStreamRDF(theWriter);
+            }
+
+            // Process all records/rows of data for statements...
+            RDFVisitor theVisitor = theSession.createVisitor(theCollector);
+            theVisitor.setDeduplicate(false); // ...the sort drops repeats
+
+            if ( Util.isDebugMode() ) RDFSortedExporter.logger.info("DEBUG:     Sorting the statements...");
+            theVisitor.buildDSGraph( theSession.getProject(), theSession.getEngine() ); // ...writes the sorted runs
+            theSorter.checkFailure();
+            theSession.checkCancelled();
+            theSession.setResults(theVisitor);
+
+            // Merge the sorted runs to the writer...
+            theSorter.sendTo(theWriter);
+            if ( Util.isVerbose(2) ) {
+                RDFSortedExporter.logger.info("Export " + this.theExportLang + " wrote " + theSorter.getDistinct() +
+                    " distinct statements of " + theSorter.getCount());
+            }
+            this.reportLimit( theSession, theOutputStream, theSorter.getDistinct() );
+            theOutputStream.flush();
+
+            if ( Util.isDebugMode() ) RDFSortedExporter.logger.info("DEBUG:   ...Ended RDF Export " + this.theExportLang);
+        }
+        catch (Exception ex) {
+            if ( theSession.getJob().isCancelled() ) {
+                if ( Util.isVerbose(2) ) RDFSortedExporter.logger.info("Export " + this.theExportLang + " cancelled");
+                theSession.checkCancelled();
+            }
+            RDFSortedExporter.logger.error("ERROR: Error exporting " + this.theExportLang, ex);
+            if ( Util.isVerbose() ) ex.printStackTrace();
+            throw new IOException(ex.getMessage(), ex);
+        }
+        finally {
+            theSorter.close(); // ...remove the run files
+        }
+    }
+}
@@ -25,11 +25,9 @@ import java.io.OutputStream;
 import java.io.Writer;
 import java.util.Map;
 
-import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.Util;
-import org.openrefine.rdf.model.operation.ExportRDFRecordVisitor;
-import org.openrefine.rdf.model.operation.ExportRDFRowVisitor;
 import org.openrefine.rdf.model.operation.RDFVisitor;
+import org.openrefine.rdf.model.stream.TriplesStreamRDF;
 
 import com.google.refine.browsing.Engine;
 import com.google.refine.exporters.StreamExporter;
@@ -39,7 +37,10 @@ import com.google.refine.model.Project;
 import org.apache.commons.io.output.WriterOutputStream;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFLanguages;
 import org.apache.jena.riot.RDFWriterRegistry;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,8 +56,6 @@ import org.slf4j.LoggerFactory;
 public class RDFStreamExporter extends RDFExporter implements WriterExporter, StreamExporter {
     private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFStreamExporter");
 
-    private OutputStream theOutputStream = null;
-
     public RDFStreamExporter(RDFFormat format, String strLang) {
         super(format, strLang);
     }
@@ -65,8 +64,9 @@ public class RDFStreamExporter extends RDFExporter implements WriterExporter, St
     public void export(Project theProject, Map<String, String> options, Engine theEngine, OutputStream outputStream)
             throws IOException {
         if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG: Exporting " + this.theExportLang + " via OutputStream");
-        this.theOutputStream = outputStream;
-        this.export(theProject, options, theEngine);
+        RDFExportSession theSession =
+            new RDFExportSession(theProject, options, theEngine, outputStream, this.getFormat(), this.theExportLang);
+        RDFExportScheduler.run(theSession, this::export);
     }
 
     @Override
@@ -74,45 +74,63 @@ public class RDFStreamExporter extends RDFExporter implements WriterExporter, St
              throws IOException
     {
         if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG: Exporting " + this.theExportLang + " via Writer");
-        this.theOutputStream = WriterOutputStream.builder().setWriter(someWriter).setCharset("UTF-8").get();
-        this.export(theProject, options, theEngine);
+        OutputStream theOutputStream = WriterOutputStream.builder().setWriter(someWriter).setCharset("UTF-8").get();
+        RDFExportSession theSession =
+            new RDFExportSession(theProject, options, theEngine, theOutputStream, this.getFormat(), this.theExportLang);
+        RDFExportScheduler.run(theSession, this::export);
+        theOutputStream.flush(); // ...push any buffered encoding to the writer
     }
 
-    private void export(Project theProject, Map<String, String> options, Engine theEngine)
+    private void export(RDFExportSession theSession)
             throws IOException
     {
-        RDFTransform theTransform = RDFTransform.getRDFTransform(theProject);
+        OutputStream theOutputStream = theSession.getOutputStream();
         try {
             if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG:   Starting RDF Export...");
 
-            // Process all records/rows of data for statements...
-            RDFVisitor theVisitor = null;
-            if ( theProject.recordModel.hasRecords() ) {
-                if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG:     Process by Record Visitor...");
-                theVisitor = new ExportRDFRecordVisitor(theTransform);
-            }
-            else {
-                if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG:     Process by Row Visitor...");
-                theVisitor = new ExportRDFRowVisitor(theTransform);
+            // Get a stream writer when the format supports one...
+            StreamRDF theWriter = null;
+            if ( StreamRDFWriter.registered( this.getFormat() ) ) {
+                if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG:     Streaming to " + this.theExportLang + " writer...");
+                theWriter = StreamRDFWriter.getWriterStream( theOutputStream, this.getFormat() );
+                if ( ! RDFLanguages.isQuads( this.getFormat().getLang() ) ) {
+                    theWriter = new TriplesStreamRDF(theWriter); // ...single graph
+                }
             }
 
-            if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG:     Building the graph...");
-            theVisitor.buildDSGraph(theProject, theEngine); // ...auto-closes as theVisitor has a writer: theWriter != null
+            // Process all records/rows of data for statements...
+            RDFVisitor theVisitor = theSession.createVisitor(theWriter);
 
-            if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG:     Writing the graph as " + this.theExportLang + "...");
-            if      ( RDFWriterRegistry.getWriterDatasetFactory( this.getFormat() ) != null) {
-                RDFDataMgr.write( this.theOutputStream, theVisitor.getDSGraph(), this.getFormat() ); // ...multi-graph
-            }
-            else if ( RDFWriterRegistry.getWriterGraphFactory( this.getFormat() ) != null) {
-                RDFDataMgr.write( this.theOutputStream, theVisitor.getDSGraph().getUnionGraph(), this.getFormat() ); // ...single graph
+            if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG:     Building the graph...");
+            theVisitor.buildDSGraph( theSession.getProject(), theSession.getEngine() ); // ...auto-writes as theVisitor has a writer: theWriter != null
+            theSession.checkCancelled();
+
+            theSession.setResults(theVisitor);
+            long lWritten = theSession.getStatementCount(); // ...streamed as produced
+            if ( ! theVisitor.isStreaming() ) {
+                if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG:     Writing the graph as " + this.theExportLang + "...");
+                if      ( RDFWriterRegistry.getWriterDatasetFactory( this.getFormat() ) != null) {
+                    RDFDataMgr.write( theOutputStream, theVisitor.getDSGraph(), this.getFormat() ); // ...multi-graph
+                    lWritten = RDFExporter.countWritten( theVisitor.getDSGraph(), false );
+                }
+                else if ( RDFWriterRegistry.getWriterGraphFactory( this.getFormat() ) != null) {
+                    RDFDataMgr.write( theOutputStream, theVisitor.getDSGraph().getUnionGraph(), this.getFormat() ); // ...single graph
+                    lWritten = RDFExporter.countWritten( theVisitor.getDSGraph(), true );
+                }
+                else throw new IOException("Dataset does not have a Dataset or Graph writer for " + this.theExportLang + "!");
             }
-            else throw new IOException("Dataset does not have a Dataset or Graph writer for " + this.theExportLang + "!");
+            this.reportLimit(theSession, theOutputStream, lWritten);
+            theOutputStream.flush();
 
             theVisitor.closeDSGraph(); // ...close since the theVisitor has no writer: theWriter == null
 
             if ( Util.isDebugMode() ) RDFStreamExporter.logger.info("DEBUG:   ...Ended RDF Export " + this.theExportLang);
         }
         catch (Exception ex) {
+            if ( theSession.getJob().isCancelled() ) {
+                if ( Util.isVerbose(2) ) RDFStreamExporter.logger.info("Export " + this.theExportLang + " cancelled");
+                theSession.checkCancelled();
+            }
             RDFStreamExporter.logger.error("ERROR: Error exporting " + this.theExportLang, ex);
             if ( Util.isVerbose() ) ex.printStackTrace();
             throw new IOException(ex.getMessage(), ex);
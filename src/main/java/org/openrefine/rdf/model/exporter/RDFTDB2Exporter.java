@@ -0,0 +1,176 @@
+/*
+ *  Class RDFTDB2Exporter
+ *
+ *  Exports RDF into a TDB2 database in the background.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.exporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+import org.openrefine.rdf.model.operation.RDFVisitor;
+import org.openrefine.rdf.model.stream.TDB2LoaderStreamRDF;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.tdb2.DatabaseMgr;
+import org.apache.jena.tdb2.sys.TDBInternal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RDFTDB2Exporter<br />
+ *<br />
+ *  Runs an export on a background thread that loads the statements into a TDB2 database by the TDB2
+ *  bulk loader.  See TDB2LoaderStreamRDF.  The database is either:<br />
+ *  &nbsp;&nbsp;the Export TDB2 Directory preference: each export adds to the database, or<br />
+ *  &nbsp;&nbsp;a new "tdb2" database in the export's own directory under the export root (see
+ *  RDFFileExporter) beside a "manifest.json".<br />
+ *<br />
+ *  The loads into a database are serialized.  After a load, the database is released so another
+ *  process (such as a query service) may open it.  A failed load into an export's own directory
+ *  removes the directory.  A failed load into the preferred database keeps its committed batches.
+ */
+public class RDFTDB2Exporter {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFTDB2Exporter");
+
+    static public final String strDatabase = "tdb2";
+
+    static private final Object theLoadLock = new Object();
+
+    private final String theExportLang = "TDB2";
+
+    public RDFTDB2Exporter() {
+        // Nothing to set: the database is given by preference or per export...
+    }
+
+    /**
+     * Start a background load.
+     * @param theProject - The project to export.
+     * @param theOptions - The export options.  See RDFExportSession.
+     * @param theEngine - The engine filtering the rows or records.
+     * @param lBatch - The statements committed per transaction.
+     * @return RDFExportSession - The started session: see its job for the progress.
+     * @throws IOException - when the export directory cannot be created.
+     */
+    public RDFExportSession start(Project theProject, Map<String, String> theOptions, Engine theEngine, long lBatch)
+            throws IOException
+    {
+        // NOTE: The session writes nothing to its own stream.
+        RDFExportSession theSession =
+            new RDFExportSession(theProject, theOptions, theEngine, OutputStream.nullOutputStream(), RDFFormat.NQUADS_UTF8, this.theExportLang);
+
+        File dirDatabase = RDFTDB2Exporter.getDatabaseDirectory();
+        if (dirDatabase == null) {
+            // NOTE: Only the export's own directory is a target: a rejected export removes its target.
+            dirDatabase = new File( RDFFileExporter.createTarget(theSession), RDFTDB2Exporter.strDatabase );
+        }
+        final File dirLoad = dirDatabase;
+        RDFFileExporter.submit( theSession, (theRunSession) -> this.export(theRunSession, dirLoad, lBatch) );
+        return theSession;
+    }
+
+    /**
+     * Get the preferred database directory.
+     * @return File - The directory or null when each export loads its own database.
+     */
+    static public File getDatabaseDirectory() {
+        String strDir = Util.getExportTDB2Dir();
+        if ( strDir == null || strDir.isEmpty() ) {
+            return null;
+        }
+        return new File(strDir);
+    }
+
+    private void export(RDFExportSession theSession, File dirDatabase, long lBatch)
+            throws IOException
+    {
+        RDFExportJob theJob = theSession.getJob();
+        Files.createDirectories( dirDatabase.toPath() );
+
+        synchronized (RDFTDB2Exporter.theLoadLock) {
+            DatasetGraph theDatabase = DatabaseMgr.connectDatasetGraph( dirDatabase.getPath() );
+            TDB2LoaderStreamRDF theLoader = new TDB2LoaderStreamRDF(theDatabase, lBatch);
+            boolean bFailed = false;
+            try {
+                // Process all records/rows of data for statements...
+                RDFVisitor theVisitor = theSession.createVisitor(theLoader);
+                theVisitor.buildDSGraph( theSession.getProject(), theSession.getEngine() ); // ...the visitor's end() commits the last batch
+                theLoader.checkFailure();
+                theSession.checkCancelled();
+                theSession.setResults(theVisitor);
+                if ( theSession.isLimitReached() ) {
+                    RDFTDB2Exporter.logger.warn("WARNING: Export " + this.theExportLang + " truncated at the export limit: " +
+                                                theSession.getStatementCount() + " statements loaded");
+                }
+                if ( theSession.getTarget() != null ) {
+                    this.writeManifest(theSession, theLoader, lBatch);
+                }
+                if ( Util.isVerbose(2) ) {
+                    RDFTDB2Exporter.logger.info("Export " + this.theExportLang + " to " + dirDatabase.getPath() + " ended: " +
+                        theLoader.getCount() + " statements in " + theLoader.getBatches() + " transactions");
+                }
+            }
+            catch (Exception ex) {
+                bFailed = true;
+                if ( theJob.isCancelled() ) {
+                    theSession.checkCancelled();
+                }
+                RDFTDB2Exporter.logger.error("ERROR: Error exporting " + this.theExportLang + " to " + dirDatabase.getPath(), ex);
+                if ( Util.isVerbose() ) ex.printStackTrace();
+                throw new IOException(ex.getMessage(), ex);
+            }
+            finally {
+                theLoader.close();
+                TDBInternal.expel(theDatabase); // ...release the database files and lock
+                if (bFailed) {
+                    FileUtils.deleteQuietly( theSession.getTarget() ); // ...only the export's own directory, once released
+                }
+            }
+        }
+    }
+
+    private void writeManifest(RDFExportSession theSession, TDB2LoaderStreamRDF theLoader, long lBatch)
+            throws IOException
+    {
+        Map<String, Object> mapManifest = new LinkedHashMap<String, Object>();
+        mapManifest.put("job", theSession.getJob().getID());
+        mapManifest.put("project", theSession.getProject().id);
+        mapManifest.put("format", this.theExportLang);
+        mapManifest.put("created", theSession.getJob().getCreated());
+        mapManifest.put("completed", System.currentTimeMillis());
+        mapManifest.put("truncated", theSession.isLimitReached());
+        mapManifest.put("quads", theLoader.getCount());
+        mapManifest.put("batch", lBatch);
+        mapManifest.put("transactions", theLoader.getBatches());
+        mapManifest.put("database", RDFTDB2Exporter.strDatabase);
+
+        RDFFileExporter.writeJSON( theSession.getTarget(), RDFFileExporter.strManifest, mapManifest );
+    }
+}
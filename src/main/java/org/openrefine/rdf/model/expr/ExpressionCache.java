@@ -0,0 +1,145 @@
+/*
+ *  Class ExpressionCache
+ *
+ *  A bounded, thread-safe cache of parsed expressions shared by all
+ *  expression evaluations in the RDF Transform.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.expr;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openrefine.rdf.model.Util;
+
+import com.google.refine.expr.Evaluable;
+import com.google.refine.expr.MetaParser;
+import com.google.refine.expr.ParsingException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+ * Class ExpressionCache
+ *
+ *   Parsing an expression (MetaParser.parse()) is far more costly than evaluating it, yet the
+ *   RDF Transform evaluates the same few expressions on every row.  This cache holds each parsed
+ *   Evaluable keyed by its expression text.  The text includes any language prefix ("grel:...",
+ *   "jython:...", etc), so the same code in different languages is cached separately.
+ *
+ *   Expressions that fail to parse are cached as well so a bad expression is not re-parsed on
+ *   every row.  Its ParsingException is rethrown on each request.
+ *
+ *   The cache is a least recently used (LRU) map bounded to iMaxEntries.  Hits and misses are
+ *   counted for reporting.
+ */
+public class ExpressionCache {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ExpCache");
+
+    static private final int iMaxEntries = 1024;
+
+    static private final class Entry {
+        private final Evaluable theEval;
+        private final ParsingException theException;
+
+        Entry(Evaluable theEval, ParsingException theException) {
+            this.theEval = theEval;
+            this.theException = theException;
+        }
+    }
+
+    static private final Map<String, Entry> mapCache =
+        new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> entryEldest) {
+                return this.size() > ExpressionCache.iMaxEntries;
+            }
+        };
+
+    static private final LongAdder iHits = new LongAdder();
+    static private final LongAdder iMisses = new LongAdder();
+
+    private ExpressionCache() {
+        // Static class...
+    }
+
+    /**
+     * Get the parsed Evaluable for an expression, parsing it only on first use.
+     * @param strExpression - The expression text with optional language prefix.
+     * @return Evaluable - The parsed expression.
+     * @throws ParsingException - when the expression does not parse.
+     */
+    static public Evaluable get(String strExpression)
+            throws ParsingException {
+        Entry theEntry;
+        synchronized (ExpressionCache.mapCache) {
+            theEntry = ExpressionCache.mapCache.get(strExpression);
+        }
+
+        if (theEntry == null) {
+            ExpressionCache.iMisses.increment();
+            // Parse outside the lock: concurrent misses on the same text parse the same result...
+            try {
+                theEntry = new Entry( MetaParser.parse(strExpression), null );
+            }
+            catch (ParsingException ex) {
+                theEntry = new Entry(null, ex);
+            }
+            synchronized (ExpressionCache.mapCache) {
+                ExpressionCache.mapCache.put(strExpression, theEntry);
+            }
+            if ( Util.isDebugMode() ) ExpressionCache.logger.info("DEBUG: Parsed: [" + strExpression + "]");
+        }
+        else {
+            ExpressionCache.iHits.increment();
+        }
+
+        if (theEntry.theException != null) {
+            throw theEntry.theException;
+        }
+        return theEntry.theEval;
+    }
+
+    static public long getHits() {
+        return ExpressionCache.iHits.sum();
+    }
+
+    static public long getMisses() {
+        return ExpressionCache.iMisses.sum();
+    }
+
+    static public int size() {
+        synchronized (ExpressionCache.mapCache) {
+            return ExpressionCache.mapCache.size();
+        }
+    }
+
+    static public void clear() {
+        synchronized (ExpressionCache.mapCache) {
+            ExpressionCache.mapCache.clear();
+        }
+    }
+
+    static public String statsToString() {
+        return "Expression Cache: Size: " + ExpressionCache.size() +
+               " Hits: " + ExpressionCache.getHits() +
+               " Misses: " + ExpressionCache.getMisses();
+    }
+}
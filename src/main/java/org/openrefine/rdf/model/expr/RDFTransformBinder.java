@@ -47,25 +47,42 @@ import org.slf4j.LoggerFactory;
  *   The ExpressionUtils bind() method is used to bind a specific row (Row), row index (int),
  *   column name (String), and cell (Cell) to the "bindings".  It calls this "binder"'s bind()
  *   method to perform any additional work concerning the added "baseIRI" binding.
+ *
+ *   A single binder serves all projects and threads, so it holds no state itself.  The project's
+ *   RDFTransform is found once (under the project lock) by initializeBindings() and kept with the
+ *   last bound Base IRI snapshot in the "bindings".  The bind() method, called for every
+ *   evaluation, only compares the transform's volatile Base IRI snapshot version to the bound
+ *   one: no locks and no overlay model lookups.
  */
 public class RDFTransformBinder implements Binder {
     private final static Logger logger = LoggerFactory.getLogger("RDFT:RDFBinder");
 
-    private Project theProject;
-    private String strLastBoundBaseIRI;
-    //private final String strBindError = "Unable to bind baseIRI.";
+    // NOTE: The key is not a valid expression variable name, so it is hidden from expressions.
+    static private final String strBoundKey = "rdft:boundBaseIRI";
+
+    static private final class BoundBaseIRI {
+        private final RDFTransform theTransform;
+        private RDFTransform.BaseIRISnapshot theSnapshot;
+
+        BoundBaseIRI(RDFTransform theTransform, RDFTransform.BaseIRISnapshot theSnapshot) {
+            this.theTransform = theTransform;
+            this.theSnapshot = theSnapshot;
+        }
+    }
 
     public RDFTransformBinder() {
         super();
-        this.strLastBoundBaseIRI = null;
     }
 
     @Override
     public void initializeBindings(Properties theBindings, Project theProject) {
-        this.theProject = theProject;
         if ( Util.isVerbose(3) ) RDFTransformBinder.logger.info("Bind baseIRI...");
-        this.strLastBoundBaseIRI = RDFTransform.getRDFTransform(this.theProject).getBaseIRIAsString();
-        theBindings.put("baseIRI", this.strLastBoundBaseIRI);
+        RDFTransform theTransform = RDFTransform.getRDFTransform(theProject);
+        RDFTransform.BaseIRISnapshot theSnapshot = theTransform.getBaseIRISnapshot();
+        theBindings.put( RDFTransformBinder.strBoundKey, new BoundBaseIRI(theTransform, theSnapshot) );
+        if ( theSnapshot.getBaseIRI() != null ) {
+            theBindings.put( "baseIRI", theSnapshot.getBaseIRI() );
+        }
     }
 
     @Override
@@ -76,13 +93,19 @@ public class RDFTransformBinder implements Binder {
         // The baseIRI is already added by the initializeBindings() above.
         // The put() call replaces it.
 
+        BoundBaseIRI theBound = (BoundBaseIRI) theBindings.get(RDFTransformBinder.strBoundKey);
+        if (theBound == null) { // ...not initialized by this binder...
+            return;
+        }
         // Get the current baseIRI...
-        String strCurrentBaseIRI = RDFTransform.getRDFTransform(this.theProject).getBaseIRIAsString();
+        RDFTransform.BaseIRISnapshot theSnapshot = theBound.theTransform.getBaseIRISnapshot();
         // If the current baseIRI is new...
-        if ( ! this.strLastBoundBaseIRI.equals(strCurrentBaseIRI) ) {
+        if ( theSnapshot.getVersion() != theBound.theSnapshot.getVersion() ) {
             // Replace the bound baseIRI...
-            theBindings.put("baseIRI", strCurrentBaseIRI);
-            strLastBoundBaseIRI = strCurrentBaseIRI;
+            if ( theSnapshot.getBaseIRI() != null ) {
+                theBindings.put( "baseIRI", theSnapshot.getBaseIRI() );
+            }
+            theBound.theSnapshot = theSnapshot;
         }
     }
 }
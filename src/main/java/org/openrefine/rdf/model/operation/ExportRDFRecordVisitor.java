@@ -20,8 +20,6 @@
 
 package org.openrefine.rdf.model.operation;
 
-import java.util.List;
-
 import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.ResourceNode;
 import org.openrefine.rdf.model.Util;
@@ -29,7 +27,7 @@ import org.openrefine.rdf.model.Util;
 import com.google.refine.model.Project;
 import com.google.refine.model.Record;
 
-import org.apache.jena.iri.IRI;
+import org.apache.jena.riot.system.StreamRDF;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,23 +40,36 @@ public class ExportRDFRecordVisitor extends RDFRecordVisitor {
         if ( Util.isDebugMode() ) ExportRDFRecordVisitor.logger.info("DEBUG: Created...");
     }
 
+    public ExportRDFRecordVisitor(RDFTransform theTransform, StreamRDF theWriter) {
+        super(theTransform, theWriter);
+        if ( Util.isDebugMode() ) ExportRDFRecordVisitor.logger.info("DEBUG: Created...");
+    }
+
+    @Override
+    protected boolean isParallel() {
+        return true;
+    }
+
     public boolean visit(Project theProject, Record theRecord) {
+        if ( this.isCancelled() ) {
+            return true; // ...stop visitation process
+        }
         try {
             if ( Util.isDebugMode() ) ExportRDFRecordVisitor.logger.info("DEBUG: Visiting Record: " + theRecord.recordIndex);
-            IRI baseIRI = this.getRDFTransform().getBaseIRI();
-            List<ResourceNode> listRoots = this.getRDFTransform().getRoots();
-            for ( ResourceNode root : listRoots ) {
-                root.createStatements(baseIRI, this.theDSGraph, theProject, theRecord);
+            for ( ResourceNode root : this.thePlan.getRoots() ) {
+                root.createStatements(this.theContext, theRecord);
 
                 if ( Util.isDebugMode() ) {
                     ExportRDFRecordVisitor.logger.info("DEBUG:   Root\n" +
                         "  Name: " + root.getNodeName() + "\n" +
                         "  Type: " + root.getNodeType() + "\n" +
-                        "  Graph Count: " + this.theDSGraph.size() + "\n" +
-                        "  Stmt  Count: " + this.theDSGraph.getUnionGraph().size()
+                        "  Stmt  Count: " + this.getStatementCount()
                     );
                 }
-                // WARNING: this.theDSGraph.getUnionGraph().size() > Util.getExportLimit()
+            }
+            this.reportVisited(1, theRecord.toRowIndex - theRecord.fromRowIndex);
+            if ( this.isLimitReached() ) {
+                return true; // ...stop visitation process
             }
         }
         catch (Exception ex) {
@@ -20,8 +20,6 @@
 
 package org.openrefine.rdf.model.operation;
 
-import java.util.List;
-
 import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.ResourceNode;
 import org.openrefine.rdf.model.Util;
@@ -29,7 +27,7 @@ import org.openrefine.rdf.model.Util;
 import com.google.refine.model.Project;
 import com.google.refine.model.Row;
 
-import org.apache.jena.iri.IRI;
+import org.apache.jena.riot.system.StreamRDF;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,23 +39,35 @@ public class ExportRDFRowVisitor extends RDFRowVisitor {
         super(theTransform);
     }
 
+    public ExportRDFRowVisitor(RDFTransform theTransform, StreamRDF theWriter) {
+        super(theTransform, theWriter);
+    }
+
+    @Override
+    protected boolean isParallel() {
+        return true;
+    }
+
     public boolean visit(Project theProject, int iRowIndex, Row theRow) {
+        if ( this.isCancelled() ) {
+            return true; // ...stop visitation process
+        }
         try {
             if ( Util.isDebugMode() ) ExportRDFRowVisitor.logger.info("DEBUG: Visiting Row: " + iRowIndex);
-            IRI baseIRI = this.getRDFTransform().getBaseIRI();
-            List<ResourceNode> listRoots = this.getRDFTransform().getRoots();
-            for ( ResourceNode root : listRoots ) {
-                root.createStatements(baseIRI, this.theDSGraph, theProject, iRowIndex);
+            for ( ResourceNode root : this.thePlan.getRoots() ) {
+                root.createStatements(this.theContext, iRowIndex);
 
                 if ( Util.isDebugMode() ) {
                     ExportRDFRowVisitor.logger.info("DEBUG:   Root\n" +
                         "  Name: " + root.getNodeName() + "\n" +
                         "  Type: " + root.getNodeType() + "\n" +
-                        "  Graph Count: " + this.theDSGraph.size() + "\n" +
-                        "  Stmt  Count: " + this.theDSGraph.getUnionGraph().size()
+                        "  Stmt  Count: " + this.getStatementCount()
                     );
                 }
-                // WARNING: this.theDSGraph.getUnionGraph().size() > Util.getExportLimit()
+            }
+            this.reportVisited(0, 1);
+            if ( this.isLimitReached() ) {
+                return true; // ...stop visitation process
             }
         }
         catch (Exception ex) {
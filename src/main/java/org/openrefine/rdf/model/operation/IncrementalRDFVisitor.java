@@ -0,0 +1,193 @@
+/*
+ *  Class IncrementalRDFVisitor
+ *
+ *  Visits the rows or records of a project for an incremental RDF Export.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.operation;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.ResourceNode;
+import org.openrefine.rdf.model.Util;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.browsing.RecordVisitor;
+import com.google.refine.browsing.RowVisitor;
+import com.google.refine.model.Project;
+import com.google.refine.model.Record;
+import com.google.refine.model.Row;
+
+import org.apache.jena.riot.lang.CollectorStreamQuads;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class IncrementalRDFVisitor<br />
+ *<br />
+ *  Visits the filtered rows (or records) of a project in index order for an RDFIncrementalState.
+ *  Each row (or record) is a unit: a unit unchanged since the last export is not evaluated, and the
+ *  statements of a changed or new unit are collected and put in the state.  The visit is serial as
+ *  the state matches units in order.<br />
+ *<br />
+ *  Reaching the export limit fails the visitation: a truncated unit cannot be saved.
+ */
+public class IncrementalRDFVisitor extends RDFVisitor implements RowVisitor, RecordVisitor {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:IncrementalRDFV");
+
+    private final RDFIncrementalState theState;
+    private final CollectorStreamQuads theCollector;
+    private Exception exFailure = null;
+
+    /**
+     * IncrementalRDFVisitor ctor
+     * @param theTransform - The RDF Transform to visit.
+     * @param theState - The incremental state receiving the units.
+     */
+    public IncrementalRDFVisitor(RDFTransform theTransform, RDFIncrementalState theState) {
+        this( theTransform, theState, new CollectorStreamQuads() );
+    }
+
+    private IncrementalRDFVisitor(RDFTransform theTransform, RDFIncrementalState theState, CollectorStreamQuads theCollector) {
+        super(theTransform, theCollector);
+        this.theState = theState;
+        this.theCollector = theCollector;
+        this.bDedup = false; // ...a unit's repeats are counted once per unit by the state's merge
+    }
+
+    /**
+     * Throw any failure that stopped the visitation.
+     * @throws IOException - when the visitation failed.
+     */
+    public void checkFailure() throws IOException {
+        if (this.exFailure instanceof IOException) {
+            throw (IOException) this.exFailure;
+        }
+        if (this.exFailure != null) {
+            throw new IOException( this.exFailure.getMessage(), this.exFailure );
+        }
+    }
+
+    public void buildDSGraph(Project theProject, Engine theEngine) {
+        if ( theProject.recordModel.hasRecords() ) {
+            if (this.theJob != null) {
+                this.theJob.setTotal(theProject.recordModel.getRecordCount(), true);
+            }
+            if ( Util.isVerbose(3) ) IncrementalRDFVisitor.logger.info("buildDSGraph: visit matching filtered records");
+            // NOTE: The accept() method calls this visitor's start() and end() methods.
+            theEngine.getFilteredRecords().accept(theProject, (RecordVisitor) this);
+        }
+        else {
+            if (this.theJob != null) {
+                this.theJob.setTotal(theProject.rows.size(), false);
+            }
+            if ( Util.isVerbose(3) ) IncrementalRDFVisitor.logger.info("buildDSGraph: visit matching filtered rows");
+            // NOTE: The accept() method calls this visitor's start() and end() methods.
+            theEngine.getAllFilteredRows().accept(theProject, (RowVisitor) this);
+        }
+    }
+
+    @Override
+    public void start(Project theProject) {
+        super.start(theProject);
+        try {
+            this.theState.startUnits();
+        }
+        catch (IOException ex) {
+            this.exFailure = ex;
+        }
+    }
+
+    @Override
+    public void end(Project theProject) {
+        super.end(theProject);
+        if (this.exFailure == null) {
+            try {
+                this.theState.endUnits();
+            }
+            catch (IOException ex) {
+                this.exFailure = ex;
+            }
+        }
+    }
+
+    public boolean visit(Project theProject, int iRowIndex, Row theRow) {
+        return this.visitUnit(theProject, iRowIndex, iRowIndex + 1, null);
+    }
+
+    public boolean visit(Project theProject, int iRowIndex, int iSortedRowIndex, Row theRow) {
+        return this.visit(theProject, iRowIndex, theRow);
+    }
+
+    public boolean visit(Project theProject, Record theRecord) {
+        return this.visitUnit(theProject, theRecord.fromRowIndex, theRecord.toRowIndex, theRecord);
+    }
+
+    public boolean visit(Project theProject, int iSortedStartRowIndex, Record theRecord) {
+        return this.visit(theProject, theRecord);
+    }
+
+    /*
+     *  Method visitUnit() evaluates a row (when theRecord is null) or a record unless unchanged.
+     */
+    private boolean visitUnit(Project theProject, int iFrom, int iTo, Record theRecord) {
+        if (this.exFailure != null) {
+            return true; // ...stop visitation process
+        }
+        if ( this.isCancelled() ) {
+            return true; // ...stop visitation process
+        }
+        try {
+            long[] alHash = this.theState.fingerprint(theProject, iFrom, iTo);
+            if ( this.theState.isChanged(iFrom, alHash) ) {
+                if ( Util.isDebugMode() ) IncrementalRDFVisitor.logger.info("DEBUG: Evaluating changed unit: " + iFrom);
+                for ( ResourceNode root : this.thePlan.getRoots() ) {
+                    if (theRecord == null) {
+                        root.createStatements(this.theContext, iFrom);
+                    }
+                    else {
+                        root.createStatements(this.theContext, theRecord);
+                    }
+                }
+                if ( this.isLimitReached() ) {
+                    throw new IOException("Incremental export reached the export limit of " + Util.getExportLimit() + " statements");
+                }
+                List<Quad> listQuads = this.theCollector.getCollected();
+                this.theState.putUnit(iFrom, alHash, listQuads);
+                listQuads.clear();
+            }
+            if (theRecord == null) {
+                this.reportVisited(0, 1);
+            }
+            else {
+                this.reportVisited(1, iTo - iFrom);
+            }
+        }
+        catch (Exception ex) {
+            IncrementalRDFVisitor.logger.error("ERROR: Visit Issue: " + ex.getMessage(), ex);
+            if ( Util.isVerbose() ) ex.printStackTrace();
+            this.exFailure = ex;
+            return true; // ...stop visitation process
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ *  Class PreviewCache
+ *
+ *  A bounded cache of the rendered RDF Transform previews.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.operation;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.ResourceNode;
+import org.openrefine.rdf.model.TransformPlan;
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.vocab.Vocabulary;
+
+import com.google.refine.history.HistoryEntry;
+import com.google.refine.model.Project;
+import com.google.refine.util.ParsingUtilities;
+
+import org.apache.jena.sparql.core.Quad;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class PreviewCache<br />
+ *<br />
+ *  The UI asks for a preview on nearly every edit, tab switch, undo, and redo, and each preview
+ *  reconstructs the transform, evaluates the sample, and writes TriG.  This cache keeps the rendered
+ *  previews so a repeated preview is returned without any of that work.<br />
+ *<br />
+ *  A preview is keyed by a fingerprint of everything it depends on: the project, the project's
+ *  last history entry (so any data change, undo, or redo finds its own previews), the transform
+ *  and engine (facet) JSON in a canonical form (object fields sorted, so field order does not
+ *  matter), the sample limit, the output style, and the Export Skolemize preference.<br />
+ *<br />
+ *  A preview not cached may still reuse the last preview of its project root by root: see
+ *  PreviewRoots.  The last preview's statements are kept for as many projects as previews.<br />
+ *<br />
+ *  The caches are least recently used (LRU) maps bounded by Util.getPreviewCacheSize() and are shared
+ *  by all preview requests.
+ */
+public final class PreviewCache {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:PreviewCache");
+
+    static private final Map<String, String> mapPreviews =
+        new LinkedHashMap<String, String>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> entryEldest) {
+                return this.size() > Util.getPreviewCacheSize();
+            }
+        };
+    static private final Map<Long, Map<String, List<Quad>>> mapRoots = // ...by project
+        new LinkedHashMap<Long, Map<String, List<Quad>>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<String, List<Quad>>> entryEldest) {
+                return this.size() > Util.getPreviewCacheSize();
+            }
+        };
+    static private long lHits = 0;
+    static private long lMisses = 0;
+
+    private PreviewCache() {
+        // Static use only...
+    }
+
+    /**
+     * Compute the key of a preview.
+     * @param theProject - The project previewed.
+     * @param jnodeTransform - The transform JSON.
+     * @param jnodeEngine - The engine JSON.  May be null for the default engine.
+     * @param iSampleLimit - The sample limit.
+     * @param bPreviewStream - The output style: Stream (true) or Pretty (false).
+     * @return String - The key.
+     * @throws JsonProcessingException - when the JSON cannot be written in canonical form.
+     */
+    static public String key(Project theProject, JsonNode jnodeTransform, JsonNode jnodeEngine,
+                             int iSampleLimit, boolean bPreviewStream)
+            throws JsonProcessingException
+    {
+        StringBuilder strbKey = PreviewCache.sample(theProject, jnodeEngine, iSampleLimit);
+        strbKey.append( bPreviewStream ? "|stream" : "|pretty" );
+        strbKey.append('|').append( PreviewCache.canonical(jnodeTransform) );
+        return RDFIncrementalState.hash( strbKey.toString() );
+    }
+
+    /**
+     * Fingerprint the root nodes of a preview and find the roots reusing the project's last preview.
+     * A root's fingerprint holds the sample (as for key()), the Base IRI and namespaces resolving
+     * its IRIs, the root's JSON, and the plan's keys for its blank nodes (which name its blank nodes
+     * and change when another root adds a blank node or column before it).
+     * @param theProject - The project previewed.
+     * @param theTransform - The reconstructed transform.
+     * @param thePlan - The plan compiled for the preview.
+     * @param jnodeEngine - The engine JSON.  May be null for the default engine.
+     * @param iSampleLimit - The sample limit.
+     * @return PreviewRoots - The roots.
+     * @throws IOException - when a root cannot be written.
+     */
+    static public PreviewRoots getRoots(Project theProject, RDFTransform theTransform, TransformPlan thePlan,
+                                        JsonNode jnodeEngine, int iSampleLimit)
+            throws IOException
+    {
+        StringBuilder strbContext = PreviewCache.sample(theProject, jnodeEngine, iSampleLimit);
+        strbContext.append('|').append( theTransform.getBaseIRIAsString() );
+        for ( Vocabulary theVocab : theTransform.getNamespaces() ) {
+            strbContext.append('|').append( theVocab.getPrefix() ).append('=').append( theVocab.getNamespace() );
+        }
+        String strContext = strbContext.toString();
+
+        List<String> listPrints = new ArrayList<String>();
+        for ( ResourceNode theRoot : thePlan.getRoots() ) {
+            StringWriter theStringWriter = new StringWriter();
+            JsonGenerator jsonWriter = ParsingUtilities.mapper.getFactory().createGenerator(theStringWriter);
+            theRoot.write(jsonWriter, true);
+            jsonWriter.flush();
+            StringBuilder strbPrint = new StringBuilder(strContext);
+            strbPrint.append('|').append( theStringWriter.toString() );
+            thePlan.appendBlanks(strbPrint, theRoot);
+            listPrints.add( RDFIncrementalState.hash( strbPrint.toString() ) );
+        }
+
+        Map<String, List<Quad>> mapPrevious = null;
+        if ( Util.getPreviewCacheSize() > 0 ) {
+            synchronized (PreviewCache.class) {
+                mapPrevious = PreviewCache.mapRoots.get(theProject.id);
+            }
+        }
+        if (mapPrevious == null) {
+            mapPrevious = Collections.emptyMap();
+        }
+        PreviewRoots theRoots = new PreviewRoots( thePlan.getRoots(), listPrints, mapPrevious );
+        if ( Util.isVerbose(3) ) {
+            PreviewCache.logger.info("Preview roots: " + theRoots.getReused() + " reused, " + theRoots.getEvaluated().size() + " evaluated");
+        }
+        return theRoots;
+    }
+
+    /**
+     * Keep a preview's statements by root for the project's next preview.
+     * @param theProject - The project previewed.
+     * @param theRoots - The preview's roots after its visitation.
+     */
+    static public synchronized void putRoots(Project theProject, PreviewRoots theRoots) {
+        if ( Util.getPreviewCacheSize() <= 0 ) {
+            PreviewCache.mapRoots.clear();
+            return;
+        }
+        PreviewCache.mapRoots.put( theProject.id, theRoots.getStatements() );
+    }
+
+    /**
+     * Get a rendered preview.
+     * @param strKey - The preview's key.
+     * @return String - The preview or null when not cached.
+     */
+    static public synchronized String get(String strKey) {
+        if ( Util.getPreviewCacheSize() <= 0 ) {
+            return null;
+        }
+        String strPreview = PreviewCache.mapPreviews.get(strKey);
+        if (strPreview == null) {
+            PreviewCache.lMisses++;
+        }
+        else {
+            PreviewCache.lHits++;
+        }
+        if ( Util.isVerbose(3) ) {
+            PreviewCache.logger.info("Preview cache " + ( strPreview == null ? "miss" : "hit" ) + ": " +
+                PreviewCache.lHits + " hits, " + PreviewCache.lMisses + " misses, " + PreviewCache.mapPreviews.size() + " previews");
+        }
+        return strPreview;
+    }
+
+    /**
+     * Keep a rendered preview.
+     * @param strKey - The preview's key.
+     * @param strPreview - The preview.
+     */
+    static public synchronized void put(String strKey, String strPreview) {
+        if ( Util.getPreviewCacheSize() <= 0 ) {
+            PreviewCache.mapPreviews.clear();
+            return;
+        }
+        PreviewCache.mapPreviews.put(strKey, strPreview);
+    }
+
+    /**
+     * Remove all previews.
+     */
+    static public synchronized void clear() {
+        PreviewCache.mapPreviews.clear();
+        PreviewCache.mapRoots.clear();
+    }
+
+    /*
+     *  Method sample() for the part of a key common to a sample
+     *
+     *    The project, its last history entry, the sample limit, the Export Skolemize preference, and
+     *    the engine.
+     */
+    static private StringBuilder sample(Project theProject, JsonNode jnodeEngine, int iSampleLimit)
+            throws JsonProcessingException
+    {
+        long lHistoryID = 0;
+        List<HistoryEntry> listEntries = theProject.history.getLastPastEntries(1);
+        if ( ! listEntries.isEmpty() ) {
+            lHistoryID = listEntries.get(0).id;
+        }
+
+        StringBuilder strbSample = new StringBuilder();
+        strbSample.append(theProject.id).append('@').append(lHistoryID);
+        strbSample.append('|').append(iSampleLimit);
+        strbSample.append( Util.isExportSkolemize() ? "|skolem" : "|blank" );
+        strbSample.append('|').append( PreviewCache.canonical(jnodeEngine) );
+        return strbSample;
+    }
+
+    /*
+     *  Method canonical() for JSON
+     *
+     *    Writes the JSON with every object's fields sorted by name.
+     */
+    static private String canonical(JsonNode jnodeValue)
+            throws JsonProcessingException
+    {
+        if ( jnodeValue == null || jnodeValue.isNull() || jnodeValue.isMissingNode() ) {
+            return "";
+        }
+        Object objValue = ParsingUtilities.mapper.treeToValue(jnodeValue, Object.class); // ...as maps and lists
+        return ParsingUtilities.mapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsString(objValue);
+    }
+}
@@ -20,8 +20,6 @@
 
 package org.openrefine.rdf.model.operation;
 
-import java.util.List;
-
 import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.ResourceNode;
 import org.openrefine.rdf.model.Util;
@@ -29,8 +27,6 @@ import org.openrefine.rdf.model.Util;
 import com.google.refine.model.Project;
 import com.google.refine.model.Row;
 
-import org.apache.jena.iri.IRI;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,20 +49,20 @@ public class PreviewRDFRowVisitor extends RDFRowVisitor {
         }
         try {
             if ( Util.isDebugMode() ) PreviewRDFRowVisitor.logger.info("DEBUG: Visiting Row: " + iRowIndex + " on count: " +  this.iCount);
-            IRI baseIRI = this.getRDFTransform().getBaseIRI();
-            List<ResourceNode> listRoots = this.getRDFTransform().getRoots();
-            for ( ResourceNode root : listRoots ) {
-                root.createStatements(baseIRI, this.theDSGraph, theProject, iRowIndex );
+            for ( ResourceNode root : this.getVisitRoots() ) {
+                this.setVisitRoot(root);
+                root.createStatements(this.theContext, iRowIndex);
 
                 if ( Util.isDebugMode() ) {
                     PreviewRDFRowVisitor.logger.info("DEBUG:   Root\n" +
                         "  Name: " + root.getNodeName() + "\n" +
                         "  Type: " + root.getNodeType() + "\n" +
-                        "  Graph Count: " + this.theDSGraph.size() + "\n" +
-                        "  Stmt  Count: " + this.theDSGraph.getUnionGraph().size()
+                        "  Stmt  Count: " + this.getStatementCount()
                     );
                 }
-                // WARNING: this.theDSGraph.getUnionGraph().size() > Util.getExportLimit()
+            }
+            if ( this.isLimitReached() ) {
+                return true; // ...stop visitation process
             }
             this.iCount += 1;
         }
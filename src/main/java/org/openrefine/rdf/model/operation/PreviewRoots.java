@@ -0,0 +1,146 @@
+/*
+ *  Class PreviewRoots
+ *
+ *  The root nodes a preview evaluates and the statements it reuses from the last preview.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.operation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openrefine.rdf.model.ResourceNode;
+
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+
+/**
+ * Class PreviewRoots<br />
+ *<br />
+ *  Each root node of a transform is fingerprinted (see PreviewCache.getRoots()).  A root whose
+ *  fingerprint was in the last preview of the project reuses that preview's statements for the root.
+ *  Only the other roots are evaluated over the sample, and their statements are captured by root as
+ *  they are produced.  Editing one root of a large transform then evaluates just that root.<br />
+ *<br />
+ *  A visitor given the roots (see RDFVisitor.setPreviewRoots()) visits only getEvaluated() and
+ *  marks the root it evaluates by setRoot().  After the visitation, merge() adds the reused
+ *  statements to the visitor's graph.
+ */
+public final class PreviewRoots {
+    private final List<ResourceNode> listRoots;
+    private final List<String> listPrints; // ...by root
+    private final Map<String, List<Quad>> mapPrevious;
+    private final List<ResourceNode> listEvaluated = new ArrayList<ResourceNode>();
+    private final Map<ResourceNode, List<Quad>> mapCaptured = new IdentityHashMap<>();
+    private List<Quad> listCurrent = null;
+
+    /**
+     * PreviewRoots ctor
+     * @param listRoots - The plan's root nodes.
+     * @param listPrints - The fingerprint of each root.
+     * @param mapPrevious - The last preview's statements by root fingerprint.
+     */
+    PreviewRoots(List<ResourceNode> listRoots, List<String> listPrints, Map<String, List<Quad>> mapPrevious) {
+        this.listRoots = listRoots;
+        this.listPrints = listPrints;
+        this.mapPrevious = mapPrevious;
+        for (int iRoot = 0; iRoot < listRoots.size(); iRoot++) {
+            if ( ! mapPrevious.containsKey( listPrints.get(iRoot) ) ) {
+                this.listEvaluated.add( listRoots.get(iRoot) );
+            }
+        }
+    }
+
+    /**
+     * Get the roots to evaluate: those not in the last preview.
+     * @return List&lt;ResourceNode&gt; - The unmodifiable roots in plan order.
+     */
+    public List<ResourceNode> getEvaluated() {
+        return Collections.unmodifiableList(this.listEvaluated);
+    }
+
+    /**
+     * Get the number of roots reusing the last preview's statements.
+     * @return int - The count.
+     */
+    public int getReused() {
+        return this.listRoots.size() - this.listEvaluated.size();
+    }
+
+    /**
+     * Mark the root whose statements are produced next.
+     * @param theRoot - The root.
+     */
+    public void setRoot(ResourceNode theRoot) {
+        this.listCurrent = this.mapCaptured.computeIfAbsent( theRoot, (theKey) -> new ArrayList<Quad>() );
+    }
+
+    /**
+     * Wrap a statement output to capture each statement for the marked root.
+     * @param theSink - The output.
+     * @return StreamRDF - The capturing output.
+     */
+    public StreamRDF capture(StreamRDF theSink) {
+        return new StreamRDFWrapper(theSink) {
+            @Override
+            public void quad(Quad theQuad) {
+                if (PreviewRoots.this.listCurrent != null) {
+                    PreviewRoots.this.listCurrent.add(theQuad);
+                }
+                super.quad(theQuad);
+            }
+        };
+    }
+
+    /**
+     * Add the reused statements to a preview's graph.
+     * @param theDSGraph - The preview's graph holding the evaluated roots' statements.
+     */
+    public void merge(DatasetGraph theDSGraph) {
+        for (int iRoot = 0; iRoot < this.listRoots.size(); iRoot++) {
+            List<Quad> listQuads = this.mapPrevious.get( this.listPrints.get(iRoot) );
+            if (listQuads != null) {
+                for (Quad theQuad : listQuads) {
+                    theDSGraph.add(theQuad);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get every root's statements for the next preview: reused and captured.
+     * @return Map&lt;String, List&lt;Quad&gt;&gt; - The statements by root fingerprint.
+     */
+    Map<String, List<Quad>> getStatements() {
+        Map<String, List<Quad>> mapStatements = new HashMap<String, List<Quad>>();
+        for (int iRoot = 0; iRoot < this.listRoots.size(); iRoot++) {
+            String strPrint = this.listPrints.get(iRoot);
+            List<Quad> listQuads = this.mapPrevious.get(strPrint);
+            if (listQuads == null) {
+                listQuads = this.mapCaptured.getOrDefault( this.listRoots.get(iRoot), Collections.emptyList() );
+            }
+            mapStatements.put(strPrint, listQuads);
+        }
+        return mapStatements;
+    }
+}
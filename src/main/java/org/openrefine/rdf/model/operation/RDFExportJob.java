@@ -0,0 +1,341 @@
+/*
+ *  Class RDFExportJob
+ *
+ *  The progress and cancellation of a tracked RDF Export.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.operation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openrefine.rdf.model.Util;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RDFExportJob<br />
+ *<br />
+ *  Tracks an export from its queuing to its end: the rows and records visited, the statements
+ *  emitted, the bytes written, the throughput, and an ETA.  A job is cancelled by setting its flag,
+ *  which the visitors check between rows or records.<br />
+ *<br />
+ *  The counters have a single writer (the export's visiting thread) and any number of readers (the
+ *  progress command), so they are volatile and not atomic.<br />
+ *<br />
+ *  Jobs are registered by ID until a while after they end so a client may poll the final state.
+ */
+public class RDFExportJob {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:RDFExportJob");
+
+    /*
+     *  The export option naming a client given job ID.
+     */
+    static public final String strJobIDOption = "rdftJobID";
+
+    static private final long lRetainMillis = 10 * 60 * 1000L; // ...ended jobs kept for 10 minutes
+    static private final long lStaleMillis = 24 * 60 * 60 * 1000L; // ...never started jobs kept for a day
+
+    static private final Map<String, RDFExportJob> mapJobs = new ConcurrentHashMap<String, RDFExportJob>();
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        DONE,
+        TRUNCATED,
+        CANCELLED,
+        FAILED
+    }
+
+    /**
+     * Create and register a job.
+     * @param strJobID - The client given job ID.  When null, blank, or in use, an ID is generated.
+     * @param lProjectID - The exported project's ID.
+     * @param strFormat - The export format.
+     * @return RDFExportJob - The registered job.
+     */
+    static public RDFExportJob register(String strJobID, long lProjectID, String strFormat) {
+        RDFExportJob.purge();
+        if ( strJobID != null ) {
+            strJobID = strJobID.strip();
+        }
+        RDFExportJob theJob = null;
+        if ( strJobID != null && ! strJobID.isEmpty() ) {
+            theJob = new RDFExportJob(strJobID, lProjectID, strFormat);
+            if ( RDFExportJob.mapJobs.putIfAbsent(strJobID, theJob) == null ) {
+                return theJob;
+            }
+            if ( Util.isVerbose(2) ) RDFExportJob.logger.warn("WARNING: Export job ID " + strJobID + " in use: generating an ID");
+        }
+        while (true) {
+            theJob = new RDFExportJob( UUID.randomUUID().toString(), lProjectID, strFormat );
+            if ( RDFExportJob.mapJobs.putIfAbsent(theJob.getID(), theJob) == null ) {
+                return theJob;
+            }
+        }
+    }
+
+    static public RDFExportJob get(String strJobID) {
+        if (strJobID == null) {
+            return null;
+        }
+        return RDFExportJob.mapJobs.get( strJobID.strip() );
+    }
+
+    /**
+     * List the registered jobs for a project.
+     * @param lProjectID - The project's ID.
+     * @return List<RDFExportJob> - The jobs.
+     */
+    static public List<RDFExportJob> list(long lProjectID) {
+        List<RDFExportJob> listJobs = new ArrayList<RDFExportJob>();
+        for ( RDFExportJob theJob : RDFExportJob.mapJobs.values() ) {
+            if (theJob.lProjectID == lProjectID) {
+                listJobs.add(theJob);
+            }
+        }
+        return listJobs;
+    }
+
+    /*
+     *  Method purge() removes the jobs ended a while ago.  A job never started nor ended (such as one
+     *  whose export failed before its submission) is removed a while after its creation.  A queued job
+     *  may wait on long exports, so it is kept much longer than an ended job.
+     */
+    static private void purge() {
+        long lNow = System.currentTimeMillis();
+        RDFExportJob.mapJobs.values().removeIf(
+            theJob ->
+                ( theJob.lEnded > 0 && lNow - theJob.lEnded > RDFExportJob.lRetainMillis ) ||
+                ( theJob.lEnded == 0 && theJob.lStarted == 0 && lNow - theJob.lCreated > RDFExportJob.lStaleMillis )
+        );
+    }
+
+    private final String strJobID;
+    private final long lProjectID;
+    private final String strFormat;
+    private final long lCreated;
+    private volatile Status eStatus = Status.QUEUED;
+    private volatile String strMessage = null;
+    private volatile boolean bCancelled = false;
+    private volatile long lStarted = 0;
+    private volatile long lEnded = 0;
+    private volatile boolean bRecordMode = false;
+    private volatile long lTotal = -1;
+    private volatile long lRowsVisited = 0;
+    private volatile long lRecordsVisited = 0;
+    private volatile long lQuads = 0;
+    private volatile long lBytes = 0;
+    private Runnable theCancelHook = null;
+
+    private RDFExportJob(String strJobID, long lProjectID, String strFormat) {
+        this.strJobID = strJobID;
+        this.lProjectID = lProjectID;
+        this.strFormat = strFormat;
+        this.lCreated = System.currentTimeMillis();
+    }
+
+    //
+    // Lifecycle...
+    //
+
+    public void start() {
+        this.lStarted = System.currentTimeMillis();
+        this.eStatus = Status.RUNNING;
+    }
+
+    /**
+     * End the job.
+     * @param eStatus - The final status.
+     * @param strMessage - A message for the client.  May be null.
+     */
+    public void end(Status eStatus, String strMessage) {
+        this.strMessage = strMessage;
+        this.eStatus = eStatus;
+        this.lEnded = System.currentTimeMillis();
+        if ( Util.isVerbose(2) ) RDFExportJob.logger.info("Export job " + this.strJobID + " ended " + eStatus);
+    }
+
+    /**
+     * Set an action run on cancellation (such as waking a queued export).
+     * @param theCancelHook - The action.
+     */
+    public void setCancelHook(Runnable theCancelHook) {
+        this.theCancelHook = theCancelHook;
+    }
+
+    /**
+     * Cancel the job.  The export stops at its next row or record.
+     * @return boolean - true when the job was still active.
+     */
+    public boolean cancel() {
+        if ( this.lEnded > 0 ) {
+            return false;
+        }
+        this.bCancelled = true;
+        if (this.theCancelHook != null) {
+            this.theCancelHook.run();
+        }
+        return true;
+    }
+
+    @JsonIgnore
+    public boolean isCancelled() {
+        return this.bCancelled;
+    }
+
+    //
+    // Progress: single writer...
+    //
+
+    /**
+     * Set the number of rows (or records) the export expects to visit for the ETA.
+     * @param lTotal - The expected count.
+     * @param bRecordMode - Whether the count is of records.
+     */
+    public void setTotal(long lTotal, boolean bRecordMode) {
+        this.bRecordMode = bRecordMode;
+        this.lTotal = lTotal;
+    }
+
+    /**
+     * Add visited rows and records.
+     * @param lRecords - The records visited.
+     * @param lRows - The rows visited.
+     * @param lQuads - The total statements emitted so far.
+     */
+    public void visited(long lRecords, long lRows, long lQuads) {
+        this.lRecordsVisited += lRecords;
+        this.lRowsVisited += lRows;
+        this.lQuads = lQuads;
+    }
+
+    public void addBytes(long lBytes) {
+        this.lBytes += lBytes;
+    }
+
+    //
+    // Progress: readers...
+    //
+
+    @JsonProperty("id")
+    public String getID() {
+        return this.strJobID;
+    }
+
+    @JsonProperty("project")
+    public long getProjectID() {
+        return this.lProjectID;
+    }
+
+    @JsonProperty("format")
+    public String getFormat() {
+        return this.strFormat;
+    }
+
+    @JsonProperty("status")
+    public Status getStatus() {
+        return this.eStatus;
+    }
+
+    @JsonProperty("message")
+    public String getMessage() {
+        return this.strMessage;
+    }
+
+    @JsonProperty("created")
+    public long getCreated() {
+        return this.lCreated;
+    }
+
+    @JsonProperty("rowsVisited")
+    public long getRowsVisited() {
+        return this.lRowsVisited;
+    }
+
+    @JsonProperty("recordsVisited")
+    public long getRecordsVisited() {
+        return this.lRecordsVisited;
+    }
+
+    @JsonProperty("total")
+    public long getTotal() {
+        return this.lTotal;
+    }
+
+    @JsonProperty("recordMode")
+    public boolean isRecordMode() {
+        return this.bRecordMode;
+    }
+
+    @JsonProperty("quadsEmitted")
+    public long getQuads() {
+        return this.lQuads;
+    }
+
+    @JsonProperty("bytesWritten")
+    public long getBytes() {
+        return this.lBytes;
+    }
+
+    @JsonProperty("elapsedMillis")
+    public long getElapsedMillis() {
+        if (this.lStarted == 0) {
+            return 0;
+        }
+        long lEnd = ( this.lEnded > 0 ? this.lEnded : System.currentTimeMillis() );
+        return lEnd - this.lStarted;
+    }
+
+    /**
+     * Get the visit rate in rows (or records, in record mode) per second.
+     * @return double - The rate.
+     */
+    @JsonProperty("throughput")
+    public double getThroughput() {
+        long lElapsed = this.getElapsedMillis();
+        if (lElapsed <= 0) {
+            return 0.0;
+        }
+        long lVisited = ( this.bRecordMode ? this.lRecordsVisited : this.lRowsVisited );
+        return lVisited * 1000.0 / lElapsed;
+    }
+
+    /**
+     * Get the estimated time to the end of the visitation.
+     * @return long - The milliseconds remaining or -1 when unknown.
+     */
+    @JsonProperty("etaMillis")
+    public long getETAMillis() {
+        if (this.lEnded > 0) {
+            return 0;
+        }
+        double dRate = this.getThroughput();
+        if (this.lTotal < 0 || dRate <= 0.0) {
+            return -1;
+        }
+        long lVisited = ( this.bRecordMode ? this.lRecordsVisited : this.lRowsVisited );
+        return (long) ( Math.max(this.lTotal - lVisited, 0) * 1000.0 / dRate );
+    }
+}
@@ -0,0 +1,721 @@
+/*
+ *  Class RDFIncrementalState
+ *
+ *  The saved state of a project's last incremental RDF Export.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.operation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.stream.QuadSorter;
+
+import com.google.refine.model.Cell;
+import com.google.refine.model.Column;
+import com.google.refine.model.Project;
+import com.google.refine.model.Row;
+import com.google.refine.util.ParsingUtilities;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.apache.commons.codec.digest.MurmurHash3;
+import org.apache.commons.io.FileUtils;
+import org.apache.jena.graph.Node;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.lang.CollectorStreamQuads;
+import org.apache.jena.riot.lang.LabelToNode;
+import org.apache.jena.riot.lang.LangNQuads;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.riot.system.ErrorHandlerFactory;
+import org.apache.jena.riot.system.ParserProfile;
+import org.apache.jena.riot.system.RiotLib;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.tokens.TokenizerText;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RDFIncrementalState<br />
+ *<br />
+ *  Holds what an incremental export needs from the last export of a project in a state directory:
+ *  <ul>
+ *    <li>"state.json" - the project history entry the export reflected and the export's fingerprint
+ *        of the transform and columns</li>
+ *    <li>"units.idx" and "units.nq" - each exported unit (a row or, in record mode, a record) by
+ *        index with a fingerprint of its cells and the statements it produced</li>
+ *    <li>"graph.nq" and "graph.cnt" - the exported graph: each distinct statement in QuadSorter order
+ *        with the number of units producing it</li>
+ *  </ul>
+ *  An export visits the units in index order.  A unit with the fingerprint saved for its index is
+ *  unchanged: its saved statements are kept without evaluation.  A changed or new unit is evaluated
+ *  and its saved statements, if any, are withdrawn.  Saved units not visited were removed.  The
+ *  withdrawn and produced statements are then merged with the graph's counts: a statement is
+ *  deleted when no unit produces it any longer and added when a first unit produces it.  So a
+ *  statement shared by many rows (such as a category's label) survives a change to one of them.<br />
+ *<br />
+ *  The new state is built in a work directory that replaces the state directory on commit(), so a
+ *  failed or cancelled export leaves the last state as it was.<br />
+ *<br />
+ *  A unit's fingerprint covers its row indices, its cells (values, reconciliation matches) and
+ *  flags.  It does not cover data the transform might reach beyond the unit's own rows.
+ */
+public class RDFIncrementalState implements Closeable {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:IncrState");
+
+    static private final String strStateFile = "state.json";
+    static private final String strUnitIndex = "units.idx";
+    static private final String strUnitQuads = "units.nq";
+    static private final String strGraphQuads = "graph.nq";
+    static private final String strGraphCounts = "graph.cnt";
+
+    static private final int iCancelCheck = 65536; // ...statements merged between cancellation checks
+
+    /*
+     *  Interface DeltaWriter
+     *
+     *    Receives the statements added to and deleted from the exported graph.
+     */
+    public interface DeltaWriter {
+        void add(Quad theQuad) throws IOException;
+        void delete(Quad theQuad) throws IOException;
+    }
+
+    private final File dirState;
+    private final File dirWork;
+    private final String strSeed;
+    private final RDFExportJob theJob;
+    private final StringBuilder strbUnit = new StringBuilder();
+
+    // The last export...
+    private long lLastHistoryID = -1;
+    private String strLastSeed = null;
+    private String strLastFilter = null;
+    private String strLastPatchID = null;
+    private boolean bInitial = true;
+
+    // The saved units being read...
+    private DataInputStream dinUnits = null;
+    private BufferedReader brUnits = null;
+    private boolean bOldUnit = false;
+    private int iOldIndex = 0;
+    private long lOldHash1 = 0;
+    private long lOldHash2 = 0;
+    private int iOldCount = 0;
+
+    // The units being saved...
+    private DataOutputStream doutUnits = null;
+    private Writer writerUnits = null;
+    private int iLastIndex = -1;
+
+    private final QuadSorter sorterAdded;
+    private final QuadSorter sorterWithdrawn;
+
+    private long lUnits = 0;
+    private long lUnitsChanged = 0;
+    private long lUnitsNew = 0;
+    private long lUnitsRemoved = 0;
+    private long lAdded = 0;
+    private long lDeleted = 0;
+    private long lDistinct = 0;
+    private boolean bMerged = false;
+
+    /**
+     * RDFIncrementalState ctor
+     * @param dirState - The project's state directory.
+     * @param strSeed - The fingerprint of everything common to all units: transform, columns, mode.
+     * @param bReset - Whether to ignore the last state and start from an empty graph.
+     * @param theJob - The export job for cancellation.
+     * @throws IOException - when the state cannot be read or the work directory cannot be created.
+     */
+    public RDFIncrementalState(File dirState, String strSeed, boolean bReset, RDFExportJob theJob)
+            throws IOException
+    {
+        this.dirState = dirState;
+        this.dirWork = new File( dirState.getParentFile(), dirState.getName() + ".work" );
+        this.strSeed = strSeed;
+        this.theJob = theJob;
+
+        // Recover a state left aside by an interrupted commit...
+        File dirAside = new File( dirState.getParentFile(), dirState.getName() + ".old" );
+        if ( ! dirState.exists() && dirAside.exists() ) {
+            Files.move( dirAside.toPath(), dirState.toPath(), StandardCopyOption.ATOMIC_MOVE );
+        }
+        FileUtils.deleteQuietly(dirAside);
+
+        FileUtils.deleteQuietly(this.dirWork);
+        Files.createDirectories( this.dirWork.toPath() );
+
+        File fileState = new File(dirState, RDFIncrementalState.strStateFile);
+        if ( ! bReset && fileState.exists() ) {
+            JsonNode jsonState = ParsingUtilities.mapper.readTree(fileState);
+            this.lLastHistoryID = jsonState.path("historyID").asLong(-1);
+            this.strLastSeed = jsonState.path("seed").asText(null);
+            this.strLastFilter = jsonState.path("filter").asText(null);
+            this.strLastPatchID = jsonState.path("patch").asText(null);
+            this.bInitial = false;
+        }
+        if ( Util.isVerbose(3) ) {
+            RDFIncrementalState.logger.info("Incremental state " + dirState.getPath() +
+                ( this.bInitial ? ": none" : ": history " + this.lLastHistoryID ) );
+        }
+
+        this.sorterAdded = new QuadSorter( this.dirWork, Util.getPrettySpillLimit() );
+        this.sorterWithdrawn = new QuadSorter( this.dirWork, Util.getPrettySpillLimit() );
+    }
+
+    /**
+     * Report whether there is no last state: every statement is added.
+     * @return boolean - true on a first (or reset) export.
+     */
+    public boolean isInitial() {
+        return this.bInitial;
+    }
+
+    public long getLastHistoryID() {
+        return this.lLastHistoryID;
+    }
+
+    /**
+     * Get the ID of the last export's patch for chaining.
+     * @return String - The ID or null when none.
+     */
+    public String getLastPatchID() {
+        return this.strLastPatchID;
+    }
+
+    /**
+     * Report whether the last export reflects the project as is: the same history entry, transform,
+     * columns, and filter.  Then nothing changed and no unit needs a visit.
+     * @param lHistoryID - The project's current history entry ID.
+     * @param strFilter - The fingerprint of the export's row filter.
+     * @return boolean - true when nothing changed.
+     */
+    public boolean isCurrent(long lHistoryID, String strFilter) {
+        return ( ! this.bInitial &&
+                 this.lLastHistoryID == lHistoryID &&
+                 this.strSeed.equals(this.strLastSeed) &&
+                 strFilter.equals(this.strLastFilter) );
+    }
+
+    //
+    // Units...
+    //
+
+    /**
+     * Open the saved units and the new units for a visitation.
+     * @throws IOException - when the units cannot be opened.
+     */
+    public void startUnits() throws IOException {
+        if ( ! this.bInitial ) {
+            File fileIndex = new File(this.dirState, RDFIncrementalState.strUnitIndex);
+            File fileQuads = new File(this.dirState, RDFIncrementalState.strUnitQuads);
+            if ( fileIndex.exists() && fileQuads.exists() ) {
+                this.dinUnits = new DataInputStream( new BufferedInputStream( new FileInputStream(fileIndex), 1 << 16 ) );
+                this.brUnits = new BufferedReader( new InputStreamReader( new FileInputStream(fileQuads), StandardCharsets.UTF_8 ), 1 << 16 );
+                this.readOldUnit();
+            }
+        }
+        this.doutUnits =
+            new DataOutputStream( new BufferedOutputStream(
+                new FileOutputStream( new File(this.dirWork, RDFIncrementalState.strUnitIndex) ), 1 << 16 ) );
+        this.writerUnits =
+            new BufferedWriter( new OutputStreamWriter(
+                new FileOutputStream( new File(this.dirWork, RDFIncrementalState.strUnitQuads) ), StandardCharsets.UTF_8 ), 1 << 16 );
+    }
+
+    /**
+     * Compute the fingerprint of a unit's rows.
+     * @param theProject - The project.
+     * @param iFrom - The unit's first row index.
+     * @param iTo - The row index past the unit's last row.
+     * @return long[] - The 128 bit fingerprint.
+     */
+    public long[] fingerprint(Project theProject, int iFrom, int iTo) {
+        StringBuilder strbUnit = this.strbUnit;
+        strbUnit.setLength(0);
+        strbUnit.append(this.strSeed);
+        for (int iRow = iFrom; iRow < iTo; iRow++) {
+            Row theRow = theProject.rows.get(iRow);
+            strbUnit.append('#').append(iRow);
+            strbUnit.append( theRow.flagged ? 'F' : 'f' ).append( theRow.starred ? 'S' : 's' );
+            for (Cell theCell : theRow.cells) {
+                if (theCell == null) {
+                    strbUnit.append('|');
+                    continue;
+                }
+                // Each value is prefixed by its type and length so no two cell lists print alike...
+                String strValue = ( theCell.value == null ? "" : theCell.value.toString() );
+                strbUnit.append('|')
+                    .append( theCell.value == null ? "null" : theCell.value.getClass().getSimpleName() )
+                    .append(':').append( strValue.length() ).append(':').append(strValue);
+                if (theCell.recon != null) {
+                    strbUnit.append('~').append(theCell.recon.judgment);
+                    if (theCell.recon.match != null) {
+                        String strMatch = String.valueOf(theCell.recon.match.id);
+                        strbUnit.append(':').append( strMatch.length() ).append(':').append(strMatch);
+                    }
+                }
+            }
+        }
+        byte[] abUnit = strbUnit.toString().getBytes(StandardCharsets.UTF_8);
+        return MurmurHash3.hash128x64(abUnit, 0, abUnit.length, 0);
+    }
+
+    /**
+     * Match a visited unit against the saved units.  Saved units before it were removed and are
+     * withdrawn.  An unchanged unit is saved again as is.
+     * @param iIndex - The unit's index: its first row index.
+     * @param alHash - The unit's fingerprint.
+     * @return boolean - true when the unit is changed or new and must be evaluated and put.
+     * @throws IOException - when the units cannot be read or written.
+     */
+    public boolean isChanged(int iIndex, long[] alHash) throws IOException {
+        if (iIndex <= this.iLastIndex) {
+            throw new IOException("Incremental export: unit " + iIndex + " visited out of order after " + this.iLastIndex);
+        }
+        this.iLastIndex = iIndex;
+        this.lUnits++;
+
+        // Withdraw the removed units...
+        while ( this.bOldUnit && this.iOldIndex < iIndex ) {
+            this.withdrawOldUnit();
+            this.lUnitsRemoved++;
+        }
+
+        // An unchanged unit keeps its statements...
+        if ( this.bOldUnit && this.iOldIndex == iIndex ) {
+            if ( this.lOldHash1 == alHash[0] && this.lOldHash2 == alHash[1] ) {
+                this.keepOldUnit();
+                return false;
+            }
+            this.withdrawOldUnit();
+            this.lUnitsChanged++;
+            return true;
+        }
+        this.lUnitsNew++;
+        return true;
+    }
+
+    /**
+     * Save an evaluated unit and add its statements.
+     * @param iIndex - The unit's index.
+     * @param alHash - The unit's fingerprint.
+     * @param listQuads - The unit's statements.
+     * @throws IOException - when the unit cannot be written.
+     */
+    public void putUnit(int iIndex, long[] alHash, List<Quad> listQuads) throws IOException {
+        this.writeUnitHeader( iIndex, alHash[0], alHash[1], listQuads.size() );
+        for (Quad theQuad : listQuads) {
+            this.writerUnits.write( RDFIncrementalState.toLine(theQuad) );
+            this.sorterAdded.add(theQuad);
+        }
+    }
+
+    /**
+     * End the visitation: the saved units not visited were removed and are withdrawn.
+     * @throws IOException - when the units cannot be read or written.
+     */
+    public void endUnits() throws IOException {
+        while (this.bOldUnit) {
+            this.withdrawOldUnit();
+            this.lUnitsRemoved++;
+        }
+        this.closeUnits();
+        if ( Util.isVerbose(2) ) {
+            RDFIncrementalState.logger.info("Incremental export: " + this.lUnits + " units: " + this.lUnitsChanged + " changed, " +
+                this.lUnitsNew + " new, " + this.lUnitsRemoved + " removed");
+        }
+    }
+
+    private void readOldUnit() throws IOException {
+        try {
+            this.iOldIndex = this.dinUnits.readInt();
+            this.lOldHash1 = this.dinUnits.readLong();
+            this.lOldHash2 = this.dinUnits.readLong();
+            this.iOldCount = this.dinUnits.readInt();
+            this.bOldUnit = true;
+        }
+        catch (EOFException ex) {
+            this.bOldUnit = false;
+        }
+    }
+
+    private void keepOldUnit() throws IOException {
+        this.writeUnitHeader(this.iOldIndex, this.lOldHash1, this.lOldHash2, this.iOldCount);
+        for (int iLine = 0; iLine < this.iOldCount; iLine++) {
+            this.writerUnits.write( this.readOldLine() );
+            this.writerUnits.write('\n');
+        }
+        this.readOldUnit();
+    }
+
+    private void withdrawOldUnit() throws IOException {
+        if (this.iOldCount > 0) {
+            StringBuilder strbQuads = new StringBuilder();
+            for (int iLine = 0; iLine < this.iOldCount; iLine++) {
+                strbQuads.append( this.readOldLine() ).append('\n');
+            }
+            // NOTE: The labels are read as written so blank nodes keep their identity...
+            CollectorStreamQuads theQuads = new CollectorStreamQuads();
+            RDFParser.create()
+                .fromString( strbQuads.toString() )
+                .lang(Lang.NQUADS)
+                .labelToNode( LabelToNode.createUseLabelEncoded() )
+                .parse(theQuads);
+            for ( Quad theQuad : theQuads.getCollected() ) {
+                this.sorterWithdrawn.add(theQuad);
+            }
+        }
+        this.readOldUnit();
+    }
+
+    private String readOldLine() throws IOException {
+        String strLine = this.brUnits.readLine();
+        if (strLine == null) {
+            throw new IOException("Incremental export: saved units end early in " + this.dirState.getPath());
+        }
+        return strLine;
+    }
+
+    private void writeUnitHeader(int iIndex, long lHash1, long lHash2, int iCount) throws IOException {
+        this.doutUnits.writeInt(iIndex);
+        this.doutUnits.writeLong(lHash1);
+        this.doutUnits.writeLong(lHash2);
+        this.doutUnits.writeInt(iCount);
+    }
+
+    private void closeUnits() throws IOException {
+        IOException exFirst = null;
+        for ( Closeable theStream : new Closeable[] { this.dinUnits, this.brUnits, this.doutUnits, this.writerUnits } ) {
+            if (theStream == null) {
+                continue;
+            }
+            try {
+                theStream.close();
+            }
+            catch (IOException ex) {
+                if (exFirst == null) {
+                    exFirst = ex;
+                }
+            }
+        }
+        this.dinUnits = null;
+        this.brUnits = null;
+        this.doutUnits = null;
+        this.writerUnits = null;
+        this.bOldUnit = false;
+        if (exFirst != null) {
+            throw exFirst;
+        }
+    }
+
+    //
+    // Graph...
+    //
+
+    /**
+     * Merge the added and withdrawn statements with the saved graph, write the changes, and save the
+     * new graph.
+     * @param theDelta - Receives the added and deleted statements.
+     * @throws IOException - when the graph cannot be read or written, or the job is cancelled.
+     */
+    public void merge(DeltaWriter theDelta) throws IOException {
+        File fileOldQuads = new File(this.dirState, RDFIncrementalState.strGraphQuads);
+        File fileOldCounts = new File(this.dirState, RDFIncrementalState.strGraphCounts);
+        File fileNewQuads = new File(this.dirWork, RDFIncrementalState.strGraphQuads);
+        File fileNewCounts = new File(this.dirWork, RDFIncrementalState.strGraphCounts);
+        boolean bOldGraph = ( ! this.bInitial && fileOldQuads.exists() && fileOldCounts.exists() );
+
+        // Without changes, the saved graph is the new graph...
+        if ( bOldGraph && this.sorterAdded.getCount() == 0 && this.sorterWithdrawn.getCount() == 0 ) {
+            Files.copy( fileOldQuads.toPath(), fileNewQuads.toPath(), StandardCopyOption.REPLACE_EXISTING );
+            Files.copy( fileOldCounts.toPath(), fileNewCounts.toPath(), StandardCopyOption.REPLACE_EXISTING );
+            this.lDistinct = fileOldCounts.length() / Integer.BYTES;
+            this.bMerged = true;
+            return;
+        }
+
+        InputStream inOldQuads = null;
+        DataInputStream dinOldCounts = null;
+        try ( Writer writerQuads =
+                new BufferedWriter( new OutputStreamWriter( new FileOutputStream(fileNewQuads), StandardCharsets.UTF_8 ), 1 << 16 );
+              DataOutputStream doutCounts =
+                new DataOutputStream( new BufferedOutputStream( new FileOutputStream(fileNewCounts), 1 << 16 ) ) )
+        {
+            Iterator<Quad> iterOld = null;
+            if (bOldGraph) {
+                ParserProfile theProfile =
+                    RiotLib.createParserProfile(
+                        RiotLib.factoryRDF( LabelToNode.createUseLabelEncoded() ), ErrorHandlerFactory.errorHandlerStd, false );
+                inOldQuads = new BufferedInputStream( new FileInputStream(fileOldQuads), 1 << 16 );
+                dinOldCounts = new DataInputStream( new BufferedInputStream( new FileInputStream(fileOldCounts), 1 << 16 ) );
+                iterOld = new LangNQuads( TokenizerText.create().source(inOldQuads).build(), theProfile, StreamRDFLib.sinkNull() );
+            }
+            Iterator<Quad> iterAdded = this.sorterAdded.iterator();
+            Iterator<Quad> iterWithdrawn = this.sorterWithdrawn.iterator();
+            Quad quadOld = RDFIncrementalState.next(iterOld);
+            Quad quadAdded = RDFIncrementalState.next(iterAdded);
+            Quad quadWithdrawn = RDFIncrementalState.next(iterWithdrawn);
+            long lMerged = 0;
+
+            while ( quadOld != null || quadAdded != null || quadWithdrawn != null ) {
+                // Take the least statement and its counts from each source...
+                Quad theQuad = RDFIncrementalState.least( RDFIncrementalState.least(quadOld, quadAdded), quadWithdrawn );
+                long lOldCount = 0;
+                if ( quadOld != null && QuadSorter.theQuadOrder.compare(quadOld, theQuad) == 0 ) {
+                    lOldCount = dinOldCounts.readInt();
+                    quadOld = RDFIncrementalState.next(iterOld);
+                }
+                long lCount = lOldCount;
+                while ( quadAdded != null && QuadSorter.theQuadOrder.compare(quadAdded, theQuad) == 0 ) {
+                    lCount++;
+                    quadAdded = RDFIncrementalState.next(iterAdded);
+                }
+                while ( quadWithdrawn != null && QuadSorter.theQuadOrder.compare(quadWithdrawn, theQuad) == 0 ) {
+                    lCount--;
+                    quadWithdrawn = RDFIncrementalState.next(iterWithdrawn);
+                }
+                if (lCount < 0) {
+                    RDFIncrementalState.logger.warn("WARNING: Incremental export: statement withdrawn more than produced: " + RDFIncrementalState.toLine(theQuad).strip());
+                    lCount = 0;
+                }
+
+                // Write the change and the new count...
+                if ( lOldCount == 0 && lCount > 0 ) {
+                    theDelta.add(theQuad);
+                    this.lAdded++;
+                }
+                else if ( lOldCount > 0 && lCount == 0 ) {
+                    theDelta.delete(theQuad);
+                    this.lDeleted++;
+                }
+                if (lCount > 0) {
+                    writerQuads.write( RDFIncrementalState.toLine(theQuad) );
+                    doutCounts.writeInt( (int) Math.min(lCount, Integer.MAX_VALUE) );
+                    this.lDistinct++;
+                }
+
+                if ( ++lMerged % RDFIncrementalState.iCancelCheck == 0 && this.theJob != null && this.theJob.isCancelled() ) {
+                    throw new InterruptedIOException("Incremental export cancelled.");
+                }
+            }
+        }
+        finally {
+            if (inOldQuads != null) {
+                inOldQuads.close();
+            }
+            if (dinOldCounts != null) {
+                dinOldCounts.close();
+            }
+        }
+        this.bMerged = true;
+        if ( Util.isVerbose(2) ) {
+            RDFIncrementalState.logger.info("Incremental export: " + this.lAdded + " added, " + this.lDeleted + " deleted, " +
+                this.lDistinct + " distinct statements");
+        }
+    }
+
+    /**
+     * Replace the state with the new state.  The graph must be merged first.
+     * @param lHistoryID - The history entry ID the export reflects.
+     * @param strFilter - The fingerprint of the export's row filter.
+     * @param strPatchID - The ID of the export's patch.
+     * @throws IOException - when the state cannot be replaced.
+     */
+    public void commit(long lHistoryID, String strFilter, String strPatchID) throws IOException {
+        if ( ! this.bMerged ) {
+            throw new IOException("Incremental export: commit before merge");
+        }
+        this.sorterAdded.close();
+        this.sorterWithdrawn.close();
+        this.writeState(this.dirWork, lHistoryID, strFilter, strPatchID);
+
+        // Set the last state aside, move the new state in, and remove the last...
+        File dirAside = new File( this.dirState.getParentFile(), this.dirState.getName() + ".old" );
+        if ( this.dirState.exists() ) {
+            Files.move( this.dirState.toPath(), dirAside.toPath(), StandardCopyOption.ATOMIC_MOVE );
+        }
+        Files.move( this.dirWork.toPath(), this.dirState.toPath(), StandardCopyOption.ATOMIC_MOVE );
+        FileUtils.deleteQuietly(dirAside);
+    }
+
+    /**
+     * Record a new history entry and patch for an unchanged state (see isCurrent()).
+     * @param lHistoryID - The history entry ID the export reflects.
+     * @param strFilter - The fingerprint of the export's row filter.
+     * @param strPatchID - The ID of the export's (empty) patch.
+     * @throws IOException - when the state cannot be written.
+     */
+    public void commitCurrent(long lHistoryID, String strFilter, String strPatchID) throws IOException {
+        this.lDistinct = new File(this.dirState, RDFIncrementalState.strGraphCounts).length() / Integer.BYTES;
+        this.writeState(this.dirState, lHistoryID, strFilter, strPatchID);
+    }
+
+    private void writeState(File dirTarget, long lHistoryID, String strFilter, String strPatchID) throws IOException {
+        Map<String, Object> mapState = new LinkedHashMap<String, Object>();
+        mapState.put("historyID", lHistoryID);
+        mapState.put("seed", this.strSeed);
+        mapState.put("filter", strFilter);
+        mapState.put("patch", strPatchID);
+        mapState.put("saved", System.currentTimeMillis());
+        mapState.put("statements", this.lDistinct);
+
+        File fileTemp = new File(dirTarget, RDFIncrementalState.strStateFile + ".tmp");
+        ParsingUtilities.mapper.writerWithDefaultPrettyPrinter().writeValue(fileTemp, mapState);
+        Files.move( fileTemp.toPath(), new File(dirTarget, RDFIncrementalState.strStateFile).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+    }
+
+    //
+    // Counts...
+    //
+
+    public long getUnits() {
+        return this.lUnits;
+    }
+
+    public long getUnitsChanged() {
+        return this.lUnitsChanged;
+    }
+
+    public long getUnitsNew() {
+        return this.lUnitsNew;
+    }
+
+    public long getUnitsRemoved() {
+        return this.lUnitsRemoved;
+    }
+
+    public long getAdded() {
+        return this.lAdded;
+    }
+
+    public long getDeleted() {
+        return this.lDeleted;
+    }
+
+    public long getDistinct() {
+        return this.lDistinct;
+    }
+
+    /**
+     * Release the state: close any open units, remove the sort runs, and remove an uncommitted work
+     * directory.
+     */
+    @Override
+    public void close() {
+        try {
+            this.closeUnits();
+        }
+        catch (IOException ex) {
+            // No problem: the work is removed next...
+        }
+        this.sorterAdded.close();
+        this.sorterWithdrawn.close();
+        FileUtils.deleteQuietly(this.dirWork);
+    }
+
+    /**
+     * Compute the fingerprint of everything common to a project's units: the transform, the columns
+     * it reads cells by, and the row or record mode.  A change to any changes every unit.
+     * @param theProject - The project.
+     * @param theTransform - The project's transform.
+     * @return String - The fingerprint.
+     * @throws IOException - when the transform cannot be written.
+     */
+    static public String seed(Project theProject, RDFTransform theTransform) throws IOException {
+        StringWriter theStringWriter = new StringWriter();
+        JsonGenerator jsonWriter = ParsingUtilities.mapper.getFactory().createGenerator(theStringWriter);
+        theTransform.write(jsonWriter);
+        jsonWriter.flush();
+        StringBuilder strbSeed = new StringBuilder( theStringWriter.toString() );
+        for ( Column theColumn : theProject.columnModel.columns ) {
+            strbSeed.append('|').append( theColumn.getName() ).append('@').append( theColumn.getCellIndex() );
+        }
+        strbSeed.append( theProject.recordModel.hasRecords() ? "|records" : "|rows" );
+        return RDFIncrementalState.hash( strbSeed.toString() );
+    }
+
+    /**
+     * Compute the 128 bit fingerprint of a string as hex.
+     * @param strValue - The string.  When null, fingerprints as empty.
+     * @return String - The fingerprint.
+     */
+    static public String hash(String strValue) {
+        byte[] abValue = ( strValue == null ? "" : strValue ).getBytes(StandardCharsets.UTF_8);
+        long[] alHash = MurmurHash3.hash128x64(abValue, 0, abValue.length, 0);
+        return String.format("%016x%016x", alHash[0], alHash[1]);
+    }
+
+    /**
+     * Format a statement as an N-Quads line.
+     * @param theQuad - The statement.
+     * @return String - The line with its end of line.
+     */
+    static public String toLine(Quad theQuad) {
+        Node nodeGraph = theQuad.getGraph();
+        String strLine = NodeFmtLib.strNodesNT( theQuad.getSubject(), theQuad.getPredicate(), theQuad.getObject() );
+        if ( nodeGraph != null && ! Quad.isDefaultGraph(nodeGraph) ) {
+            strLine += " " + NodeFmtLib.strNT(nodeGraph);
+        }
+        return strLine + " .\n";
+    }
+
+    static private Quad next(Iterator<Quad> iterQuads) {
+        return ( iterQuads != null && iterQuads.hasNext() ? iterQuads.next() : null );
+    }
+
+    static private Quad least(Quad quad1, Quad quad2) {
+        if (quad1 == null) {
+            return quad2;
+        }
+        if (quad2 == null) {
+            return quad1;
+        }
+        return ( QuadSorter.theQuadOrder.compare(quad1, quad2) <= 0 ? quad1 : quad2 );
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ *  Class RDFParallelEvaluator
+ *
+ *  Evaluates the RDF Transform over ranges of rows or records on a fork-join
+ *  pool and writes the results in the original row / record order.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.operation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import org.openrefine.rdf.model.EvaluationContext;
+import org.openrefine.rdf.model.ResourceNode;
+import org.openrefine.rdf.model.Util;
+
+import com.google.refine.browsing.FilteredRecords;
+import com.google.refine.browsing.FilteredRows;
+import com.google.refine.browsing.RecordVisitor;
+import com.google.refine.browsing.RowVisitor;
+import com.google.refine.model.Project;
+import com.google.refine.model.Record;
+import com.google.refine.model.Row;
+
+import org.apache.jena.riot.lang.CollectorStreamQuads;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RDFParallelEvaluator<br />
+ *<br />
+ *  The filtered rows (or records) are gathered into an index space and split into fixed size
+ *  ranges.  Each range is evaluated by a pool worker into its own statement buffer using the
+ *  visitor's shared (read-only) node tree and plan with the worker's own evaluation context.  The
+ *  calling thread joins the ranges in submission order and replays each buffer to the visitor's
+ *  output, so the output is in the same order as a serial visitation and the visitor's writer is
+ *  only used by one thread.<br />
+ *<br />
+ *  The number of ranges in flight is bounded to limit the buffered statements held in memory.<br />
+ *<br />
+ *  Progress is reported to the visitor's export job as each range is written.  A cancelled job
+ *  stops the workers at their next row or record and the writing at the next range.
+ */
+public class RDFParallelEvaluator {
+    private final static Logger logger = LoggerFactory.getLogger("RDFT:ParallelEval");
+
+    static private final int iRangeSize = 256;   // ...rows or records per range
+    static private final int iRangesPerThread = 4; // ...ranges in flight per thread
+
+    @FunctionalInterface
+    private interface Evaluation {
+        void evaluate(EvaluationContext theContext, ResourceNode root, int iIndex);
+    }
+
+    static private class RangeResult {
+        private final int iFrom;
+        private final int iTo;
+        private final List<Quad> listQuads;
+        private final boolean bFailed;
+
+        RangeResult(int iFrom, int iTo, List<Quad> listQuads, boolean bFailed) {
+            this.iFrom = iFrom;
+            this.iTo = iTo;
+            this.listQuads = listQuads;
+            this.bFailed = bFailed;
+        }
+    }
+
+    private final RDFVisitor theVisitor;
+    private final int iThreads;
+    private final ConcurrentLinkedQueue<EvaluationContext> queueContexts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger iFailedFrom = new AtomicInteger(Integer.MAX_VALUE); // ...first failed range
+
+    public RDFParallelEvaluator(RDFVisitor theVisitor, int iThreads) {
+        this.theVisitor = theVisitor;
+        this.iThreads = Math.max(iThreads, 1);
+    }
+
+    /**
+     * Evaluate the filtered rows in parallel.
+     * @param theProject - The project holding the rows.
+     * @param filteredRows - The engine's filtered rows.
+     */
+    public void evaluateRows(Project theProject, FilteredRows filteredRows) {
+        // Gather the filtered row indices...
+        final int[][] aiRows = { new int[1024] };
+        final int[] aiCount = { 0 };
+        filteredRows.accept(theProject,
+            new RowVisitor() {
+                public void start(Project theProject) { }
+                public boolean visit(Project theProject, int iRowIndex, Row theRow) {
+                    if ( aiCount[0] == aiRows[0].length ) {
+                        aiRows[0] = Arrays.copyOf(aiRows[0], aiCount[0] * 2);
+                    }
+                    aiRows[0][ aiCount[0]++ ] = iRowIndex;
+                    return false;
+                }
+                public void end(Project theProject) { }
+            }
+        );
+        if ( Util.isVerbose(3) ) RDFParallelEvaluator.logger.info("Evaluating " + aiCount[0] + " rows on " + this.iThreads + " threads...");
+
+        final int[] aiRowIndices = aiRows[0];
+        this.evaluate(theProject, aiCount[0], false,
+            (theContext, root, iIndex) ->
+                root.createStatements(theContext, aiRowIndices[iIndex]),
+            (iIndex) -> 1
+        );
+    }
+
+    /**
+     * Evaluate the filtered records in parallel.
+     * @param theProject - The project holding the records.
+     * @param filteredRecords - The engine's filtered records.
+     */
+    public void evaluateRecords(Project theProject, FilteredRecords filteredRecords) {
+        // Gather the filtered records...
+        final List<Record> listRecords = new ArrayList<Record>();
+        filteredRecords.accept(theProject,
+            new RecordVisitor() {
+                public void start(Project theProject) { }
+                public boolean visit(Project theProject, Record theRecord) {
+                    listRecords.add(theRecord);
+                    return false;
+                }
+                public void end(Project theProject) { }
+            }
+        );
+        if ( Util.isVerbose(3) ) RDFParallelEvaluator.logger.info("Evaluating " + listRecords.size() + " records on " + this.iThreads + " threads...");
+
+        this.evaluate(theProject, listRecords.size(), true,
+            (theContext, root, iIndex) ->
+                root.createStatements(theContext, listRecords.get(iIndex)),
+            (iIndex) -> listRecords.get(iIndex).toRowIndex - listRecords.get(iIndex).fromRowIndex
+        );
+    }
+
+    private void evaluate(Project theProject, int iSize, boolean bRecords, Evaluation theEvaluation, IntUnaryOperator theRowCount) {
+        this.theVisitor.start(theProject);
+        if (this.theVisitor.theJob != null) {
+            this.theVisitor.theJob.setTotal(iSize, bRecords);
+        }
+
+        ForkJoinPool thePool = new ForkJoinPool(this.iThreads);
+        Deque< ForkJoinTask<RangeResult> > dequeRanges = new ArrayDeque<>();
+        int iMaxRanges = this.iThreads * RDFParallelEvaluator.iRangesPerThread;
+        int iNext = 0;
+        try {
+            while (true) {
+                // Keep the pool busy up to the in-flight bound...
+                while ( iNext < iSize && dequeRanges.size() < iMaxRanges && iNext < this.iFailedFrom.get() &&
+                        ! this.theVisitor.isCancelled() )
+                {
+                    final int iFrom = iNext;
+                    final int iTo = Math.min(iNext + RDFParallelEvaluator.iRangeSize, iSize);
+                    dequeRanges.add( thePool.submit( () -> this.evaluateRange(theProject, iFrom, iTo, theEvaluation) ) );
+                    iNext = iTo;
+                }
+                if ( dequeRanges.isEmpty() ) {
+                    break;
+                }
+
+                // Write the oldest range...
+                RangeResult theResult = dequeRanges.poll().join();
+                if ( this.theVisitor.isCancelled() ) {
+                    break; // ...a cancelled range may be partial
+                }
+                for (Quad theQuad : theResult.listQuads) {
+                    this.theVisitor.theSink.quad(theQuad);
+                }
+                long lRows = 0;
+                for (int iIndex = theResult.iFrom; iIndex < theResult.iTo; iIndex++) {
+                    lRows += theRowCount.applyAsInt(iIndex);
+                }
+                this.theVisitor.reportVisited( bRecords ? theResult.iTo - theResult.iFrom : 0, lRows );
+                if (theResult.bFailed) {
+                    break; // ...stop at the failed range like a serial visitation
+                }
+                if ( this.theVisitor.isLimitReached() ) {
+                    break; // ...stop at the export limit like a serial visitation
+                }
+            }
+        }
+        finally {
+            for ( ForkJoinTask<RangeResult> theTask : dequeRanges ) {
+                theTask.cancel(true);
+            }
+            thePool.shutdownNow();
+            this.theVisitor.end(theProject);
+        }
+    }
+
+    private RangeResult evaluateRange(Project theProject, int iFrom, int iTo, Evaluation theEvaluation) {
+        EvaluationContext theContext = this.queueContexts.poll();
+        if (theContext == null) {
+            theContext = new EvaluationContext( theProject, this.theVisitor.getPlan() );
+        }
+
+        CollectorStreamQuads theBuffer = new CollectorStreamQuads();
+        theContext.setOutput(theBuffer);
+        boolean bRangeFailed = false;
+        try {
+            // NOTE: Ranges after a failed range are abandoned, earlier ranges complete.
+            //      All ranges are abandoned on cancellation.
+            for (int iIndex = iFrom; iIndex < iTo && iFrom < this.iFailedFrom.get() && ! this.theVisitor.isCancelled(); iIndex++) {
+                for ( ResourceNode root : theContext.getPlan().getRoots() ) {
+                    theEvaluation.evaluate(theContext, root, iIndex);
+                }
+            }
+        }
+        catch (Exception ex) {
+            RDFParallelEvaluator.logger.error("ERROR: Visit Issue: " + ex.getMessage(), ex);
+            if ( Util.isVerbose() ) ex.printStackTrace();
+            this.iFailedFrom.accumulateAndGet(iFrom, Math::min);
+            bRangeFailed = true;
+        }
+        this.queueContexts.add(theContext);
+
+        return new RangeResult(iFrom, iTo, theBuffer.getCollected(), bRangeFailed);
+    }
+}
@@ -28,6 +28,8 @@ import com.google.refine.browsing.RecordVisitor;
 import com.google.refine.model.Project;
 import com.google.refine.model.Record;
 
+import org.apache.jena.riot.system.StreamRDF;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,11 +40,31 @@ public abstract class RDFRecordVisitor extends RDFVisitor implements RecordVisit
         super(theTransform);
     }
 
+    public RDFRecordVisitor(RDFTransform theTransform, StreamRDF theWriter) {
+        super(theTransform, theWriter);
+    }
+
     abstract public boolean visit(Project theProject, Record theRecord);
     abstract public boolean visit(Project theProject, int iSortedStartRowIndex, Record theRecord);
 
     public void buildDSGraph(Project theProject, Engine theEngine) {
         FilteredRecords filteredRecords = theEngine.getFilteredRecords();
+        if (this.theJob != null) {
+            // NOTE: The filtered count is unknown until visited, so the ETA starts from the project's
+            //      count.  The parallel evaluator sets the exact count.
+            this.theJob.setTotal(theProject.recordModel.getRecordCount(), true);
+        }
+        int iThreads = Util.getExportThreads();
+        if ( this.isParallel() && iThreads > 1 && ! this.thePlan.isParallelSafe() ) {
+            if ( Util.isVerbose(2) ) RDFRecordVisitor.logger.info("buildDSGraph: an expression is not GREL: evaluate serially");
+            iThreads = 1;
+        }
+        if ( this.isParallel() && iThreads > 1 ) {
+            if ( Util.isVerbose(3) ) RDFRecordVisitor.logger.info("buildDSGraph: evaluate matching filtered records in parallel");
+            // NOTE: The evaluator calls this visitor's start() and end() methods.
+            new RDFParallelEvaluator(this, iThreads).evaluateRecords(theProject, filteredRecords);
+            return;
+        }
         if ( Util.isVerbose(3) ) RDFRecordVisitor.logger.info("buildDSGraph: visit matching filtered records");
         // NOTE: The filteredRecords.accept() method calls this visitor's start() and end() methods.
         //      This visitor's end() method closes the DatasetGraph.
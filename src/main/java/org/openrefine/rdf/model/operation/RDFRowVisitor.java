@@ -28,6 +28,8 @@ import com.google.refine.browsing.RowVisitor;
 import com.google.refine.model.Project;
 import com.google.refine.model.Row;
 
+import org.apache.jena.riot.system.StreamRDF;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,11 +40,31 @@ public abstract class RDFRowVisitor extends RDFVisitor implements RowVisitor {
         super(theTransform);
     }
 
+    public RDFRowVisitor(RDFTransform theTransform, StreamRDF theWriter) {
+        super(theTransform, theWriter);
+    }
+
     abstract public boolean visit(Project theProject, int iRowIndex, Row theRow);
     abstract public boolean visit(Project theProject, int iRowIndex, int iSortedRowIndex, Row theRow);
 
     public void buildDSGraph(Project theProject, Engine theEngine) {
         FilteredRows filteredRows = theEngine.getAllFilteredRows();
+        if (this.theJob != null) {
+            // NOTE: The filtered count is unknown until visited, so the ETA starts from the project's
+            //      count.  The parallel evaluator sets the exact count.
+            this.theJob.setTotal(theProject.rows.size(), false);
+        }
+        int iThreads = Util.getExportThreads();
+        if ( this.isParallel() && iThreads > 1 && ! this.thePlan.isParallelSafe() ) {
+            if ( Util.isVerbose(2) ) RDFRowVisitor.logger.info("buildDSGraph: an expression is not GREL: evaluate serially");
+            iThreads = 1;
+        }
+        if ( this.isParallel() && iThreads > 1 ) {
+            if ( Util.isVerbose(3) ) RDFRowVisitor.logger.info("buildDSGraph: evaluate matching filtered rows in parallel");
+            // NOTE: The evaluator calls this visitor's start() and end() methods.
+            new RDFParallelEvaluator(this, iThreads).evaluateRows(theProject, filteredRows);
+            return;
+        }
         if ( Util.isVerbose(3) ) RDFRowVisitor.logger.info("buildDSGraph: visit matching filtered rows");
         // NOTE: The filteredRows.accept() method calls this visitor's start() and end() methods.
         //      This visitor's end() method closes the DatasetGraph.
@@ -111,6 +111,23 @@ public class RDFTransformChange implements Change {
         if ( Util.isDebugMode() ) RDFTransformChange.logger.info("DEBUG: apply(): Called.");
     }
 
+    public RDFTransform getCurrentTransform() {
+        return this.theCurrentTransform;
+    }
+
+    public RDFTransform getPreviousTransform() {
+        return this.thePreviousTransform;
+    }
+
+    /**
+     * Compare the previous and current transforms to find the changed mappings.  See RDFTransformDiff.
+     * @return RDFTransformDiff - The changed mappings.
+     * @throws IOException - when a transform cannot be compared.
+     */
+    public RDFTransformDiff diff() throws IOException {
+        return RDFTransformDiff.compare(this.thePreviousTransform, this.theCurrentTransform);
+    }
+
     /**
      * Apply the lastest HistoryEntry.
      * @param theProject - the Project instance to which the Change applies.
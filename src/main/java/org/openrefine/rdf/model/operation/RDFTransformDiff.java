@@ -0,0 +1,600 @@
+/*
+ *  Class RDFTransformDiff
+ *
+ *  The statements changed by a change of RDF Transform.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.operation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.Property;
+import org.openrefine.rdf.model.ResourceNode;
+import org.openrefine.rdf.model.TransformPlan;
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.stream.QuadSorter;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+import com.google.refine.util.ParsingUtilities;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RDFTransformDiff<br />
+ *<br />
+ *  Compares the previous and current RDF Transforms of an RDFTransformChange to find the mappings
+ *  that changed.  The roots are matched by their JSON and the keys of their blank nodes (see
+ *  TransformPlan.appendBlanks()): an equal root is unchanged.  A root matching a previous root by its
+ *  subject (everything but its type and property mappings) is changed by the types and properties it
+ *  dropped and gained.  Other roots are wholly removed or added.  A change to the Base IRI or the
+ *  namespaces changes every root.<br />
+ *<br />
+ *  The changes restrict the full plans of the transforms (see TransformPlan.restrict()): the
+ *  removed mappings on the previous transform's plan, and the added and kept mappings on the
+ *  current transform's plan.  Evaluating only the removed and added mappings over a project gives
+ *  the statements to delete and add.  A statement to delete is kept if a kept mapping still produces
+ *  it, so the kept mappings are evaluated only when there are statements to delete.  An added
+ *  statement a kept mapping already produces is not checked: adding it again changes nothing.<br />
+ *<br />
+ *  NOTE: A restricted plan keeps the blank node keys and paths of its full plan, so a changed
+ *      statement holds the same blank node (or skolem IRI) as the export of its transform.  A store
+ *      relabels the blank nodes it loads, so statements with blank nodes are reported unless the
+ *      blank nodes are skolemized.
+ */
+public class RDFTransformDiff {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:RDFTransformDiff");
+
+    static private final int iCancelCheck = 65536; // ...statements merged between cancellation checks
+
+    private final RDFTransform transformPrevious;
+    private final RDFTransform transformCurrent;
+    private final Map<ResourceNode, Set<Object>> mapRemoved = new IdentityHashMap<>(); // ...on the previous roots
+    private final Map<ResourceNode, Set<Object>> mapAdded = new IdentityHashMap<>(); // ...on the current roots
+    private final Map<ResourceNode, Set<Object>> mapKept = new IdentityHashMap<>(); // ...on the current roots
+    private int iRootsChanged = 0;
+    private int iMappingsChanged = 0;
+    private long lAdded = 0;
+    private long lDeleted = 0;
+    private long lBlankNodes = 0;
+
+    /**
+     * Compare the transforms of a change.
+     * @param transformPrevious - The previous transform.  When null, everything is added.
+     * @param transformCurrent - The current transform.  When null, everything is removed.
+     * @return RDFTransformDiff - The changed mappings.
+     * @throws IOException - when a transform cannot be written or read.
+     */
+    static public RDFTransformDiff compare(RDFTransform transformPrevious, RDFTransform transformCurrent)
+            throws IOException
+    {
+        return new RDFTransformDiff(transformPrevious, transformCurrent);
+    }
+
+    private RDFTransformDiff(RDFTransform transformPrevious, RDFTransform transformCurrent)
+            throws IOException
+    {
+        this.transformPrevious = transformPrevious;
+        this.transformCurrent = transformCurrent;
+        ObjectNode jnodePrevious = RDFTransformDiff.toJSON(transformPrevious);
+        ObjectNode jnodeCurrent = RDFTransformDiff.toJSON(transformCurrent);
+        List<MappedRoot> listPrevious = RDFTransformDiff.getRoots(transformPrevious, jnodePrevious);
+        List<MappedRoot> listCurrent = RDFTransformDiff.getRoots(transformCurrent, jnodeCurrent);
+        // NOTE: A blank node's key depends on the blank nodes and columns compiled before it, so an
+        //      unchanged mapping may still name new blank nodes.
+
+        // The IRIs of every mapping depend on the Base IRI and namespaces...
+        boolean bGlobal =
+            ( jnodePrevious == null || jnodeCurrent == null ||
+              ! jnodePrevious.path(Util.gstrBaseIRI).equals( jnodeCurrent.path(Util.gstrBaseIRI) ) ||
+              ! jnodePrevious.path(Util.gstrNamespaces).equals( jnodeCurrent.path(Util.gstrNamespaces) ) );
+        if (bGlobal) {
+            for (MappedRoot theRoot : listPrevious) {
+                this.mapRemoved.put( theRoot.theRoot, theRoot.getMappings() );
+            }
+            for (MappedRoot theRoot : listCurrent) {
+                this.mapAdded.put( theRoot.theRoot, theRoot.getMappings() );
+            }
+            this.iRootsChanged = listPrevious.size() + listCurrent.size();
+            this.iMappingsChanged = this.iRootsChanged;
+        }
+        else {
+            // Equal roots are unchanged...
+            List<MappedRoot> listRemaining = new ArrayList<MappedRoot>(listPrevious);
+            List<MappedRoot> listNew = new ArrayList<MappedRoot>();
+            for (MappedRoot theRoot : listCurrent) {
+                if ( RDFTransformDiff.removeMatch(listRemaining, theRoot, false) != null ) {
+                    this.mapKept.put( theRoot.theRoot, theRoot.getMappings() );
+                }
+                else {
+                    listNew.add(theRoot);
+                }
+            }
+
+            // Roots with the same subject change by their mappings...
+            for (MappedRoot theRoot : listNew) {
+                MappedRoot theMatch = RDFTransformDiff.removeMatch(listRemaining, theRoot, true);
+                this.iRootsChanged++;
+                if (theMatch == null) {
+                    this.mapAdded.put( theRoot.theRoot, theRoot.getMappings() );
+                    this.iMappingsChanged++;
+                    continue;
+                }
+                Set<Object> setRemoved = RDFTransformDiff.createMappings();
+                Set<Object> setAdded = RDFTransformDiff.createMappings();
+                Set<Object> setKept = RDFTransformDiff.createMappings();
+                this.splitMappings(theMatch.listTypes, theRoot.listTypes, setRemoved, setAdded, setKept);
+                this.splitMappings(theMatch.listProperties, theRoot.listProperties, setRemoved, setAdded, setKept);
+                RDFTransformDiff.addMapped(this.mapRemoved, theMatch.theRoot, setRemoved);
+                RDFTransformDiff.addMapped(this.mapAdded, theRoot.theRoot, setAdded);
+                RDFTransformDiff.addMapped(this.mapKept, theRoot.theRoot, setKept);
+            }
+
+            // Other previous roots are removed...
+            for (MappedRoot theRoot : listRemaining) {
+                this.mapRemoved.put( theRoot.theRoot, theRoot.getMappings() );
+            }
+            this.iRootsChanged += listRemaining.size();
+            this.iMappingsChanged += listRemaining.size();
+        }
+
+        if ( Util.isVerbose(2) ) {
+            RDFTransformDiff.logger.info("Transform change: " + this.iRootsChanged + " roots changed" +
+                ( bGlobal ? " (Base IRI or namespaces changed)" : "" ) + ": " +
+                this.mapRemoved.size() + " removed, " + this.mapAdded.size() + " added, " + this.mapKept.size() + " kept");
+        }
+    }
+
+    /**
+     * Report whether the transforms map alike: nothing to evaluate.
+     * @return boolean - true when no mapping changed.
+     */
+    public boolean isEmpty() {
+        return ( this.mapRemoved.isEmpty() && this.mapAdded.isEmpty() );
+    }
+
+    public int getRootsChanged() {
+        return this.iRootsChanged;
+    }
+
+    public int getMappingsChanged() {
+        return this.iMappingsChanged;
+    }
+
+    public long getAdded() {
+        return this.lAdded;
+    }
+
+    public long getDeleted() {
+        return this.lDeleted;
+    }
+
+    public long getBlankNodes() {
+        return this.lBlankNodes;
+    }
+
+    /**
+     * Evaluate the changed mappings over a project and write the statements to delete and add.
+     * @param theProject - The project.
+     * @param theEngine - The engine filtering the rows or records.
+     * @param dirWork - A directory for sorting.  It should be empty and is left empty.
+     * @param theDelta - Receives the added and deleted statements.
+     * @param theJob - The export job for progress and cancellation.  May be null.
+     * @throws IOException - when the statements cannot be sorted or written, or the job is cancelled.
+     */
+    public void write(Project theProject, Engine theEngine, File dirWork,
+                      RDFIncrementalState.DeltaWriter theDelta, RDFExportJob theJob)
+            throws IOException
+    {
+        if ( this.isEmpty() ) {
+            return;
+        }
+        int iRunSize = Util.getPrettySpillLimit();
+        QuadSorter sorterRemoved = new QuadSorter(dirWork, iRunSize);
+        QuadSorter sorterAdded = new QuadSorter(dirWork, iRunSize);
+        QuadSorter sorterDeleted = new QuadSorter(dirWork, iRunSize);
+        QuadSorter sorterKept = new QuadSorter(dirWork, iRunSize);
+        try {
+            RDFTransformDiff.evaluate(theProject, theEngine, this.transformPrevious, this.mapRemoved, sorterRemoved, theJob);
+            RDFTransformDiff.evaluate(theProject, theEngine, this.transformCurrent, this.mapAdded, sorterAdded, theJob);
+
+            // Add the new statements and hold the dropped statements...
+            boolean bCheckKept = ! this.mapKept.isEmpty();
+            Iterator<Quad> iterRemoved = new DistinctIterator( sorterRemoved.iterator() );
+            Iterator<Quad> iterAdded = new DistinctIterator( sorterAdded.iterator() );
+            Quad quadRemoved = RDFTransformDiff.next(iterRemoved);
+            Quad quadAdded = RDFTransformDiff.next(iterAdded);
+            long lMerged = 0;
+            while ( quadRemoved != null || quadAdded != null ) {
+                int iOrder = ( quadRemoved == null ?  1 :
+                               quadAdded   == null ? -1 : QuadSorter.theQuadOrder.compare(quadRemoved, quadAdded) );
+                if (iOrder == 0) {
+                    quadRemoved = RDFTransformDiff.next(iterRemoved);
+                    quadAdded = RDFTransformDiff.next(iterAdded);
+                }
+                else if (iOrder < 0) {
+                    if (bCheckKept) {
+                        sorterDeleted.add(quadRemoved);
+                    }
+                    else {
+                        this.delete(theDelta, quadRemoved);
+                    }
+                    quadRemoved = RDFTransformDiff.next(iterRemoved);
+                }
+                else {
+                    this.add(theDelta, quadAdded);
+                    quadAdded = RDFTransformDiff.next(iterAdded);
+                }
+                RDFTransformDiff.checkCancelled(++lMerged, theJob);
+            }
+
+            // Delete the dropped statements not still produced by a kept mapping...
+            if ( bCheckKept && sorterDeleted.getCount() > 0 ) {
+                RDFTransformDiff.evaluate(theProject, theEngine, this.transformCurrent, this.mapKept, sorterKept, theJob);
+                Iterator<Quad> iterDeleted = sorterDeleted.iterator(); // ...already distinct
+                Iterator<Quad> iterKept = new DistinctIterator( sorterKept.iterator() );
+                Quad quadKept = RDFTransformDiff.next(iterKept);
+                while ( iterDeleted.hasNext() ) {
+                    Quad quadDeleted = iterDeleted.next();
+                    while ( quadKept != null && QuadSorter.theQuadOrder.compare(quadKept, quadDeleted) < 0 ) {
+                        quadKept = RDFTransformDiff.next(iterKept);
+                    }
+                    if ( quadKept == null || QuadSorter.theQuadOrder.compare(quadKept, quadDeleted) != 0 ) {
+                        this.delete(theDelta, quadDeleted);
+                    }
+                    RDFTransformDiff.checkCancelled(++lMerged, theJob);
+                }
+            }
+        }
+        finally {
+            sorterRemoved.close();
+            sorterAdded.close();
+            sorterDeleted.close();
+            sorterKept.close();
+        }
+        if (this.lBlankNodes > 0) {
+            RDFTransformDiff.logger.warn("WARNING: Transform change: " + this.lBlankNodes + " changed statements hold blank nodes " +
+                "which a store cannot match to the exported statements: see the Export Skolemize preference");
+        }
+        if ( Util.isVerbose(2) ) {
+            RDFTransformDiff.logger.info("Transform change: " + this.lAdded + " added, " + this.lDeleted + " deleted");
+        }
+    }
+
+    private void add(RDFIncrementalState.DeltaWriter theDelta, Quad theQuad) throws IOException {
+        theDelta.add(theQuad);
+        this.lAdded++;
+        this.countBlankNodes(theQuad);
+    }
+
+    private void delete(RDFIncrementalState.DeltaWriter theDelta, Quad theQuad) throws IOException {
+        theDelta.delete(theQuad);
+        this.lDeleted++;
+        this.countBlankNodes(theQuad);
+    }
+
+    private void countBlankNodes(Quad theQuad) {
+        if ( theQuad.getSubject().isBlank() || theQuad.getObject().isBlank() ) {
+            this.lBlankNodes++;
+        }
+    }
+
+    /*
+     *  Method splitMappings() splits the mappings of matched roots into the mappings only in the
+     *  previous root (removed), only in the current root (added), and in both (kept).
+     */
+    private void splitMappings(List<Mapping> listPrevious, List<Mapping> listCurrent,
+                               Set<Object> setRemoved, Set<Object> setAdded, Set<Object> setKept)
+    {
+        List<Mapping> listRemaining = new ArrayList<Mapping>(listPrevious);
+        for (Mapping theMapping : listCurrent) {
+            Mapping theMatch = null;
+            for (Mapping theOld : listRemaining) {
+                if ( theOld.jnodeMapping.equals(theMapping.jnodeMapping) && theOld.strBlanks.equals(theMapping.strBlanks) ) {
+                    theMatch = theOld;
+                    break;
+                }
+            }
+            if (theMatch != null) {
+                listRemaining.remove(theMatch);
+                setKept.add(theMapping.objMapping);
+            }
+            else {
+                setAdded.add(theMapping.objMapping);
+                this.iMappingsChanged++;
+            }
+        }
+        for (Mapping theOld : listRemaining) {
+            setRemoved.add(theOld.objMapping);
+        }
+        this.iMappingsChanged += listRemaining.size();
+    }
+
+    /*
+     *  Method evaluate() sorts the statements of some mappings of a transform over a project.
+     */
+    static private void evaluate(Project theProject, Engine theEngine, RDFTransform theTransform,
+                                 Map<ResourceNode, Set<Object>> mapMappings, QuadSorter theSorter, RDFExportJob theJob)
+            throws IOException
+    {
+        if ( theTransform == null || mapMappings.isEmpty() ) {
+            return;
+        }
+        SorterStreamRDF theWriter = new SorterStreamRDF(theSorter);
+        RDFVisitor theVisitor = null;
+        if ( theProject.recordModel.hasRecords() ) {
+            theVisitor = new ExportRDFRecordVisitor(theTransform, theWriter);
+        }
+        else {
+            theVisitor = new ExportRDFRowVisitor(theTransform, theWriter);
+        }
+        theVisitor.restrictPlan(mapMappings); // ...on the full plan for its blank node keys and paths
+        theVisitor.setDeduplicate(false); // ...the merge skips repeats
+        theVisitor.setJob(theJob);
+        theVisitor.buildDSGraph(theProject, theEngine);
+        if (theWriter.exFailure != null) {
+            throw theWriter.exFailure.getCause();
+        }
+        if ( theJob != null && theJob.isCancelled() ) {
+            throw new InterruptedIOException("Transform change cancelled.");
+        }
+        if ( theVisitor.isLimitReached() ) {
+            throw new IOException("Transform change reached the export limit of " + Util.getExportLimit() + " statements");
+        }
+    }
+
+    static private void checkCancelled(long lMerged, RDFExportJob theJob) throws InterruptedIOException {
+        if ( lMerged % RDFTransformDiff.iCancelCheck == 0 && theJob != null && theJob.isCancelled() ) {
+            throw new InterruptedIOException("Transform change cancelled.");
+        }
+    }
+
+    static private Quad next(Iterator<Quad> iterQuads) {
+        return ( iterQuads.hasNext() ? iterQuads.next() : null );
+    }
+
+    static private ObjectNode toJSON(RDFTransform theTransform) throws IOException {
+        if (theTransform == null) {
+            return null;
+        }
+        StringWriter theStringWriter = new StringWriter();
+        JsonGenerator jsonWriter = ParsingUtilities.mapper.getFactory().createGenerator(theStringWriter);
+        theTransform.write(jsonWriter);
+        jsonWriter.flush();
+        return ParsingUtilities.evaluateJsonStringToObjectNode( theStringWriter.toString() );
+    }
+
+    /*
+     *  Method getRoots() pairs the roots of a transform with their JSON and, by the transform's full
+     *  plan, their blank node keys.
+     */
+    static private List<MappedRoot> getRoots(RDFTransform theTransform, ObjectNode jnodeTransform) {
+        List<MappedRoot> listRoots = new ArrayList<MappedRoot>();
+        if (jnodeTransform != null) {
+            List<ResourceNode> listNodes = theTransform.getRoots();
+            TransformPlan thePlan =
+                TransformPlan.compile( listNodes, theTransform.getBaseIRI(), RDFVisitor.createPrefixes(theTransform) );
+            int iRoot = 0;
+            for ( JsonNode jnodeRoot : jnodeTransform.path(Util.gstrSubjectMappings) ) {
+                if ( iRoot >= listNodes.size() ) {
+                    break;
+                }
+                ResourceNode theRoot = listNodes.get(iRoot++);
+                if ( jnodeRoot.isObject() ) {
+                    listRoots.add( new MappedRoot( theRoot, (ObjectNode) jnodeRoot, thePlan ) );
+                }
+            }
+        }
+        return listRoots;
+    }
+
+    /*
+     *  Method removeMatch() removes the first root equal to a root (or to its subject).
+     */
+    static private MappedRoot removeMatch(List<MappedRoot> listRoots, MappedRoot theMatch, boolean bSubject) {
+        Iterator<MappedRoot> iterRoots = listRoots.iterator();
+        while ( iterRoots.hasNext() ) {
+            MappedRoot theRoot = iterRoots.next();
+            boolean bMatch =
+                ( bSubject ?
+                    theRoot.jnodeSubject.equals(theMatch.jnodeSubject) && theRoot.strSubjectBlanks.equals(theMatch.strSubjectBlanks) :
+                    theRoot.jnodeRoot.equals(theMatch.jnodeRoot) && theRoot.strBlanks.equals(theMatch.strBlanks) );
+            if (bMatch) {
+                iterRoots.remove();
+                return theRoot;
+            }
+        }
+        return null;
+    }
+
+    static private Set<Object> createMappings() {
+        return Collections.newSetFromMap( new IdentityHashMap<Object, Boolean>() );
+    }
+
+    /*
+     *  Method addMapped() adds a root having any mappings.
+     */
+    static private void addMapped(Map<ResourceNode, Set<Object>> mapMappings, ResourceNode theRoot, Set<Object> setMappings) {
+        if ( ! setMappings.isEmpty() ) {
+            mapMappings.put(theRoot, setMappings);
+        }
+    }
+
+    /*
+     *  Class Mapping
+     *
+     *    A type or property mapping of a root: its JSON, its RDFType or Property, and the blank node
+     *    keys of a property's object.
+     */
+    static private class Mapping {
+        private final JsonNode jnodeMapping;
+        private final Object objMapping;
+        private final String strBlanks;
+
+        Mapping(JsonNode jnodeMapping, Object objMapping, TransformPlan thePlan) {
+            this.jnodeMapping = jnodeMapping;
+            this.objMapping = objMapping;
+            StringBuilder strbBlanks = new StringBuilder();
+            if (objMapping instanceof Property) {
+                thePlan.appendBlanks( strbBlanks, ( (Property) objMapping ).getObject() );
+            }
+            this.strBlanks = strbBlanks.toString();
+        }
+    }
+
+    /*
+     *  Class MappedRoot
+     *
+     *    A root node, its JSON, its subject (the JSON without its mappings), its mappings, and the
+     *    blank node keys of its subject and of its whole tree.
+     *    NOTE: A root writes its non-null types and properties in order, so the mappings pair with them.
+     */
+    static private class MappedRoot {
+        private final ResourceNode theRoot;
+        private final ObjectNode jnodeRoot;
+        private final ObjectNode jnodeSubject;
+        private final String strSubjectBlanks;
+        private final String strBlanks;
+        private final List<Mapping> listTypes = new ArrayList<Mapping>();
+        private final List<Mapping> listProperties = new ArrayList<Mapping>();
+
+        MappedRoot(ResourceNode theRoot, ObjectNode jnodeRoot, TransformPlan thePlan) {
+            this.theRoot = theRoot;
+            this.jnodeRoot = jnodeRoot;
+            this.jnodeSubject = jnodeRoot.deepCopy();
+            this.jnodeSubject.remove(Util.gstrTypeMappings);
+            this.jnodeSubject.remove(Util.gstrPropertyMappings);
+            TransformPlan.BlankStep theStep = thePlan.getBlank(theRoot);
+            this.strSubjectBlanks = ( theStep == null ? "" : theStep.getKey() + "=" + theStep.getPath() );
+            StringBuilder strbBlanks = new StringBuilder();
+            thePlan.appendBlanks(strbBlanks, theRoot);
+            this.strBlanks = strbBlanks.toString();
+            MappedRoot.pair( jnodeRoot.path(Util.gstrTypeMappings), theRoot.getTypes(), this.listTypes, thePlan );
+            MappedRoot.pair( jnodeRoot.path(Util.gstrPropertyMappings), theRoot.getProperties(), this.listProperties, thePlan );
+        }
+
+        Set<Object> getMappings() {
+            Set<Object> setMappings = RDFTransformDiff.createMappings();
+            for (Mapping theMapping : this.listTypes) {
+                setMappings.add(theMapping.objMapping);
+            }
+            for (Mapping theMapping : this.listProperties) {
+                setMappings.add(theMapping.objMapping);
+            }
+            return setMappings;
+        }
+
+        static private void pair(JsonNode jarrayMappings, List<?> listMappings, List<Mapping> listPaired, TransformPlan thePlan) {
+            if (listMappings == null) {
+                return;
+            }
+            Iterator<JsonNode> iterJSON = jarrayMappings.iterator();
+            for (Object objMapping : listMappings) {
+                if (objMapping == null) {
+                    continue;
+                }
+                if ( ! iterJSON.hasNext() ) {
+                    break;
+                }
+                listPaired.add( new Mapping( iterJSON.next(), objMapping, thePlan ) );
+            }
+        }
+    }
+
+    /*
+     *  Class SorterStreamRDF
+     *
+     *    Sends the statements of a visitation to a QuadSorter.
+     */
+    static private class SorterStreamRDF extends StreamRDFBase {
+        private final QuadSorter theSorter;
+        private UncheckedIOException exFailure = null;
+
+        SorterStreamRDF(QuadSorter theSorter) {
+            this.theSorter = theSorter;
+        }
+
+        @Override
+        public void triple(Triple theTriple) {
+            this.quad( Quad.create(Quad.defaultGraphNodeGenerated, theTriple) );
+        }
+
+        @Override
+        public void quad(Quad theQuad) {
+            if (this.exFailure != null) {
+                throw this.exFailure;
+            }
+            try {
+                this.theSorter.add(theQuad);
+            }
+            catch (IOException ex) {
+                this.exFailure = new UncheckedIOException(ex);
+                throw this.exFailure;
+            }
+        }
+    }
+
+    /*
+     *  Class DistinctIterator
+     *
+     *    Skips the repeats of sorted statements.
+     */
+    static private class DistinctIterator implements Iterator<Quad> {
+        private final Iterator<Quad> iterQuads;
+        private Quad quadNext;
+
+        DistinctIterator(Iterator<Quad> iterQuads) {
+            this.iterQuads = iterQuads;
+            this.quadNext = RDFTransformDiff.next(iterQuads);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return (this.quadNext != null);
+        }
+
+        @Override
+        public Quad next() {
+            Quad theQuad = this.quadNext;
+            do {
+                this.quadNext = RDFTransformDiff.next(this.iterQuads);
+            } while ( this.quadNext != null && QuadSorter.theQuadOrder.compare(this.quadNext, theQuad) == 0 );
+            return theQuad;
+        }
+    }
+}
@@ -22,11 +22,20 @@ package org.openrefine.rdf.model.operation;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.google.refine.model.Project;
 
 import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.EvaluationContext;
+import org.openrefine.rdf.model.ResourceNode;
+import org.openrefine.rdf.model.TransformPlan;
 import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.expr.ExpressionCache;
+import org.openrefine.rdf.model.stream.DedupStreamRDF;
+import org.openrefine.rdf.model.stream.LimitedStreamRDF;
 import org.openrefine.rdf.model.vocab.Vocabulary;
 
 import com.google.refine.browsing.Engine;
@@ -34,6 +43,10 @@ import com.google.refine.browsing.Engine;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
 import org.apache.jena.riot.system.PrefixMap;
+import org.apache.jena.riot.system.PrefixMapFactory;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.system.StreamRDFOps;
 import org.apache.jena.shared.PrefixMapping;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.DatasetGraphFactory;
@@ -62,30 +75,86 @@ public abstract class RDFVisitor {
 
     private final RDFTransform theTransform;
     protected final DatasetGraph theDSGraph;
+    protected final PrefixMap thePrefixes;
+    protected final StreamRDF theWriter;
+    protected final LimitedStreamRDF theOutput;
+    protected StreamRDF theSink = null;
+    protected boolean bDedup = true;
+    protected TransformPlan thePlan;
+    protected EvaluationContext theContext = null;
     protected boolean bLimitWarning = true;
+    protected RDFExportJob theJob = null;
+    protected PreviewRoots thePreviewRoots = null;
 
     /**
-     * RDFVisitor ctor
+     * RDFVisitor ctor for DatasetGraph output.
      * @param theTransform - The RDF Transform to visit.
      */
     public RDFVisitor(RDFTransform theTransform) {
+        this(theTransform, null);
+    }
+
+    /**
+     * RDFVisitor ctor
+     * @param theTransform - The RDF Transform to visit.
+     * @param theWriter - The StreamRDF writer to receive the statements as they are processed.  When null,
+     *                    the statements are collected into the DatasetGraph.
+     */
+    public RDFVisitor(RDFTransform theTransform, StreamRDF theWriter) {
         this.theTransform = theTransform;
+        this.theWriter = theWriter;
 
-        // Initializing dataset graph...
-        this.theDSGraph = DatasetGraphFactory.create(); // NOTE: Maybe createTxnMem() is better?
         String strBaseIRI = this.theTransform.getBaseIRIAsString();
+        this.thePrefixes = RDFVisitor.createPrefixes(this.theTransform);
+
+        // Compile the execution plan for the root nodes...
+        this.thePlan = TransformPlan.compile( this.theTransform.getRoots(), this.theTransform.getBaseIRI(), this.thePrefixes );
+
+        //
+        // Stream Mode: statements go directly to the writer...
+        //
+        if (this.theWriter != null) {
+            if ( Util.isDebugMode() ) RDFVisitor.logger.info("DEBUG: Streaming to writer");
+            this.theDSGraph = null;
+            this.theOutput = new LimitedStreamRDF( this.theWriter, Util.getExportLimit() );
+            return;
+        }
+
+        //
+        // Graph Mode: statements are collected in the dataset graph...
+        //
+        this.theDSGraph = DatasetGraphFactory.create(); // NOTE: Maybe createTxnMem() is better?
         org.apache.jena.graph.Node nodeBaseGraph = NodeUtils.asNode( Util.getGraphIRIString(strBaseIRI) );
         {
             Graph graphBase = GraphFactory.createGraphMem(); // NOTE: Maybe createTxnGraph() is better?
             this.theDSGraph.addGraph(nodeBaseGraph, graphBase);
         }
 
+        PrefixMap theDSGPrefixes = this.theDSGraph.prefixes();
+        PrefixMapping theBGPrefixes = this.theDSGraph.getGraph(nodeBaseGraph).getPrefixMapping();
+        theDSGPrefixes.clear();
+        theBGPrefixes.clearNsPrefixMap();
+        theDSGPrefixes.putAll(this.thePrefixes);
+        theBGPrefixes.setNsPrefixes( this.thePrefixes.getMapping() );
+
+        this.theOutput = new LimitedStreamRDF( StreamRDFLib.dataset(this.theDSGraph), Util.getExportLimit() );
+    }
+
+    /**
+     * Create the prefixes of a transform: its namespaces and, when no namespace holds it, its Base IRI
+     * as the default namespace.
+     * @param theTransform - The RDF Transform.
+     * @return PrefixMap - The prefixes.
+     */
+    static public PrefixMap createPrefixes(RDFTransform theTransform) {
+        String strBaseIRI = theTransform.getBaseIRIAsString();
+
         //
-        // Populate the namespaces in the repository (DatasetGraph and Base Graph)...
+        // Populate the namespaces for the repository...
         //
 
         // Prepare Namespaces...
-        Collection<Vocabulary> theNamespaces = this.theTransform.getNamespaces();
+        Collection<Vocabulary> theNamespaces = theTransform.getNamespaces();
 
         // Check for the BaseIRI (default namespace) in the Prefixed Namespaces...
         boolean bUseBaseIRI = true; // ...default: use the BaseIRI
@@ -97,16 +166,12 @@ public abstract class RDFVisitor {
             }
         }
 
-        PrefixMap theDSGPrefixes = this.theDSGraph.prefixes();
-        PrefixMapping theBGPrefixes = this.theDSGraph.getGraph(nodeBaseGraph).getPrefixMapping();
-        theDSGPrefixes.clear();
-        theBGPrefixes.clearNsPrefixMap();
+        PrefixMap thePrefixes = PrefixMapFactory.create();
 
         // Set Default Namespace for repository...
         if ( bUseBaseIRI && ! strBaseIRI.isEmpty() ) {
             if ( Util.isDebugMode() ) RDFVisitor.logger.info("DEBUG: Using BaseIRI " + strBaseIRI);
-            theDSGPrefixes.add("", strBaseIRI);
-            theBGPrefixes.setNsPrefix("", strBaseIRI);
+            thePrefixes.add("", strBaseIRI);
         }
         else {
             if ( Util.isDebugMode() ) RDFVisitor.logger.info("DEBUG: Not using BaseIRI");
@@ -114,27 +179,139 @@ public abstract class RDFVisitor {
 
         // Set Prefix Namespaces for repository...
         for (Vocabulary vocab : theNamespaces) {
-            String strPrefix = vocab.getPrefix();
-            String strNamespace = vocab.getNamespace();
-            theDSGPrefixes.add(strPrefix, strNamespace);
-            theBGPrefixes.setNsPrefix(strPrefix, strNamespace);
+            thePrefixes.add( vocab.getPrefix(), vocab.getNamespace() );
         }
+        return thePrefixes;
     }
 
     public RDFTransform getRDFTransform() {
         return this.theTransform;
     }
 
+    public TransformPlan getPlan() {
+        return this.thePlan;
+    }
+
+    /**
+     * Restrict the visitation to some type and property mappings of the transform's roots.  See
+     * TransformPlan.restrict().  Call before buildDSGraph().
+     * @param mapMappings - The RDFType and Property mappings to visit by root.
+     */
+    public void restrictPlan(Map<ResourceNode, Set<Object>> mapMappings) {
+        this.thePlan = this.thePlan.restrict(mapMappings);
+    }
+
+    /**
+     * Set the roots a preview evaluates and captures by root.  See PreviewRoots.
+     * @param thePreviewRoots - The roots.  When null, all the plan's roots are evaluated.
+     */
+    public void setPreviewRoots(PreviewRoots thePreviewRoots) {
+        this.thePreviewRoots = thePreviewRoots;
+    }
+
+    /*
+     *  Method getVisitRoots() for the roots evaluated on each row or record
+     */
+    protected List<ResourceNode> getVisitRoots() {
+        if (this.thePreviewRoots == null) {
+            return this.thePlan.getRoots();
+        }
+        return this.thePreviewRoots.getEvaluated();
+    }
+
+    /*
+     *  Method setVisitRoot() marks the root evaluated next
+     */
+    protected void setVisitRoot(ResourceNode theRoot) {
+        if (this.thePreviewRoots != null) {
+            this.thePreviewRoots.setRoot(theRoot);
+        }
+    }
+
     public DatasetGraph getDSGraph() {
         return this.theDSGraph;
     }
 
+    public boolean isStreaming() {
+        return (this.theWriter != null);
+    }
+
+    /**
+     * Get the number of statements (triples and quads) produced so far by the visitation.
+     * @return long - the statement count
+     */
+    public long getStatementCount() {
+        return this.theOutput.count();
+    }
+
+    /**
+     * Report whether statements were dropped at the export limit (see Util.getExportLimit()).  Visitors
+     * stop visiting once reached, so the output holds exactly the limit's count of statements.
+     * @return boolean - true when the output is truncated
+     */
+    public boolean isLimitReached() {
+        if ( this.theOutput.isLimitReached() && this.bLimitWarning ) {
+            this.bLimitWarning = false;
+            RDFVisitor.logger.warn("WARNING: Export limit of " + this.theOutput.getLimit() + " statements reached: stopping visitation");
+        }
+        return this.theOutput.isLimitReached();
+    }
+
+    /**
+     * Set whether a streaming visitation drops repeated statements (see DedupStreamRDF) before the
+     * export limit.  A writer that merges statements itself (such as a graph) has no need.
+     * @param bDedup - true to drop repeats per the Export Dedup preference.
+     */
+    public void setDeduplicate(boolean bDedup) {
+        this.bDedup = bDedup;
+    }
+
+    /**
+     * Set the export job receiving the visitation's progress and giving its cancellation.
+     * @param theJob - The job.  When null, the visitation is not tracked.
+     */
+    public void setJob(RDFExportJob theJob) {
+        this.theJob = theJob;
+    }
+
+    public RDFExportJob getJob() {
+        return this.theJob;
+    }
+
+    /**
+     * Report whether the visitation's export job was cancelled.  Visitors check between rows or records.
+     * @return boolean - true when cancelled
+     */
+    public boolean isCancelled() {
+        return ( this.theJob != null && this.theJob.isCancelled() );
+    }
+
+    /**
+     * Report visited records and rows to the export job.
+     * @param lRecords - The records visited.
+     * @param lRows - The rows visited.
+     */
+    protected void reportVisited(long lRecords, long lRows) {
+        if (this.theJob != null) {
+            this.theJob.visited( lRecords, lRows, this.theOutput.count() );
+        }
+    }
+
     // NOTE: Oddly enough, there is no abstract "visit()" method here as the visitor parameters depend on
     //      the derived class: "Row" or "Record" visitor.  See the RDFRowVisitor and RDFRecordVisitor classes.
     //abstract public boolean visit(Project theProject, ...);
 
     abstract public void buildDSGraph(Project theProject, Engine theEngine);
 
+    /**
+     * Reports whether the visitor may evaluate its rows or records in parallel via the RDFParallelEvaluator.
+     * Visitors that stop early (such as previews) or depend on visit order for state should not.
+     * @return boolean - true when parallel evaluation is permitted
+     */
+    protected boolean isParallel() {
+        return false;
+    }
+
     /**
      * Performs any necessary processing before visiting the selected (filtered) data rows or records.
      * Called by the FilteredRows or FilteredRecords accept() method in this.buildDSGraph(Project, Engine)
@@ -142,6 +319,21 @@ public abstract class RDFVisitor {
      */
     public void start(Project theProject) {
         if ( Util.isVerbose(3) ) RDFVisitor.logger.info("Starting Visitation...");
+        // The statements enter by the sink: any dedup stage, then the export limit...
+        this.theSink = this.theOutput;
+        if (this.theWriter != null && this.bDedup) {
+            this.theSink = DedupStreamRDF.create(this.theOutput);
+        }
+        this.theContext = new EvaluationContext(theProject, this.thePlan);
+        this.theContext.setOutput(this.theSink);
+        if (this.thePreviewRoots != null) {
+            this.theContext.setOutput( this.thePreviewRoots.capture(this.theSink) ); // ...statements by root
+        }
+        this.theSink.start();
+        if (this.theWriter != null) {
+            // Stream Mode: write the prefixes ahead of any statements...
+            StreamRDFOps.sendPrefixesToStream(this.thePrefixes, this.theSink);
+        }
     }
 
     /**
@@ -150,10 +342,20 @@ public abstract class RDFVisitor {
      * @param theProject
      */
     public void end(Project theProject) {
+        this.theSink.finish(); // ...Stream Mode: flush the writer
+        long lIllTyped = this.thePlan.countIllTyped();
+        if (lIllTyped > 0) {
+            RDFVisitor.logger.info("WARNING: " + lIllTyped + " literals not valid for their datatype were written as is");
+        }
+        if ( Util.isVerbose(2) ) RDFVisitor.logger.info( ExpressionCache.statsToString() );
+        if ( Util.isVerbose(2) ) RDFVisitor.logger.info( this.theContext.getNodeCache().statsToString() );
         if ( Util.isVerbose(3) ) RDFVisitor.logger.info("...Ending Visitation");
     }
 
     private void clearGraphStatements() {
+        if (this.theDSGraph == null) {
+            return;
+        }
         Iterator<Node> iterGraphNodes = this.theDSGraph.listGraphNodes();
         while ( iterGraphNodes.hasNext() ) {
             Node nodeGraph = iterGraphNodes.next();
@@ -163,6 +365,9 @@ public abstract class RDFVisitor {
     }
 
     public void closeDSGraph() {
+        if (this.theDSGraph == null) {
+            return;
+        }
         this.clearGraphStatements();
         this.theDSGraph.close();
     }
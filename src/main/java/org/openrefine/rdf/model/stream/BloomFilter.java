@@ -0,0 +1,82 @@
+/*
+ *  Class BloomFilter
+ *
+ *  A probabilistic set of byte strings.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import org.apache.commons.codec.digest.MurmurHash3;
+
+/**
+ * Class BloomFilter<br />
+ *<br />
+ *  Sized for an expected element count and false positive rate.  The bit positions come from the
+ *  two halves of a 128 bit MurmurHash3 by double hashing.  Past the expected count, the false
+ *  positive rate rises.
+ */
+class BloomFilter {
+    private final long[] alBits;
+    private final long lBitCount;
+    private final int iHashCount;
+
+    /**
+     * BloomFilter ctor
+     * @param lExpected - The expected element count.
+     * @param dFalsePositive - The false positive rate at the expected count.
+     */
+    BloomFilter(long lExpected, double dFalsePositive) {
+        lExpected = Math.max(lExpected, 1);
+        dFalsePositive = Math.min( Math.max(dFalsePositive, 1e-12), 0.5 );
+        double dLn2 = Math.log(2);
+        long lBits = (long) Math.ceil( -lExpected * Math.log(dFalsePositive) / (dLn2 * dLn2) );
+        long lWords = Math.min( Math.max( (lBits + 63) / 64, 1 ), Integer.MAX_VALUE - 8 );
+        this.alBits = new long[ (int) lWords ];
+        this.lBitCount = lWords * 64;
+        this.iHashCount = (int) Math.max( Math.round( (double) this.lBitCount / lExpected * dLn2 ), 1 );
+    }
+
+    long getBitCount() {
+        return this.lBitCount;
+    }
+
+    int getHashCount() {
+        return this.iHashCount;
+    }
+
+    /**
+     * Add an element.
+     * @param abElement - The element's bytes.
+     * @return boolean - true when the element was (certainly) new: false when it may have been added.
+     */
+    boolean put(byte[] abElement) {
+        long[] alHash = MurmurHash3.hash128x64(abElement);
+        long lHash = alHash[0];
+        boolean bNew = false;
+        for (int iHash = 0; iHash < this.iHashCount; iHash++) {
+            long lBit = ( lHash & Long.MAX_VALUE ) % this.lBitCount;
+            int iWord = (int) (lBit >>> 6);
+            long lMask = 1L << (lBit & 63);
+            if ( (this.alBits[iWord] & lMask) == 0 ) {
+                this.alBits[iWord] |= lMask;
+                bNew = true;
+            }
+            lHash += alHash[1];
+        }
+        return bNew;
+    }
+}
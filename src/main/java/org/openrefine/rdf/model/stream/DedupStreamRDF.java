@@ -0,0 +1,187 @@
+/*
+ *  Class DedupStreamRDF
+ *
+ *  A StreamRDF dropping repeated statements in bounded memory.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.openrefine.rdf.model.Util;
+
+import org.apache.jena.atlas.lib.Pair;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class DedupStreamRDF<br />
+ *<br />
+ *  Drops statements already passed on so a streaming export does not repeat the statements a
+ *  DatasetGraph would have merged, such as a record's "rdf:type" statements made for every row.
+ *  Two modes bound the memory:
+ * <ul>
+ *   <li>LRU - An exact set of the statements of the recently used subjects, up to a statement count.
+ *       A new statement is never dropped, but a repeat after its subject is evicted passes again.</li>
+ *   <li>BLOOM - A Bloom filter of all statements sized for an expected count and false positive
+ *       rate.  Every repeat is dropped, but so is a new statement at the false positive rate.</li>
+ * </ul>
+ *  See Util.getExportDedup().
+ */
+public class DedupStreamRDF extends StreamRDFWrapper {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:DedupStreamRDF");
+
+    public enum Mode {
+        NONE,
+        LRU,
+        BLOOM;
+
+        static public Mode fromString(String strMode) {
+            if (strMode != null) {
+                for ( Mode eMode : Mode.values() ) {
+                    if ( eMode.name().equalsIgnoreCase( strMode.strip() ) ) {
+                        return eMode;
+                    }
+                }
+            }
+            return NONE;
+        }
+    }
+
+    /**
+     * Create the dedup stage set by the preferences.
+     * @param theOutput - The stream receiving the statements.
+     * @return StreamRDF - The dedup stage or, when there is none, the output itself.
+     */
+    static public StreamRDF create(StreamRDF theOutput) {
+        Mode eMode = Mode.fromString( Util.getExportDedup() );
+        if (eMode == Mode.NONE) {
+            return theOutput;
+        }
+        return new DedupStreamRDF(theOutput, eMode);
+    }
+
+    private final Mode eMode;
+    private final int iMaxHeld;
+    private final LinkedHashMap<Pair<Node, Node>, Set<Triple>> mapSubjects;
+    private final BloomFilter theFilter;
+    private int iHeld = 0;
+    private long lDropped = 0;
+
+    private DedupStreamRDF(StreamRDF theOutput, Mode eMode) {
+        super(theOutput);
+        this.eMode = eMode;
+        this.iMaxHeld = Math.max( Util.getExportDedupSize(), 1 );
+        if (eMode == Mode.BLOOM) {
+            this.mapSubjects = null;
+            this.theFilter = new BloomFilter( Util.getExportDedupExpected(), Util.getExportDedupFPR() );
+            if ( Util.isDebugMode() ) {
+                DedupStreamRDF.logger.info("DEBUG: Bloom filter: " + this.theFilter.getBitCount() + " bits, " + this.theFilter.getHashCount() + " hashes");
+            }
+        }
+        else {
+            this.mapSubjects = new LinkedHashMap<Pair<Node, Node>, Set<Triple>>(1024, 0.75f, true); // ...access order
+            this.theFilter = null;
+        }
+    }
+
+    /**
+     * Get the number of repeated statements dropped.
+     * @return long - The dropped count.
+     */
+    public long countDropped() {
+        return this.lDropped;
+    }
+
+    @Override
+    public void triple(Triple theTriple) {
+        if ( this.isNew(Quad.defaultGraphNodeGenerated, theTriple) ) {
+            this.other.triple(theTriple);
+        }
+    }
+
+    @Override
+    public void quad(Quad theQuad) {
+        Node nodeGraph = theQuad.getGraph();
+        if ( this.isNew( nodeGraph == null ? Quad.defaultGraphNodeGenerated : nodeGraph, theQuad.asTriple() ) ) {
+            this.other.quad(theQuad);
+        }
+    }
+
+    @Override
+    public void finish() {
+        if ( Util.isVerbose(2) && this.lDropped > 0 ) {
+            DedupStreamRDF.logger.info("Dropped " + this.lDropped + " repeated statements (" + this.eMode + ")");
+        }
+        super.finish();
+    }
+
+    private boolean isNew(Node nodeGraph, Triple theTriple) {
+        boolean bNew = false;
+        if (this.theFilter != null) {
+            String strStatement =
+                NodeFmtLib.strNodesNT( theTriple.getSubject(), theTriple.getPredicate(), theTriple.getObject() ) +
+                " " + NodeFmtLib.strNT(nodeGraph);
+            bNew = this.theFilter.put( strStatement.getBytes(StandardCharsets.UTF_8) );
+        }
+        else {
+            Pair<Node, Node> pairKey = new Pair<Node, Node>( nodeGraph, theTriple.getSubject() );
+            Set<Triple> setTriples = this.mapSubjects.get(pairKey);
+            if (setTriples == null) {
+                setTriples = new HashSet<Triple>();
+                this.mapSubjects.put(pairKey, setTriples);
+            }
+            bNew = setTriples.add(theTriple);
+            if (bNew) {
+                this.iHeld++;
+                this.evict(pairKey);
+            }
+        }
+        if ( ! bNew ) {
+            this.lDropped++;
+        }
+        return bNew;
+    }
+
+    /*
+     *  Method evict() removes the least recently used subjects, but never the current subject, until
+     *  the held statements are within the limit.
+     */
+    private void evict(Pair<Node, Node> pairCurrent) {
+        Iterator< Map.Entry<Pair<Node, Node>, Set<Triple>> > iterSubjects = this.mapSubjects.entrySet().iterator();
+        while ( this.iHeld > this.iMaxHeld && iterSubjects.hasNext() ) {
+            Map.Entry<Pair<Node, Node>, Set<Triple>> entrySubject = iterSubjects.next();
+            if ( entrySubject.getKey().equals(pairCurrent) ) {
+                break; // ...the current subject is the most recent: all older subjects are gone
+            }
+            this.iHeld -= entrySubject.getValue().size();
+            iterSubjects.remove();
+        }
+    }
+}
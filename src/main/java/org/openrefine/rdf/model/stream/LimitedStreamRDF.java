@@ -0,0 +1,101 @@
+/*
+ *  Class LimitedStreamRDF
+ *
+ *  A counting StreamRDF that passes at most a limited number of statements.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.sparql.core.Quad;
+
+/**
+ * Class LimitedStreamRDF<br />
+ *<br />
+ *  Counts the statements (triples and quads) passed on and drops any past the limit.  Once a statement
+ *  is dropped, the limit is reached and the producer should stop.  The count is a plain field: the
+ *  stream is fed by one thread at a time (the visitor or the parallel evaluator's writer).
+ */
+public class LimitedStreamRDF extends StreamRDFWrapper {
+    private final long lLimit;
+    private long lCount = 0;
+    private long lDropped = 0;
+
+    /**
+     * LimitedStreamRDF ctor
+     * @param theOutput - The stream receiving the statements.
+     * @param lLimit - The number of statements passed on.  When 0 (or less), there is no limit.
+     */
+    public LimitedStreamRDF(StreamRDF theOutput, long lLimit) {
+        super(theOutput);
+        this.lLimit = lLimit;
+    }
+
+    @Override
+    public void triple(Triple theTriple) {
+        if ( this.isFull() ) {
+            this.lDropped++;
+            return;
+        }
+        this.lCount++;
+        this.other.triple(theTriple);
+    }
+
+    @Override
+    public void quad(Quad theQuad) {
+        if ( this.isFull() ) {
+            this.lDropped++;
+            return;
+        }
+        this.lCount++;
+        this.other.quad(theQuad);
+    }
+
+    public long getLimit() {
+        return this.lLimit;
+    }
+
+    /**
+     * Get the number of statements passed on.
+     * @return long - The statement count.
+     */
+    public long count() {
+        return this.lCount;
+    }
+
+    /**
+     * Get the number of statements dropped past the limit.
+     * @return long - The dropped count.
+     */
+    public long countDropped() {
+        return this.lDropped;
+    }
+
+    /**
+     * Report whether statements were dropped past the limit.
+     * @return boolean - true when the output is truncated.
+     */
+    public boolean isLimitReached() {
+        return (this.lDropped > 0);
+    }
+
+    private boolean isFull() {
+        return ( this.lLimit > 0 && this.lCount >= this.lLimit );
+    }
+}
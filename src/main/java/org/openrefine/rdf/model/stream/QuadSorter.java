@@ -0,0 +1,321 @@
+/*
+ *  Class QuadSorter
+ *
+ *  An external (disk based) sorter for quads.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.model.Util;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.riot.lang.LabelToNode;
+import org.apache.jena.riot.lang.LangNQuads;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.riot.system.ErrorHandlerFactory;
+import org.apache.jena.riot.system.ParserProfile;
+import org.apache.jena.riot.system.RiotLib;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.tokens.TokenizerText;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.util.NodeCmp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class QuadSorter<br />
+ *<br />
+ *  Sorts any number of quads in bounded memory.  Quads are held in memory up to the run size, then
+ *  sorted and written to a run file as N-Quads.  Reading merges the sorted runs.  The order is graph,
+ *  subject, predicate, object, so the merged quads arrive grouped by graph and subject.<br />
+ *<br />
+ *  Blank nodes are written with their encoded labels and read back with the same labels, so a blank
+ *  node keeps its identity across runs.<br />
+ *<br />
+ *  A distinct sorter drops repeated quads: sorted repeats are adjacent, so each run is written
+ *  without repeats and the merge skips a quad equal to the last one taken.<br />
+ *<br />
+ *  Close the sorter to remove its run files.
+ */
+public class QuadSorter implements Closeable {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:QuadSorter");
+
+    /*
+     *  The quad order: graph, subject, predicate, object.
+     */
+    static public final Comparator<Quad> theQuadOrder =
+        (Quad quad1, Quad quad2) -> {
+            int iCmp = NodeCmp.compareRDFTerms( quad1.getGraph(), quad2.getGraph() );
+            if (iCmp == 0) iCmp = NodeCmp.compareRDFTerms( quad1.getSubject(), quad2.getSubject() );
+            if (iCmp == 0) iCmp = NodeCmp.compareRDFTerms( quad1.getPredicate(), quad2.getPredicate() );
+            if (iCmp == 0) iCmp = NodeCmp.compareRDFTerms( quad1.getObject(), quad2.getObject() );
+            return iCmp;
+        };
+
+    private final File dirRuns;
+    private final int iRunSize;
+    private final boolean bDistinct;
+    private final List<Quad> listRun;
+    private final List<File> listRunFiles = new ArrayList<File>();
+    private final List<InputStream> listReaders = new ArrayList<InputStream>();
+    private long lCount = 0;
+
+    /**
+     * QuadSorter ctor
+     * @param dirRuns - The directory holding the run files.
+     * @param iRunSize - The number of quads held in memory for each run.
+     */
+    public QuadSorter(File dirRuns, int iRunSize) {
+        this(dirRuns, iRunSize, false);
+    }
+
+    /**
+     * QuadSorter ctor
+     * @param dirRuns - The directory holding the run files.
+     * @param iRunSize - The number of quads held in memory for each run.
+     * @param bDistinct - Whether to drop repeated quads.
+     */
+    public QuadSorter(File dirRuns, int iRunSize, boolean bDistinct) {
+        this.dirRuns = dirRuns;
+        this.iRunSize = Math.max(iRunSize, 1);
+        this.bDistinct = bDistinct;
+        this.listRun = new ArrayList<Quad>( Math.min(this.iRunSize, 65536) );
+    }
+
+    /**
+     * Create a directory for run files under the RDF Transform cache directory (or, when there is no
+     * cache, the temporary directory).  The caller removes the directory when done.
+     * @param strPrefix - The directory name prefix, such as "export-".
+     * @return File - The directory.
+     * @throws IOException - when the directory cannot be created.
+     */
+    static public File createRunDirectory(String strPrefix) throws IOException {
+        File dirBase = null;
+        if ( RDFTransform.getGlobalContext() != null && RDFTransform.getGlobalContext().getRDFTCacheDirectory() != null ) {
+            dirBase = new File( RDFTransform.getGlobalContext().getRDFTCacheDirectory(), "spill" );
+            dirBase.mkdirs();
+        }
+        return ( dirBase == null ?
+            Files.createTempDirectory("rdft-spill-").toFile() :
+            Files.createTempDirectory(dirBase.toPath(), strPrefix).toFile() );
+    }
+
+    /**
+     * Add a quad to the sort.
+     * @param theQuad - The quad.  A triple is given as a quad in the default graph.
+     * @throws IOException - when a run cannot be written.
+     */
+    public void add(Quad theQuad) throws IOException {
+        // NOTE: The default graph has more than one node.  Use the one read back from the runs.
+        Node nodeGraph = theQuad.getGraph();
+        if ( nodeGraph == null || ( Quad.isDefaultGraph(nodeGraph) && nodeGraph != Quad.defaultGraphNodeGenerated ) ) {
+            theQuad = Quad.create( Quad.defaultGraphNodeGenerated, theQuad.asTriple() );
+        }
+        this.listRun.add(theQuad);
+        this.lCount++;
+        if ( this.listRun.size() >= this.iRunSize ) {
+            this.writeRun();
+        }
+    }
+
+    public long getCount() {
+        return this.lCount;
+    }
+
+    public int getRunCount() {
+        return this.listRunFiles.size();
+    }
+
+    /**
+     * Get the sorted quads.  No quads may be added after this call.
+     * @return Iterator<Quad> - The quads in sorted order.
+     * @throws IOException - when the runs cannot be read.
+     */
+    public Iterator<Quad> iterator() throws IOException {
+        // If everything fit in memory, sort it there...
+        if ( this.listRunFiles.isEmpty() ) {
+            this.sortRun();
+            return this.listRun.iterator();
+        }
+
+        // Otherwise, merge the runs...
+        if ( ! this.listRun.isEmpty() ) {
+            this.writeRun();
+        }
+        if ( Util.isVerbose(2) ) QuadSorter.logger.info("Merging " + this.listRunFiles.size() + " runs of " + this.lCount + " quads...");
+        return new RunMerger();
+    }
+
+    /**
+     * Close the run readers and remove the run files.
+     */
+    @Override
+    public void close() {
+        for (InputStream theReader : this.listReaders) {
+            try {
+                theReader.close();
+            }
+            catch (IOException ex) {
+                // No problem: the file is removed next...
+            }
+        }
+        this.listReaders.clear();
+        for (File fileRun : this.listRunFiles) {
+            if ( ! fileRun.delete() ) {
+                fileRun.deleteOnExit();
+            }
+        }
+        this.listRunFiles.clear();
+        this.listRun.clear();
+    }
+
+    /*
+     *  Method sortRun() sorts the run in memory and, when distinct, removes its repeats.
+     */
+    private void sortRun() {
+        this.listRun.sort(QuadSorter.theQuadOrder);
+        if ( ! this.bDistinct || this.listRun.size() < 2 ) {
+            return;
+        }
+        int iKept = 1;
+        for (int iIndex = 1; iIndex < this.listRun.size(); iIndex++) {
+            Quad theQuad = this.listRun.get(iIndex);
+            if ( QuadSorter.theQuadOrder.compare( this.listRun.get(iKept - 1), theQuad ) != 0 ) {
+                this.listRun.set(iKept++, theQuad);
+            }
+        }
+        this.listRun.subList( iKept, this.listRun.size() ).clear();
+    }
+
+    private void writeRun() throws IOException {
+        this.sortRun();
+        File fileRun = File.createTempFile("run-", ".nq", this.dirRuns);
+        this.listRunFiles.add(fileRun);
+        try ( Writer theWriter =
+                new BufferedWriter( new OutputStreamWriter( new FileOutputStream(fileRun), StandardCharsets.UTF_8 ), 1 << 16 ) )
+        {
+            for (Quad theQuad : this.listRun) {
+                theWriter.write( NodeFmtLib.strNodesNT( theQuad.getSubject(), theQuad.getPredicate(), theQuad.getObject() ) );
+                Node nodeGraph = theQuad.getGraph();
+                if ( ! Quad.isDefaultGraph(nodeGraph) ) {
+                    theWriter.write(' ');
+                    theWriter.write( NodeFmtLib.strNT(nodeGraph) );
+                }
+                theWriter.write(" .\n");
+            }
+        }
+        if ( Util.isDebugMode() ) QuadSorter.logger.info("DEBUG: Wrote run " + this.listRunFiles.size() + ": " + this.listRun.size() + " quads");
+        this.listRun.clear();
+    }
+
+    /*
+     *  Class RunCursor
+     *
+     *    The next quad of a run.
+     */
+    private static class RunCursor {
+        private final Iterator<Quad> iterQuads;
+        private Quad theQuad = null;
+
+        RunCursor(Iterator<Quad> iterQuads) {
+            this.iterQuads = iterQuads;
+        }
+
+        boolean advance() {
+            this.theQuad = ( this.iterQuads.hasNext() ? this.iterQuads.next() : null );
+            return (this.theQuad != null);
+        }
+    }
+
+    /*
+     *  Class RunMerger
+     *
+     *    Merges the sorted runs by always taking the least next quad.  When distinct, a quad equal to
+     *    the last one taken is skipped.
+     */
+    private class RunMerger implements Iterator<Quad> {
+        private final PriorityQueue<RunCursor> queueCursors =
+            new PriorityQueue<RunCursor>( (cur1, cur2) -> QuadSorter.theQuadOrder.compare(cur1.theQuad, cur2.theQuad) );
+
+        RunMerger() throws IOException {
+            ParserProfile theProfile =
+                RiotLib.createParserProfile(
+                    RiotLib.factoryRDF( LabelToNode.createUseLabelEncoded() ), ErrorHandlerFactory.errorHandlerStd, false );
+            for ( File fileRun : QuadSorter.this.listRunFiles ) {
+                InputStream theReader = new BufferedInputStream( new FileInputStream(fileRun), 1 << 16 );
+                QuadSorter.this.listReaders.add(theReader);
+                LangNQuads theParser =
+                    new LangNQuads( TokenizerText.create().source(theReader).build(), theProfile, StreamRDFLib.sinkNull() );
+                RunCursor theCursor = new RunCursor(theParser);
+                if ( theCursor.advance() ) {
+                    this.queueCursors.add(theCursor);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return ! this.queueCursors.isEmpty();
+        }
+
+        @Override
+        public Quad next() {
+            Quad theQuad = this.take();
+            if (QuadSorter.this.bDistinct) {
+                while ( ! this.queueCursors.isEmpty() &&
+                        QuadSorter.theQuadOrder.compare(this.queueCursors.peek().theQuad, theQuad) == 0 )
+                {
+                    this.take();
+                }
+            }
+            return theQuad;
+        }
+
+        private Quad take() {
+            RunCursor theCursor = this.queueCursors.poll();
+            if (theCursor == null) {
+                throw new NoSuchElementException();
+            }
+            Quad theQuad = theCursor.theQuad;
+            if ( theCursor.advance() ) {
+                this.queueCursors.add(theCursor);
+            }
+            return theQuad;
+        }
+    }
+}
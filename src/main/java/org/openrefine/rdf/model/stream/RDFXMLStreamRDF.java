@@ -0,0 +1,215 @@
+/*
+ *  Class RDFXMLStreamRDF
+ *
+ *  A streaming RDF/XML writer for subject grouped statements.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.impl.Util;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.util.XMLChar;
+import org.apache.jena.vocabulary.RDF;
+
+/**
+ * Class RDFXMLStreamRDF<br />
+ *<br />
+ *  Jena has no streaming RDF/XML writer.  This writer prints each run of statements with the same
+ *  subject as one rdf:Description, so statements grouped by subject (such as those from a QuadSorter)
+ *  print as one description per subject.  Graph terms are dropped: the result is the union graph, as
+ *  RDF/XML holds a single graph.<br />
+ *<br />
+ *  Namespaces given before the first statement are declared on the root element.  A predicate in
+ *  any other namespace declares its namespace on its own property element.
+ */
+public class RDFXMLStreamRDF implements StreamRDF {
+    static private final String strRDFNS = RDF.getURI();
+
+    private final Writer theWriter;
+    private final Map<String, String> mapNamespaces = new LinkedHashMap<String, String>(); // ...namespace to prefix
+    private boolean bHeader = false;
+    private Node nodeSubject = null;
+
+    public RDFXMLStreamRDF(OutputStream theOutput) {
+        this.theWriter = new BufferedWriter( new OutputStreamWriter(theOutput, StandardCharsets.UTF_8), 1 << 16 );
+    }
+
+    @Override
+    public void start() {
+        // Header waits on the prefixes...
+    }
+
+    @Override
+    public void base(String strBase) {
+        // Not used: IRIs are written in full
+    }
+
+    @Override
+    public void prefix(String strPrefix, String strIRI) {
+        if ( this.bHeader || ! XMLChar.isValidNCName(strPrefix) ||
+             strPrefix.startsWith("j.") || strPrefix.startsWith("xml") || strPrefix.equals("rdf") ||
+             strIRI.equals(RDFXMLStreamRDF.strRDFNS) || this.mapNamespaces.containsKey(strIRI) )
+        {
+            return;
+        }
+        this.mapNamespaces.put(strIRI, strPrefix);
+    }
+
+    @Override
+    public void triple(Triple theTriple) {
+        try {
+            this.writeHeader();
+            this.writeStatement( theTriple.getSubject(), theTriple.getPredicate(), theTriple.getObject() );
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void quad(Quad theQuad) {
+        this.triple( theQuad.asTriple() );
+    }
+
+    @Override
+    public void finish() {
+        try {
+            this.writeHeader();
+            if (this.nodeSubject != null) {
+                this.theWriter.write("  </rdf:Description>\n");
+            }
+            this.theWriter.write("</rdf:RDF>\n");
+            this.theWriter.flush();
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        if (this.bHeader) {
+            return;
+        }
+        this.bHeader = true;
+        this.theWriter.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        this.theWriter.write("<rdf:RDF\n    xmlns:rdf=\"" + RDFXMLStreamRDF.escape(RDFXMLStreamRDF.strRDFNS, true) + "\"");
+        for ( Map.Entry<String, String> entry : this.mapNamespaces.entrySet() ) {
+            this.theWriter.write("\n    xmlns:" + entry.getValue() + "=\"" + RDFXMLStreamRDF.escape(entry.getKey(), true) + "\"");
+        }
+        this.theWriter.write(">\n");
+        this.mapNamespaces.put(RDFXMLStreamRDF.strRDFNS, "rdf");
+    }
+
+    private void writeStatement(Node nodeSubject, Node nodePredicate, Node nodeObject) throws IOException {
+        // Open a description for a new subject...
+        if ( ! nodeSubject.equals(this.nodeSubject) ) {
+            if (this.nodeSubject != null) {
+                this.theWriter.write("  </rdf:Description>\n");
+            }
+            this.nodeSubject = nodeSubject;
+            this.theWriter.write("  <rdf:Description " + RDFXMLStreamRDF.toReference(nodeSubject, "rdf:about") + ">\n");
+        }
+
+        // Name the property element...
+        String strPredicate = nodePredicate.getURI();
+        int iSplit = Util.splitNamespaceXML(strPredicate);
+        if ( iSplit <= 0 || iSplit >= strPredicate.length() ) {
+            throw new RiotException("Predicate <" + strPredicate + "> cannot be written as RDF/XML");
+        }
+        String strNamespace = strPredicate.substring(0, iSplit);
+        String strElement = null;
+        String strDeclare = "";
+        String strPrefix = this.mapNamespaces.get(strNamespace);
+        if (strPrefix != null) {
+            strElement = strPrefix + ":" + strPredicate.substring(iSplit);
+        }
+        else {
+            strElement = "j.0:" + strPredicate.substring(iSplit);
+            strDeclare = " xmlns:j.0=\"" + RDFXMLStreamRDF.escape(strNamespace, true) + "\"";
+        }
+
+        // Write the object...
+        this.theWriter.write("    <" + strElement + strDeclare);
+        if ( ! nodeObject.isLiteral() ) {
+            this.theWriter.write(" " + RDFXMLStreamRDF.toReference(nodeObject, "rdf:resource") + "/>\n");
+            return;
+        }
+        String strLang = nodeObject.getLiteralLanguage();
+        String strDatatype = nodeObject.getLiteralDatatypeURI();
+        if ( strLang != null && ! strLang.isEmpty() ) {
+            this.theWriter.write(" xml:lang=\"" + RDFXMLStreamRDF.escape(strLang, true) + "\"");
+        }
+        else if ( strDatatype != null && ! strDatatype.equals( XSDDatatype.XSDstring.getURI() ) ) {
+            this.theWriter.write(" rdf:datatype=\"" + RDFXMLStreamRDF.escape(strDatatype, true) + "\"");
+        }
+        this.theWriter.write(">" + RDFXMLStreamRDF.escape( nodeObject.getLiteralLexicalForm(), false ) + "</" + strElement + ">\n");
+    }
+
+    static private String toReference(Node theNode, String strIRIAttribute) {
+        if ( theNode.isBlank() ) {
+            return "rdf:nodeID=\"" + NodeFmtLib.encodeBNodeLabel( theNode.getBlankNodeLabel() ) + "\"";
+        }
+        if ( theNode.isURI() ) {
+            return strIRIAttribute + "=\"" + RDFXMLStreamRDF.escape( theNode.getURI(), true ) + "\"";
+        }
+        throw new RiotException("Node " + theNode + " cannot be written as an RDF/XML subject or resource");
+    }
+
+    static private String escape(String strText, boolean bAttribute) {
+        StringBuilder sbText = null;
+        int iLength = strText.length();
+        for (int iIndex = 0; iIndex < iLength; iIndex++) {
+            char chr = strText.charAt(iIndex);
+            String strEscape = null;
+            switch (chr) {
+                case '&': strEscape = "&amp;"; break;
+                case '<': strEscape = "&lt;"; break;
+                case '>': strEscape = "&gt;"; break;
+                case '"':  if (bAttribute) strEscape = "&quot;"; break;
+                case '\r': strEscape = "&#xD;"; break;
+                case '\n': if (bAttribute) strEscape = "&#xA;"; break;
+                case '\t': if (bAttribute) strEscape = "&#x9;"; break;
+                default: break;
+            }
+            if (strEscape != null && sbText == null) {
+                sbText = new StringBuilder(iLength + 16);
+                sbText.append(strText, 0, iIndex);
+            }
+            if (sbText != null) {
+                if (strEscape != null) sbText.append(strEscape);
+                else sbText.append(chr);
+            }
+        }
+        return ( sbText == null ? strText : sbText.toString() );
+    }
+}
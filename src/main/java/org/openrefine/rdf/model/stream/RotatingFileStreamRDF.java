@@ -0,0 +1,287 @@
+/*
+ *  Class RotatingFileStreamRDF
+ *
+ *  A line based statement writer rolling over numbered part files.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import org.openrefine.rdf.model.Util;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class RotatingFileStreamRDF<br />
+ *<br />
+ *  Writes statements as N-Quads (or N-Triples, given only triples) lines to numbered part files in a
+ *  directory: "part-00001.nq", "part-00002.nq", and so on.  A new part starts once the current part
+ *  holds the part's statement count or would pass the part's byte size.  Every line is whole within
+ *  its part, so each part is a valid file on its own.<br />
+ *<br />
+ *  Each part records its statement count, byte size, and SHA-256 checksum for a manifest.  A write
+ *  failure stops the writer.  See checkFailure().
+ */
+public class RotatingFileStreamRDF implements StreamRDF, Closeable {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:RotatingFileStreamRDF");
+
+    /*
+     *  Class Part
+     *
+     *    A written part file.
+     */
+    static public class Part {
+        private final String strFile;
+        private long lQuads = 0;
+        private long lBytes = 0;
+        private String strSHA256 = null;
+
+        Part(String strFile) {
+            this.strFile = strFile;
+        }
+
+        @JsonProperty("file")
+        public String getFile() {
+            return this.strFile;
+        }
+
+        @JsonProperty("quads")
+        public long getQuads() {
+            return this.lQuads;
+        }
+
+        @JsonProperty("bytes")
+        public long getBytes() {
+            return this.lBytes;
+        }
+
+        @JsonProperty("sha256")
+        public String getSHA256() {
+            return this.strSHA256;
+        }
+    }
+
+    private final File dirTarget;
+    private final String strExtension;
+    private final long lPartQuads;
+    private final long lPartBytes;
+    private final LongConsumer theBytesWritten;
+    private final List<Part> listParts = new ArrayList<Part>();
+    private Part partNow = null;
+    private OutputStream streamPart = null;
+    private MessageDigest theDigest = null;
+    private long lQuads = 0;
+    private long lBytes = 0;
+    private RuntimeException exFailure = null;
+
+    /**
+     * RotatingFileStreamRDF ctor
+     * @param dirTarget - The directory receiving the part files.
+     * @param strExtension - The part file extension, such as "nq".
+     * @param lPartQuads - The statements per part.  When 0 (or less), not limited.
+     * @param lPartBytes - The bytes per part.  When 0 (or less), not limited.
+     * @param theBytesWritten - Receives the bytes written for progress.  May be null.
+     */
+    public RotatingFileStreamRDF(File dirTarget, String strExtension, long lPartQuads, long lPartBytes,
+                                 LongConsumer theBytesWritten)
+    {
+        this.dirTarget = dirTarget;
+        this.strExtension = strExtension;
+        this.lPartQuads = lPartQuads;
+        this.lPartBytes = lPartBytes;
+        this.theBytesWritten = theBytesWritten;
+    }
+
+    public long getCount() {
+        return this.lQuads;
+    }
+
+    public long getBytes() {
+        return this.lBytes;
+    }
+
+    /**
+     * Get the parts written so far.  The current part is complete once finish() is called.
+     * @return List<Part> - The parts.
+     */
+    public List<Part> getParts() {
+        return Collections.unmodifiableList(this.listParts);
+    }
+
+    /**
+     * Throw any failure that stopped the writer.
+     * @throws IOException - when the writer failed.
+     */
+    public void checkFailure() throws IOException {
+        if (this.exFailure != null) {
+            throw new IOException( this.exFailure.getMessage(), this.exFailure );
+        }
+    }
+
+    @Override
+    public void start() {
+        // Nothing to start: parts open on their first statement...
+    }
+
+    @Override
+    public void base(String strBase) {
+        // Not used: N-Quads has no base
+    }
+
+    @Override
+    public void prefix(String strPrefix, String strIRI) {
+        // Not used: N-Quads has no prefixes
+    }
+
+    @Override
+    public void triple(Triple theTriple) {
+        this.write( NodeFmtLib.strNodesNT( theTriple.getSubject(), theTriple.getPredicate(), theTriple.getObject() ) + " .\n" );
+    }
+
+    @Override
+    public void quad(Quad theQuad) {
+        Node nodeGraph = theQuad.getGraph();
+        if ( nodeGraph == null || Quad.isDefaultGraph(nodeGraph) ) {
+            this.triple( theQuad.asTriple() );
+            return;
+        }
+        this.write(
+            NodeFmtLib.strNodesNT( theQuad.getSubject(), theQuad.getPredicate(), theQuad.getObject() ) + " " +
+            NodeFmtLib.strNT(nodeGraph) + " .\n" );
+    }
+
+    @Override
+    public void finish() {
+        try {
+            this.closePart();
+        }
+        catch (IOException ex) {
+            this.fail(ex);
+        }
+    }
+
+    /**
+     * Close any open part without completing it (such as on a failure).
+     */
+    @Override
+    public void close() {
+        if (this.streamPart != null) {
+            try {
+                this.streamPart.close();
+            }
+            catch (IOException ex) {
+                // No problem: the part is incomplete anyway...
+            }
+            this.streamPart = null;
+        }
+    }
+
+    private void write(String strLine) {
+        if (this.exFailure != null) {
+            throw this.exFailure;
+        }
+        byte[] abLine = strLine.getBytes(StandardCharsets.UTF_8);
+        try {
+            // Roll to a new part when the current part is full...
+            if ( this.partNow != null &&
+                 ( ( this.lPartQuads > 0 && this.partNow.lQuads >= this.lPartQuads ) ||
+                   ( this.lPartBytes > 0 && this.partNow.lBytes + abLine.length > this.lPartBytes ) ) )
+            {
+                this.closePart();
+            }
+            if (this.partNow == null) {
+                this.openPart();
+            }
+            this.streamPart.write(abLine);
+        }
+        catch (IOException ex) {
+            this.fail(ex);
+        }
+        this.partNow.lQuads++;
+        this.partNow.lBytes += abLine.length;
+        this.lQuads++;
+        this.lBytes += abLine.length;
+        if (this.theBytesWritten != null) {
+            this.theBytesWritten.accept(abLine.length);
+        }
+    }
+
+    private void openPart() throws IOException {
+        String strFile = String.format("part-%05d.%s", this.listParts.size() + 1, this.strExtension);
+        try {
+            this.theDigest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IOException("SHA-256 not available", ex);
+        }
+        this.streamPart =
+            new BufferedOutputStream(
+                new DigestOutputStream( new FileOutputStream( new File(this.dirTarget, strFile) ), this.theDigest ),
+                1 << 16 );
+        this.partNow = new Part(strFile);
+        this.listParts.add(this.partNow);
+        if ( Util.isDebugMode() ) RotatingFileStreamRDF.logger.info("DEBUG: Opened part " + strFile);
+    }
+
+    private void closePart() throws IOException {
+        if (this.partNow == null) {
+            return;
+        }
+        this.streamPart.close();
+        this.streamPart = null;
+        StringBuilder strbDigest = new StringBuilder();
+        for ( byte bValue : this.theDigest.digest() ) {
+            strbDigest.append( String.format("%02x", bValue) );
+        }
+        this.partNow.strSHA256 = strbDigest.toString();
+        if ( Util.isVerbose(3) ) {
+            RotatingFileStreamRDF.logger.info("Wrote part " + this.partNow.strFile + ": " +
+                this.partNow.lQuads + " statements, " + this.partNow.lBytes + " bytes");
+        }
+        this.partNow = null;
+        this.theDigest = null;
+    }
+
+    private void fail(IOException ex) {
+        this.exFailure = new UncheckedIOException("Export to " + this.dirTarget.getPath() + " failed: " + ex.getMessage(), ex);
+        throw this.exFailure;
+    }
+}
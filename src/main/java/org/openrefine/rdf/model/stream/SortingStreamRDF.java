@@ -0,0 +1,175 @@
+/*
+ *  Class SortingStreamRDF
+ *
+ *  Sorts statements and drops their repeats in bounded memory.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+import org.openrefine.rdf.model.Util;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class SortingStreamRDF<br />
+ *<br />
+ *  Collects statements in a distinct QuadSorter: each run of statements is sorted in memory and
+ *  written to a run file under the RDF Transform cache directory, then sendTo() merges the runs.
+ *  The statements arrive in graph, subject, predicate, object order with each statement once, so
+ *  the memory held is bounded by the run size no matter the graph size.<br />
+ *<br />
+ *  Close to remove the run files.
+ */
+public class SortingStreamRDF implements StreamRDF, Closeable {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:SortingStreamRDF");
+
+    private final int iRunSize;
+    private final String strName;
+    private File dirRuns = null;
+    private QuadSorter theSorter = null;
+    private long lCount = 0;
+    private long lDistinct = 0;
+    private RuntimeException exFailure = null;
+
+    /**
+     * SortingStreamRDF ctor
+     * @param iRunSize - The statements sorted in memory for each run.
+     * @param strName - The output's name for messages.
+     */
+    public SortingStreamRDF(int iRunSize, String strName) {
+        this.iRunSize = iRunSize;
+        this.strName = strName;
+    }
+
+    /**
+     * Get the statements collected, including repeats.
+     * @return long - The count.
+     */
+    public long getCount() {
+        return this.lCount;
+    }
+
+    /**
+     * Get the distinct statements sent by sendTo().
+     * @return long - The count.
+     */
+    public long getDistinct() {
+        return this.lDistinct;
+    }
+
+    /**
+     * Throw any failure that stopped the collection.
+     * @throws IOException - when the collection failed.
+     */
+    public void checkFailure() throws IOException {
+        if (this.exFailure != null) {
+            throw new IOException( this.exFailure.getMessage(), this.exFailure );
+        }
+    }
+
+    @Override
+    public void start() {
+        // Nothing to start: the runs start on the first statement...
+    }
+
+    @Override
+    public void base(String strBase) {
+        // Not used: IRIs are resolved by the RDF Transform
+    }
+
+    @Override
+    public void prefix(String strPrefix, String strIRI) {
+        // Not used: the line based formats have no prefixes
+    }
+
+    @Override
+    public void triple(Triple theTriple) {
+        this.quad( Quad.create(Quad.defaultGraphNodeGenerated, theTriple) );
+    }
+
+    @Override
+    public void quad(Quad theQuad) {
+        if (this.exFailure != null) {
+            throw this.exFailure;
+        }
+        try {
+            if (this.theSorter == null) {
+                this.dirRuns = QuadSorter.createRunDirectory("sort-");
+                this.theSorter = new QuadSorter(this.dirRuns, this.iRunSize, true);
+            }
+            this.theSorter.add(theQuad);
+            this.lCount++;
+        }
+        catch (IOException ex) {
+            this.exFailure = new UncheckedIOException("Export " + this.strName + " could not write a sorted run: " + ex.getMessage(), ex);
+            throw this.exFailure;
+        }
+    }
+
+    @Override
+    public void finish() {
+        // Nothing to finish: see sendTo()...
+    }
+
+    /**
+     * Stream the sorted, distinct statements to a writer.
+     * @param theWriter - The writer.
+     * @throws IOException - when the run files cannot be read.
+     */
+    public void sendTo(StreamRDF theWriter) throws IOException {
+        theWriter.start();
+        if (this.theSorter != null) {
+            Iterator<Quad> iterQuads = this.theSorter.iterator(); // ...writes any last run
+            if ( Util.isVerbose(2) ) {
+                SortingStreamRDF.logger.info("Export " + this.strName + " merging " + this.lCount + " statements from " +
+                    Math.max( this.theSorter.getRunCount(), 1 ) + " sorted runs...");
+            }
+            while ( iterQuads.hasNext() ) {
+                theWriter.quad( iterQuads.next() );
+                this.lDistinct++;
+            }
+        }
+        theWriter.finish();
+    }
+
+    /**
+     * Remove the run files.
+     */
+    @Override
+    public void close() {
+        if (this.theSorter != null) {
+            this.theSorter.close();
+            this.theSorter = null;
+        }
+        if (this.dirRuns != null) {
+            FileUtils.deleteQuietly(this.dirRuns);
+            this.dirRuns = null;
+        }
+    }
+}
@@ -0,0 +1,463 @@
+/*
+ *  Class SparqlPushStreamRDF
+ *
+ *  Pushes statements to a SPARQL Graph Store or Update endpoint in batches.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.utils.HttpUtils;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class SparqlPushStreamRDF<br />
+ *<br />
+ *  Pushes statements to a SPARQL endpoint as they are written, a batch at a time, so an export
+ *  never holds more than its batches in memory:<br />
+ *  &nbsp;&nbsp;GSP - POST N-Quads to a Graph Store Protocol dataset endpoint (such as "/ds/data")<br />
+ *  &nbsp;&nbsp;UPDATE - POST "INSERT DATA" requests to a SPARQL 1.1 Update endpoint (such as "/ds/update")<br />
+ *<br />
+ *  A full batch is sent on a background thread by the pooled connections of HttpUtils.  At most the
+ *  "in flight" number of batches are sent at once: the writer waits for a free slot, so a slow
+ *  endpoint slows the export instead of filling memory.  A batch failing by a connection error, a
+ *  server error (5xx), or "Too Many Requests" (429) is retried after a growing delay, or after the
+ *  server's "Retry-After" delay (up to 2 minutes) when given.  Any other rejection fails the push at
+ *  once.  A failure stops the writer.  See checkFailure().<br />
+ *<br />
+ *  NOTE: Each batch is its own request, so a blank node is scoped to its batch.  A blank node used
+ *  across batches becomes distinct blank nodes on the endpoint.
+ */
+public class SparqlPushStreamRDF implements StreamRDF, Closeable {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:SparqlPushStreamRDF");
+
+    static private final long lRetryDelay = 500; // ...milliseconds, doubled per retry
+    static private final long lRetryDelayMax = 30000;
+    static private final long lRetryAfterMax = 120000; // ...bounds a server's Retry-After
+
+    static private final AtomicInteger iThreadCount = new AtomicInteger(0);
+
+    /*
+     *  Enum Protocol
+     *
+     *    The endpoint's protocol.
+     */
+    public enum Protocol {
+        GSP,
+        UPDATE
+    }
+
+    /**
+     * Get the protocol for a name.
+     * @param strProtocol - The protocol name: "GSP" (or blank) or "UPDATE".
+     * @return Protocol - The protocol or null when not known.
+     */
+    static public Protocol getProtocol(String strProtocol) {
+        if ( strProtocol == null || strProtocol.isBlank() || strProtocol.strip().equalsIgnoreCase("GSP") ) {
+            return Protocol.GSP;
+        }
+        if ( strProtocol.strip().equalsIgnoreCase("UPDATE") ) {
+            return Protocol.UPDATE;
+        }
+        return null;
+    }
+
+    private final String strEndpoint;
+    private final Protocol theProtocol;
+    private final int iBatch;
+    private final int iInFlight;
+    private final int iRetries;
+    private final Map<String, String> mapHeaders;
+    private final LongConsumer theBytesWritten;
+    private final ExecutorService theExecutor;
+    private final Semaphore semInFlight;
+
+    // The batch: N-Triples statement text (without the ending " .") by N-Triples graph ("" is the default graph)...
+    private Map<String, List<String>> mapBatch = new LinkedHashMap<String, List<String>>();
+    private int iBatchQuads = 0;
+    private boolean bBlankNodes = false;
+    private long lQuads = 0;
+    private long lBytes = 0;
+    private final AtomicLong lPushed = new AtomicLong(0);
+    private final AtomicLong lBatches = new AtomicLong(0);
+    private final AtomicLong lRetried = new AtomicLong(0);
+    private volatile RuntimeException exFailure = null;
+
+    /**
+     * SparqlPushStreamRDF ctor
+     * @param strEndpoint - The endpoint URL.
+     * @param theProtocol - The endpoint's protocol.
+     * @param iBatch - The statements per request.
+     * @param iInFlight - The requests sent at once.
+     * @param iRetries - The retries of a failed request.
+     * @param mapHeaders - Other request headers, such as "Authorization".  May be null.
+     * @param theBytesWritten - Receives the bytes sent for progress.  May be null.
+     */
+    public SparqlPushStreamRDF(String strEndpoint, Protocol theProtocol, int iBatch, int iInFlight, int iRetries,
+                               Map<String, String> mapHeaders, LongConsumer theBytesWritten)
+    {
+        this.strEndpoint = strEndpoint;
+        this.theProtocol = theProtocol;
+        this.iBatch = Math.max(iBatch, 1);
+        this.iInFlight = Math.max(iInFlight, 1);
+        this.iRetries = Math.max(iRetries, 0);
+        this.mapHeaders = mapHeaders;
+        this.theBytesWritten = theBytesWritten;
+        this.semInFlight = new Semaphore(this.iInFlight);
+        this.theExecutor =
+            Executors.newFixedThreadPool(this.iInFlight,
+                (Runnable theTask) -> {
+                    Thread theThread = new Thread(theTask, "RDFT-Push-" + SparqlPushStreamRDF.iThreadCount.incrementAndGet());
+                    theThread.setDaemon(true);
+                    return theThread;
+                }
+            );
+        HttpUtils.ensureConnections(this.iInFlight);
+    }
+
+    /**
+     * Get the statements written.  Once finish() returns, all were pushed.
+     * @return long - The count.
+     */
+    public long getCount() {
+        return this.lQuads;
+    }
+
+    /**
+     * Get the statements the endpoint accepted so far.
+     * @return long - The count.
+     */
+    public long getPushed() {
+        return this.lPushed.get();
+    }
+
+    public long getBytes() {
+        return this.lBytes;
+    }
+
+    public long getBatches() {
+        return this.lBatches.get();
+    }
+
+    public long getRetries() {
+        return this.lRetried.get();
+    }
+
+    /**
+     * Throw any failure that stopped the writer.
+     * @throws IOException - when the writer failed.
+     */
+    public void checkFailure() throws IOException {
+        RuntimeException exNow = this.exFailure;
+        if (exNow != null) {
+            throw new IOException( exNow.getMessage(), exNow );
+        }
+    }
+
+    @Override
+    public void start() {
+        // Nothing to start: requests are sent per batch...
+    }
+
+    @Override
+    public void base(String strBase) {
+        // Not used: the statements are sent with full IRIs
+    }
+
+    @Override
+    public void prefix(String strPrefix, String strIRI) {
+        // Not used: the statements are sent with full IRIs
+    }
+
+    @Override
+    public void triple(Triple theTriple) {
+        this.add( "", NodeFmtLib.strNodesNT( theTriple.getSubject(), theTriple.getPredicate(), theTriple.getObject() ) );
+        if ( ! this.bBlankNodes &&
+             ( theTriple.getSubject().isBlank() || theTriple.getObject().isBlank() ) )
+        {
+            this.bBlankNodes = true;
+            SparqlPushStreamRDF.logger.warn("WARNING: Pushing blank nodes to " + this.strEndpoint +
+                                            ": a blank node is scoped to its batch of " + this.iBatch + " statements");
+        }
+    }
+
+    @Override
+    public void quad(Quad theQuad) {
+        Node nodeGraph = theQuad.getGraph();
+        if ( nodeGraph == null || Quad.isDefaultGraph(nodeGraph) ) {
+            this.triple( theQuad.asTriple() );
+            return;
+        }
+        this.add( NodeFmtLib.strNT(nodeGraph),
+                  NodeFmtLib.strNodesNT( theQuad.getSubject(), theQuad.getPredicate(), theQuad.getObject() ) );
+    }
+
+    /**
+     * Send the last batch and wait for all the batches to be pushed.
+     */
+    @Override
+    public void finish() {
+        this.checkWriter();
+        if (this.iBatchQuads > 0) {
+            this.send();
+        }
+        try {
+            // Wait for all sends to end...
+            this.semInFlight.acquire(this.iInFlight);
+            this.semInFlight.release(this.iInFlight);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            this.fail( new IOException("Push to " + this.strEndpoint + " interrupted", ex) );
+        }
+        this.checkWriter();
+        if ( Util.isVerbose(3) ) {
+            SparqlPushStreamRDF.logger.info("Pushed " + this.lPushed.get() + " statements to " + this.strEndpoint + " in " +
+                this.lBatches.get() + " batches with " + this.lRetried.get() + " retries");
+        }
+    }
+
+    /**
+     * Stop sending.  Batches not yet pushed are dropped (such as on a failure or cancellation).
+     */
+    @Override
+    public void close() {
+        this.theExecutor.shutdownNow();
+        this.mapBatch.clear();
+        this.iBatchQuads = 0;
+    }
+
+    private void add(String strGraph, String strStatement) {
+        this.checkWriter();
+        this.mapBatch.computeIfAbsent( strGraph, (strKey) -> new ArrayList<String>() ).add(strStatement);
+        this.iBatchQuads++;
+        this.lQuads++;
+        if (this.iBatchQuads >= this.iBatch) {
+            this.send();
+        }
+    }
+
+    private void checkWriter() {
+        RuntimeException exNow = this.exFailure;
+        if (exNow != null) {
+            throw exNow;
+        }
+    }
+
+    /*
+     *  Method send() hands the batch to a sender once a slot is free.  Waiting for the slot holds
+     *  back the writer.
+     */
+    private void send() {
+        byte[] abBody = this.render(this.mapBatch).getBytes(StandardCharsets.UTF_8);
+        int iQuads = this.iBatchQuads;
+        this.mapBatch = new LinkedHashMap<String, List<String>>();
+        this.iBatchQuads = 0;
+
+        try {
+            this.semInFlight.acquire();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            this.fail( new IOException("Push to " + this.strEndpoint + " interrupted", ex) );
+        }
+        try {
+            this.theExecutor.execute(
+                () -> {
+                    try {
+                        this.push(abBody, iQuads);
+                    }
+                    catch (IOException ex) {
+                        this.setFailure(ex);
+                    }
+                    finally {
+                        this.semInFlight.release();
+                    }
+                }
+            );
+        }
+        catch (RejectedExecutionException ex) {
+            this.semInFlight.release();
+            this.fail( new IOException("Push to " + this.strEndpoint + " closed", ex) );
+        }
+        this.lBytes += abBody.length;
+        if (this.theBytesWritten != null) {
+            this.theBytesWritten.accept(abBody.length);
+        }
+    }
+
+    private String render(Map<String, List<String>> mapStatements) {
+        StringBuilder strbBody = new StringBuilder();
+        if (this.theProtocol == Protocol.GSP) {
+            for ( Map.Entry<String, List<String>> entryGraph : mapStatements.entrySet() ) {
+                String strGraph = ( entryGraph.getKey().isEmpty() ? "" : " " + entryGraph.getKey() );
+                for ( String strStatement : entryGraph.getValue() ) {
+                    strbBody.append(strStatement).append(strGraph).append(" .\n");
+                }
+            }
+            return strbBody.toString();
+        }
+
+        // SPARQL Update: the default graph's triples, then each named graph...
+        strbBody.append("INSERT DATA {\n");
+        for ( Map.Entry<String, List<String>> entryGraph : mapStatements.entrySet() ) {
+            boolean bNamed = ! entryGraph.getKey().isEmpty();
+            if (bNamed) {
+                strbBody.append("GRAPH ").append( entryGraph.getKey() ).append(" {\n");
+            }
+            for ( String strStatement : entryGraph.getValue() ) {
+                strbBody.append(strStatement).append(" .\n");
+            }
+            if (bNamed) {
+                strbBody.append("}\n");
+            }
+        }
+        strbBody.append("}\n");
+        return strbBody.toString();
+    }
+
+    /*
+     *  Method push() sends a batch, retrying a connection error, a server error, or a throttle.  A
+     *  throttle or server error giving a Retry-After is retried after that delay, bounded, rather
+     *  than the doubling delay.
+     */
+    private void push(byte[] abBody, int iQuads) throws IOException {
+        String strContentType =
+            ( this.theProtocol == Protocol.GSP ? "application/n-quads; charset=utf-8" : "application/sparql-update; charset=utf-8" );
+        long lBatch = this.lBatches.incrementAndGet();
+        int iAttempt = 0;
+        while (true) {
+            if (this.exFailure != null) {
+                return; // ...another batch failed the push
+            }
+            String strProblem = null;
+            IOException exCause = null;
+            long lRetryAfter = -1;
+            try {
+                Map<String, String> mapResponseHeaders = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+                int iStatus = HttpUtils.post(this.strEndpoint, strContentType, abBody, this.mapHeaders, mapResponseHeaders);
+                if (iStatus >= 200 && iStatus < 300) {
+                    this.lPushed.addAndGet(iQuads);
+                    if ( Util.isDebugMode() ) SparqlPushStreamRDF.logger.info("DEBUG: Pushed batch " + lBatch + ": " + iQuads + " statements");
+                    return;
+                }
+                strProblem = "HTTP status " + iStatus;
+                if ( iStatus != 429 && iStatus < 500 ) {
+                    throw new IOException("Push to " + this.strEndpoint + " rejected batch " + lBatch + ": " + strProblem);
+                }
+                lRetryAfter =
+                    SparqlPushStreamRDF.parseRetryAfter( mapResponseHeaders.get("Retry-After"), System.currentTimeMillis() );
+            }
+            catch (IOException ex) {
+                if (strProblem != null) {
+                    throw ex; // ...rejected
+                }
+                strProblem = ex.getMessage();
+                exCause = ex;
+            }
+
+            if (iAttempt >= this.iRetries) {
+                throw new IOException("Push to " + this.strEndpoint + " failed batch " + lBatch + " after " +
+                                      ( iAttempt + 1 ) + " attempts: " + strProblem, exCause);
+            }
+            long lDelay = Math.min( SparqlPushStreamRDF.lRetryDelay << iAttempt, SparqlPushStreamRDF.lRetryDelayMax );
+            if (lRetryAfter >= 0) {
+                lDelay = Math.min(lRetryAfter, SparqlPushStreamRDF.lRetryAfterMax);
+            }
+            iAttempt++;
+            this.lRetried.incrementAndGet();
+            if ( Util.isVerbose(2) ) {
+                SparqlPushStreamRDF.logger.info("Push batch " + lBatch + " to " + this.strEndpoint + ": " + strProblem +
+                    ": retry " + iAttempt + " of " + this.iRetries + " in " + lDelay + " ms");
+            }
+            try {
+                Thread.sleep(lDelay);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Push to " + this.strEndpoint + " interrupted", ex);
+            }
+        }
+    }
+
+    /**
+     * Parse a Retry-After header: a delay in seconds or an HTTP date.
+     * @param strRetryAfter - The header's value.  May be null.
+     * @param lNow - The current time in milliseconds since the epoch.
+     * @return long - The delay in milliseconds (0 for a past date) or -1 when absent or not parsed.
+     */
+    static long parseRetryAfter(String strRetryAfter, long lNow) {
+        if (strRetryAfter == null) {
+            return -1;
+        }
+        strRetryAfter = strRetryAfter.strip();
+        try {
+            long lSeconds = Long.parseLong(strRetryAfter);
+            return ( lSeconds < 0 ? -1 : Math.min(lSeconds, Long.MAX_VALUE / 1000) * 1000 );
+        }
+        catch (NumberFormatException ex) {
+            // Not seconds: a date...
+        }
+        try {
+            long lDate = ZonedDateTime.parse(strRetryAfter, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return Math.max(lDate - lNow, 0);
+        }
+        catch (DateTimeParseException ex) {
+            return -1;
+        }
+    }
+
+    private synchronized void setFailure(IOException ex) {
+        if (this.exFailure == null) {
+            SparqlPushStreamRDF.logger.error("ERROR: " + ex.getMessage());
+            this.exFailure = new UncheckedIOException(ex.getMessage(), ex);
+        }
+    }
+
+    private void fail(IOException ex) {
+        this.setFailure(ex);
+        throw this.exFailure;
+    }
+}
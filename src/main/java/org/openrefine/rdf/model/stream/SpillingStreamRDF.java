@@ -0,0 +1,245 @@
+/*
+ *  Class SpillingStreamRDF
+ *
+ *  A statement collector that spills to disk past a statement limit.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+import org.openrefine.rdf.model.Util;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.jena.atlas.iterator.Iter;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.PrefixMap;
+import org.apache.jena.riot.system.PrefixMapFactory;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFOps;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.graph.GraphFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class SpillingStreamRDF<br />
+ *<br />
+ *  Collects statements in a memory DatasetGraph until the statement count passes the spill limit.
+ *  Then, the collected statements move to a QuadSorter under the RDF Transform cache directory and
+ *  all later statements follow them there.  The memory held is then bounded by the spill limit no
+ *  matter the graph size.<br />
+ *<br />
+ *  When not spilled, the DatasetGraph serves writers needing the whole graph.  When spilled, sendTo()
+ *  streams the statements grouped by graph and subject for a streaming writer.<br />
+ *<br />
+ *  When spilling is not allowed (the output has no streaming writer), passing the limit is reported
+ *  and the statements stay in memory as they always have.  Close to remove any spill files.
+ */
+public class SpillingStreamRDF implements StreamRDF, Closeable {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:SpillingStreamRDF");
+
+    private final long lSpillLimit;
+    private final boolean bSpillable;
+    private final String strName;
+    private final PrefixMap thePrefixes = PrefixMapFactory.create();
+    private DatasetGraph theDSGraph = DatasetGraphFactory.create();
+    private File dirSpill = null;
+    private QuadSorter theSorter = null;
+    private long lCount = 0;
+    private long lSent = 0;
+    private RuntimeException exFailure = null;
+
+    /**
+     * SpillingStreamRDF ctor
+     * @param lSpillLimit - The statement count held in memory.  When 0 (or less), never spill.
+     * @param bSpillable - Whether spilling is allowed.  When not, passing the limit is only reported.
+     * @param strName - The output's name for messages.
+     */
+    public SpillingStreamRDF(long lSpillLimit, boolean bSpillable, String strName) {
+        this.lSpillLimit = lSpillLimit;
+        this.bSpillable = bSpillable;
+        this.strName = strName;
+    }
+
+    public boolean isSpilled() {
+        return (this.theSorter != null);
+    }
+
+    public long getCount() {
+        return this.lCount;
+    }
+
+    /**
+     * Get the distinct statements sent by sendTo().
+     * @return long - The count.
+     */
+    public long getSent() {
+        return this.lSent;
+    }
+
+    /**
+     * Get the collected statements when not spilled.
+     * @return DatasetGraph - The statements or null when spilled.
+     */
+    public DatasetGraph getDSGraph() {
+        return this.theDSGraph;
+    }
+
+    /**
+     * Throw any failure that stopped the collection.
+     * @throws IOException - when the collection failed.
+     */
+    public void checkFailure() throws IOException {
+        if (this.exFailure != null) {
+            throw new IOException( this.exFailure.getMessage(), this.exFailure );
+        }
+    }
+
+    @Override
+    public void start() {
+        // Nothing to start...
+    }
+
+    @Override
+    public void base(String strBase) {
+        // Not used: IRIs are resolved by the RDF Transform
+    }
+
+    @Override
+    public void prefix(String strPrefix, String strIRI) {
+        this.thePrefixes.add(strPrefix, strIRI);
+        if (this.theDSGraph != null) {
+            this.theDSGraph.prefixes().add(strPrefix, strIRI);
+        }
+    }
+
+    @Override
+    public void triple(Triple theTriple) {
+        this.quad( Quad.create(Quad.defaultGraphNodeGenerated, theTriple) );
+    }
+
+    @Override
+    public void quad(Quad theQuad) {
+        if (this.exFailure != null) {
+            throw this.exFailure;
+        }
+        try {
+            this.lCount++;
+            if (this.theSorter != null) {
+                this.theSorter.add(theQuad);
+                return;
+            }
+            this.addToGraph(theQuad);
+            if ( this.lSpillLimit > 0 && this.lCount == this.lSpillLimit + 1 ) { // ...on passing the limit
+                this.spill();
+            }
+        }
+        catch (IOException ex) {
+            this.exFailure = new UncheckedIOException("Export " + this.strName + " could not spill to disk: " + ex.getMessage(), ex);
+            throw this.exFailure;
+        }
+    }
+
+    @Override
+    public void finish() {
+        // Nothing to finish: see sendTo()...
+    }
+
+    /**
+     * Stream the statements, grouped by graph and subject, to a writer.
+     * @param theWriter - The writer.
+     * @throws IOException - when the spill files cannot be read.
+     */
+    public void sendTo(StreamRDF theWriter) throws IOException {
+        theWriter.start();
+        StreamRDFOps.sendPrefixesToStream(this.thePrefixes, theWriter);
+        if (this.theSorter != null) {
+            Iterator<Quad> iterQuads = this.theSorter.iterator();
+            while ( iterQuads.hasNext() ) {
+                theWriter.quad( iterQuads.next() );
+                this.lSent++;
+            }
+        }
+        else {
+            StreamRDFOps.sendDatasetToStream(this.theDSGraph, theWriter);
+            this.lSent = Iter.count( this.theDSGraph.find() );
+        }
+        theWriter.finish();
+    }
+
+    /**
+     * Remove any spill files.
+     */
+    @Override
+    public void close() {
+        if (this.theSorter != null) {
+            this.theSorter.close();
+        }
+        if (this.dirSpill != null) {
+            FileUtils.deleteQuietly(this.dirSpill);
+            this.dirSpill = null;
+        }
+        if (this.theDSGraph != null) {
+            this.theDSGraph.close();
+        }
+    }
+
+    private void addToGraph(Quad theQuad) {
+        Node nodeGraph = theQuad.getGraph();
+        // Give a new named graph the prefixes like the default graph...
+        if ( nodeGraph != null && ! Quad.isDefaultGraph(nodeGraph) && ! this.theDSGraph.containsGraph(nodeGraph) ) {
+            Graph theGraph = GraphFactory.createGraphMem();
+            theGraph.getPrefixMapping().setNsPrefixes( this.thePrefixes.getMapping() );
+            this.theDSGraph.addGraph(nodeGraph, theGraph);
+        }
+        this.theDSGraph.add(theQuad);
+    }
+
+    private void spill() throws IOException {
+        if ( ! this.bSpillable ) {
+            SpillingStreamRDF.logger.warn("WARNING: Export " + this.strName + " passed the in-memory limit of " + this.lSpillLimit +
+                " statements but cannot spill to disk: holding the graph in memory.  A stream format (such as NQUADS" +
+                " or TURTLE_BLOCKS) needs far less memory.");
+            return;
+        }
+
+        // Create the spill directory under the cache...
+        this.dirSpill = QuadSorter.createRunDirectory("export-");
+        if ( Util.isVerbose(2) ) {
+            SpillingStreamRDF.logger.info("Export " + this.strName + " passed " + this.lSpillLimit + " statements: spilling to " + this.dirSpill.getPath());
+        }
+
+        // Move the collected statements to the sorter...
+        this.theSorter = new QuadSorter( this.dirSpill, (int) Math.min(this.lSpillLimit, Integer.MAX_VALUE - 8), true ); // ...as the memory graph
+        Iterator<Quad> iterQuads = this.theDSGraph.find();
+        while ( iterQuads.hasNext() ) {
+            this.theSorter.add( iterQuads.next() );
+        }
+        this.theDSGraph.close();
+        this.theDSGraph = null;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ *  Class TDB2LoaderStreamRDF
+ *
+ *  Loads statements into a TDB2 database by the TDB2 bulk loader.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.openrefine.rdf.model.Util;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.system.progress.MonitorOutput;
+import org.apache.jena.tdb2.loader.DataLoader;
+import org.apache.jena.tdb2.loader.LoaderFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Class TDB2LoaderStreamRDF<br />
+ *<br />
+ *  Hands statements straight to the TDB2 bulk loader of a database: no text is written or parsed
+ *  between the transform and the database.  The loader commits once per batch: after the batch's
+ *  statements are loaded, the batch's loader ends (committing) and the next batch starts a new one.
+ *  A batch holds the loader's write transaction, so a larger batch loads faster and a smaller batch
+ *  loses less to a failure.<br />
+ *<br />
+ *  A failure (or close() before finish()) aborts the current batch.  The committed batches stay in
+ *  the database.  See checkFailure().
+ */
+public class TDB2LoaderStreamRDF implements StreamRDF, Closeable {
+    static private final Logger logger = LoggerFactory.getLogger("RDFT:TDB2LoaderStreamRDF");
+
+    private final DatasetGraph theDatabase;
+    private final long lBatch;
+    private final MonitorOutput theMonitor;
+    private DataLoader theLoader = null;
+    private StreamRDF theLoaderStream = null;
+    private long lBatchQuads = 0;
+    private long lQuads = 0;
+    private long lBatches = 0;
+    private RuntimeException exFailure = null;
+
+    /**
+     * TDB2LoaderStreamRDF ctor
+     * @param theDatabase - The TDB2 database.
+     * @param lBatch - The statements committed per transaction.
+     */
+    public TDB2LoaderStreamRDF(DatasetGraph theDatabase, long lBatch) {
+        this.theDatabase = theDatabase;
+        this.lBatch = Math.max(lBatch, 1);
+        this.theMonitor =
+            (String strFormat, Object... aobjArgs) -> {
+                if ( Util.isVerbose(3) ) TDB2LoaderStreamRDF.logger.info( String.format(strFormat, aobjArgs).strip() );
+            };
+    }
+
+    /**
+     * Get the statements loaded.  Once finish() returns, all were committed.
+     * @return long - The count.
+     */
+    public long getCount() {
+        return this.lQuads;
+    }
+
+    /**
+     * Get the transactions committed.
+     * @return long - The count.
+     */
+    public long getBatches() {
+        return this.lBatches;
+    }
+
+    /**
+     * Throw any failure that stopped the loader.
+     * @throws IOException - when the loader failed.
+     */
+    public void checkFailure() throws IOException {
+        if (this.exFailure != null) {
+            throw new IOException( this.exFailure.getMessage(), this.exFailure );
+        }
+    }
+
+    @Override
+    public void start() {
+        // Nothing to start: batches start on their first statement...
+    }
+
+    @Override
+    public void base(String strBase) {
+        // Not used: the database holds full IRIs
+    }
+
+    @Override
+    public void prefix(String strPrefix, String strIRI) {
+        // Not used: the database holds full IRIs
+    }
+
+    @Override
+    public void triple(Triple theTriple) {
+        this.prepare();
+        try {
+            this.theLoaderStream.triple(theTriple);
+        }
+        catch (RuntimeException ex) {
+            this.fail(ex);
+        }
+        this.loaded();
+    }
+
+    @Override
+    public void quad(Quad theQuad) {
+        this.prepare();
+        try {
+            this.theLoaderStream.quad(theQuad);
+        }
+        catch (RuntimeException ex) {
+            this.fail(ex);
+        }
+        this.loaded();
+    }
+
+    /**
+     * Commit the last batch.
+     */
+    @Override
+    public void finish() {
+        if (this.exFailure != null) {
+            throw this.exFailure;
+        }
+        this.commit();
+        if ( Util.isVerbose(3) ) {
+            TDB2LoaderStreamRDF.logger.info("Loaded " + this.lQuads + " statements in " + this.lBatches + " transactions");
+        }
+    }
+
+    /**
+     * Abort any batch not committed (such as on a failure or cancellation).
+     */
+    @Override
+    public void close() {
+        if (this.theLoader != null) {
+            DataLoader theAborted = this.theLoader;
+            this.theLoader = null;
+            this.theLoaderStream = null;
+            try {
+                theAborted.finishException( new IOException("TDB2 load stopped") );
+            }
+            catch (RuntimeException ex) {
+                // No problem: the batch is aborted anyway...
+            }
+            if ( Util.isVerbose(2) ) TDB2LoaderStreamRDF.logger.info("Aborted TDB2 load batch " + ( this.lBatches + 1 ));
+        }
+    }
+
+    private void prepare() {
+        if (this.exFailure != null) {
+            throw this.exFailure;
+        }
+        if (this.theLoader == null) {
+            try {
+                this.theLoader = LoaderFactory.createLoader(this.theDatabase, this.theMonitor);
+                this.theLoader.startBulk();
+                this.theLoaderStream = this.theLoader.stream();
+                this.theLoaderStream.start();
+            }
+            catch (RuntimeException ex) {
+                this.fail(ex);
+            }
+            if ( Util.isDebugMode() ) TDB2LoaderStreamRDF.logger.info("DEBUG: Started TDB2 load batch " + ( this.lBatches + 1 ));
+        }
+    }
+
+    private void loaded() {
+        this.lQuads++;
+        if (++this.lBatchQuads >= this.lBatch) {
+            this.commit();
+        }
+    }
+
+    private void commit() {
+        if (this.theLoader == null) {
+            return;
+        }
+        try {
+            this.theLoaderStream.finish();
+            this.theLoader.finishBulk();
+        }
+        catch (RuntimeException ex) {
+            this.fail(ex);
+        }
+        this.theLoader = null;
+        this.theLoaderStream = null;
+        this.lBatches++;
+        if ( Util.isVerbose(3) ) {
+            TDB2LoaderStreamRDF.logger.info("Committed TDB2 load batch " + this.lBatches + ": " + this.lBatchQuads + " statements");
+        }
+        this.lBatchQuads = 0;
+    }
+
+    private void fail(RuntimeException ex) {
+        this.exFailure = new IllegalStateException("TDB2 load failed: " + ex.getMessage(), ex);
+        this.close();
+        throw this.exFailure;
+    }
+}
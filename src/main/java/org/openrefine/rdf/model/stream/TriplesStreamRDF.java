@@ -0,0 +1,46 @@
+/*
+ *  Class TriplesStreamRDF
+ *
+ *  A StreamRDF wrapper that reduces quads to triples for triple-only
+ *  serializations (N-Triples, Turtle Blocks, etc).
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.sparql.core.Quad;
+
+/**
+ * Class TriplesStreamRDF<br />
+ *<br />
+ *  The RDF Transform places all statements in the BaseIRI graph, so the node tree always produces
+ *  quads.  Triple-only writers either reject quads or print the graph term, so this wrapper drops
+ *  the graph term and passes the triple on.  The union of all graphs is the result, matching the
+ *  union graph written by the DatasetGraph based exporters.
+ */
+public class TriplesStreamRDF extends StreamRDFWrapper {
+
+    public TriplesStreamRDF(StreamRDF theOutput) {
+        super(theOutput);
+    }
+
+    @Override
+    public void quad(Quad theQuad) {
+        this.other.triple( theQuad.asTriple() );
+    }
+}
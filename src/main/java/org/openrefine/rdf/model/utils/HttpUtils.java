@@ -2,7 +2,7 @@
  *  Class HttpUtils
  *
  *  A class to hold the static HTTP Utility functions.  Provides "get"
- *  functionality given a URL.
+ *  and "post" functionality given a URL.
  *
  *  Copyright 2025 Keven L. Ates
  *
@@ -22,20 +22,27 @@
 package org.openrefine.rdf.model.utils;
 
 import java.io.IOException;
+import java.util.Map;
 
 import org.openrefine.rdf.RDFTransform;
 import org.openrefine.rdf.model.Util;
 
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.ClientProtocolException;
 import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,15 +74,7 @@ public class HttpUtils {
             }
         };
 
-    private static CloseableHttpClient createClient() {
-        //HttpParams httpParams = new BasicHttpParams();
-        //httpParams.setParameter(CoreProtocolPNames.USER_AGENT, USER_AGENT);
-        //httpParams.setIntParameter(CoreConnectionPNames.SO_TIMEOUT, SOCKET_TIMEOUT);
-        //httpParams.setIntParameter(CoreConnectionPNames.CONNECTION_TIMEOUT, CONNECTION_TIMEOUT);
-        //httpParams.setBooleanParameter(ClientPNames.HANDLE_REDIRECTS ,true);
-        //httpParams.setIntParameter(ClientPNames.MAX_REDIRECTS, MAX_REDIRECTS);
-        //return new DefaultHttpClient(httpParams);
-
+    private static synchronized PoolingHttpClientConnectionManager getConnectionManager() {
         if (sConnectionMgr == null) {
             sConnectionMgr = new PoolingHttpClientConnectionManager();
             sConnectionMgr
@@ -85,8 +84,41 @@ public class HttpUtils {
                         .setSocketTimeout(  Timeout.ofSeconds(SOCKET_TIMEOUT) )
                         .build() );
         }
+        return sConnectionMgr;
+    }
+
+    /**
+     * Let the pooled connections hold a number of requests to a host at once.
+     * @param iConnections - The requests to a host at once.  The pool never shrinks.
+     */
+    public static synchronized void ensureConnections(int iConnections) {
+        PoolingHttpClientConnectionManager theConnectionMgr = HttpUtils.getConnectionManager();
+        if ( theConnectionMgr.getDefaultMaxPerRoute() < iConnections ) {
+            theConnectionMgr.setDefaultMaxPerRoute(iConnections);
+        }
+        if ( theConnectionMgr.getMaxTotal() < iConnections ) {
+            theConnectionMgr.setMaxTotal(iConnections);
+        }
+    }
+
+    private static CloseableHttpClient createClient() {
+        return HttpUtils.createClient(true);
+    }
 
-        CloseableHttpClient client =
+    /*
+     *  Method createClient() creates a client on the pooled connections.  A caller retrying on its
+     *  own terms (such as a push) turns off the client's automatic retries.
+     */
+    private static CloseableHttpClient createClient(boolean bRetry) {
+        //HttpParams httpParams = new BasicHttpParams();
+        //httpParams.setParameter(CoreProtocolPNames.USER_AGENT, USER_AGENT);
+        //httpParams.setIntParameter(CoreConnectionPNames.SO_TIMEOUT, SOCKET_TIMEOUT);
+        //httpParams.setIntParameter(CoreConnectionPNames.CONNECTION_TIMEOUT, CONNECTION_TIMEOUT);
+        //httpParams.setBooleanParameter(ClientPNames.HANDLE_REDIRECTS ,true);
+        //httpParams.setIntParameter(ClientPNames.MAX_REDIRECTS, MAX_REDIRECTS);
+        //return new DefaultHttpClient(httpParams);
+
+        HttpClientBuilder builder =
             HttpClients.custom()
 //              .setSSLSocketFactory(
 //                  new SSLConnectionSocketFactory(
@@ -100,17 +132,19 @@ public class HttpUtils {
 //                      .setSoTimeout(SOCKET_TIMEOUT)
 //                      .build() )
                 .setUserAgent(USER_AGENT)
-                .setConnectionManager( sConnectionMgr )
+                .setConnectionManager( HttpUtils.getConnectionManager() )
                 .setConnectionManagerShared(true)
                 .setDefaultRequestConfig(
                     RequestConfig.custom()
                         .setRedirectsEnabled(true)
                         .setMaxRedirects(MAX_REDIRECTS)
 //                      .setCookieSpec(CookieSpecs.STANDARD_STRICT)
-                        .build() )
-                .build();
+                        .build() );
+        if ( ! bRetry ) {
+            builder.disableAutomaticRetries();
+        }
 
-        return client;
+        return builder.build();
     }
 
     public static HttpEntity get(String strURL) throws IOException {
@@ -126,6 +160,57 @@ public class HttpUtils {
         return HttpUtils.get(getter);
     }
 
+    /**
+     * POST a body by the pooled connections.  The response body is discarded.
+     * @param strURL - The URL.
+     * @param strContentType - The body's content type, such as "application/n-quads".
+     * @param abBody - The body.
+     * @param mapHeaders - Other request headers.  May be null.
+     * @return int - The response status code.
+     * @throws IOException - when the request cannot be sent or its response read.
+     */
+    public static int post(String strURL, String strContentType, byte[] abBody, Map<String, String> mapHeaders)
+            throws IOException
+    {
+        return HttpUtils.post(strURL, strContentType, abBody, mapHeaders, null);
+    }
+
+    /**
+     * POST a body by the pooled connections and keep the response headers.  The response body is
+     * discarded.
+     * @param strURL - The URL.
+     * @param strContentType - The body's content type, such as "application/n-quads".
+     * @param abBody - The body.
+     * @param mapHeaders - Other request headers.  May be null.
+     * @param mapResponseHeaders - Receives the first value of each response header by name.  May be null.
+     * @return int - The response status code.
+     * @throws IOException - when the request cannot be sent or its response read.
+     */
+    public static int post(String strURL, String strContentType, byte[] abBody, Map<String, String> mapHeaders,
+                           Map<String, String> mapResponseHeaders)
+            throws IOException
+    {
+        if ( Util.isDebugMode() ) HttpUtils.logger.info("DEBUG: POST request at " + strURL + " of " + abBody.length + " bytes");
+        HttpPost poster = new HttpPost(strURL);
+        poster.setEntity( new ByteArrayEntity( abBody, ContentType.parse(strContentType) ) );
+        if (mapHeaders != null) {
+            for ( Map.Entry<String, String> entryHeader : mapHeaders.entrySet() ) {
+                poster.setHeader( entryHeader.getKey(), entryHeader.getValue() );
+            }
+        }
+        CloseableHttpClient client = HttpUtils.createClient(false); // ...the caller retries
+        return client.execute(poster,
+            (ClassicHttpResponse response) -> {
+                EntityUtils.consume( response.getEntity() ); // ...release the connection to the pool
+                if (mapResponseHeaders != null) {
+                    for ( Header theHeader : response.getHeaders() ) {
+                        mapResponseHeaders.putIfAbsent( theHeader.getName(), theHeader.getValue() );
+                    }
+                }
+                return response.getCode();
+            } );
+    }
+
     private static HttpEntity get(HttpGet getter) throws IOException {
         CloseableHttpClient client = HttpUtils.createClient();
         return client.execute(getter, sHandlerResp);
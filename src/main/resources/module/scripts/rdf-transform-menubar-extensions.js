@@ -218,6 +218,50 @@ class RDFExporterMenuBar
         };
         objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
 
+        // COMPRESSED LINE PRINTERS: triple, quad (Stream)
+
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/stream/exportRDFNTriplesGZ",
+            // @ts-ignore
+            label : $.i18n("rdft-menu/rdf-n-triples-gz-stream"),
+            click : () => RDFExporterMenuBar.#exportRDF("NTRIPLES_GZ", "nt.gz")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/stream/exportRDFNQuadsGZ",
+            // @ts-ignore
+            label : $.i18n("rdft-menu/rdf-nquads-gz-stream"),
+            click : () => RDFExporterMenuBar.#exportRDF("NQUADS_GZ", "nq.gz")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/stream/exportRDFNQuadsZstd",
+            // @ts-ignore
+            label : $.i18n("rdft-menu/rdf-nquads-zstd-stream"),
+            click : () => RDFExporterMenuBar.#exportRDF("NQUADS_ZSTD", "nq.zst")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        // SORTED LINE PRINTERS: triple, quad (Stream)
+
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/stream/exportRDFNTriplesSorted",
+            // @ts-ignore
+            label : $.i18n("rdft-menu/rdf-n-triples-sorted-stream"),
+            click : () => RDFExporterMenuBar.#exportRDF("NTRIPLES_SORTED", "nt")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
+        objTypeSubSubMenuItem = {
+            id : "rdf-transform/stream/exportRDFNQuadsSorted",
+            // @ts-ignore
+            label : $.i18n("rdft-menu/rdf-nquads-sorted-stream"),
+            click : () => RDFExporterMenuBar.#exportRDF("NQUADS_SORTED", "nq")
+        };
+        objTypeSubMenuItem.submenu.push(objTypeSubSubMenuItem);
+
         objTypeSubSubMenuItem = {
             id : "rdf-transform/stream/exportRDFTriX",
             // @ts-ignore
@@ -0,0 +1,138 @@
+/*
+ *  Class RDFTransformTestUtil
+ *
+ *  Builds the projects and transforms used by the unit tests.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openrefine.rdf.model.CellBlankNode;
+import org.openrefine.rdf.model.CellLiteralNode;
+import org.openrefine.rdf.model.CellResourceNode;
+import org.openrefine.rdf.model.ConstantResourceNode;
+import org.openrefine.rdf.model.Property;
+import org.openrefine.rdf.model.RDFType;
+import org.openrefine.rdf.model.ResourceNode;
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.ExportRDFRowVisitor;
+import org.openrefine.rdf.model.vocab.Vocabulary;
+import org.openrefine.rdf.model.vocab.VocabularyList;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.expr.MetaParser;
+import com.google.refine.grel.Parser;
+import com.google.refine.model.Cell;
+import com.google.refine.model.Column;
+import com.google.refine.model.Project;
+import com.google.refine.model.Row;
+
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDFWriter;
+
+public class RDFTransformTestUtil {
+    static public final String strBaseIRI = "http://example.com/base/";
+
+    static {
+        // NOTE: OpenRefine registers GREL when its server starts...
+        if ( MetaParser.getLanguageInfo(Util.gstrGREL) == null ) {
+            MetaParser.registerLanguageParser(Util.gstrGREL, "GREL", Parser.grelParser, Util.gstrCodeValue);
+        }
+        RDFTransform.setGlobalContext( new ApplicationContext() );
+    }
+
+    private RDFTransformTestUtil() {
+        // Static use only...
+    }
+
+    /**
+     * Create a project with the columns "id", "name", and "age".
+     * @param iRows - The number of rows.
+     * @return Project - The project.
+     */
+    static public Project createProject(int iRows) {
+        Project theProject = new Project();
+        String[] astrColumns = { "id", "name", "age" };
+        for (int iColumn = 0; iColumn < astrColumns.length; iColumn++) {
+            try {
+                theProject.columnModel.addColumn( iColumn, new Column( iColumn, astrColumns[iColumn] ), false );
+            }
+            catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        for (int iRow = 0; iRow < iRows; iRow++) {
+            Row theRow = new Row( astrColumns.length );
+            theRow.setCell( 0, new Cell("id" + iRow, null) );
+            theRow.setCell( 1, new Cell("Name " + iRow, null) );
+            theRow.setCell( 2, new Cell(iRow % 90, null) );
+            theProject.rows.add(theRow);
+        }
+        theProject.columnModel.update();
+        theProject.recordModel.update(theProject);
+        return theProject;
+    }
+
+    /**
+     * Create a transform of the project's rows: a resource for each "id" typed a foaf:Person, with its
+     * name (by identity), a nickname (by GREL), its age, a constant homepage, and a blank
+     * node named by its name.  NOTE: GREL functions need OpenRefine's server libraries, so the GREL
+     * expressions use operators only.
+     * @return RDFTransform - The transform.
+     */
+    static public RDFTransform createTransform() {
+        RDFTransform theTransform = new RDFTransform();
+        theTransform.setBaseIRI( Util.buildIRI(RDFTransformTestUtil.strBaseIRI) );
+        VocabularyList theNamespaces = new VocabularyList();
+        theNamespaces.add( new Vocabulary("foaf", "http://xmlns.com/foaf/0.1/", "", Vocabulary.LocationType.NONE) );
+        theNamespaces.add( new Vocabulary("xsd", "http://www.w3.org/2001/XMLSchema#", "", Vocabulary.LocationType.NONE) );
+        theTransform.setNamespaces(theNamespaces);
+
+        CellResourceNode nodeRoot = new CellResourceNode("id", null, null, false, Util.NodeType.COLUMN);
+        nodeRoot.addType( new RDFType("foaf", "Person") );
+        nodeRoot.addProperty( new Property( "foaf", "name",
+            new CellLiteralNode("name", null, false, null, "en", Util.NodeType.COLUMN) ) );
+        nodeRoot.addProperty( new Property( "foaf", "nick",
+            new CellLiteralNode("name", "grel:value + ' (nick)'", false, null, null, Util.NodeType.COLUMN) ) );
+        nodeRoot.addProperty( new Property( "foaf", "age",
+            new CellLiteralNode( "age", "grel:value", false, new ConstantResourceNode("integer", "xsd"), null, Util.NodeType.COLUMN ) ) );
+        nodeRoot.addProperty( new Property( "foaf", "homepage", new ConstantResourceNode("http://example.com/home", null) ) );
+        nodeRoot.addProperty( new Property( "foaf", "knows", new CellBlankNode("name", null, false, Util.NodeType.COLUMN) ) );
+        List<ResourceNode> listRoots = new ArrayList<ResourceNode>();
+        listRoots.add(nodeRoot);
+        theTransform.setRoots(listRoots);
+        return theTransform;
+    }
+
+    /**
+     * Export a transform of a project's rows as N-Quads with the preferences' thread count.
+     * @param theProject - The project.
+     * @param theTransform - The transform.
+     * @return String - The N-Quads.
+     */
+    static public String exportRows(Project theProject, RDFTransform theTransform) {
+        ByteArrayOutputStream theOutput = new ByteArrayOutputStream();
+        ExportRDFRowVisitor theVisitor =
+            new ExportRDFRowVisitor( theTransform, StreamRDFWriter.getWriterStream(theOutput, RDFFormat.NQUADS_UTF8) );
+        theVisitor.buildDSGraph( theProject, new Engine(theProject) );
+        return theOutput.toString(StandardCharsets.UTF_8);
+    }
+}
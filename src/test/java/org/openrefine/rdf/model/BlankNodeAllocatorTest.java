@@ -0,0 +1,107 @@
+/*
+ *  Class BlankNodeAllocatorTest
+ *
+ *  Tests the deterministic labels and skolem IRIs of blank nodes.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.RDFTransformTestUtil;
+import org.openrefine.rdf.model.operation.RDFVisitor;
+
+import org.testng.annotations.Test;
+
+public class BlankNodeAllocatorTest {
+
+    static private ResourceNode getKnows(RDFTransform theTransform) {
+        for ( Property theProperty : theTransform.getRoots().get(0).getProperties() ) {
+            if ( theProperty.getPathProperty().equals("knows") ) {
+                return (ResourceNode) theProperty.getObject();
+            }
+        }
+        return null;
+    }
+
+    static private TransformPlan compile(RDFTransform theTransform, boolean bSkolemize) {
+        return TransformPlan.compile( theTransform.getRoots(), theTransform.getBaseIRI(),
+                                      RDFVisitor.createPrefixes(theTransform), bSkolemize );
+    }
+
+    @Test
+    public void testLabels() {
+        RDFTransform theTransform = RDFTransformTestUtil.createTransform();
+        ResourceNode nodeKnows = BlankNodeAllocatorTest.getKnows(theTransform);
+        TransformPlan thePlan = BlankNodeAllocatorTest.compile(theTransform, false);
+        String strKey = thePlan.getBlank(nodeKnows).getKey();
+
+        BlankNodeAllocator theAllocator = new BlankNodeAllocator(thePlan, 1);
+        org.apache.jena.graph.Node nodeBlank = theAllocator.createNode(nodeKnows, 71, 0);
+        assertTrue( nodeBlank.isBlank() );
+        assertEquals( nodeBlank.getBlankNodeLabel(), strKey + "r1z" );
+        assertEquals( theAllocator.createNode(nodeKnows, 71, 2).getBlankNodeLabel(), strKey + "r1z_2" );
+
+        // Another allocator (such as another worker's) names the same node the same...
+        assertEquals( new BlankNodeAllocator(thePlan, 1).createNode(nodeKnows, 71, 0), nodeBlank );
+    }
+
+    @Test
+    public void testUnplannedNodesAreFresh() {
+        RDFTransform theTransform = RDFTransformTestUtil.createTransform();
+        ResourceNode nodeOther = new CellBlankNode("name", null, false, Util.NodeType.COLUMN);
+        BlankNodeAllocator theAllocator = new BlankNodeAllocator( BlankNodeAllocatorTest.compile(theTransform, false), 1 );
+        assertNotEquals( theAllocator.createNode(nodeOther, 0, 0), theAllocator.createNode(nodeOther, 0, 0) );
+    }
+
+    @Test
+    public void testSkolemIRIs() {
+        RDFTransform theTransform = RDFTransformTestUtil.createTransform();
+        ResourceNode nodeKnows = BlankNodeAllocatorTest.getKnows(theTransform);
+        TransformPlan thePlan = BlankNodeAllocatorTest.compile(theTransform, true);
+        assertNotNull( thePlan.getBlank(nodeKnows) );
+
+        org.apache.jena.graph.Node nodeSkolem = new BlankNodeAllocator(thePlan, 1).createNode(nodeKnows, 71, 0);
+        assertTrue( nodeSkolem.isURI() );
+        String strPrefix = "http://example.com/.well-known/genid/";
+        assertTrue( nodeSkolem.getURI().startsWith(strPrefix), nodeSkolem.getURI() );
+        assertTrue( nodeSkolem.getURI().substring( strPrefix.length() ).matches("[0-9a-f]{32}"), nodeSkolem.getURI() );
+
+        // The same project, row, position, and node give the same IRI on every export...
+        assertEquals( new BlankNodeAllocator(thePlan, 1).createNode(nodeKnows, 71, 0), nodeSkolem );
+        assertEquals( new BlankNodeAllocator( BlankNodeAllocatorTest.compile(theTransform, true), 1 ).createNode(nodeKnows, 71, 0),
+                      nodeSkolem );
+        // ...and any other gives another...
+        assertNotEquals( new BlankNodeAllocator(thePlan, 2).createNode(nodeKnows, 71, 0), nodeSkolem );
+        assertNotEquals( new BlankNodeAllocator(thePlan, 1).createNode(nodeKnows, 72, 0), nodeSkolem );
+        assertNotEquals( new BlankNodeAllocator(thePlan, 1).createNode(nodeKnows, 71, 1), nodeSkolem );
+    }
+
+    @Test
+    public void testSkolemBaseOfURN() {
+        RDFTransform theTransform = RDFTransformTestUtil.createTransform();
+        theTransform.setBaseIRI( Util.buildIRI("urn:example:base") );
+        ResourceNode nodeKnows = BlankNodeAllocatorTest.getKnows(theTransform);
+        TransformPlan thePlan = BlankNodeAllocatorTest.compile(theTransform, true);
+        assertEquals( thePlan.getSkolemBase(), "urn:genid:" );
+        assertTrue( new BlankNodeAllocator(thePlan, 1).createNode(nodeKnows, 0, 0).getURI().startsWith("urn:genid:") );
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *  Class EvaluationContextTest
+ *
+ *  Tests the identity fast path of cell evaluation and benchmarks it against GREL evaluation.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.RDFTransformTestUtil;
+import org.openrefine.rdf.model.operation.ExportRDFRowVisitor;
+import org.openrefine.rdf.model.vocab.Vocabulary;
+import org.openrefine.rdf.model.vocab.VocabularyList;
+
+import com.google.refine.model.Cell;
+import com.google.refine.model.Column;
+import com.google.refine.model.Project;
+import com.google.refine.model.Row;
+
+import org.testng.annotations.Test;
+
+public class EvaluationContextTest {
+    static private final int iWideColumns = 50;
+    static private final int iWideRows = 2000;
+
+    /*
+     *  Creates a wide project: an "id" column and many value columns of strings and numbers.
+     */
+    static private Project createWideProject(int iRows, int iColumns) throws Exception {
+        RDFTransformTestUtil.createProject(0); // ...registers GREL
+        Project theProject = new Project();
+        theProject.columnModel.addColumn( 0, new Column(0, "id"), false );
+        for (int iColumn = 1; iColumn <= iColumns; iColumn++) {
+            theProject.columnModel.addColumn( iColumn, new Column(iColumn, "c" + iColumn), false );
+        }
+        for (int iRow = 0; iRow < iRows; iRow++) {
+            Row theRow = new Row(iColumns + 1);
+            theRow.setCell( 0, new Cell("id" + iRow, null) );
+            for (int iColumn = 1; iColumn <= iColumns; iColumn++) {
+                Serializable objValue = ( iColumn % 2 == 0 ? (Serializable) ( iRow * iColumn ) : "v" + iRow + "." + iColumn );
+                theRow.setCell( iColumn, new Cell(objValue, null) );
+            }
+            theProject.rows.add(theRow);
+        }
+        theProject.columnModel.update();
+        theProject.recordModel.update(theProject);
+        return theProject;
+    }
+
+    /*
+     *  Creates a transform of a wide project with the same expression for every value column.
+     */
+    static private RDFTransform createWideTransform(int iColumns, String strExpression) {
+        RDFTransform theTransform = new RDFTransform();
+        theTransform.setBaseIRI( Util.buildIRI(RDFTransformTestUtil.strBaseIRI) );
+        VocabularyList theNamespaces = new VocabularyList();
+        theNamespaces.add( new Vocabulary("ex", "http://example.com/ns#", "", Vocabulary.LocationType.NONE) );
+        theTransform.setNamespaces(theNamespaces);
+
+        CellResourceNode nodeRoot = new CellResourceNode("id", null, null, false, Util.NodeType.COLUMN);
+        for (int iColumn = 1; iColumn <= iColumns; iColumn++) {
+            nodeRoot.addProperty( new Property( "ex", "p" + iColumn,
+                new CellLiteralNode("c" + iColumn, strExpression, false, null, null, Util.NodeType.COLUMN) ) );
+        }
+        List<ResourceNode> listRoots = new ArrayList<ResourceNode>();
+        listRoots.add(nodeRoot);
+        theTransform.setRoots(listRoots);
+        return theTransform;
+    }
+
+    @Test
+    public void testClassify() {
+        assertEquals( EvaluationContext.classify(null), EvaluationContext.ValueAccess.EXPRESSION );
+        assertEquals( EvaluationContext.classify("value"), EvaluationContext.ValueAccess.IDENTITY );
+        assertEquals( EvaluationContext.classify(" grel: value "), EvaluationContext.ValueAccess.IDENTITY );
+        assertEquals( EvaluationContext.classify("grel:value.toString()"), EvaluationContext.ValueAccess.TO_STRING );
+        assertEquals( EvaluationContext.classify("grel:(value)"), EvaluationContext.ValueAccess.EXPRESSION );
+        assertEquals( EvaluationContext.classify("grel:value + 1"), EvaluationContext.ValueAccess.EXPRESSION );
+        assertEquals( EvaluationContext.classify("jython:value"), EvaluationContext.ValueAccess.EXPRESSION );
+    }
+
+    @Test
+    public void testFastPathReadsAsExpression() throws Exception {
+        Project theProject = EvaluationContextTest.createWideProject(20, 4);
+        theProject.rows.get(5).setCell(2, null); // ...a missing cell
+        TransformPlan thePlan = new ExportRDFRowVisitor( EvaluationContextTest.createWideTransform(4, null) ).getPlan();
+        EvaluationContext theContext = new EvaluationContext(theProject, thePlan);
+
+        for (int iRow = 0; iRow < 20; iRow++) {
+            for (int iColumn = 1; iColumn <= 4; iColumn++) {
+                String strColumn = "c" + iColumn;
+                int iCellIndex = theContext.resolveCellIndex(strColumn);
+                assertEquals(
+                    theContext.evaluate("value", EvaluationContext.ValueAccess.IDENTITY, strColumn, iCellIndex, iRow),
+                    theContext.evaluate("grel:value", strColumn, iCellIndex, iRow) );
+                if ( iColumn % 2 == 1 && iRow != 5 ) { // ...string cells read directly
+                    assertEquals(
+                        theContext.evaluate("value.toString()", EvaluationContext.ValueAccess.TO_STRING, strColumn, iCellIndex, iRow),
+                        "v" + iRow + "." + iColumn );
+                }
+            }
+            // A pseudo-cell's value is its row index...
+            assertEquals( theContext.evaluate("value", EvaluationContext.ValueAccess.IDENTITY, null, -1, iRow), iRow );
+        }
+    }
+
+    /*
+     *  Method exportMillis() for the best time of some exports
+     */
+    static private long exportMillis(Project theProject, RDFTransform theTransform, String[] astrQuads) {
+        long lBest = Long.MAX_VALUE;
+        for (int iRun = 0; iRun < 3; iRun++) {
+            long lStart = System.nanoTime();
+            astrQuads[0] = RDFTransformTestUtil.exportRows(theProject, theTransform);
+            lBest = Math.min( lBest, ( System.nanoTime() - lStart ) / 1000000 );
+        }
+        return lBest;
+    }
+
+    /**
+     * Benchmark a wide project with no custom expressions: every value column is read by the identity
+     * fast path.  The same transform evaluating the equivalent GREL expression "(value)" on every cell
+     * is the baseline.  Both write the same statements.
+     */
+    @Test
+    public void benchmarkIdentityFastPath() throws Exception {
+        Project theProject =
+            EvaluationContextTest.createWideProject(EvaluationContextTest.iWideRows, EvaluationContextTest.iWideColumns);
+        RDFTransform transformIdentity = EvaluationContextTest.createWideTransform(EvaluationContextTest.iWideColumns, null);
+        RDFTransform transformGREL = EvaluationContextTest.createWideTransform(EvaluationContextTest.iWideColumns, "grel:(value)");
+
+        String[] astrIdentity = new String[1];
+        String[] astrGREL = new String[1];
+        EvaluationContextTest.exportMillis(theProject, transformGREL, astrGREL); // ...warm up
+        long lIdentity = EvaluationContextTest.exportMillis(theProject, transformIdentity, astrIdentity);
+        long lGREL = EvaluationContextTest.exportMillis(theProject, transformGREL, astrGREL);
+
+        assertFalse( astrIdentity[0].isEmpty() );
+        assertEquals( astrIdentity[0], astrGREL[0] );
+        int iCells = EvaluationContextTest.iWideRows * EvaluationContextTest.iWideColumns;
+        System.out.printf("Identity fast path: %d cells: identity %d ms, GREL %d ms, %.2fx%n",
+                          iCells, lIdentity, lGREL, (double) lGREL / Math.max(lIdentity, 1) );
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *  Class TransformPlanTest
+ *
+ *  Tests what the transform plan resolves once for all rows.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.RDFTransformTestUtil;
+import org.openrefine.rdf.model.operation.ExportRDFRowVisitor;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Cell;
+import com.google.refine.model.Project;
+
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDFWriter;
+
+import org.testng.annotations.Test;
+
+public class TransformPlanTest {
+
+    @Test
+    public void testIllTypedLiteralsAreCountedAndWritten() {
+        Project theProject = RDFTransformTestUtil.createProject(10);
+        theProject.rows.get(3).setCell( 2, new Cell("three", null) );
+        theProject.rows.get(7).setCell( 2, new Cell("7.5", null) );
+        RDFTransform theTransform = RDFTransformTestUtil.createTransform();
+
+        ByteArrayOutputStream theOutput = new ByteArrayOutputStream();
+        ExportRDFRowVisitor theVisitor =
+            new ExportRDFRowVisitor( theTransform, StreamRDFWriter.getWriterStream(theOutput, RDFFormat.NQUADS_UTF8) );
+        theVisitor.buildDSGraph( theProject, new Engine(theProject) );
+        String strQuads = theOutput.toString(StandardCharsets.UTF_8);
+
+        assertTrue( strQuads.contains("\"three\"^^<http://www.w3.org/2001/XMLSchema#integer>"), strQuads );
+        assertTrue( strQuads.contains("\"7.5\"^^<http://www.w3.org/2001/XMLSchema#integer>"), strQuads );
+        assertTrue( strQuads.contains("\"8\"^^<http://www.w3.org/2001/XMLSchema#integer>"), strQuads );
+        assertEquals( theVisitor.getPlan().countIllTyped(), 2 );
+    }
+
+    @Test
+    public void testDatatypeResolvedOncePerDatatype() {
+        RDFTransform theTransform = RDFTransformTestUtil.createTransform();
+        ResourceNode nodeRoot = theTransform.getRoots().get(0);
+        CellLiteralNode nodeAge = null;
+        for ( Property theProperty : nodeRoot.getProperties() ) {
+            if ( theProperty.getPathProperty().equals("age") ) {
+                nodeAge = (CellLiteralNode) theProperty.getObject();
+            }
+        }
+        CellLiteralNode nodeCount =
+            new CellLiteralNode( "id", "grel:value", false, new ConstantResourceNode("integer", "xsd"), null, Util.NodeType.COLUMN );
+        nodeRoot.addProperty( new Property("foaf", "count", nodeCount) );
+
+        TransformPlan thePlan = new ExportRDFRowVisitor(theTransform).getPlan();
+        TransformPlan.DatatypeStep theStep = thePlan.getDatatype(nodeAge);
+        assertSame( thePlan.getDatatype(nodeCount), theStep );
+        assertTrue( theStep.isValid("42") );
+        assertTrue( ! theStep.isValid("forty two") );
+        assertEquals( thePlan.countIllTyped(), 1 );
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ *  Class AsyncOutputStreamTest
+ *
+ *  Tests the hand off of buffers to the writer thread of the compressed exports.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.exporter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+public class AsyncOutputStreamTest {
+
+    /*
+     *  Class RecordingOutputStream
+     *
+     *    Keeps the bytes written and the buffers they were written from.
+     */
+    static private class RecordingOutputStream extends ByteArrayOutputStream {
+        private final Set<byte[]> setBuffers = Collections.newSetFromMap( new IdentityHashMap<byte[], Boolean>() );
+        private boolean bClosed = false;
+
+        @Override
+        public synchronized void write(byte[] abBytes, int iOffset, int iLength) {
+            this.setBuffers.add(abBytes);
+            super.write(abBytes, iOffset, iLength);
+        }
+
+        @Override
+        public void close() {
+            this.bClosed = true;
+        }
+    }
+
+    /*
+     *  Class FailingOutputStream
+     *
+     *    Throws the given failure on a write after the first.
+     */
+    static private class FailingOutputStream extends ByteArrayOutputStream {
+        private final RuntimeException exFailure;
+        private int iWrites = 0;
+
+        private FailingOutputStream(RuntimeException exFailure) {
+            this.exFailure = exFailure;
+        }
+
+        @Override
+        public synchronized void write(byte[] abBytes, int iOffset, int iLength) {
+            if (++this.iWrites > 1) {
+                throw this.exFailure;
+            }
+            super.write(abBytes, iOffset, iLength);
+        }
+    }
+
+    static private byte[] bytes(int iLength) {
+        byte[] abBytes = new byte[iLength];
+        for (int iByte = 0; iByte < iLength; iByte++) {
+            abBytes[iByte] = (byte) ( iByte * 31 + iByte / 251 );
+        }
+        return abBytes;
+    }
+
+    @Test(timeOut = 10000)
+    public void testWritesInOrderAndRecyclesBuffers() throws IOException {
+        byte[] abExpected = AsyncOutputStreamTest.bytes(1000003);
+        RecordingOutputStream theOutput = new RecordingOutputStream();
+        AsyncOutputStream theStream = new AsyncOutputStream(theOutput, 1024, "TEST");
+        int iOffset = 0;
+        int iChunk = 1;
+        while (iOffset < abExpected.length) { // ...writes of many sizes
+            int iLength = Math.min(iChunk, abExpected.length - iOffset);
+            theStream.write(abExpected, iOffset, iLength);
+            iOffset += iLength;
+            iChunk = iChunk * 7 % 5003 + 1;
+            if (iOffset % 13 == 0) {
+                theStream.flush();
+            }
+        }
+        theStream.write(7);
+        theStream.close();
+
+        byte[] abWritten = theOutput.toByteArray();
+        assertEquals( abWritten.length, abExpected.length + 1 );
+        assertEquals( abWritten[abExpected.length], (byte) 7 );
+        for (int iByte = 0; iByte < abExpected.length; iByte++) {
+            if (abWritten[iByte] != abExpected[iByte]) {
+                fail("Byte " + iByte + " differs");
+            }
+        }
+        assertTrue( theOutput.bClosed );
+
+        // Nearly 1000 full buffers were handed off: most were written buffers filled again...
+        int iFull = 0;
+        for (byte[] abBuffer : theOutput.setBuffers) {
+            if (abBuffer.length == 1024) {
+                iFull++;
+            }
+        }
+        assertTrue( iFull < 100, "Full buffers: " + iFull );
+    }
+
+    @Test(timeOut = 10000)
+    public void testUncheckedFailureDoesNotBlock() {
+        IllegalStateException exFailure = new IllegalStateException("compressor failed");
+        AsyncOutputStream theStream = new AsyncOutputStream( new FailingOutputStream(exFailure), 16, "TEST" );
+        byte[] abBytes = AsyncOutputStreamTest.bytes(16);
+        try {
+            // Many more buffers than the queue holds: the writer must keep taking them...
+            for (int iWrite = 0; iWrite < 1000; iWrite++) {
+                theStream.write(abBytes);
+            }
+            theStream.close();
+            fail("The failure was not thrown");
+        }
+        catch (IOException ex) {
+            Throwable exCause = ex;
+            while ( exCause != null && exCause != exFailure ) {
+                exCause = exCause.getCause();
+            }
+            assertTrue( exCause == exFailure, "Cause: " + ex );
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testErrorDoesNotBlock() {
+        AsyncOutputStream theStream = new AsyncOutputStream(
+            new ByteArrayOutputStream() {
+                @Override
+                public synchronized void write(byte[] abBytes, int iOffset, int iLength) {
+                    throw new OutOfMemoryError("TEST");
+                }
+            },
+            16, "TEST" );
+        try {
+            for (int iWrite = 0; iWrite < 1000; iWrite++) {
+                theStream.write( AsyncOutputStreamTest.bytes(16) );
+            }
+            theStream.close();
+            fail("The failure was not thrown");
+        }
+        catch (IOException ex) {
+            // ...expected
+        }
+    }
+}
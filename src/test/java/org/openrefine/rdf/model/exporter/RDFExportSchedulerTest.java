@@ -0,0 +1,193 @@
+/*
+ *  Class RDFExportSchedulerTest
+ *
+ *  Tests the admission, queuing, and job lifecycle of the scheduled exports.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.exporter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.RDFTransformTestUtil;
+import org.openrefine.rdf.model.Util;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+
+import org.apache.jena.riot.RDFFormat;
+
+import org.testng.annotations.Test;
+
+public class RDFExportSchedulerTest {
+
+    static private RDFExportSession createSession() {
+        Project theProject = RDFTransformTestUtil.createProject(1);
+        theProject.overlayModels.put( RDFTransform.EXTENSION, RDFTransformTestUtil.createTransform() );
+        return new RDFExportSession( theProject, null, new Engine(theProject), OutputStream.nullOutputStream(),
+                                     RDFFormat.NQUADS_UTF8, "TEST" );
+    }
+
+    /*
+     *  Runs a session on its own thread, keeping any failure.
+     */
+    static private Thread start(RDFExportSession theSession, RDFExportScheduler.ExportTask theTask,
+                                AtomicReference<IOException> refFailure)
+    {
+        Thread theThread = new Thread( () -> {
+            try {
+                RDFExportScheduler.run(theSession, theTask);
+            }
+            catch (IOException ex) {
+                refFailure.set(ex);
+            }
+        } );
+        theThread.start();
+        return theThread;
+    }
+
+    static private void awaitWaiting(int iWaiting) throws InterruptedException {
+        while ( RDFExportScheduler.getWaiting() != iWaiting ) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test(timeOut = 20000)
+    public void testQueuedInOrder() throws Exception {
+        int iConcurrency = Util.getExportConcurrency();
+        CountDownLatch latchRelease = new CountDownLatch(1);
+        CountDownLatch latchRunning = new CountDownLatch(iConcurrency);
+        List<Integer> listOrder = Collections.synchronizedList( new ArrayList<Integer>() );
+        AtomicReference<IOException> refFailure = new AtomicReference<IOException>();
+
+        // Fill every running slot...
+        List<Thread> listThreads = new ArrayList<Thread>();
+        for (int iRun = 0; iRun < iConcurrency; iRun++) {
+            listThreads.add( RDFExportSchedulerTest.start( RDFExportSchedulerTest.createSession(),
+                (theSession) -> {
+                    latchRunning.countDown();
+                    try {
+                        latchRelease.await();
+                    }
+                    catch (InterruptedException ex) {
+                        throw new InterruptedIOException();
+                    }
+                },
+                refFailure ) );
+        }
+        latchRunning.await();
+        assertEquals( RDFExportScheduler.getRunning(), iConcurrency );
+
+        // ...so the next exports wait, in order...
+        List<RDFExportSession> listQueued = new ArrayList<RDFExportSession>();
+        for (int iQueued = 0; iQueued < 3; iQueued++) {
+            final int iIndex = iQueued;
+            RDFExportSession theSession = RDFExportSchedulerTest.createSession();
+            listQueued.add(theSession);
+            listThreads.add( RDFExportSchedulerTest.start( theSession, (theRunSession) -> listOrder.add(iIndex), refFailure ) );
+            RDFExportSchedulerTest.awaitWaiting(iQueued + 1);
+        }
+        for (RDFExportSession theSession : listQueued) {
+            assertSame( theSession.getJob().getStatus(), RDFExportJob.Status.QUEUED );
+        }
+
+        latchRelease.countDown();
+        for (Thread theThread : listThreads) {
+            theThread.join();
+        }
+        assertEquals( refFailure.get(), null );
+        assertEquals( listOrder, List.of(0, 1, 2) );
+        for (RDFExportSession theSession : listQueued) {
+            assertSame( theSession.getJob().getStatus(), RDFExportJob.Status.DONE );
+        }
+        assertEquals( RDFExportScheduler.getRunning(), 0 );
+        assertEquals( RDFExportScheduler.getWaiting(), 0 );
+    }
+
+    @Test(timeOut = 20000)
+    public void testCancelledWhileQueued() throws Exception {
+        int iConcurrency = Util.getExportConcurrency();
+        CountDownLatch latchRelease = new CountDownLatch(1);
+        CountDownLatch latchRunning = new CountDownLatch(iConcurrency);
+        AtomicReference<IOException> refFailure = new AtomicReference<IOException>();
+
+        List<Thread> listThreads = new ArrayList<Thread>();
+        for (int iRun = 0; iRun < iConcurrency; iRun++) {
+            listThreads.add( RDFExportSchedulerTest.start( RDFExportSchedulerTest.createSession(),
+                (theSession) -> {
+                    latchRunning.countDown();
+                    try {
+                        latchRelease.await();
+                    }
+                    catch (InterruptedException ex) {
+                        throw new InterruptedIOException();
+                    }
+                },
+                refFailure ) );
+        }
+        latchRunning.await();
+
+        RDFExportSession theSession = RDFExportSchedulerTest.createSession();
+        AtomicReference<IOException> refCancelled = new AtomicReference<IOException>();
+        Thread threadQueued =
+            RDFExportSchedulerTest.start( theSession, (theRunSession) -> fail("A cancelled export ran"), refCancelled );
+        RDFExportSchedulerTest.awaitWaiting(1);
+
+        // The cancelled export leaves the queue while the others still run...
+        assertTrue( theSession.getJob().cancel() );
+        threadQueued.join();
+        assertTrue( refCancelled.get() instanceof InterruptedIOException );
+        assertSame( theSession.getJob().getStatus(), RDFExportJob.Status.CANCELLED );
+        assertEquals( RDFExportScheduler.getWaiting(), 0 );
+        assertEquals( RDFExportScheduler.getRunning(), iConcurrency );
+
+        latchRelease.countDown();
+        for (Thread theThread : listThreads) {
+            theThread.join();
+        }
+        assertEquals( refFailure.get(), null );
+        assertEquals( RDFExportScheduler.getRunning(), 0 );
+    }
+
+    @Test(timeOut = 20000)
+    public void testFailureEndsJobAndReleases() {
+        RDFExportSession theSession = RDFExportSchedulerTest.createSession();
+        try {
+            RDFExportScheduler.run( theSession, (theRunSession) -> { throw new IOException("TEST failure"); } );
+            fail("The failure was not thrown");
+        }
+        catch (IOException ex) {
+            assertEquals( ex.getMessage(), "TEST failure" );
+        }
+        assertSame( theSession.getJob().getStatus(), RDFExportJob.Status.FAILED );
+        assertEquals( theSession.getJob().getMessage(), "TEST failure" );
+        assertEquals( RDFExportScheduler.getRunning(), 0 );
+    }
+}
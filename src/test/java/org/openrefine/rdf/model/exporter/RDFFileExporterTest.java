@@ -0,0 +1,71 @@
+/*
+ *  Class RDFFileExporterTest
+ *
+ *  Tests the setup of background file exports.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.exporter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.RDFTransformTestUtil;
+import org.openrefine.rdf.model.operation.RDFExportJob;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+
+import org.testng.annotations.Test;
+
+public class RDFFileExporterTest {
+
+    @Test
+    public void testTargetFailureEndsJob() throws IOException {
+        Project theProject = RDFTransformTestUtil.createProject(1);
+        theProject.overlayModels.put( RDFTransform.EXTENSION, RDFTransformTestUtil.createTransform() );
+        // A file in place of the project's export directory: the target cannot be created...
+        File fileBlocking = new File( RDFFileExporter.getExportRoot(), Long.toString(theProject.id) );
+        Files.createDirectories( fileBlocking.getParentFile().toPath() );
+        Files.deleteIfExists( fileBlocking.toPath() );
+        Files.createFile( fileBlocking.toPath() );
+        try {
+            Map<String, String> theOptions = new HashMap<String, String>();
+            theOptions.put(RDFExportJob.strJobIDOption, "target-failure-" + theProject.id);
+            try {
+                RDFFileExporter.getExporter("NTRIPLES").start( theProject, theOptions, new Engine(theProject), 0, 0 );
+                fail("The target was created");
+            }
+            catch (IOException ex) {
+                // ...expected
+            }
+            RDFExportJob theJob = RDFExportJob.get( theOptions.get(RDFExportJob.strJobIDOption) );
+            assertSame( theJob.getStatus(), RDFExportJob.Status.FAILED );
+            assertEquals( RDFExportScheduler.getWaiting(), 0 );
+        }
+        finally {
+            Files.deleteIfExists( fileBlocking.toPath() );
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ *  Class PreviewCacheTest
+ *
+ *  Tests the preview keys and the reuse of the last preview root by root.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.operation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.RDFTransformTestUtil;
+import org.openrefine.rdf.model.CellBlankNode;
+import org.openrefine.rdf.model.CellLiteralNode;
+import org.openrefine.rdf.model.CellResourceNode;
+import org.openrefine.rdf.model.Property;
+import org.openrefine.rdf.model.Util;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+import com.google.refine.util.ParsingUtilities;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.apache.jena.sparql.core.Quad;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class PreviewCacheTest {
+
+    /*
+     *  Class Preview
+     *
+     *    The statements and roots of a preview.
+     */
+    static private class Preview {
+        private final Set<Quad> setQuads = new HashSet<Quad>();
+        private PreviewRoots theRoots;
+    }
+
+    @BeforeMethod
+    public void clearCache() {
+        PreviewCache.clear();
+    }
+
+    /*
+     *  Previews a transform as the preview command does.
+     */
+    static private Preview preview(Project theProject, RDFTransform theTransform) throws IOException {
+        Preview thePreview = new Preview();
+        RDFVisitor theVisitor = new PreviewRDFRowVisitor(theTransform);
+        thePreview.theRoots = PreviewCache.getRoots( theProject, theTransform, theVisitor.getPlan(), null, Util.getSampleLimit() );
+        theVisitor.setPreviewRoots(thePreview.theRoots);
+        theVisitor.buildDSGraph( theProject, new Engine(theProject) );
+        thePreview.theRoots.merge( theVisitor.getDSGraph() );
+        PreviewCache.putRoots(theProject, thePreview.theRoots);
+        Iterator<Quad> iterQuads = theVisitor.getDSGraph().find();
+        while ( iterQuads.hasNext() ) {
+            thePreview.setQuads.add( iterQuads.next() );
+        }
+        theVisitor.closeDSGraph();
+        return thePreview;
+    }
+
+    /*
+     *  Creates the test transform with a second root: an "alt-" resource for each "id" knowing a
+     *  blank node for its row: keyed by node, not by column.
+     */
+    static private RDFTransform createTransform() {
+        RDFTransform theTransform = RDFTransformTestUtil.createTransform();
+        CellResourceNode nodeRoot = new CellResourceNode("id", null, "grel:'alt-' + value", false, Util.NodeType.COLUMN);
+        nodeRoot.addProperty( new Property( "foaf", "knows",
+            new CellBlankNode(null, null, true, Util.NodeType.ROW) ) );
+        theTransform.getRoots().add(nodeRoot);
+        return theTransform;
+    }
+
+    @Test
+    public void testKey() throws IOException {
+        Project theProject = RDFTransformTestUtil.createProject(5);
+        JsonNode jnodeTransform = ParsingUtilities.mapper.readTree("{ \"a\" : 1, \"b\" : { \"c\" : 2, \"d\" : 3 } }");
+        JsonNode jnodeReordered = ParsingUtilities.mapper.readTree("{ \"b\" : { \"d\" : 3, \"c\" : 2 }, \"a\" : 1 }");
+        String strKey = PreviewCache.key(theProject, jnodeTransform, null, 10, false);
+
+        assertEquals( PreviewCache.key(theProject, jnodeReordered, null, 10, false), strKey );
+        assertNotEquals( PreviewCache.key(theProject, jnodeTransform, null, 20, false), strKey );
+        assertNotEquals( PreviewCache.key(theProject, jnodeTransform, null, 10, true), strKey );
+        assertNotEquals( PreviewCache.key( RDFTransformTestUtil.createProject(5), jnodeTransform, null, 10, false ), strKey );
+
+        assertNull( PreviewCache.get(strKey) );
+        PreviewCache.put(strKey, "preview");
+        assertEquals( PreviewCache.get(strKey), "preview" );
+    }
+
+    @Test
+    public void testRootsReused() throws IOException {
+        Project theProject = RDFTransformTestUtil.createProject(5);
+        Preview previewFirst = PreviewCacheTest.preview( theProject, PreviewCacheTest.createTransform() );
+        assertEquals( previewFirst.theRoots.getReused(), 0 );
+        assertEquals( previewFirst.theRoots.getEvaluated().size(), 2 );
+
+        // The same transform, as reconstructed by the next preview...
+        Preview previewSame = PreviewCacheTest.preview( theProject, PreviewCacheTest.createTransform() );
+        assertEquals( previewSame.theRoots.getReused(), 2 );
+        assertTrue( previewSame.theRoots.getEvaluated().isEmpty() );
+        assertEquals( previewSame.setQuads, previewFirst.setQuads );
+
+        // An edited second root is evaluated alone...
+        RDFTransform theTransform = PreviewCacheTest.createTransform();
+        theTransform.getRoots().get(1).addProperty( new Property( "foaf", "nick",
+            new CellLiteralNode("name", "grel:value + ' (alt)'", false, null, null, Util.NodeType.COLUMN) ) );
+        Preview previewEdited = PreviewCacheTest.preview(theProject, theTransform);
+        assertEquals( previewEdited.theRoots.getReused(), 1 );
+        assertEquals( previewEdited.theRoots.getEvaluated().get(0), theTransform.getRoots().get(1) );
+
+        PreviewCache.clear();
+        Preview previewFull = PreviewCacheTest.preview(theProject, theTransform);
+        assertEquals( previewFull.theRoots.getReused(), 0 );
+        assertEquals( previewEdited.setQuads, previewFull.setQuads );
+        assertFalse( previewEdited.setQuads.equals(previewFirst.setQuads) );
+    }
+
+    @Test
+    public void testBlankKeysShiftLaterRoots() throws IOException {
+        Project theProject = RDFTransformTestUtil.createProject(5);
+        PreviewCacheTest.preview( theProject, PreviewCacheTest.createTransform() );
+
+        // A blank node keyed by node added to the first root renames the second root's blank nodes...
+        RDFTransform theTransform = PreviewCacheTest.createTransform();
+        theTransform.getRoots().get(0).addProperty( new Property( "foaf", "member",
+            new CellBlankNode(null, null, true, Util.NodeType.ROW) ) );
+        Preview previewEdited = PreviewCacheTest.preview(theProject, theTransform);
+        assertEquals( previewEdited.theRoots.getEvaluated().size(), 2 );
+
+        PreviewCache.clear();
+        assertEquals( PreviewCacheTest.preview(theProject, theTransform).setQuads, previewEdited.setQuads );
+    }
+}
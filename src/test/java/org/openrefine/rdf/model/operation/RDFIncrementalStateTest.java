@@ -0,0 +1,185 @@
+/*
+ *  Class RDFIncrementalStateTest
+ *
+ *  Tests the unit and graph merge of the incremental exports.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.operation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.core.Quad;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RDFIncrementalStateTest {
+    static private final String strSeed = "seed";
+
+    static private final Quad quadShared = RDFIncrementalStateTest.quad("category", "Fish");
+    static private final Quad quadOne = RDFIncrementalStateTest.quad("row1", "One");
+    static private final Quad quadTwo = RDFIncrementalStateTest.quad("row2", "Two");
+    static private final Quad quadThree = RDFIncrementalStateTest.quad("row3", "Three");
+
+    /*
+     *  Class Delta
+     *
+     *    Collects the changes of a merge.
+     */
+    static private class Delta implements RDFIncrementalState.DeltaWriter {
+        private final List<Quad> listAdded = new ArrayList<Quad>();
+        private final List<Quad> listDeleted = new ArrayList<Quad>();
+
+        @Override
+        public void add(Quad theQuad) {
+            this.listAdded.add(theQuad);
+        }
+
+        @Override
+        public void delete(Quad theQuad) {
+            this.listDeleted.add(theQuad);
+        }
+    }
+
+    private File dirBase;
+    private File dirState;
+
+    @BeforeMethod
+    public void createStateDirectory() throws IOException {
+        this.dirBase = Files.createTempDirectory("rdft-test-").toFile();
+        this.dirState = new File(this.dirBase, "state");
+    }
+
+    @AfterMethod
+    public void removeStateDirectory() {
+        FileUtils.deleteQuietly(this.dirBase);
+    }
+
+    static private Quad quad(String strSubject, String strLabel) {
+        return Quad.create( NodeFactory.createURI("http://example.com/graph"), NodeFactory.createURI("http://example.com/" + strSubject),
+                            NodeFactory.createURI("http://example.com/label"), NodeFactory.createLiteral(strLabel) );
+    }
+
+    static private long[] hash(int iUnit, int iVersion) {
+        return new long[] { iUnit, iVersion };
+    }
+
+    /*
+     *  Runs an export of the given units.  A unit is its index, the version of its cells, and the
+     *  statements it produces when evaluated.
+     */
+    private Delta export(long lHistoryID, Object[][] aUnits) throws IOException {
+        Delta theDelta = new Delta();
+        try ( RDFIncrementalState theState = new RDFIncrementalState(this.dirState, RDFIncrementalStateTest.strSeed, false, null) ) {
+            theState.startUnits();
+            for (Object[] aUnit : aUnits) {
+                int iIndex = (Integer) aUnit[0];
+                long[] alHash = RDFIncrementalStateTest.hash( iIndex, (Integer) aUnit[1] );
+                if ( theState.isChanged(iIndex, alHash) ) {
+                    List<Quad> listQuads = new ArrayList<Quad>();
+                    for (int iQuad = 2; iQuad < aUnit.length; iQuad++) {
+                        listQuads.add( (Quad) aUnit[iQuad] );
+                    }
+                    theState.putUnit(iIndex, alHash, listQuads);
+                }
+            }
+            theState.endUnits();
+            theState.merge(theDelta);
+            theState.commit(lHistoryID, "", "patch-" + lHistoryID);
+        }
+        return theDelta;
+    }
+
+    @Test
+    public void testSharedStatementSurvivesRemovedUnit() throws IOException {
+        // First export: rows 1 and 2 share the category statement...
+        Delta theDelta = this.export( 1, new Object[][] {
+            { 1, 0, RDFIncrementalStateTest.quadShared, RDFIncrementalStateTest.quadOne },
+            { 2, 0, RDFIncrementalStateTest.quadShared, RDFIncrementalStateTest.quadTwo },
+            { 3, 0, RDFIncrementalStateTest.quadThree }
+        } );
+        assertEquals( theDelta.listAdded.size(), 4 );
+        assertTrue( theDelta.listAdded.contains(RDFIncrementalStateTest.quadShared) );
+        assertTrue( theDelta.listDeleted.isEmpty() );
+
+        // Second export: row 1 is removed, but row 2 still produces the category statement...
+        theDelta = this.export( 2, new Object[][] {
+            { 2, 0, RDFIncrementalStateTest.quadShared, RDFIncrementalStateTest.quadTwo },
+            { 3, 0, RDFIncrementalStateTest.quadThree }
+        } );
+        assertTrue( theDelta.listAdded.isEmpty() );
+        assertEquals( theDelta.listDeleted, List.of(RDFIncrementalStateTest.quadOne) );
+
+        // Third export: row 2 changes and no longer produces it...
+        theDelta = this.export( 3, new Object[][] {
+            { 2, 1, RDFIncrementalStateTest.quadTwo },
+            { 3, 0, RDFIncrementalStateTest.quadThree }
+        } );
+        assertTrue( theDelta.listAdded.isEmpty() );
+        assertEquals( theDelta.listDeleted, List.of(RDFIncrementalStateTest.quadShared) );
+    }
+
+    @Test
+    public void testUnchangedUnitsKeepTheirStatements() throws IOException {
+        this.export( 1, new Object[][] {
+            { 1, 0, RDFIncrementalStateTest.quadShared, RDFIncrementalStateTest.quadOne },
+            { 2, 0, RDFIncrementalStateTest.quadTwo }
+        } );
+
+        // An unchanged unit is not evaluated: its saved statements are kept...
+        Delta theDelta = this.export( 2, new Object[][] {
+            { 1, 0 },
+            { 2, 1, RDFIncrementalStateTest.quadShared, RDFIncrementalStateTest.quadTwo }
+        } );
+        assertTrue( theDelta.listAdded.isEmpty() );
+        assertTrue( theDelta.listDeleted.isEmpty() );
+
+        // ...so removing the other unit sharing the statement keeps it too...
+        theDelta = this.export( 3, new Object[][] {
+            { 1, 0 }
+        } );
+        assertTrue( theDelta.listAdded.isEmpty() );
+        assertEquals( theDelta.listDeleted, List.of(RDFIncrementalStateTest.quadTwo) );
+    }
+
+    @Test
+    public void testStateIsCurrent() throws IOException {
+        this.export( 7, new Object[][] {
+            { 1, 0, RDFIncrementalStateTest.quadOne }
+        } );
+        try ( RDFIncrementalState theState = new RDFIncrementalState(this.dirState, RDFIncrementalStateTest.strSeed, false, null) ) {
+            assertFalse( theState.isInitial() );
+            assertEquals( theState.getLastPatchID(), "patch-7" );
+            assertTrue( theState.isCurrent(7, "") );
+            assertFalse( theState.isCurrent(8, "") );
+        }
+        try ( RDFIncrementalState theState = new RDFIncrementalState(this.dirState, "other seed", false, null) ) {
+            assertFalse( theState.isCurrent(7, "") );
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Class RDFParallelEvaluatorTest
+ *
+ *  Tests the parallel evaluation of exports against the serial evaluation.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.operation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.RDFTransformTestUtil;
+import org.openrefine.rdf.model.CellLiteralNode;
+import org.openrefine.rdf.model.EvaluationContext;
+import org.openrefine.rdf.model.Property;
+import org.openrefine.rdf.model.Util;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.expr.MetaParser;
+import com.google.refine.grel.Parser;
+import com.google.refine.model.Project;
+
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDFWriter;
+
+import org.testng.annotations.Test;
+
+public class RDFParallelEvaluatorTest {
+
+    /*
+     *  Exports the rows on the given number of threads.
+     */
+    static private String exportRows(Project theProject, RDFTransform theTransform, int iThreads) {
+        ByteArrayOutputStream theOutput = new ByteArrayOutputStream();
+        ExportRDFRowVisitor theVisitor =
+            new ExportRDFRowVisitor( theTransform, StreamRDFWriter.getWriterStream(theOutput, RDFFormat.NQUADS_UTF8) );
+        new RDFParallelEvaluator(theVisitor, iThreads).evaluateRows( theProject, new Engine(theProject).getAllFilteredRows() );
+        return theOutput.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testParallelKeepsRowOrder() {
+        // Many ranges on each thread...
+        Project theProject = RDFTransformTestUtil.createProject(5000);
+        RDFTransform theTransform = RDFTransformTestUtil.createTransform();
+
+        String strSerial = RDFTransformTestUtil.exportRows(theProject, theTransform); // ...by default
+        assertTrue( strSerial.contains("Name 4999 (nick)") ); // ...GREL evaluated
+        assertEquals( RDFParallelEvaluatorTest.exportRows(theProject, theTransform, 4), strSerial );
+        assertEquals( RDFParallelEvaluatorTest.exportRows(theProject, theTransform, 7), strSerial );
+    }
+
+    @Test
+    public void testParallelIsOptIn() {
+        assertEquals( Util.getExportThreads(), 1 );
+    }
+
+    @Test
+    public void testOtherLanguagesAreNotParallelSafe() {
+        RDFTransform theTransform = RDFTransformTestUtil.createTransform();
+        assertTrue( new ExportRDFRowVisitor(theTransform).getPlan().isParallelSafe() );
+
+        MetaParser.registerLanguageParser("test", "Test", Parser.grelParser, "value");
+        try {
+            assertFalse( EvaluationContext.isGREL("test:value + 1") );
+            assertTrue( EvaluationContext.isGREL("grel:value + 1") );
+            assertTrue( EvaluationContext.isGREL("unknown:value") ); // ...parsed as GREL
+
+            theTransform.getRoots().get(0).addProperty( new Property( "foaf", "title",
+                new CellLiteralNode("name", "test:value + 1", false, null, null, Util.NodeType.COLUMN) ) );
+            assertFalse( new ExportRDFRowVisitor(theTransform).getPlan().isParallelSafe() );
+        }
+        finally {
+            MetaParser.unregisterLanguageParser("test");
+        }
+    }
+}
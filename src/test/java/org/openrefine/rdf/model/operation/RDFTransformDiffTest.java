@@ -0,0 +1,184 @@
+/*
+ *  Class RDFTransformDiffTest
+ *
+ *  Tests the statements changed by a change of RDF Transform against the exports of both transforms.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.operation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.openrefine.rdf.RDFTransform;
+import org.openrefine.rdf.RDFTransformTestUtil;
+import org.openrefine.rdf.model.CellLiteralNode;
+import org.openrefine.rdf.model.Property;
+import org.openrefine.rdf.model.ResourceNode;
+import org.openrefine.rdf.model.Util;
+
+import com.google.refine.browsing.Engine;
+import com.google.refine.model.Project;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.jena.riot.lang.CollectorStreamQuads;
+import org.apache.jena.sparql.core.Quad;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RDFTransformDiffTest {
+
+    /*
+     *  Class Delta
+     *
+     *    Collects the changes of a transform change.
+     */
+    static private class Delta implements RDFIncrementalState.DeltaWriter {
+        private final Set<Quad> setAdded = new HashSet<Quad>();
+        private final Set<Quad> setDeleted = new HashSet<Quad>();
+
+        @Override
+        public void add(Quad theQuad) {
+            assertTrue( this.setAdded.add(theQuad), "Added twice: " + theQuad );
+        }
+
+        @Override
+        public void delete(Quad theQuad) {
+            assertTrue( this.setDeleted.add(theQuad), "Deleted twice: " + theQuad );
+        }
+    }
+
+    private File dirWork;
+
+    @BeforeMethod
+    public void createWorkDirectory() throws IOException {
+        this.dirWork = Files.createTempDirectory("rdft-test-").toFile();
+    }
+
+    @AfterMethod
+    public void removeWorkDirectory() {
+        FileUtils.deleteQuietly(this.dirWork);
+    }
+
+    static private Set<Quad> export(Project theProject, RDFTransform theTransform) {
+        if (theTransform == null) {
+            return new HashSet<Quad>();
+        }
+        CollectorStreamQuads theCollector = new CollectorStreamQuads();
+        new ExportRDFRowVisitor(theTransform, theCollector).buildDSGraph( theProject, new Engine(theProject) );
+        return new HashSet<Quad>( theCollector.getCollected() );
+    }
+
+    static private void removeProperty(RDFTransform theTransform, String strProperty) {
+        Iterator<Property> iterProperties = theTransform.getRoots().get(0).getProperties().iterator();
+        while ( iterProperties.hasNext() ) {
+            if ( iterProperties.next().getPathProperty().equals(strProperty) ) {
+                iterProperties.remove();
+            }
+        }
+    }
+
+    /*
+     *  Checks the changes turn the previous transform's export into the current transform's export.
+     */
+    private Delta checkDiff(Project theProject, RDFTransform transformPrevious, RDFTransform transformCurrent)
+            throws IOException
+    {
+        Set<Quad> setPrevious = RDFTransformDiffTest.export(theProject, transformPrevious);
+        Set<Quad> setCurrent = RDFTransformDiffTest.export(theProject, transformCurrent);
+
+        Delta theDelta = new Delta();
+        RDFTransformDiff theDiff = RDFTransformDiff.compare(transformPrevious, transformCurrent);
+        theDiff.write( theProject, new Engine(theProject), this.dirWork, theDelta, null );
+
+        assertTrue( setPrevious.containsAll(theDelta.setDeleted) );
+        Set<Quad> setPatched = new HashSet<Quad>(setPrevious);
+        setPatched.removeAll(theDelta.setDeleted);
+        setPatched.addAll(theDelta.setAdded);
+        assertEquals( setPatched, setCurrent );
+        assertEquals( theDiff.getAdded(), theDelta.setAdded.size() );
+        assertEquals( theDiff.getDeleted(), theDelta.setDeleted.size() );
+        return theDelta;
+    }
+
+    @Test
+    public void testUnchangedTransform() throws IOException {
+        RDFTransformDiff theDiff =
+            RDFTransformDiff.compare( RDFTransformTestUtil.createTransform(), RDFTransformTestUtil.createTransform() );
+        assertTrue( theDiff.isEmpty() );
+        assertEquals( theDiff.getRootsChanged(), 0 );
+    }
+
+    @Test
+    public void testChangedMappings() throws IOException {
+        Project theProject = RDFTransformTestUtil.createProject(20);
+
+        // A second name mapping producing the same statements as the first...
+        RDFTransform transformPrevious = RDFTransformTestUtil.createTransform();
+        transformPrevious.getRoots().get(0).addProperty( new Property( "foaf", "name",
+            new CellLiteralNode("name", "grel:value", false, null, "en", Util.NodeType.COLUMN) ) );
+
+        // ...dropped with the homepage, a changed nickname, and a new title...
+        RDFTransform transformCurrent = RDFTransformTestUtil.createTransform();
+        RDFTransformDiffTest.removeProperty(transformCurrent, "homepage");
+        RDFTransformDiffTest.removeProperty(transformCurrent, "nick");
+        ResourceNode nodeRoot = transformCurrent.getRoots().get(0);
+        nodeRoot.addProperty( new Property( "foaf", "nick",
+            new CellLiteralNode("name", "grel:value + ' (alias)'", false, null, null, Util.NodeType.COLUMN) ) );
+        nodeRoot.addProperty( new Property( "foaf", "title",
+            new CellLiteralNode("name", "grel:'Dr ' + value", false, null, null, Util.NodeType.COLUMN) ) );
+
+        RDFTransformDiff theDiff = RDFTransformDiff.compare(transformPrevious, transformCurrent);
+        assertFalse( theDiff.isEmpty() );
+        assertEquals( theDiff.getRootsChanged(), 1 );
+
+        Delta theDelta = this.checkDiff(theProject, transformPrevious, transformCurrent);
+        assertEquals( theDelta.setAdded.size(), 40 ); // ...the nicknames and titles
+        assertEquals( theDelta.setDeleted.size(), 40 ); // ...the nicknames and homepages, not the kept names
+    }
+
+    @Test
+    public void testChangedBaseIRI() throws IOException {
+        Project theProject = RDFTransformTestUtil.createProject(10);
+        RDFTransform transformPrevious = RDFTransformTestUtil.createTransform();
+        RDFTransform transformCurrent = RDFTransformTestUtil.createTransform();
+        transformCurrent.setBaseIRI( Util.buildIRI("http://example.com/other/") );
+
+        RDFTransformDiff theDiff = RDFTransformDiff.compare(transformPrevious, transformCurrent);
+        assertEquals( theDiff.getRootsChanged(), 2 );
+        Delta theDelta = this.checkDiff(theProject, transformPrevious, transformCurrent);
+        assertFalse( theDelta.setDeleted.isEmpty() );
+    }
+
+    @Test
+    public void testAddedAndRemovedTransform() throws IOException {
+        Project theProject = RDFTransformTestUtil.createProject(10);
+        Delta theDelta = this.checkDiff( theProject, null, RDFTransformTestUtil.createTransform() );
+        assertTrue( theDelta.setDeleted.isEmpty() );
+        theDelta = this.checkDiff( theProject, RDFTransformTestUtil.createTransform(), null );
+        assertTrue( theDelta.setAdded.isEmpty() );
+    }
+}
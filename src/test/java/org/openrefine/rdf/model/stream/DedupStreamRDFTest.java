@@ -0,0 +1,111 @@
+/*
+ *  Class DedupStreamRDFTest
+ *
+ *  Tests the repeated statement filters of the streaming exports.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.lang.CollectorStreamQuads;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
+
+import org.testng.annotations.Test;
+
+public class DedupStreamRDFTest {
+
+    static private Quad quad(String strGraph, String strSubject, String strObject) {
+        return Quad.create( NodeFactory.createURI("http://example.com/" + strGraph), NodeFactory.createURI("http://example.com/" + strSubject),
+                            NodeFactory.createURI("http://example.com/p"), NodeFactory.createLiteral(strObject) );
+    }
+
+    @Test
+    public void testBloomFilterHasNoFalseNegatives() {
+        BloomFilter theFilter = new BloomFilter(1000, 0.01);
+        for (int iElement = 0; iElement < 1000; iElement++) {
+            theFilter.put( ( "element " + iElement ).getBytes(StandardCharsets.UTF_8) );
+        }
+        for (int iElement = 0; iElement < 1000; iElement++) {
+            assertFalse( theFilter.put( ( "element " + iElement ).getBytes(StandardCharsets.UTF_8) ), "Element " + iElement );
+        }
+    }
+
+    @Test
+    public void testBloomFilterFalsePositiveRate() {
+        int iExpected = 10000;
+        double dRate = 0.01;
+        // NOTE: Each probe is also added, so size the filter for the probes too...
+        BloomFilter theFilter = new BloomFilter(iExpected * 2, dRate);
+        assertTrue( theFilter.getHashCount() >= 1 );
+        assertTrue( theFilter.getBitCount() >= iExpected );
+
+        for (int iElement = 0; iElement < iExpected; iElement++) {
+            theFilter.put( ( "in " + iElement ).getBytes(StandardCharsets.UTF_8) );
+        }
+        int iFalse = 0;
+        for (int iElement = 0; iElement < iExpected; iElement++) {
+            if ( ! theFilter.put( ( "out " + iElement ).getBytes(StandardCharsets.UTF_8) ) ) {
+                iFalse++;
+            }
+        }
+        // ...the rate rises to the target over the probes: allow for variance...
+        assertTrue( iFalse < iExpected * dRate * 2, "False positives: " + iFalse );
+    }
+
+    @Test
+    public void testDropsRepeats() {
+        CollectorStreamQuads theCollector = new CollectorStreamQuads();
+        StreamRDF theStream = DedupStreamRDF.create(theCollector); // ...the default "lru" mode
+        assertTrue( theStream instanceof DedupStreamRDF );
+
+        Quad quadA = DedupStreamRDFTest.quad("g1", "a", "1");
+        Quad quadB = DedupStreamRDFTest.quad("g1", "a", "2");
+        Quad quadC = DedupStreamRDFTest.quad("g2", "a", "1"); // ...same triple as A in another graph
+        theStream.start();
+        theStream.quad(quadA);
+        theStream.quad(quadB);
+        theStream.quad(quadA);
+        theStream.quad(quadC);
+        theStream.quad(quadB);
+        theStream.finish();
+
+        assertEquals( theCollector.getCollected().size(), 3 );
+        assertTrue( theCollector.getCollected().contains(quadC) );
+        assertEquals( ( (DedupStreamRDF) theStream ).countDropped(), 2 );
+    }
+
+    @Test
+    public void testDropsRepeatedTriples() {
+        CollectorStreamQuads theCollector = new CollectorStreamQuads();
+        StreamRDF theStream = DedupStreamRDF.create(theCollector);
+        Triple theTriple = DedupStreamRDFTest.quad("g", "a", "1").asTriple();
+        theStream.start();
+        theStream.triple(theTriple);
+        theStream.triple(theTriple);
+        theStream.finish();
+
+        assertEquals( ( (DedupStreamRDF) theStream ).countDropped(), 1 );
+    }
+}
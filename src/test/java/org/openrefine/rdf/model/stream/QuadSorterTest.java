@@ -0,0 +1,138 @@
+/*
+ *  Class QuadSorterTest
+ *
+ *  Tests the external quad sorter.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.core.Quad;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class QuadSorterTest {
+    static private final Node nodeGraph = NodeFactory.createURI("http://example.com/graph");
+    static private final Node nodeBlank = NodeFactory.createBlankNode("c0r1");
+
+    private File dirRuns;
+
+    @BeforeMethod
+    public void createRunDirectory() throws IOException {
+        this.dirRuns = Files.createTempDirectory("rdft-test-").toFile();
+    }
+
+    @AfterMethod
+    public void removeRunDirectory() {
+        FileUtils.deleteQuietly(this.dirRuns);
+    }
+
+    static private Quad quad(String strSubject, String strObject) {
+        return Quad.create( QuadSorterTest.nodeGraph, NodeFactory.createURI("http://example.com/" + strSubject),
+                            NodeFactory.createURI("http://example.com/p"), NodeFactory.createLiteral(strObject) );
+    }
+
+    static private List<Quad> toList(Iterator<Quad> iterQuads) {
+        List<Quad> listQuads = new ArrayList<Quad>();
+        iterQuads.forEachRemaining(listQuads::add);
+        return listQuads;
+    }
+
+    /*
+     *  Sorts the given quads in memory with the sorter's order.
+     */
+    static private List<Quad> sorted(List<Quad> listQuads, boolean bDistinct) {
+        if (bDistinct) {
+            TreeSet<Quad> setQuads = new TreeSet<Quad>(QuadSorter.theQuadOrder);
+            setQuads.addAll(listQuads);
+            return new ArrayList<Quad>(setQuads);
+        }
+        List<Quad> listSorted = new ArrayList<Quad>(listQuads);
+        listSorted.sort(QuadSorter.theQuadOrder);
+        return listSorted;
+    }
+
+    @Test
+    public void testDistinctMergeAcrossRuns() throws IOException {
+        Quad quadA = QuadSorterTest.quad("a", "1");
+        Quad quadB = QuadSorterTest.quad("b", "2");
+        Quad quadC = QuadSorterTest.quad("c", "3");
+        Quad quadD = Quad.create( QuadSorterTest.nodeGraph, QuadSorterTest.nodeBlank,
+                                  NodeFactory.createURI("http://example.com/p"), NodeFactory.createLiteral("4") );
+        // Runs of 2: each repeat falls on the other side of a run boundary...
+        List<Quad> listQuads = Arrays.asList(quadC, quadA, quadA, quadB, quadB, quadD, quadD, quadC, quadA);
+
+        try ( QuadSorter theSorter = new QuadSorter(this.dirRuns, 2, true) ) {
+            for (Quad theQuad : listQuads) {
+                theSorter.add(theQuad);
+            }
+            List<Quad> listMerged = QuadSorterTest.toList( theSorter.iterator() );
+
+            assertTrue( theSorter.getRunCount() > 1, "Runs written: " + theSorter.getRunCount() );
+            assertEquals( theSorter.getCount(), listQuads.size() );
+            assertEquals( listMerged, QuadSorterTest.sorted(listQuads, true) );
+            // The blank node keeps its label through the run files...
+            assertTrue( listMerged.contains(quadD) );
+        }
+    }
+
+    @Test
+    public void testMergeKeepsRepeats() throws IOException {
+        List<Quad> listQuads = new ArrayList<Quad>();
+        for (int iQuad = 0; iQuad < 50; iQuad++) {
+            listQuads.add( QuadSorterTest.quad( "s" + (iQuad % 7), "o" + (iQuad % 3) ) );
+        }
+
+        try ( QuadSorter theSorter = new QuadSorter(this.dirRuns, 8) ) {
+            for (Quad theQuad : listQuads) {
+                theSorter.add(theQuad);
+            }
+            assertEquals( QuadSorterTest.toList( theSorter.iterator() ), QuadSorterTest.sorted(listQuads, false) );
+        }
+    }
+
+    @Test
+    public void testDefaultGraphsMerge() throws IOException {
+        Triple theTriple = QuadSorterTest.quad("a", "1").asTriple();
+
+        try ( QuadSorter theSorter = new QuadSorter(this.dirRuns, 1, true) ) {
+            theSorter.add( Quad.create(Quad.defaultGraphIRI, theTriple) );
+            theSorter.add( Quad.create(Quad.defaultGraphNodeGenerated, theTriple) );
+            List<Quad> listMerged = QuadSorterTest.toList( theSorter.iterator() );
+
+            assertEquals( listMerged.size(), 1 );
+            assertTrue( listMerged.get(0).isDefaultGraph() );
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Class RDFXMLStreamRDFTest
+ *
+ *  Tests the streaming RDF/XML writer against Jena's RDF/XML parser.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.graph.GraphFactory;
+
+import org.testng.annotations.Test;
+
+public class RDFXMLStreamRDFTest {
+    static private final String strNS = "http://example.com/ns#";
+
+    static private Node uri(String strIRI) {
+        return NodeFactory.createURI(strIRI);
+    }
+
+    /*
+     *  Writes the triples grouped by subject and parses them back.
+     */
+    static private Graph roundTrip(List<Triple> listTriples) {
+        ByteArrayOutputStream theOutput = new ByteArrayOutputStream();
+        RDFXMLStreamRDF theWriter = new RDFXMLStreamRDF(theOutput);
+        theWriter.start();
+        theWriter.prefix("ex", RDFXMLStreamRDFTest.strNS);
+        for (Triple theTriple : listTriples) {
+            theWriter.triple(theTriple);
+        }
+        theWriter.finish();
+
+        Graph theGraph = GraphFactory.createGraphMem();
+        RDFParser.fromString( theOutput.toString(StandardCharsets.UTF_8) ).lang(Lang.RDFXML).parse(theGraph);
+        return theGraph;
+    }
+
+    static private void assertRoundTrip(List<Triple> listTriples) {
+        Graph graphExpected = GraphFactory.createGraphMem();
+        listTriples.forEach(graphExpected::add);
+        Graph graphParsed = RDFXMLStreamRDFTest.roundTrip(listTriples);
+        assertEquals( graphParsed.size(), graphExpected.size() );
+        assertTrue( graphParsed.isIsomorphicWith(graphExpected), "Parsed: " + graphParsed );
+    }
+
+    @Test
+    public void testEscapedText() {
+        Node nodeSubject = RDFXMLStreamRDFTest.uri("http://example.com/item?a=1&b=2");
+        RDFXMLStreamRDFTest.assertRoundTrip( List.of(
+            Triple.create( nodeSubject, RDFXMLStreamRDFTest.uri(RDFXMLStreamRDFTest.strNS + "name"),
+                           NodeFactory.createLiteral("Fish & Chips <hot>") ),
+            Triple.create( nodeSubject, RDFXMLStreamRDFTest.uri(RDFXMLStreamRDFTest.strNS + "note"),
+                           NodeFactory.createLiteral("line 1\r\nline 2\r\n\t\"quoted\"") ),
+            Triple.create( nodeSubject, RDFXMLStreamRDFTest.uri(RDFXMLStreamRDFTest.strNS + "note"),
+                           NodeFactory.createLiteral("<tag attr=\"&amp;\">", "en-us") ),
+            Triple.create( nodeSubject, RDFXMLStreamRDFTest.uri(RDFXMLStreamRDFTest.strNS + "count"),
+                           NodeFactory.createLiteral("42", XSDDatatype.XSDinteger) ),
+            Triple.create( nodeSubject, RDFXMLStreamRDFTest.uri(RDFXMLStreamRDFTest.strNS + "see"),
+                           RDFXMLStreamRDFTest.uri("http://example.com/other?x=1&amp;y=2") )
+        ) );
+    }
+
+    @Test
+    public void testUndeclaredNamespacesAndBlankNodes() {
+        Node nodeBlank = NodeFactory.createBlankNode("c0r1");
+        RDFXMLStreamRDFTest.assertRoundTrip( List.of(
+            Triple.create( RDFXMLStreamRDFTest.uri("http://example.com/a"), RDFXMLStreamRDFTest.uri("http://other.example.com/terms/knows"), nodeBlank ),
+            Triple.create( RDFXMLStreamRDFTest.uri("http://example.com/a"), RDFXMLStreamRDFTest.uri("http://third.example.com/v1#label"),
+                           NodeFactory.createLiteral("A") ),
+            Triple.create( nodeBlank, RDFXMLStreamRDFTest.uri(RDFXMLStreamRDFTest.strNS + "name"), NodeFactory.createLiteral("B") ),
+            Triple.create( nodeBlank, RDFXMLStreamRDFTest.uri("http://other.example.com/terms/age"),
+                           NodeFactory.createLiteral("7", XSDDatatype.XSDint) )
+        ) );
+    }
+
+    @Test
+    public void testQuadsWriteTheUnionGraph() {
+        ByteArrayOutputStream theOutput = new ByteArrayOutputStream();
+        RDFXMLStreamRDF theWriter = new RDFXMLStreamRDF(theOutput);
+        Triple theTriple =
+            Triple.create( RDFXMLStreamRDFTest.uri("http://example.com/a"), RDFXMLStreamRDFTest.uri(RDFXMLStreamRDFTest.strNS + "name"),
+                           NodeFactory.createLiteral("A") );
+        theWriter.start();
+        theWriter.quad( Quad.create(RDFXMLStreamRDFTest.uri("http://example.com/graph"), theTriple) );
+        theWriter.finish();
+
+        Graph theGraph = GraphFactory.createGraphMem();
+        RDFParser.fromString( theOutput.toString(StandardCharsets.UTF_8) ).lang(Lang.RDFXML).parse(theGraph);
+        assertEquals( theGraph.size(), 1 );
+        assertTrue( theGraph.contains(theTriple) );
+    }
+
+    @Test(expectedExceptions = RiotException.class)
+    public void testNonQNamePredicateFails() {
+        // No XML element name can end the predicate: its local part starts with a digit...
+        RDFXMLStreamRDFTest.roundTrip( List.of(
+            Triple.create( RDFXMLStreamRDFTest.uri("http://example.com/a"), RDFXMLStreamRDFTest.uri("http://example.com/p/123"),
+                           NodeFactory.createLiteral("A") )
+        ) );
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Class SortingStreamRDFTest
+ *
+ *  Tests the sorted, deduplicated export stream.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.riot.lang.CollectorStreamQuads;
+import org.apache.jena.sparql.core.Quad;
+
+import org.testng.annotations.Test;
+
+public class SortingStreamRDFTest {
+
+    static private Quad quad(String strSubject, String strObject) {
+        return Quad.create( NodeFactory.createURI("http://example.com/graph"), NodeFactory.createURI("http://example.com/" + strSubject),
+                            NodeFactory.createURI("http://example.com/p"), NodeFactory.createLiteral(strObject) );
+    }
+
+    @Test
+    public void testSendsSortedDistinct() throws IOException {
+        List<Quad> listQuads = new ArrayList<Quad>();
+        for (int iQuad = 0; iQuad < 40; iQuad++) {
+            listQuads.add( SortingStreamRDFTest.quad( "s" + (iQuad % 5), "o" + (iQuad % 4) ) );
+        }
+
+        // Runs of 3: the repeats spread across many runs...
+        try ( SortingStreamRDF theStream = new SortingStreamRDF(3, "TEST") ) {
+            theStream.start();
+            for (Quad theQuad : listQuads) {
+                theStream.quad(theQuad);
+            }
+            theStream.finish();
+            theStream.checkFailure();
+
+            CollectorStreamQuads theCollector = new CollectorStreamQuads();
+            theStream.sendTo(theCollector);
+
+            TreeSet<Quad> setExpected = new TreeSet<Quad>(QuadSorter.theQuadOrder);
+            setExpected.addAll(listQuads);
+            assertEquals( theCollector.getCollected(), new ArrayList<Quad>(setExpected) );
+            assertEquals( theStream.getCount(), listQuads.size() );
+            assertEquals( theStream.getDistinct(), setExpected.size() );
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ *  Class SparqlPushStreamRDFTest
+ *
+ *  Tests the retry delays of pushes to a SPARQL endpoint.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import static org.testng.Assert.assertEquals;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import org.testng.annotations.Test;
+
+public class SparqlPushStreamRDFTest {
+
+    @Test
+    public void testRetryAfterSeconds() {
+        assertEquals( SparqlPushStreamRDF.parseRetryAfter("120", 0), 120000 );
+        assertEquals( SparqlPushStreamRDF.parseRetryAfter(" 0 ", 0), 0 );
+        assertEquals( SparqlPushStreamRDF.parseRetryAfter("-5", 0), -1 );
+    }
+
+    @Test
+    public void testRetryAfterDate() {
+        long lNow = 1760000000000L;
+        String strDate =
+            DateTimeFormatter.RFC_1123_DATE_TIME.format( Instant.ofEpochMilli(lNow + 7000).atZone(ZoneOffset.UTC) );
+        assertEquals( SparqlPushStreamRDF.parseRetryAfter(strDate, lNow), 7000 );
+        assertEquals( SparqlPushStreamRDF.parseRetryAfter(strDate, lNow + 60000), 0 ); // ...past
+    }
+
+    @Test
+    public void testRetryAfterAbsentOrInvalid() {
+        assertEquals( SparqlPushStreamRDF.parseRetryAfter(null, 0), -1 );
+        assertEquals( SparqlPushStreamRDF.parseRetryAfter("soon", 0), -1 );
+    }
+}
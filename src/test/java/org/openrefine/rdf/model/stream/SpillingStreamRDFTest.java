@@ -0,0 +1,72 @@
+/*
+ *  Class SpillingStreamRDFTest
+ *
+ *  Tests the statements sent from memory and from the spill files.
+ *
+ *  Copyright 2025 Keven L. Ates
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openrefine.rdf.model.stream;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.HashSet;
+
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.riot.lang.CollectorStreamQuads;
+import org.apache.jena.sparql.core.Quad;
+
+import org.testng.annotations.Test;
+
+public class SpillingStreamRDFTest {
+
+    static private Quad quad(String strSubject, String strObject) {
+        return Quad.create( NodeFactory.createURI("http://example.com/graph"), NodeFactory.createURI("http://example.com/" + strSubject),
+                            NodeFactory.createURI("http://example.com/p"), NodeFactory.createLiteral(strObject) );
+    }
+
+    /*
+     *  Sends 40 statements, 20 distinct, through a collector spilling past the limit.
+     */
+    static private void checkSent(long lSpillLimit, boolean bSpilled) throws IOException {
+        try ( SpillingStreamRDF theStream = new SpillingStreamRDF(lSpillLimit, true, "TEST") ) {
+            theStream.start();
+            for (int iQuad = 0; iQuad < 40; iQuad++) {
+                theStream.quad( SpillingStreamRDFTest.quad( "s" + (iQuad % 5), "o" + (iQuad % 4) ) );
+            }
+            theStream.finish();
+            theStream.checkFailure();
+            assertEquals( theStream.isSpilled(), bSpilled );
+
+            CollectorStreamQuads theCollector = new CollectorStreamQuads();
+            theStream.sendTo(theCollector);
+            assertEquals( theStream.getCount(), 40 );
+            assertEquals( theStream.getSent(), 20 );
+            assertEquals( theCollector.getCollected().size(), 20 );
+            assertEquals( new HashSet<Quad>( theCollector.getCollected() ).size(), 20 );
+        }
+    }
+
+    @Test
+    public void testSentFromMemory() throws IOException {
+        SpillingStreamRDFTest.checkSent(0, false);
+    }
+
+    @Test
+    public void testSentFromSpill() throws IOException {
+        SpillingStreamRDFTest.checkSent(6, true);
+    }
+}